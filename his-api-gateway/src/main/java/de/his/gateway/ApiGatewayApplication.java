@@ -3,11 +3,14 @@ package de.his.gateway;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.cloud.gateway.route.builder.GatewayFilterSpec;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
 
 import java.time.Duration;
 
+import static org.springframework.cloud.gateway.support.RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR;
+
 /**
  * Main Application Class for HIS API Gateway
  * 
@@ -26,8 +29,13 @@ public class ApiGatewayApplication {
          * 
          * Routes:
          * - /api/v1/patients/** → Patient Service (8081)
+         * - /api/v1/encounters/status-stream → Encounter Service (SSE, ungepuffert)
          * - /api/v1/encounters/** → Encounter Service (8082)
+         * - /api/v1/changes/{patients|encounters} → Change-Feed des jeweiligen Service
          * - /actuator/** → Individual service health endpoints
+         *
+         * Alle Routen laufen über den default-circuit-breaker außer den SSE-Streams
+         * (offene Verbindung) und dem Change-Feed-Long-Poll (eigener change-feed-cb mit 30s).
          */
         @Bean
         public RouteLocator customRouteLocator(RouteLocatorBuilder builder) {
@@ -36,7 +44,7 @@ public class ApiGatewayApplication {
                                 // Patient Service Routes
                                 .route("patient-service", r -> r
                                                 .path("/api/v1/patients/**")
-                                                .filters(f -> f
+                                                .filters(f -> withDefaultCircuitBreaker(f)
                                                                 .stripPrefix(0) // Keep full path
                                                                 .addRequestHeader("X-Gateway-Request",
                                                                                 "patient-service")
@@ -52,10 +60,43 @@ public class ApiGatewayApplication {
                                                                                                 2, true)))
                                                 .uri("http://patient-service:8081"))
 
+                                // SSE-Streams: ohne Circuit Breaker/Retry und ohne Response-Timeout,
+                                // da beide sonst den offenen Stream nach Ablauf abbrechen.
+                                // text/event-stream wird vom Gateway ohne Pufferung durchgereicht.
+                                .route("encounter-status-stream", r -> r
+                                                .path("/api/v1/encounters/status-stream")
+                                                .filters(f -> f
+                                                                .addResponseHeader("X-Gateway-Response",
+                                                                                "encounter-service"))
+                                                .metadata(RESPONSE_TIMEOUT_ATTR, -1)
+                                                .uri("http://encounter-service:8082"))
+
+                                .route("patient-changes-stream", r -> r
+                                                .path("/api/v1/changes/patients")
+                                                .and().header("Accept", ".*text/event-stream.*")
+                                                .filters(f -> f
+                                                                .rewritePath("/api/v1/changes/patients",
+                                                                                "/api/v1/changes")
+                                                                .addResponseHeader("X-Gateway-Response",
+                                                                                "patient-service"))
+                                                .metadata(RESPONSE_TIMEOUT_ATTR, -1)
+                                                .uri("http://patient-service:8081"))
+
+                                .route("encounter-changes-stream", r -> r
+                                                .path("/api/v1/changes/encounters")
+                                                .and().header("Accept", ".*text/event-stream.*")
+                                                .filters(f -> f
+                                                                .rewritePath("/api/v1/changes/encounters",
+                                                                                "/api/v1/changes")
+                                                                .addResponseHeader("X-Gateway-Response",
+                                                                                "encounter-service"))
+                                                .metadata(RESPONSE_TIMEOUT_ATTR, -1)
+                                                .uri("http://encounter-service:8082"))
+
                                 // Encounter Service Routes
                                 .route("encounter-service", r -> r
                                                 .path("/api/v1/encounters/**")
-                                                .filters(f -> f
+                                                .filters(f -> withDefaultCircuitBreaker(f)
                                                                 .stripPrefix(0) // Keep full path
                                                                 .addRequestHeader("X-Gateway-Request",
                                                                                 "encounter-service")
@@ -71,10 +112,35 @@ public class ApiGatewayApplication {
                                                                                                 2, true)))
                                                 .uri("http://encounter-service:8082"))
 
+                                // Change-Feed Routes (Outbox) - Long-Poll, daher ohne Retry
+                                .route("patient-changes", r -> r
+                                                .path("/api/v1/changes/patients")
+                                                .filters(f -> f
+                                                                .rewritePath("/api/v1/changes/patients",
+                                                                                "/api/v1/changes")
+                                                                .addResponseHeader("X-Gateway-Response",
+                                                                                "patient-service")
+                                                                .circuitBreaker(config -> config
+                                                                                .setName("change-feed-cb")
+                                                                                .setFallbackUri("forward:/fallback/patient-service")))
+                                                .uri("http://patient-service:8081"))
+
+                                .route("encounter-changes", r -> r
+                                                .path("/api/v1/changes/encounters")
+                                                .filters(f -> f
+                                                                .rewritePath("/api/v1/changes/encounters",
+                                                                                "/api/v1/changes")
+                                                                .addResponseHeader("X-Gateway-Response",
+                                                                                "encounter-service")
+                                                                .circuitBreaker(config -> config
+                                                                                .setName("change-feed-cb")
+                                                                                .setFallbackUri("forward:/fallback/encounter-service")))
+                                                .uri("http://encounter-service:8082"))
+
                                 // Health Check Routes - Direct pass-through
                                 .route("patient-health", r -> r
                                                 .path("/services/patient/actuator/**")
-                                                .filters(f -> f
+                                                .filters(f -> withDefaultCircuitBreaker(f)
                                                                 .stripPrefix(2) // Remove /services/patient
                                                                 .addResponseHeader("X-Health-Service",
                                                                                 "patient-service"))
@@ -82,7 +148,7 @@ public class ApiGatewayApplication {
 
                                 .route("encounter-health", r -> r
                                                 .path("/services/encounter/actuator/**")
-                                                .filters(f -> f
+                                                .filters(f -> withDefaultCircuitBreaker(f)
                                                                 .stripPrefix(2) // Remove /services/encounter
                                                                 .addResponseHeader("X-Health-Service",
                                                                                 "encounter-service"))
@@ -91,14 +157,14 @@ public class ApiGatewayApplication {
                                 // API Documentation Routes
                                 .route("patient-docs", r -> r
                                                 .path("/docs/patient/**")
-                                                .filters(f -> f
+                                                .filters(f -> withDefaultCircuitBreaker(f)
                                                                 .stripPrefix(2) // Remove /docs/patient
                                                                 .addResponseHeader("X-Docs-Service", "patient-service"))
                                                 .uri("http://patient-service:8081"))
 
                                 .route("encounter-docs", r -> r
                                                 .path("/docs/encounter/**")
-                                                .filters(f -> f
+                                                .filters(f -> withDefaultCircuitBreaker(f)
                                                                 .stripPrefix(2) // Remove /docs/encounter
                                                                 .addResponseHeader("X-Docs-Service",
                                                                                 "encounter-service"))
@@ -106,4 +172,11 @@ public class ApiGatewayApplication {
 
                                 .build();
         }
-}
\ No newline at end of file
+
+        // Vormals globaler Default-Filter; je Route, damit SSE-Streams ausgenommen werden können
+        private static GatewayFilterSpec withDefaultCircuitBreaker(GatewayFilterSpec f) {
+                return f.circuitBreaker(config -> config
+                                .setName("default-circuit-breaker")
+                                .setFallbackUri("forward:/fallback/default"));
+        }
+}
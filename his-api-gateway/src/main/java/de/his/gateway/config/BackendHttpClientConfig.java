@@ -0,0 +1,64 @@
+package de.his.gateway.config;
+
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.Http2AllocationStrategy;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.List;
+
+/**
+ * HTTP-Client der Gateway-Routen zu Patient und Encounter Service.
+ *
+ * Mit h2c laufen alle Requests einer Verbindung als parallele HTTP/2-Streams, statt je Request
+ * eine eigene HTTP/1.1-Verbindung aus dem Pool zu belegen; die Backends haben dafür
+ * server.http2.enabled. Antworten kommen gzip-komprimiert vom Backend und werden unverändert
+ * an den Client durchgereicht (Accept-Encoding wird weitergeleitet).
+ *
+ * Der Verbindungspool braucht dafür eine {@link Http2AllocationStrategy}: ohne sie öffnet
+ * Reactor Netty für fast jeden gleichzeitigen Request eine weitere h2c-Verbindung. Mit ihr
+ * kommt eine neue Verbindung erst hinzu, wenn die vorhandenen keine freien Streams mehr haben
+ * (SETTINGS_MAX_CONCURRENT_STREAMS des Backends).
+ */
+@Configuration
+public class BackendHttpClientConfig {
+
+    @Bean
+    public HttpClientCustomizer backendProtocolCustomizer(PvsGatewayProperties gatewayProperties) {
+        if (!gatewayProperties.getServices().isH2c()) {
+            return httpClient -> httpClient;
+        }
+        return httpClient -> httpClient.protocol(HttpProtocol.H2C);
+    }
+
+    // ersetzt die gleichnamige Bean aus GatewayAutoConfiguration (@ConditionalOnMissingBean)
+    @Bean
+    public HttpClientFactory gatewayHttpClientFactory(HttpClientProperties properties,
+            ServerProperties serverProperties, List<HttpClientCustomizer> customizers,
+            HttpClientSslConfigurer sslConfigurer, PvsGatewayProperties gatewayProperties) {
+        return new HttpClientFactory(properties, serverProperties, sslConfigurer, customizers) {
+            @Override
+            protected ConnectionProvider buildConnectionProvider(HttpClientProperties properties) {
+                ConnectionProvider provider = super.buildConnectionProvider(properties);
+                // pool.type=DISABLED liefert keinen Builder, dann gibt es nichts zu teilen
+                ConnectionProvider.Builder builder = gatewayProperties.getServices().isH2c() ? provider.mutate() : null;
+                if (builder == null) {
+                    return provider;
+                }
+                int maxConnections = provider.maxConnections() > 0 ? provider.maxConnections() : Integer.MAX_VALUE;
+                provider.dispose();
+                return builder.allocationStrategy(Http2AllocationStrategy.builder()
+                                .minConnections(1)
+                                .maxConnections(maxConnections)
+                                .build())
+                        .build();
+            }
+        };
+    }
+}
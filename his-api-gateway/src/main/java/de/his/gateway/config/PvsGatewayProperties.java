@@ -95,6 +95,13 @@ public class PvsGatewayProperties {
         private boolean enabled = false;
         private String secret = "default-secret-key-change-in-production";
         private long expiration = 86400; // 24 hours in seconds
+        // JWKS des Identity Service; leer = Legacy-Prüfung mit HS256-Secret
+        private String jwksUri = "";
+        private Duration jwksRefreshInterval = Duration.ofMinutes(5);
+        private Duration jwksMinRefreshInterval = Duration.ofSeconds(30);
+        // bereits geprüfte Tokens, spart die Signaturprüfung bei Folgeanfragen
+        private long verifiedTokenCacheSize = 10_000;
+        private Duration verifiedTokenTtl = Duration.ofMinutes(5);
 
         public boolean isEnabled() {
             return enabled;
@@ -119,6 +126,46 @@ public class PvsGatewayProperties {
         public void setExpiration(long expiration) {
             this.expiration = expiration;
         }
+
+        public String getJwksUri() {
+            return jwksUri;
+        }
+
+        public void setJwksUri(String jwksUri) {
+            this.jwksUri = jwksUri;
+        }
+
+        public Duration getJwksRefreshInterval() {
+            return jwksRefreshInterval;
+        }
+
+        public void setJwksRefreshInterval(Duration jwksRefreshInterval) {
+            this.jwksRefreshInterval = jwksRefreshInterval;
+        }
+
+        public Duration getJwksMinRefreshInterval() {
+            return jwksMinRefreshInterval;
+        }
+
+        public void setJwksMinRefreshInterval(Duration jwksMinRefreshInterval) {
+            this.jwksMinRefreshInterval = jwksMinRefreshInterval;
+        }
+
+        public long getVerifiedTokenCacheSize() {
+            return verifiedTokenCacheSize;
+        }
+
+        public void setVerifiedTokenCacheSize(long verifiedTokenCacheSize) {
+            this.verifiedTokenCacheSize = verifiedTokenCacheSize;
+        }
+
+        public Duration getVerifiedTokenTtl() {
+            return verifiedTokenTtl;
+        }
+
+        public void setVerifiedTokenTtl(Duration verifiedTokenTtl) {
+            this.verifiedTokenTtl = verifiedTokenTtl;
+        }
     }
 
     /**
@@ -130,6 +177,13 @@ public class PvsGatewayProperties {
         private List<String> doctorRoles = List.of("DOCTOR", "PHYSICIAN");
         private List<String> nurseRoles = List.of("NURSE", "NURSE_PRACTITIONER");
         private List<String> readonlyRoles = List.of("READONLY", "GUEST");
+        // Policy Decision Point (his-authorization-service)
+        private String decisionUri = "http://authorization-service:8084/api/v1/decide";
+        private Duration decisionTimeout = Duration.ofMillis(500);
+        private Duration decisionCacheTtl = Duration.ofMinutes(1);
+        private long decisionCacheSize = 50_000;
+        // Redis-Kanal für Policy-Änderungen, leert den Entscheidungs-Cache
+        private String invalidationChannel = "his:authz:policy-changed";
 
         public boolean isEnabled() {
             return enabled;
@@ -170,6 +224,46 @@ public class PvsGatewayProperties {
         public void setReadonlyRoles(List<String> readonlyRoles) {
             this.readonlyRoles = readonlyRoles;
         }
+
+        public String getDecisionUri() {
+            return decisionUri;
+        }
+
+        public void setDecisionUri(String decisionUri) {
+            this.decisionUri = decisionUri;
+        }
+
+        public Duration getDecisionTimeout() {
+            return decisionTimeout;
+        }
+
+        public void setDecisionTimeout(Duration decisionTimeout) {
+            this.decisionTimeout = decisionTimeout;
+        }
+
+        public Duration getDecisionCacheTtl() {
+            return decisionCacheTtl;
+        }
+
+        public void setDecisionCacheTtl(Duration decisionCacheTtl) {
+            this.decisionCacheTtl = decisionCacheTtl;
+        }
+
+        public long getDecisionCacheSize() {
+            return decisionCacheSize;
+        }
+
+        public void setDecisionCacheSize(long decisionCacheSize) {
+            this.decisionCacheSize = decisionCacheSize;
+        }
+
+        public String getInvalidationChannel() {
+            return invalidationChannel;
+        }
+
+        public void setInvalidationChannel(String invalidationChannel) {
+            this.invalidationChannel = invalidationChannel;
+        }
     }
 
     /**
@@ -182,6 +276,9 @@ public class PvsGatewayProperties {
         @NestedConfigurationProperty
         private ServiceConfig encounter = new ServiceConfig("http://encounter-service:8082", Duration.ofSeconds(30), 3);
 
+        // HTTP/2 ohne TLS (prior knowledge) zu den Backends, sonst HTTP/1.1
+        private boolean h2c = true;
+
         public ServiceConfig getPatient() {
             return patient;
         }
@@ -197,6 +294,14 @@ public class PvsGatewayProperties {
         public void setEncounter(ServiceConfig encounter) {
             this.encounter = encounter;
         }
+
+        public boolean isH2c() {
+            return h2c;
+        }
+
+        public void setH2c(boolean h2c) {
+            this.h2c = h2c;
+        }
     }
 
     /**
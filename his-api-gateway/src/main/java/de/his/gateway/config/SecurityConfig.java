@@ -2,7 +2,8 @@ package de.his.gateway.config;
 
 import de.his.gateway.filter.JwtAuthenticationFilter;
 import de.his.gateway.service.JwtService;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import de.his.gateway.service.PolicyDecisionService;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -24,13 +25,25 @@ import java.util.List;
 public class SecurityConfig {
 
     private final PvsGatewayProperties gatewayProperties; // ← Geändert
+    private final ObjectProvider<JwtService> jwtService;
+    private final ObjectProvider<PolicyDecisionService> policyDecisionService;
 
-    public SecurityConfig(PvsGatewayProperties gatewayProperties) { // ← Geändert
+    public SecurityConfig(PvsGatewayProperties gatewayProperties, ObjectProvider<JwtService> jwtService,
+            ObjectProvider<PolicyDecisionService> policyDecisionService) { // ← Geändert
         this.gatewayProperties = gatewayProperties;
+        this.jwtService = jwtService;
+        this.policyDecisionService = policyDecisionService;
     }
 
     @Bean
     public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        JwtService jwt = jwtService.getIfAvailable();
+        if (jwt != null) {
+            // innerhalb der Security-Kette, damit die Authentifizierung vor der Autorisierung steht
+            http.addFilterAt(new JwtAuthenticationFilter(jwt), SecurityWebFiltersOrder.AUTHENTICATION);
+        }
+        PolicyDecisionService policies = policyDecisionService.getIfAvailable();
+
         return http
                 .csrf(csrf -> csrf.disable())
                 .httpBasic(httpBasic -> httpBasic.disable())
@@ -47,8 +60,12 @@ public class SecurityConfig {
                                 .pathMatchers("/actuator/health", "/actuator/info").permitAll()
                                 .pathMatchers("/swagger-ui/**", "/api-docs/**", "/docs/**").permitAll()
                                 .pathMatchers("/auth/**", "/login", "/logout").permitAll()
-                                .pathMatchers("/fallback/**").permitAll()
-                                .anyExchange().authenticated();
+                                .pathMatchers("/fallback/**").permitAll();
+                        if (policies != null) {
+                            // Entscheidung des Authorization Service (gecacht je Rolle, Route und Methode)
+                            exchanges.pathMatchers("/api/v1/**").access(policies);
+                        }
+                        exchanges.anyExchange().authenticated();
                     } else {
                         exchanges.anyExchange().permitAll();
                     }
@@ -57,18 +74,6 @@ public class SecurityConfig {
                 .build();
     }
 
-    @Bean
-    @ConditionalOnProperty(name = "his.gateway.security.jwt.enabled", havingValue = "true")
-    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtService jwtService) {
-        return new JwtAuthenticationFilter(jwtService);
-    }
-
-    @Bean
-    @ConditionalOnProperty(name = "his.gateway.security.jwt.enabled", havingValue = "false", matchIfMissing = true)
-    public JwtAuthenticationFilter noOpJwtFilter() {
-        return new JwtAuthenticationFilter(null);
-    }
-
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
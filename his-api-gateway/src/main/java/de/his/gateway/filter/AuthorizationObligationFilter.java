@@ -0,0 +1,53 @@
+package de.his.gateway.filter;
+
+import de.his.gateway.service.PolicyDecisionService;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Reicht Auflagen der Policy-Entscheidung (z. B. TREATING_RELATIONSHIP) als Header an den
+ * Backend-Service weiter, der sie mit den Daten der konkreten Ressource prüft, zusammen mit der
+ * Behandler-ID des Aufrufers aus dem Token.
+ *
+ * Vom Client mitgeschickte Header werden immer entfernt, damit er keine Auflagen oder
+ * Identitäten vortäuschen oder unterdrücken kann.
+ */
+@Component
+public class AuthorizationObligationFilter implements GlobalFilter, Ordered {
+
+    public static final String OBLIGATIONS_HEADER = "X-Authz-Obligations";
+    public static final String PRACTITIONER_HEADER = "X-Practitioner-Id";
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        List<String> obligations = exchange.getAttribute(PolicyDecisionService.OBLIGATIONS_ATTR);
+        String practitionerId = exchange.getAttribute(JwtAuthenticationFilter.PRACTITIONER_ID_ATTR);
+
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    headers.remove(OBLIGATIONS_HEADER);
+                    headers.remove(PRACTITIONER_HEADER);
+                    if (obligations != null && !obligations.isEmpty()) {
+                        headers.set(OBLIGATIONS_HEADER, String.join(",", obligations));
+                    }
+                    if (practitionerId != null) {
+                        headers.set(PRACTITIONER_HEADER, practitionerId);
+                    }
+                })
+                .build();
+
+        return chain.filter(exchange.mutate().request(request).build());
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
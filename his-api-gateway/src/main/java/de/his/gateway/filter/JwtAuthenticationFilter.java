@@ -1,6 +1,7 @@
 package de.his.gateway.filter;
 
 import de.his.gateway.service.JwtService;
+import io.jsonwebtoken.Claims;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -23,6 +24,9 @@ import java.util.stream.Collectors;
  */
 public class JwtAuthenticationFilter implements WebFilter {
 
+    // Behandler-ID aus dem Token (Claim practitioner_id), weitergereicht von AuthorizationObligationFilter
+    public static final String PRACTITIONER_ID_ATTR = JwtAuthenticationFilter.class.getName() + ".practitionerId";
+
     private final JwtService jwtService;
 
     public JwtAuthenticationFilter(JwtService jwtService) {
@@ -54,10 +58,15 @@ public class JwtAuthenticationFilter implements WebFilter {
         try {
             String token = jwtService.extractTokenFromHeader(authHeader);
 
-            if (token != null && jwtService.validateToken(token)) {
-                // Extract user information from token
-                String username = jwtService.extractUsername(token);
-                List<String> roles = jwtService.extractRoles(token);
+            if (token != null) {
+                // Token nur einmal parsen (Signatur + Ablauf), wirft bei ungültigem Token
+                Claims claims = jwtService.parseToken(token);
+                String username = claims.getSubject();
+                List<String> roles = jwtService.extractRoles(claims);
+                String practitionerId = claims.get("practitioner_id", String.class);
+                if (practitionerId != null) {
+                    exchange.getAttributes().put(PRACTITIONER_ID_ATTR, practitionerId);
+                }
 
                 // Convert roles to authorities
                 List<SimpleGrantedAuthority> authorities = roles.stream()
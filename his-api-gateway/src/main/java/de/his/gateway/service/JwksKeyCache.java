@@ -0,0 +1,149 @@
+package de.his.gateway.service;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import de.his.gateway.config.PvsGatewayProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.security.PublicKey;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Öffentliche Signaturschlüssel des Identity Service (JWKS), nach kid indiziert.
+ *
+ * Die Schlüssel werden im Hintergrund geladen und alle {@code jwks-refresh-interval} erneuert;
+ * die Tokenprüfung liest nur die Map und löst nie selbst einen Netzwerkaufruf aus. Schlägt ein
+ * Refresh fehl, bleibt der letzte gültige Stand bestehen. Ein unbekannter kid stößt einen
+ * vorgezogenen Refresh an (höchstens einmal je {@code jwks-min-refresh-interval}), falls der
+ * Identity Service einen Schlüssel ohne Vorlaufzeit veröffentlicht hat.
+ */
+@Component
+@ConditionalOnExpression("${his.gateway.security.jwt.enabled:false} and '${his.gateway.security.jwt.jwks-uri:}' != ''")
+public class JwksKeyCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwksKeyCache.class);
+
+    private final WebClient webClient;
+    private final String jwksUri;
+    private final Duration refreshInterval;
+    private final Duration minRefreshInterval;
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final AtomicLong lastRefreshNanos = new AtomicLong(System.nanoTime());
+    private Disposable schedule;
+
+    public JwksKeyCache(PvsGatewayProperties gatewayProperties, WebClient.Builder webClientBuilder) {
+        PvsGatewayProperties.JwtConfig jwt = gatewayProperties.getSecurity().getJwt();
+        this.webClient = webClientBuilder.build();
+        this.jwksUri = jwt.getJwksUri();
+        this.refreshInterval = jwt.getJwksRefreshInterval();
+        this.minRefreshInterval = jwt.getJwksMinRefreshInterval();
+    }
+
+    @PostConstruct
+    public void start() {
+        schedule = Flux.interval(Duration.ZERO, refreshInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> refresh()
+                        // beim Start wiederholen, bis der Identity Service erreichbar ist
+                        .retryWhen(Retry.backoff(keys.isEmpty() ? Long.MAX_VALUE : 3, Duration.ofSeconds(1))
+                                .maxBackoff(Duration.ofSeconds(30)))
+                        .onErrorResume(e -> {
+                            logger.warn("JWKS refresh from {} failed, keeping {} cached keys: {}",
+                                    jwksUri, keys.size(), e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (schedule != null) {
+            schedule.dispose();
+        }
+    }
+
+    /**
+     * Schlüssel zum kid oder {@code null}, wenn er (noch) nicht bekannt ist.
+     */
+    public PublicKey getKey(String kid) {
+        PublicKey key = kid != null ? keys.get(kid) : null;
+        if (key == null) {
+            requestRefresh();
+        }
+        return key;
+    }
+
+    private void requestRefresh() {
+        long last = lastRefreshNanos.get();
+        if (System.nanoTime() - last < minRefreshInterval.toNanos() || !lastRefreshNanos.compareAndSet(last, System.nanoTime())) {
+            return;
+        }
+        refresh().subscribe(null, e -> logger.warn("JWKS refresh for unknown kid failed: {}", e.getMessage()));
+    }
+
+    private Mono<Void> refresh() {
+        return Mono.defer(() -> {
+            if (!refreshing.compareAndSet(false, true)) {
+                return Mono.empty();
+            }
+            return webClient.get()
+                    .uri(jwksUri)
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .timeout(Duration.ofSeconds(5))
+                    .map(this::parse)
+                    .doOnNext(this::replace)
+                    .doFinally(signal -> refreshing.set(false))
+                    .then();
+        });
+    }
+
+    private Map<String, PublicKey> parse(String body) {
+        try {
+            Map<String, PublicKey> parsed = new HashMap<>();
+            for (JWK jwk : JWKSet.parse(body).getKeys()) {
+                // nur EC-Signaturschlüssel für ES256, alles andere wird ignoriert
+                if (jwk instanceof ECKey ecKey && jwk.getKeyID() != null
+                        && (jwk.getKeyUse() == null || KeyUse.SIGNATURE.equals(jwk.getKeyUse()))
+                        && (jwk.getAlgorithm() == null || JWSAlgorithm.ES256.equals(jwk.getAlgorithm()))) {
+                    parsed.put(jwk.getKeyID(), ecKey.toECPublicKey());
+                }
+            }
+            return Map.copyOf(parsed);
+        } catch (ParseException | JOSEException e) {
+            throw new IllegalStateException("Invalid JWKS from " + jwksUri, e);
+        }
+    }
+
+    private void replace(Map<String, PublicKey> parsed) {
+        if (parsed.isEmpty()) {
+            throw new IllegalStateException("JWKS from " + jwksUri + " contains no ES256 keys");
+        }
+        if (!parsed.keySet().equals(keys.keySet())) {
+            logger.info("Loaded {} signing keys from {}: {}", parsed.size(), jwksUri, parsed.keySet());
+        }
+        keys = parsed;
+        lastRefreshNanos.set(System.nanoTime());
+    }
+}
@@ -1,74 +1,87 @@
 package de.his.gateway.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import de.his.gateway.config.PvsGatewayProperties; // ← Geändert
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.security.Key;
 import java.util.Date;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
- * JWT Service for Token Generation and Validation
+ * JWT Service for Token Validation
+ *
+ * Mit JWKS-Cache ({@link JwksKeyCache}) werden nur ES256-Tokens des Identity Service akzeptiert,
+ * der Schlüssel wird über den kid im Header gewählt. Ohne jwks-uri gilt die Legacy-Prüfung mit
+ * dem gemeinsamen HS256-Secret.
+ *
+ * Eine ES256-Prüfung kostet rund 1 ms CPU (JwsVerifyBenchmarkIT im Identity Service), daher
+ * merkt sich der Service bereits geprüfte Tokens bis zu ihrem Ablauf, höchstens aber
+ * {@code verified-token-ttl}. Gleicher Token-String heißt gleiche, bereits geprüfte Signatur.
  */
 @Service
 @ConditionalOnProperty(name = "his.gateway.security.jwt.enabled", havingValue = "true")
 public class JwtService {
 
-    private final SecretKey secretKey;
-    private final long expirationTime;
-
-    public JwtService(PvsGatewayProperties gatewayProperties) { // ← Geändert
-        String secret = gatewayProperties.getSecurity().getJwt().getSecret();
-        this.secretKey = Keys.hmacShaKeyFor(secret.getBytes());
-        this.expirationTime = gatewayProperties.getSecurity().getJwt().getExpiration();
-    }
-
-    public String generateToken(Authentication authentication) {
-        String username = authentication.getName();
-        List<String> roles = authentication.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.toList());
-
-        Instant now = Instant.now();
-        Instant expiration = now.plus(expirationTime, ChronoUnit.SECONDS);
-
-        return Jwts.builder()
-                .setSubject(username)
-                .claim("roles", roles)
-                .claim("iat", Date.from(now))
-                .setExpiration(Date.from(expiration))
-                .signWith(secretKey, SignatureAlgorithm.HS256)
-                .compact();
+    // Parser ist thread-safe und wird nur einmal gebaut
+    private final JwtParser jwtParser;
+    private final Cache<String, Claims> verifiedTokens;
+
+    public JwtService(PvsGatewayProperties gatewayProperties, ObjectProvider<JwksKeyCache> jwksKeyCache) { // ← Geändert
+        PvsGatewayProperties.JwtConfig jwt = gatewayProperties.getSecurity().getJwt();
+        JwksKeyCache keyCache = jwksKeyCache.getIfAvailable();
+        if (keyCache != null) {
+            this.jwtParser = Jwts.parserBuilder()
+                    .setSigningKeyResolver(new JwksSigningKeyResolver(keyCache))
+                    .build();
+        } else {
+            this.jwtParser = Jwts.parserBuilder()
+                    .setSigningKey(Keys.hmacShaKeyFor(jwt.getSecret().getBytes()))
+                    .build();
+        }
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(jwt.getVerifiedTokenCacheSize())
+                .expireAfterWrite(jwt.getVerifiedTokenTtl())
+                .build();
     }
 
-    public String generateToken(String username, List<String> roles) {
-        Instant now = Instant.now();
-        Instant expiration = now.plus(expirationTime, ChronoUnit.SECONDS);
-
-        return Jwts.builder()
-                .setSubject(username)
-                .claim("roles", roles)
-                .claim("iat", Date.from(now))
-                .setExpiration(Date.from(expiration))
-                .signWith(secretKey, SignatureAlgorithm.HS256)
-                .compact();
+    /**
+     * Prüft Signatur und Ablauf und liefert die Claims; ein Aufruf je Request genügt.
+     */
+    public Claims parseToken(String token) {
+        Claims cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            if (cached.getExpiration() == null || cached.getExpiration().after(new Date())) {
+                return cached;
+            }
+            verifiedTokens.invalidate(token);
+        }
+        try {
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            verifiedTokens.put(token, claims);
+            return claims;
+        } catch (JwtException e) {
+            throw new IllegalArgumentException("Invalid JWT token", e);
+        }
     }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
-    @SuppressWarnings("unchecked")
     public List<String> extractRoles(String token) {
-        return extractClaim(token, claims -> (List<String>) claims.get("roles"));
+        return extractRoles(parseToken(token));
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<String> extractRoles(Claims claims) {
+        List<String> roles = (List<String>) claims.get("roles");
+        return roles != null ? roles : List.of();
     }
 
     public Date extractExpiration(String token) {
@@ -76,43 +89,22 @@ public class JwtService {
     }
 
     public <T> T extractClaim(String token, ClaimsResolver<T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.resolve(claims);
-    }
-
-    private Claims extractAllClaims(String token) {
-        try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-        } catch (JwtException e) {
-            throw new IllegalArgumentException("Invalid JWT token", e);
-        }
-    }
-
-    public boolean isTokenExpired(String token) {
-        try {
-            return extractExpiration(token).before(new Date());
-        } catch (Exception e) {
-            return true;
-        }
+        return claimsResolver.resolve(parseToken(token));
     }
 
     public boolean validateToken(String token, String username) {
         try {
-            final String extractedUsername = extractUsername(token);
-            return (extractedUsername.equals(username) && !isTokenExpired(token));
+            return parseToken(token).getSubject().equals(username);
         } catch (Exception e) {
             return false;
         }
     }
 
+    // parseToken lehnt abgelaufene Tokens bereits ab
     public boolean validateToken(String token) {
         try {
-            extractAllClaims(token);
-            return !isTokenExpired(token);
+            parseToken(token);
+            return true;
         } catch (Exception e) {
             return false;
         }
@@ -129,4 +121,29 @@ public class JwtService {
     public interface ClaimsResolver<T> {
         T resolve(Claims claims);
     }
+
+    /**
+     * Schlüsselwahl per kid, Algorithmus fest auf ES256 (kein alg=none/HS256 mit öffentlichem Schlüssel).
+     */
+    private static class JwksSigningKeyResolver extends SigningKeyResolverAdapter {
+
+        private final JwksKeyCache keyCache;
+
+        JwksSigningKeyResolver(JwksKeyCache keyCache) {
+            this.keyCache = keyCache;
+        }
+
+        @Override
+        @SuppressWarnings("rawtypes")
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            if (!SignatureAlgorithm.ES256.getValue().equals(header.getAlgorithm())) {
+                throw new UnsupportedJwtException("Unsupported JWT algorithm " + header.getAlgorithm());
+            }
+            Key key = keyCache.getKey(header.getKeyId());
+            if (key == null) {
+                throw new UnsupportedJwtException("Unknown JWT key id " + header.getKeyId());
+            }
+            return key;
+        }
+    }
 }
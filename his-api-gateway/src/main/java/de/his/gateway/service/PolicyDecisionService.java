@@ -0,0 +1,239 @@
+package de.his.gateway.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.his.gateway.config.PvsGatewayProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+
+/**
+ * Policy Enforcement im Gateway: fragt den Authorization Service (POST /api/v1/decide) und
+ * cacht die Entscheidung je (Benutzer, Rollen, Routen-Template, Methode).
+ *
+ * Im Normalfall ist die Prüfung ein Cache-Treffer ohne Netzwerkaufruf. Gleichzeitige Anfragen
+ * mit gleichem Schlüssel teilen sich einen Aufruf. Regeländerungen leeren den Cache per Redis
+ * Pub/Sub, zusätzlich bei jeder Antwort mit neuer Policy-Version; sonst gilt die TTL. Ist der
+ * Authorization Service nicht erreichbar, wird ohne gecachte Entscheidung abgelehnt (403).
+ *
+ * Auflagen einer Entscheidung (z. B. TREATING_RELATIONSHIP) legt der Service als Exchange-Attribut
+ * ab; AuthorizationObligationFilter reicht sie als Header an den Backend-Service weiter.
+ */
+@Service
+@ConditionalOnExpression("${his.gateway.security.jwt.enabled:false} and ${his.gateway.security.rbac.enabled:false}")
+public class PolicyDecisionService implements ReactiveAuthorizationManager<AuthorizationContext> {
+
+    private static final Logger logger = LoggerFactory.getLogger(PolicyDecisionService.class);
+
+    public static final String OBLIGATIONS_ATTR = PolicyDecisionService.class.getName() + ".obligations";
+
+    private static final String API_PREFIX = "/api/v1/";
+    private static final String ID_PLACEHOLDER = "{id}";
+
+    private final PvsGatewayProperties.RbacConfig rbac;
+    private final WebClient webClient;
+    private final ReactiveRedisConnectionFactory redisConnectionFactory;
+    private final AsyncCache<DecisionKey, Decision> decisions;
+
+    private volatile String policyVersion;
+    private ReactiveRedisMessageListenerContainer listenerContainer;
+    private Disposable invalidationSubscription;
+
+    public PolicyDecisionService(PvsGatewayProperties gatewayProperties, WebClient.Builder webClientBuilder,
+            ReactiveRedisConnectionFactory redisConnectionFactory, MeterRegistry meterRegistry) {
+        this.rbac = gatewayProperties.getSecurity().getRbac();
+        this.webClient = webClientBuilder.build();
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.decisions = Caffeine.newBuilder()
+                .maximumSize(rbac.getDecisionCacheSize())
+                .expireAfterWrite(rbac.getDecisionCacheTtl())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, decisions, "policyDecisions");
+    }
+
+    @PostConstruct
+    public void subscribeToPolicyChanges() {
+        listenerContainer = new ReactiveRedisMessageListenerContainer(redisConnectionFactory);
+        invalidationSubscription = listenerContainer
+                .receive(ChannelTopic.of(rbac.getInvalidationChannel()))
+                .doOnSubscribe(subscription -> logger.debug("Listening for policy changes on {}", rbac.getInvalidationChannel()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe(message -> invalidate("policy version " + message.getMessage()));
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (invalidationSubscription != null) {
+            invalidationSubscription.dispose();
+        }
+        if (listenerContainer != null) {
+            listenerContainer.destroyLater().subscribe();
+        }
+    }
+
+    @Override
+    public Mono<AuthorizationDecision> check(Mono<Authentication> authentication, AuthorizationContext context) {
+        ServerHttpRequest request = context.getExchange().getRequest();
+        String template = routeTemplate(request.getPath().value());
+        HttpMethod method = request.getMethod();
+
+        return authentication
+                .filter(Authentication::isAuthenticated)
+                .flatMap(auth -> {
+                    DecisionKey key = new DecisionKey(auth.getName(), canonicalRoles(auth), template, method.name());
+                    // geteiltes Future nicht abbrechen, wenn eine einzelne Anfrage abbricht
+                    return Mono.fromFuture(decisions.get(key, (k, executor) -> fetch(k).toFuture()), true);
+                })
+                .map(decision -> {
+                    if (decision.permitted() && !decision.obligations().isEmpty()) {
+                        context.getExchange().getAttributes().put(OBLIGATIONS_ATTR, decision.obligations());
+                    }
+                    return new AuthorizationDecision(decision.permitted());
+                })
+                .onErrorResume(e -> {
+                    logger.warn("Policy decision for {} {} failed, denying: {}", method, template, e.getMessage());
+                    return Mono.just(new AuthorizationDecision(false));
+                })
+                .defaultIfEmpty(new AuthorizationDecision(false));
+    }
+
+    private Mono<Decision> fetch(DecisionKey key) {
+        DecideRequest question = new DecideRequest(key.subject(), key.roles(), resource(key.template()),
+                action(key.method(), key.template()), null);
+        return webClient.post()
+                .uri(rbac.getDecisionUri())
+                .bodyValue(new BatchDecideRequest(List.of(question)))
+                .retrieve()
+                .bodyToMono(BatchDecideResponse.class)
+                .timeout(rbac.getDecisionTimeout())
+                .map(response -> {
+                    trackPolicyVersion(response.policyVersion());
+                    DecideResponse decision = response.decisions().get(0);
+                    return new Decision("PERMIT".equals(decision.decision()),
+                            decision.obligations() != null ? decision.obligations() : List.of());
+                });
+    }
+
+    // falls eine Pub/Sub-Nachricht verloren ging: neue Version in einer Antwort leert den Cache ebenfalls
+    private void trackPolicyVersion(String version) {
+        String previous = policyVersion;
+        policyVersion = version;
+        if (previous != null && version != null && !previous.equals(version)) {
+            invalidate("policy version " + version + " seen in decision");
+        }
+    }
+
+    private void invalidate(String reason) {
+        decisions.synchronous().invalidateAll();
+        logger.info("Policy decision cache cleared ({})", reason);
+    }
+
+    /**
+     * Rollen ohne ROLE_-Präfix, auf die Gruppen aus his.gateway.security.rbac abgebildet
+     * (z. B. PHYSICIAN -> DOCTOR), sortiert für einen stabilen Cache-Schlüssel.
+     */
+    private List<String> canonicalRoles(Authentication authentication) {
+        TreeSet<String> roles = new TreeSet<>();
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            String role = authority.getAuthority();
+            roles.add(canonicalRole(role.startsWith("ROLE_") ? role.substring(5) : role));
+        }
+        return List.copyOf(roles);
+    }
+
+    private String canonicalRole(String role) {
+        if (rbac.getAdminRoles().contains(role)) {
+            return "ADMIN";
+        }
+        if (rbac.getDoctorRoles().contains(role)) {
+            return "DOCTOR";
+        }
+        if (rbac.getNurseRoles().contains(role)) {
+            return "NURSE";
+        }
+        if (rbac.getReadonlyRoles().contains(role)) {
+            return "READONLY";
+        }
+        return role;
+    }
+
+    /**
+     * Pfad mit Platzhaltern für IDs: Segmente mit Ziffern (UUID, KVNR, Zahlen) werden zu {id},
+     * z. B. /api/v1/encounters/{id}/documentation. Hält die Zahl der Cache-Schlüssel klein.
+     */
+    static String routeTemplate(String path) {
+        StringBuilder template = new StringBuilder(path.length());
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            template.append('/').append(segment.chars().anyMatch(Character::isDigit) && !segment.equals("v1")
+                    ? ID_PLACEHOLDER : segment);
+        }
+        return template.isEmpty() ? "/" : template.toString();
+    }
+
+    // erstes Segment nach /api/v1/, z. B. patients, encounters, changes
+    static String resource(String template) {
+        if (!template.startsWith(API_PREFIX)) {
+            return template;
+        }
+        int end = template.indexOf('/', API_PREFIX.length());
+        return template.substring(API_PREFIX.length(), end < 0 ? template.length() : end);
+    }
+
+    // Suchen per POST (z. B. /search/structured) sind Lesezugriffe
+    static String action(String method, String template) {
+        return switch (method.toUpperCase(Locale.ROOT)) {
+            case "POST" -> template.contains("/search") ? "READ" : "CREATE";
+            case "PUT", "PATCH" -> "UPDATE";
+            case "DELETE" -> "DELETE";
+            default -> "READ";
+        };
+    }
+
+    private record DecisionKey(String subject, List<String> roles, String template, String method) {
+    }
+
+    private record Decision(boolean permitted, List<String> obligations) {
+    }
+
+    // Wire-Format von his-authorization-service (POST /api/v1/decide)
+    private record DecideRequest(String subject, List<String> roles, String resource, String action,
+            Boolean treatingRelationship) {
+    }
+
+    private record BatchDecideRequest(List<DecideRequest> requests) {
+    }
+
+    private record DecideResponse(String decision, List<String> obligations) {
+    }
+
+    private record BatchDecideResponse(String policyVersion, List<DecideResponse> decisions) {
+    }
+}
@@ -0,0 +1,113 @@
+package de.his.gateway.config;
+
+import io.netty.channel.Channel;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Protokoll der Backend-Verbindungen gegen einen lokalen Server, der wie die Backends
+ * HTTP/1.1 und h2c (prior knowledge) spricht.
+ */
+class BackendHttpClientConfigTest {
+
+    // TCP-Verbindungen, über die Requests ankamen (bei HTTP/2 der Parent des Streams)
+    private final Set<String> connections = ConcurrentHashMap.newKeySet();
+    private DisposableServer backend;
+
+    @BeforeEach
+    void setUp() {
+        // request.protocol() meldet auch für HTTP/2-Streams HTTP/1.1 (Frames werden umgesetzt),
+        // daher am Kanal unterscheiden
+        backend = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+                .handle((request, response) -> {
+                    AtomicReference<String> protocol = new AtomicReference<>();
+                    request.withConnection(connection -> {
+                        Channel channel = connection.channel();
+                        boolean http2 = channel instanceof Http2StreamChannel;
+                        connections.add((http2 ? channel.parent() : channel).id().asLongText());
+                        protocol.set(http2 ? "h2c" : "http/1.1");
+                    });
+                    return response.sendString(Mono.fromSupplier(protocol::get));
+                })
+                .bindNow();
+    }
+
+    @AfterEach
+    void tearDown() {
+        backend.disposeNow();
+    }
+
+    @Test
+    void shouldMultiplexBackendRequestsOverOneH2cConnection() {
+        // Given
+        HttpClient client = backendClient(true);
+
+        // When - kalter Burst paralleler Requests
+        List<String> protocols = Flux.range(0, 32)
+                .flatMap(i -> client.get().uri("/api/v1/patients/" + i).responseContent().aggregate().asString())
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        // Then
+        assertThat(protocols).hasSize(32).containsOnly("h2c");
+        assertThat(connections).hasSize(1);
+    }
+
+    @Test
+    void shouldKeepHttp11WhenH2cIsDisabled() {
+        // Given
+        HttpClient client = backendClient(false);
+
+        // When
+        List<String> protocols = Flux.range(0, 4)
+                .flatMap(i -> client.get().uri("/api/v1/patients/" + i).responseContent().aggregate().asString())
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        // Then - je paralleler Request eine eigene Verbindung
+        assertThat(protocols).hasSize(4).containsOnly("http/1.1");
+        assertThat(client.configuration().protocols()).containsExactly(HttpProtocol.HTTP11);
+    }
+
+    // HttpClient wie für die Gateway-Routen: Factory-Bean samt Customizer
+    private HttpClient backendClient(boolean h2c) {
+        PvsGatewayProperties gatewayProperties = new PvsGatewayProperties();
+        gatewayProperties.getServices().setH2c(h2c);
+        BackendHttpClientConfig config = new BackendHttpClientConfig();
+        HttpClientProperties httpClientProperties = new HttpClientProperties();
+        ServerProperties serverProperties = new ServerProperties();
+        HttpClientFactory factory = config.gatewayHttpClientFactory(httpClientProperties, serverProperties,
+                new ArrayList<>(List.of(config.backendProtocolCustomizer(gatewayProperties))),
+                new HttpClientSslConfigurer(httpClientProperties.getSsl(), serverProperties), gatewayProperties);
+        try {
+            factory.afterPropertiesSet();
+            return factory.getObject().baseUrl("http://localhost:" + backend.port());
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package de.his.gateway.filter;
+
+import de.his.gateway.service.PolicyDecisionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AuthorizationObligationFilterTest {
+
+    private final AuthorizationObligationFilter filter = new AuthorizationObligationFilter();
+
+    @Test
+    void shouldStripClientSuppliedObligationAndPractitionerHeaders() {
+        // Given - Client versucht, Auflagen zu unterdrücken bzw. eine Identität vorzutäuschen
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/patients")
+                .header(AuthorizationObligationFilter.OBLIGATIONS_HEADER, "NONE")
+                .header(AuthorizationObligationFilter.PRACTITIONER_HEADER, "someone-else"));
+
+        // When
+        HttpHeaders forwarded = forwardedHeaders(exchange);
+
+        // Then
+        assertThat(forwarded).doesNotContainKey(AuthorizationObligationFilter.OBLIGATIONS_HEADER);
+        assertThat(forwarded).doesNotContainKey(AuthorizationObligationFilter.PRACTITIONER_HEADER);
+    }
+
+    @Test
+    void shouldForwardObligationsAndPractitionerFromExchangeAttributes() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/patients")
+                .header(AuthorizationObligationFilter.OBLIGATIONS_HEADER, "NONE")
+                .header(AuthorizationObligationFilter.PRACTITIONER_HEADER, "someone-else"));
+        exchange.getAttributes().put(PolicyDecisionService.OBLIGATIONS_ATTR,
+                List.of("TREATING_RELATIONSHIP", "AUDIT"));
+        exchange.getAttributes().put(JwtAuthenticationFilter.PRACTITIONER_ID_ATTR, "practitioner-42");
+
+        // When
+        HttpHeaders forwarded = forwardedHeaders(exchange);
+
+        // Then - ersetzt, nicht ergänzt
+        assertThat(forwarded.get(AuthorizationObligationFilter.OBLIGATIONS_HEADER))
+                .containsExactly("TREATING_RELATIONSHIP,AUDIT");
+        assertThat(forwarded.get(AuthorizationObligationFilter.PRACTITIONER_HEADER))
+                .containsExactly("practitioner-42");
+    }
+
+    @Test
+    void shouldOmitObligationHeaderForEmptyObligations() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/patients"));
+        exchange.getAttributes().put(PolicyDecisionService.OBLIGATIONS_ATTR, List.of());
+
+        // When / Then
+        assertThat(forwardedHeaders(exchange)).doesNotContainKey(AuthorizationObligationFilter.OBLIGATIONS_HEADER);
+    }
+
+    private HttpHeaders forwardedHeaders(MockServerWebExchange exchange) {
+        AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+        GatewayFilterChain chain = mutated -> {
+            forwarded.set(mutated);
+            return Mono.empty();
+        };
+        filter.filter(exchange, chain).block();
+        return forwarded.get().getRequest().getHeaders();
+    }
+}
@@ -0,0 +1,173 @@
+package de.his.gateway.service;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import de.his.gateway.config.PvsGatewayProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * JWKS-Cache gegen einen simulierten Identity Service (ExchangeFunction statt HTTP).
+ */
+class JwksKeyCacheTest {
+
+    private static final String JWKS_URI = "http://identity-service/.well-known/jwks.json";
+
+    // aktuelles JWKS des Identity Service, null = nicht verfügbar
+    private final AtomicReference<String> jwksBody = new AtomicReference<>();
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    private ECKey current;
+    private ECKey next;
+    private JwksKeyCache cache;
+
+    @BeforeEach
+    void setUp() throws JOSEException {
+        current = ecKey("key-2026-01");
+        next = ecKey("key-2026-02");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (cache != null) {
+            cache.stop();
+        }
+    }
+
+    @Test
+    void shouldResolvePublishedEs256KeysByKid() throws JOSEException {
+        // Given - RSA- und Verschlüsselungsschlüssel werden ignoriert
+        ECKey encryptionKey = new ECKeyGenerator(Curve.P_256).keyID("enc").keyUse(KeyUse.ENCRYPTION).generate();
+        JWK rsaKey = new RSAKeyGenerator(2048).keyID("rsa").generate();
+        serve(current, encryptionKey, rsaKey);
+
+        // When
+        startCache(Duration.ofHours(1));
+
+        // Then
+        assertThat(cache.getKey(current.getKeyID())).isEqualTo(current.toECPublicKey());
+        assertThat(cache.getKey("enc")).isNull();
+        assertThat(cache.getKey("rsa")).isNull();
+        assertThat(cache.getKey(null)).isNull();
+        assertThat(fetches).hasValue(1);
+    }
+
+    @Test
+    void shouldRefreshEarlyWhenUnknownKidArrives() throws JOSEException {
+        // Given - Identity Service veröffentlicht nach dem Start einen neuen Schlüssel
+        serve(current);
+        startCache(Duration.ZERO);
+        serve(current, next);
+
+        // When - erster Zugriff mit dem neuen kid kennt ihn noch nicht, stößt aber den Refresh an
+        assertThat(cache.getKey(next.getKeyID())).isNull();
+
+        // Then
+        await(() -> cache.getKey(next.getKeyID()) != null);
+        assertThat(cache.getKey(next.getKeyID())).isEqualTo(next.toECPublicKey());
+        assertThat(cache.getKey(current.getKeyID())).isEqualTo(current.toECPublicKey());
+    }
+
+    @Test
+    void shouldThrottleRefreshesForUnknownKids() throws InterruptedException {
+        // Given
+        serve(current);
+        startCache(Duration.ofHours(1));
+        serve(current, next);
+
+        // When - innerhalb von jwks-min-refresh-interval kein weiterer Abruf
+        for (int i = 0; i < 10; i++) {
+            assertThat(cache.getKey("unknown-" + i)).isNull();
+        }
+        Thread.sleep(100);
+
+        // Then
+        assertThat(fetches).hasValue(1);
+        assertThat(cache.getKey(next.getKeyID())).isNull();
+    }
+
+    @Test
+    void shouldKeepCachedKeysWhenRefreshFails() throws JOSEException {
+        // Given
+        serve(current);
+        startCache(Duration.ZERO);
+        jwksBody.set(null);
+        int fetchesBefore = fetches.get();
+
+        // When
+        assertThat(cache.getKey(next.getKeyID())).isNull();
+        await(() -> fetches.get() > fetchesBefore);
+
+        // Then
+        assertThat(cache.getKey(current.getKeyID())).isEqualTo(current.toECPublicKey());
+    }
+
+    private void startCache(Duration minRefreshInterval) {
+        PvsGatewayProperties properties = new PvsGatewayProperties();
+        properties.getSecurity().getJwt().setJwksUri(JWKS_URI);
+        properties.getSecurity().getJwt().setJwksRefreshInterval(Duration.ofHours(1));
+        properties.getSecurity().getJwt().setJwksMinRefreshInterval(minRefreshInterval);
+
+        WebClient.Builder webClientBuilder = WebClient.builder().exchangeFunction(request -> {
+            assertThat(request.url().toString()).isEqualTo(JWKS_URI);
+            fetches.incrementAndGet();
+            String body = jwksBody.get();
+            if (body == null) {
+                return Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build());
+            }
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(body)
+                    .build());
+        });
+        cache = new JwksKeyCache(properties, webClientBuilder);
+        cache.start();
+        // erster Abruf läuft im Hintergrund
+        await(() -> cache.getKey(current.getKeyID()) != null);
+    }
+
+    // JWKSet.toString() enthält nur die öffentlichen Teile
+    private void serve(JWK... keys) {
+        jwksBody.set(new JWKSet(List.of(keys)).toString());
+    }
+
+    private static ECKey ecKey(String kid) throws JOSEException {
+        return new ECKeyGenerator(Curve.P_256).keyID(kid).keyUse(KeyUse.SIGNATURE).generate();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within 5 s");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package de.his.gateway.service;
+
+import de.his.gateway.config.PvsGatewayProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class PolicyDecisionServiceTest {
+
+    private static final String PATIENT_ID = "3fa85f64-5717-4562-b3fc-2c963f66afa6";
+    private static final String OTHER_PATIENT_ID = "7c9e6679-7425-40de-944b-e07fc1f90ae7";
+
+    // Anfragen an den Authorization Service (JSON) und seine nächste Antwort
+    private final List<String> decideRequests = new CopyOnWriteArrayList<>();
+    private final AtomicReference<Mono<ClientResponse>> decideResponse = new AtomicReference<>();
+
+    private PvsGatewayProperties properties;
+    private PolicyDecisionService service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PvsGatewayProperties();
+        // großzügig: der erste Aufruf lädt WebClient und Jackson
+        properties.getSecurity().getRbac().setDecisionTimeout(Duration.ofSeconds(10));
+        respond("v1", "PERMIT");
+        service = createService();
+    }
+
+    @Test
+    void shouldReplaceIdSegmentsInRouteTemplate() {
+        assertThat(PolicyDecisionService.routeTemplate("/api/v1/patients/" + PATIENT_ID + "/encounters"))
+                .isEqualTo("/api/v1/patients/{id}/encounters");
+        assertThat(PolicyDecisionService.routeTemplate("/api/v1/patients/kvnr/A123456789"))
+                .isEqualTo("/api/v1/patients/kvnr/{id}");
+        assertThat(PolicyDecisionService.routeTemplate("/api/v1/encounters/search/structured"))
+                .isEqualTo("/api/v1/encounters/search/structured");
+        assertThat(PolicyDecisionService.routeTemplate("//api/v1//patients/")).isEqualTo("/api/v1/patients");
+        assertThat(PolicyDecisionService.routeTemplate("/")).isEqualTo("/");
+    }
+
+    @Test
+    void shouldDeriveResourceFromFirstSegmentAfterApiPrefix() {
+        assertThat(PolicyDecisionService.resource("/api/v1/patients/{id}/encounters")).isEqualTo("patients");
+        assertThat(PolicyDecisionService.resource("/api/v1/changes")).isEqualTo("changes");
+        assertThat(PolicyDecisionService.resource("/actuator/health")).isEqualTo("/actuator/health");
+    }
+
+    @Test
+    void shouldMapMethodToAction() {
+        assertThat(PolicyDecisionService.action("GET", "/api/v1/patients/{id}")).isEqualTo("READ");
+        assertThat(PolicyDecisionService.action("POST", "/api/v1/encounters")).isEqualTo("CREATE");
+        assertThat(PolicyDecisionService.action("POST", "/api/v1/encounters/search/structured")).isEqualTo("READ");
+        assertThat(PolicyDecisionService.action("PUT", "/api/v1/patients/{id}")).isEqualTo("UPDATE");
+        assertThat(PolicyDecisionService.action("patch", "/api/v1/patients/{id}")).isEqualTo("UPDATE");
+        assertThat(PolicyDecisionService.action("DELETE", "/api/v1/encounters/{id}")).isEqualTo("DELETE");
+        assertThat(PolicyDecisionService.action("HEAD", "/api/v1/patients")).isEqualTo("READ");
+    }
+
+    @Test
+    void shouldAskDecisionPointWithTemplateResourceActionAndCanonicalRoles() {
+        // Given
+        respond("v1", "PERMIT", "TREATING_RELATIONSHIP");
+        MockServerWebExchange exchange = exchange(HttpMethod.GET, "/api/v1/patients/" + PATIENT_ID);
+
+        // When
+        AuthorizationDecision decision = check(user("dr.weber", "ROLE_PHYSICIAN", "ROLE_GUEST"), exchange);
+
+        // Then
+        assertThat(decision.isGranted()).isTrue();
+        assertThat(decideRequests).singleElement().satisfies(body -> assertThat(body)
+                .contains("\"subject\":\"dr.weber\"")
+                .contains("\"roles\":[\"DOCTOR\",\"READONLY\"]")
+                .contains("\"resource\":\"patients\"")
+                .contains("\"action\":\"READ\""));
+        assertThat(exchange.<List<String>>getAttribute(PolicyDecisionService.OBLIGATIONS_ATTR))
+                .containsExactly("TREATING_RELATIONSHIP");
+    }
+
+    @Test
+    void shouldDenyAndSetNoObligationsWhenDecisionIsDeny() {
+        // Given
+        respond("v1", "DENY", "TREATING_RELATIONSHIP");
+        MockServerWebExchange exchange = exchange(HttpMethod.DELETE, "/api/v1/encounters/" + PATIENT_ID);
+
+        // When / Then
+        assertThat(check(user("pflege.schmidt", "ROLE_NURSE"), exchange).isGranted()).isFalse();
+        assertThat(exchange.getAttributes()).doesNotContainKey(PolicyDecisionService.OBLIGATIONS_ATTR);
+        assertThat(decideRequests).singleElement().asString().contains("\"action\":\"DELETE\"");
+    }
+
+    @Test
+    void shouldCacheDecisionPerUserRolesTemplateAndMethod() {
+        // Given / When - gleiche Route mit anderer ID, Rollen-Alias und andere Reihenfolge
+        assertThat(check(user("dr.weber", "ROLE_DOCTOR", "ROLE_NURSE"),
+                exchange(HttpMethod.GET, "/api/v1/patients/" + PATIENT_ID)).isGranted()).isTrue();
+        assertThat(check(user("dr.weber", "ROLE_NURSE_PRACTITIONER", "ROLE_PHYSICIAN"),
+                exchange(HttpMethod.GET, "/api/v1/patients/" + OTHER_PATIENT_ID)).isGranted()).isTrue();
+
+        // Then
+        assertThat(decideRequests).hasSize(1);
+
+        // When - anderer Benutzer, andere Methode, andere Route
+        check(user("dr.klein", "ROLE_DOCTOR", "ROLE_NURSE"), exchange(HttpMethod.GET, "/api/v1/patients/" + PATIENT_ID));
+        check(user("dr.weber", "ROLE_DOCTOR", "ROLE_NURSE"), exchange(HttpMethod.PUT, "/api/v1/patients/" + PATIENT_ID));
+        check(user("dr.weber", "ROLE_DOCTOR", "ROLE_NURSE"), exchange(HttpMethod.GET, "/api/v1/encounters"));
+
+        // Then
+        assertThat(decideRequests).hasSize(4);
+    }
+
+    @Test
+    void shouldDenyWhenDecisionPointFailsAndNotCacheTheFailure() {
+        // Given
+        decideResponse.set(Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build()));
+        Authentication user = user("dr.weber", "ROLE_DOCTOR");
+
+        // When / Then
+        assertThat(check(user, exchange(HttpMethod.GET, "/api/v1/patients")).isGranted()).isFalse();
+
+        respond("v1", "PERMIT");
+        assertThat(check(user, exchange(HttpMethod.GET, "/api/v1/patients")).isGranted()).isTrue();
+        assertThat(decideRequests).hasSize(2);
+    }
+
+    @Test
+    void shouldDenyWhenDecisionPointTimesOut() {
+        // Given - Timeout wird je Aufruf gelesen
+        properties.getSecurity().getRbac().setDecisionTimeout(Duration.ofMillis(100));
+        decideResponse.set(Mono.never());
+
+        // When / Then
+        assertThat(check(user("dr.weber", "ROLE_DOCTOR"), exchange(HttpMethod.GET, "/api/v1/patients"))
+                .isGranted()).isFalse();
+    }
+
+    @Test
+    void shouldDenyUnauthenticatedRequestsWithoutAskingDecisionPoint() {
+        TestingAuthenticationToken unauthenticated = new TestingAuthenticationToken("anonymous", null);
+        unauthenticated.setAuthenticated(false);
+
+        assertThat(check(unauthenticated, exchange(HttpMethod.GET, "/api/v1/patients")).isGranted()).isFalse();
+        assertThat(service.check(Mono.empty(), new AuthorizationContext(exchange(HttpMethod.GET, "/api/v1/patients")))
+                .block().isGranted()).isFalse();
+        assertThat(decideRequests).isEmpty();
+    }
+
+    @Test
+    void shouldInvalidateCachedDecisionsWhenPolicyVersionChanges() {
+        // Given - gecachte Entscheidung unter v1
+        Authentication user = user("dr.weber", "ROLE_DOCTOR");
+        check(user, exchange(HttpMethod.GET, "/api/v1/patients/" + PATIENT_ID));
+        check(user, exchange(HttpMethod.GET, "/api/v1/patients/" + PATIENT_ID));
+        assertThat(decideRequests).hasSize(1);
+
+        // When - andere Route liefert bereits v2 und DENY
+        respond("v2", "DENY");
+        check(user, exchange(HttpMethod.GET, "/api/v1/encounters"));
+
+        // Then - auch die alte Entscheidung wird neu erfragt
+        assertThat(check(user, exchange(HttpMethod.GET, "/api/v1/patients/" + PATIENT_ID)).isGranted()).isFalse();
+        assertThat(decideRequests).hasSize(3);
+    }
+
+    private PolicyDecisionService createService() {
+        WebClient.Builder webClientBuilder = WebClient.builder().exchangeFunction(request -> {
+            MockClientHttpRequest body = new MockClientHttpRequest(request.method(), request.url());
+            return request.writeTo(body, ExchangeStrategies.withDefaults())
+                    .then(Mono.defer(body::getBodyAsString))
+                    .doOnNext(decideRequests::add)
+                    .then(Mono.defer(decideResponse::get));
+        });
+        return new PolicyDecisionService(properties, webClientBuilder, mock(ReactiveRedisConnectionFactory.class),
+                new SimpleMeterRegistry());
+    }
+
+    private void respond(String policyVersion, String decision, String... obligations) {
+        String obligationList = String.join(",", List.of(obligations).stream().map(o -> "\"" + o + "\"").toList());
+        String json = """
+                {"policyVersion": "%s", "decisions": [{"decision": "%s", "obligations": [%s]}]}
+                """.formatted(policyVersion, decision, obligationList);
+        decideResponse.set(Mono.fromSupplier(() -> ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(json)
+                .build()));
+    }
+
+    private AuthorizationDecision check(Authentication authentication, MockServerWebExchange exchange) {
+        return service.check(Mono.just(authentication), new AuthorizationContext(exchange)).block();
+    }
+
+    private static MockServerWebExchange exchange(HttpMethod method, String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.method(method, path));
+    }
+
+    private static Authentication user(String name, String... roles) {
+        return new TestingAuthenticationToken(name, null, roles);
+    }
+}
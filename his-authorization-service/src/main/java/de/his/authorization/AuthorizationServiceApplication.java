@@ -2,8 +2,10 @@ package de.his.authorization;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class AuthorizationServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(AuthorizationServiceApplication.class, args);
@@ -0,0 +1,28 @@
+package de.his.authorization.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Several authorization questions answered against the same policy version")
+public class BatchDecisionRequest {
+
+    @Schema(description = "Questions, answered in the same order")
+    @NotEmpty
+    @Size(max = 200)
+    private List<@Valid DecisionRequest> requests;
+
+    // Constructor
+    public BatchDecisionRequest() {}
+
+    public BatchDecisionRequest(List<DecisionRequest> requests) {
+        this.requests = requests;
+    }
+
+    // Getters and Setters
+    public List<DecisionRequest> getRequests() { return requests; }
+    public void setRequests(List<DecisionRequest> requests) { this.requests = requests; }
+}
@@ -0,0 +1,30 @@
+package de.his.authorization.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Decisions in request order")
+public class BatchDecisionResponse {
+
+    @Schema(description = "Version of the policy table that produced the decisions; changes with every rule change", example = "3f1a9c0e2b7d4a61")
+    private String policyVersion;
+
+    @Schema(description = "One decision per request, same order")
+    private List<DecisionResponse> decisions;
+
+    // Constructor
+    public BatchDecisionResponse() {}
+
+    public BatchDecisionResponse(String policyVersion, List<DecisionResponse> decisions) {
+        this.policyVersion = policyVersion;
+        this.decisions = decisions;
+    }
+
+    // Getters and Setters
+    public String getPolicyVersion() { return policyVersion; }
+    public void setPolicyVersion(String policyVersion) { this.policyVersion = policyVersion; }
+
+    public List<DecisionResponse> getDecisions() { return decisions; }
+    public void setDecisions(List<DecisionResponse> decisions) { this.decisions = decisions; }
+}
@@ -0,0 +1,63 @@
+package de.his.authorization.application.dto;
+
+import de.his.authorization.domain.model.Action;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Authorization question: may the subject perform the action on the resource?")
+public class DecisionRequest {
+
+    @Schema(description = "User name from the access token", example = "dr.mueller")
+    @NotBlank
+    @Size(max = 255)
+    private String subject;
+
+    @Schema(description = "Roles from the access token", example = "[\"DOCTOR\"]")
+    @NotNull
+    @Size(max = 50)
+    private List<@NotBlank String> roles;
+
+    @Schema(description = "Resource, e.g. first path segment after /api/v1", example = "encounters")
+    @NotBlank
+    @Size(max = 64)
+    private String resource;
+
+    @Schema(description = "Action", example = "READ")
+    @NotNull
+    private Action action;
+
+    @Schema(description = "Whether the subject treats the patient; omit if unknown, the condition is then returned as obligation")
+    private Boolean treatingRelationship;
+
+    // Constructor
+    public DecisionRequest() {}
+
+    public DecisionRequest(String subject, List<String> roles, String resource, Action action,
+            Boolean treatingRelationship) {
+        this.subject = subject;
+        this.roles = roles;
+        this.resource = resource;
+        this.action = action;
+        this.treatingRelationship = treatingRelationship;
+    }
+
+    // Getters and Setters
+    public String getSubject() { return subject; }
+    public void setSubject(String subject) { this.subject = subject; }
+
+    public List<String> getRoles() { return roles; }
+    public void setRoles(List<String> roles) { this.roles = roles; }
+
+    public String getResource() { return resource; }
+    public void setResource(String resource) { this.resource = resource; }
+
+    public Action getAction() { return action; }
+    public void setAction(Action action) { this.action = action; }
+
+    public Boolean getTreatingRelationship() { return treatingRelationship; }
+    public void setTreatingRelationship(Boolean treatingRelationship) { this.treatingRelationship = treatingRelationship; }
+}
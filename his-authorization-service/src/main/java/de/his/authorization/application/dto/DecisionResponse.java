@@ -0,0 +1,32 @@
+package de.his.authorization.application.dto;
+
+import de.his.authorization.domain.model.Decision;
+import de.his.authorization.domain.model.RuleCondition;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Authorization decision")
+public class DecisionResponse {
+
+    @Schema(description = "PERMIT or DENY", example = "PERMIT")
+    private Decision decision;
+
+    @Schema(description = "Conditions the resource service must enforce on PERMIT", example = "[\"TREATING_RELATIONSHIP\"]")
+    private List<RuleCondition> obligations;
+
+    // Constructor
+    public DecisionResponse() {}
+
+    public DecisionResponse(Decision decision, List<RuleCondition> obligations) {
+        this.decision = decision;
+        this.obligations = obligations;
+    }
+
+    // Getters and Setters
+    public Decision getDecision() { return decision; }
+    public void setDecision(Decision decision) { this.decision = decision; }
+
+    public List<RuleCondition> getObligations() { return obligations; }
+    public void setObligations(List<RuleCondition> obligations) { this.obligations = obligations; }
+}
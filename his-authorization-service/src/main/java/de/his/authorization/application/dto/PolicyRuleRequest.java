@@ -0,0 +1,71 @@
+package de.his.authorization.application.dto;
+
+import de.his.authorization.domain.model.Effect;
+import de.his.authorization.domain.model.RuleCondition;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+@Schema(description = "New policy rule")
+public class PolicyRuleRequest {
+
+    @Schema(description = "Role or *", example = "NURSE")
+    @NotBlank
+    @Size(max = 64)
+    private String role;
+
+    @Schema(description = "Resource or *", example = "encounters")
+    @NotBlank
+    @Size(max = 64)
+    private String resource;
+
+    @Schema(description = "READ, CREATE, UPDATE, DELETE or *", example = "UPDATE")
+    @NotBlank
+    @Pattern(regexp = "READ|CREATE|UPDATE|DELETE|\\*", message = "must be READ, CREATE, UPDATE, DELETE or *")
+    private String action;
+
+    @Schema(description = "PERMIT or DENY", example = "PERMIT")
+    @NotNull
+    private Effect effect;
+
+    @Schema(description = "Condition for PERMIT rules", example = "TREATING_RELATIONSHIP")
+    private RuleCondition condition = RuleCondition.NONE;
+
+    @Schema(description = "Free text", example = "Pflege: Vitalwerte eigener Patienten dokumentieren")
+    @Size(max = 255)
+    private String description;
+
+    // Constructor
+    public PolicyRuleRequest() {}
+
+    public PolicyRuleRequest(String role, String resource, String action, Effect effect, RuleCondition condition,
+            String description) {
+        this.role = role;
+        this.resource = resource;
+        this.action = action;
+        this.effect = effect;
+        this.condition = condition;
+        this.description = description;
+    }
+
+    // Getters and Setters
+    public String getRole() { return role; }
+    public void setRole(String role) { this.role = role; }
+
+    public String getResource() { return resource; }
+    public void setResource(String resource) { this.resource = resource; }
+
+    public String getAction() { return action; }
+    public void setAction(String action) { this.action = action; }
+
+    public Effect getEffect() { return effect; }
+    public void setEffect(Effect effect) { this.effect = effect; }
+
+    public RuleCondition getCondition() { return condition; }
+    public void setCondition(RuleCondition condition) { this.condition = condition; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+}
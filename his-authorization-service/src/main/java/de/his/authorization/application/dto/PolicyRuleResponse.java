@@ -0,0 +1,61 @@
+package de.his.authorization.application.dto;
+
+import de.his.authorization.domain.model.Effect;
+import de.his.authorization.domain.model.RuleCondition;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Schema(description = "Policy rule")
+public class PolicyRuleResponse {
+
+    private UUID id;
+    private String role;
+    private String resource;
+    private String action;
+    private Effect effect;
+    private RuleCondition condition;
+    private String description;
+    private Instant createdAt;
+
+    // Constructor
+    public PolicyRuleResponse() {}
+
+    public PolicyRuleResponse(UUID id, String role, String resource, String action, Effect effect,
+            RuleCondition condition, String description, Instant createdAt) {
+        this.id = id;
+        this.role = role;
+        this.resource = resource;
+        this.action = action;
+        this.effect = effect;
+        this.condition = condition;
+        this.description = description;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+
+    public String getRole() { return role; }
+    public void setRole(String role) { this.role = role; }
+
+    public String getResource() { return resource; }
+    public void setResource(String resource) { this.resource = resource; }
+
+    public String getAction() { return action; }
+    public void setAction(String action) { this.action = action; }
+
+    public Effect getEffect() { return effect; }
+    public void setEffect(Effect effect) { this.effect = effect; }
+
+    public RuleCondition getCondition() { return condition; }
+    public void setCondition(RuleCondition condition) { this.condition = condition; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,113 @@
+package de.his.authorization.application.service;
+
+import de.his.authorization.application.dto.BatchDecisionResponse;
+import de.his.authorization.application.dto.DecisionRequest;
+import de.his.authorization.application.dto.DecisionResponse;
+import de.his.authorization.domain.model.Decision;
+import de.his.authorization.domain.model.PolicyDecision;
+import de.his.authorization.domain.repository.PolicyRuleRepository;
+import de.his.authorization.infrastructure.messaging.PolicyChangeNotifier;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Policy Decision Point: beantwortet Berechtigungsfragen aus der kompilierten {@link PolicyTable}
+ * im Speicher, ohne Datenbankzugriff je Entscheidung.
+ *
+ * Die Tabelle wird neu kompiliert, wenn Regeln über diese Instanz geändert werden, wenn eine
+ * andere Instanz eine Änderung meldet (Redis Pub/Sub) und zur Sicherheit periodisch.
+ */
+@Service
+public class PolicyDecisionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PolicyDecisionService.class);
+
+    private final PolicyRuleRepository policyRuleRepository;
+    private final ObjectProvider<PolicyChangeNotifier> policyChangeNotifier;
+    private final Counter permitCounter;
+    private final Counter denyCounter;
+
+    private volatile PolicyTable policyTable;
+
+    public PolicyDecisionService(PolicyRuleRepository policyRuleRepository,
+            ObjectProvider<PolicyChangeNotifier> policyChangeNotifier, MeterRegistry meterRegistry) {
+        this.policyRuleRepository = policyRuleRepository;
+        this.policyChangeNotifier = policyChangeNotifier;
+        this.permitCounter = meterRegistry.counter("his.authorization.decisions", "decision", "permit");
+        this.denyCounter = meterRegistry.counter("his.authorization.decisions", "decision", "deny");
+    }
+
+    /**
+     * Alle Fragen gegen denselben Stand der Tabelle, Antworten in Anfragereihenfolge.
+     */
+    public BatchDecisionResponse decideAll(List<DecisionRequest> requests) {
+        PolicyTable table = policyTable();
+        List<DecisionResponse> decisions = new ArrayList<>(requests.size());
+        for (DecisionRequest request : requests) {
+            decisions.add(decide(table, request));
+        }
+        return new BatchDecisionResponse(table.version(), decisions);
+    }
+
+    public String currentVersion() {
+        return policyTable().version();
+    }
+
+    /**
+     * Änderungsmeldung einer anderen Instanz (oder die eigene, dann ohne Wirkung).
+     */
+    public void onPolicyChanged(String version) {
+        if (!version.equals(policyTable().version())) {
+            reload();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onRulesChanged(PolicyRulesChangedEvent event) {
+        PolicyTable table = reload();
+        policyChangeNotifier.ifAvailable(notifier -> notifier.publish(table.version()));
+    }
+
+    @Scheduled(initialDelayString = "${his.authorization.policy.reload-interval-ms:300000}",
+            fixedDelayString = "${his.authorization.policy.reload-interval-ms:300000}")
+    public void scheduledReload() {
+        reload();
+    }
+
+    synchronized PolicyTable reload() {
+        PolicyTable previous = policyTable;
+        PolicyTable table = PolicyTable.compile(policyRuleRepository.findAll());
+        if (previous == null || !previous.version().equals(table.version())) {
+            logger.info("Compiled policy table version {} from {} rules", table.version(), table.ruleCount());
+        }
+        policyTable = table;
+        return table;
+    }
+
+    private PolicyTable policyTable() {
+        PolicyTable table = policyTable;
+        return table != null ? table : reload();
+    }
+
+    private DecisionResponse decide(PolicyTable table, DecisionRequest request) {
+        List<String> roles = new ArrayList<>(request.getRoles().size());
+        for (String role : request.getRoles()) {
+            roles.add(PolicyTable.normalizeRole(role));
+        }
+        PolicyDecision decision = table.decide(roles, PolicyTable.normalizeResource(request.getResource()),
+                request.getAction(), request.getTreatingRelationship());
+
+        (decision.decision() == Decision.PERMIT ? permitCounter : denyCounter).increment();
+        return new DecisionResponse(decision.decision(), decision.obligations());
+    }
+}
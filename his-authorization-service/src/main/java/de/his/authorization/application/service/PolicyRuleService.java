@@ -0,0 +1,78 @@
+package de.his.authorization.application.service;
+
+import de.his.authorization.application.dto.PolicyRuleRequest;
+import de.his.authorization.application.dto.PolicyRuleResponse;
+import de.his.authorization.domain.model.Effect;
+import de.his.authorization.domain.model.PolicyRule;
+import de.his.authorization.domain.model.RuleCondition;
+import de.his.authorization.domain.repository.PolicyRuleRepository;
+import de.his.authorization.infrastructure.exception.InvalidPolicyRuleException;
+import de.his.authorization.infrastructure.exception.PolicyRuleNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Verwaltung der Policy-Regeln; jede Änderung kompiliert nach dem Commit die Policy-Tabelle
+ * neu ({@link PolicyDecisionService}).
+ */
+@Service
+@Transactional
+public class PolicyRuleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PolicyRuleService.class);
+
+    private final PolicyRuleRepository policyRuleRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PolicyRuleService(PolicyRuleRepository policyRuleRepository, ApplicationEventPublisher eventPublisher) {
+        this.policyRuleRepository = policyRuleRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional(readOnly = true)
+    public List<PolicyRuleResponse> getRules() {
+        return policyRuleRepository.findAllByOrderByRoleAscResourceAscActionAsc().stream()
+                .map(this::mapToResponse)
+                .toList();
+    }
+
+    public PolicyRuleResponse createRule(PolicyRuleRequest request) {
+        RuleCondition condition = request.getCondition() != null ? request.getCondition() : RuleCondition.NONE;
+        if (request.getEffect() == Effect.DENY && condition != RuleCondition.NONE) {
+            throw new InvalidPolicyRuleException("DENY rules cannot have a condition");
+        }
+
+        PolicyRule rule = policyRuleRepository.saveAndFlush(new PolicyRule(
+                PolicyTable.normalizeRole(request.getRole()),
+                PolicyTable.normalizeResource(request.getResource()),
+                request.getAction(),
+                request.getEffect(),
+                condition,
+                request.getDescription()));
+        logger.info("Created policy rule {}: {} {} {} {} ({})", rule.getId(), rule.getRole(), rule.getEffect(),
+                rule.getAction(), rule.getResource(), rule.getCondition());
+
+        eventPublisher.publishEvent(new PolicyRulesChangedEvent());
+        return mapToResponse(rule);
+    }
+
+    public void deleteRule(UUID id) {
+        PolicyRule rule = policyRuleRepository.findById(id)
+                .orElseThrow(() -> new PolicyRuleNotFoundException(id));
+        policyRuleRepository.delete(rule);
+        logger.info("Deleted policy rule {}", id);
+
+        eventPublisher.publishEvent(new PolicyRulesChangedEvent());
+    }
+
+    private PolicyRuleResponse mapToResponse(PolicyRule rule) {
+        return new PolicyRuleResponse(rule.getId(), rule.getRole(), rule.getResource(), rule.getAction(),
+                rule.getEffect(), rule.getCondition(), rule.getDescription(), rule.getCreatedAt());
+    }
+}
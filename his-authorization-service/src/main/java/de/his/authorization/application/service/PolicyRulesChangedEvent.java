@@ -0,0 +1,8 @@
+package de.his.authorization.application.service;
+
+/**
+ * Regeln wurden geändert; nach dem Commit wird die Policy-Tabelle neu kompiliert und die
+ * Änderung an Gateway und andere Instanzen gemeldet.
+ */
+public record PolicyRulesChangedEvent() {
+}
@@ -0,0 +1,157 @@
+package de.his.authorization.application.service;
+
+import de.his.authorization.domain.model.Action;
+import de.his.authorization.domain.model.Decision;
+import de.his.authorization.domain.model.Effect;
+import de.his.authorization.domain.model.PolicyDecision;
+import de.his.authorization.domain.model.PolicyRule;
+import de.his.authorization.domain.model.RuleCondition;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Zu Lookup-Tabellen kompilierte Policy-Regeln (unveränderlich, thread-safe).
+ *
+ * Je Rolle und Ressource ein Array mit einem Eintrag je {@link Action} plus einem für
+ * {@code *}; eine Entscheidung sind damit höchstens vier Map-Zugriffe je Rolle, ohne
+ * Regeln zu durchlaufen. Auswertung: DENY vor PERMIT, unbedingtes PERMIT vor PERMIT mit
+ * Bedingung, ohne passende Regel DENY.
+ */
+public final class PolicyTable {
+
+    private static final int ANY_ACTION = Action.values().length;
+
+    private final Map<String, Map<String, Grant[]>> grants;
+    private final String version;
+    private final int ruleCount;
+
+    private PolicyTable(Map<String, Map<String, Grant[]>> grants, String version, int ruleCount) {
+        this.grants = grants;
+        this.version = version;
+        this.ruleCount = ruleCount;
+    }
+
+    public static PolicyTable compile(List<PolicyRule> rules) {
+        Map<String, Map<String, Grant[]>> grants = new HashMap<>();
+        for (PolicyRule rule : rules) {
+            Grant[] byAction = grants
+                    .computeIfAbsent(normalizeRole(rule.getRole()), role -> new HashMap<>())
+                    .computeIfAbsent(normalizeResource(rule.getResource()), resource -> new Grant[ANY_ACTION + 1]);
+            int slot = PolicyRule.ANY.equals(rule.getAction()) ? ANY_ACTION : Action.valueOf(rule.getAction()).ordinal();
+            Grant grant = byAction[slot] != null ? byAction[slot] : (byAction[slot] = new Grant());
+
+            if (rule.getEffect() == Effect.DENY) {
+                grant.deny = true;
+            } else if (rule.getCondition() == RuleCondition.NONE) {
+                grant.permit = true;
+            } else {
+                grant.conditions.add(rule.getCondition());
+            }
+        }
+        return new PolicyTable(grants, version(rules), rules.size());
+    }
+
+    /**
+     * @param roles bereits normalisiert ({@link #normalizeRole})
+     * @param resource bereits normalisiert ({@link #normalizeResource})
+     * @param treatingRelationship {@code null}, wenn der Aufrufer die Beziehung nicht kennt
+     */
+    public PolicyDecision decide(Collection<String> roles, String resource, Action action, Boolean treatingRelationship) {
+        boolean permit = false;
+        EnumSet<RuleCondition> conditions = null;
+
+        for (String role : roles) {
+            Map<String, Grant[]> byResource = grants.get(role);
+            if (byResource == null) {
+                continue;
+            }
+            // Ressource exakt und '*', jeweils Aktion exakt und '*'
+            for (int r = 0; r < 2; r++) {
+                Grant[] byAction = byResource.get(r == 0 ? resource : PolicyRule.ANY);
+                if (byAction == null) {
+                    continue;
+                }
+                for (int a = 0; a < 2; a++) {
+                    Grant grant = byAction[a == 0 ? action.ordinal() : ANY_ACTION];
+                    if (grant == null) {
+                        continue;
+                    }
+                    if (grant.deny) {
+                        return PolicyDecision.DENY;
+                    }
+                    permit |= grant.permit;
+                    if (!grant.conditions.isEmpty()) {
+                        if (conditions == null) {
+                            conditions = EnumSet.noneOf(RuleCondition.class);
+                        }
+                        conditions.addAll(grant.conditions);
+                    }
+                }
+            }
+        }
+
+        if (permit) {
+            return PolicyDecision.PERMIT;
+        }
+        if (conditions == null) {
+            return PolicyDecision.DENY;
+        }
+        if (treatingRelationship == null) {
+            return new PolicyDecision(Decision.PERMIT, List.copyOf(conditions));
+        }
+        return treatingRelationship ? PolicyDecision.PERMIT : PolicyDecision.DENY;
+    }
+
+    /**
+     * Stabiler Hash über alle Regeln; gleiche Regeln ergeben auf jeder Instanz dieselbe Version.
+     */
+    public String version() {
+        return version;
+    }
+
+    public int ruleCount() {
+        return ruleCount;
+    }
+
+    public static String normalizeRole(String role) {
+        String upper = role.toUpperCase(Locale.ROOT);
+        return upper.startsWith("ROLE_") ? upper.substring(5) : upper;
+    }
+
+    public static String normalizeResource(String resource) {
+        return resource.toLowerCase(Locale.ROOT);
+    }
+
+    private static String version(List<PolicyRule> rules) {
+        List<String> canonical = new ArrayList<>(rules.size());
+        for (PolicyRule rule : rules) {
+            canonical.add(String.join("|", normalizeRole(rule.getRole()), normalizeResource(rule.getResource()),
+                    rule.getAction(), rule.getEffect().name(), rule.getCondition().name()));
+        }
+        canonical.sort(Comparator.naturalOrder());
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(String.join("\n", canonical).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Grant {
+        private boolean deny;
+        private boolean permit;
+        private final EnumSet<RuleCondition> conditions = EnumSet.noneOf(RuleCondition.class);
+    }
+}
@@ -0,0 +1,31 @@
+package de.his.authorization.config;
+
+import de.his.authorization.application.service.PolicyDecisionService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Empfang der Policy-Änderungen anderer Instanzen (his.authorization.policy.events.*).
+ */
+@Configuration
+@ConditionalOnProperty(name = "his.authorization.policy.events.enabled", havingValue = "true", matchIfMissing = true)
+public class PolicyEventsConfig {
+
+    @Bean
+    public RedisMessageListenerContainer policyEventsListenerContainer(RedisConnectionFactory connectionFactory,
+            PolicyDecisionService policyDecisionService,
+            @Value("${his.authorization.policy.events.channel:his:authz:policy-changed}") String channel) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) -> policyDecisionService
+                .onPolicyChanged(new String(message.getBody(), StandardCharsets.UTF_8)), new ChannelTopic(channel));
+        return container;
+    }
+}
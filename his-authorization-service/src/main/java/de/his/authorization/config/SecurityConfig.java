@@ -0,0 +1,79 @@
+package de.his.authorization.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.SecurityFilterChain;
+
+/**
+ * Security Configuration für den Authorization Service
+ *
+ * Konfiguration:
+ * - Entscheidungs-Endpunkt: Öffentlich im internen Netz (Gateway, Services), nicht über das Gateway geroutet
+ * - Regelverwaltung: Basic Authentication (ADMIN-Role)
+ * - Actuator Health Check: Öffentlich zugänglich
+ * - Actuator Management Endpoints: Basic Authentication (ADMIN-Role)
+ * - Swagger UI: Öffentlich zugänglich für Entwicklung
+ */
+@Configuration
+@EnableWebSecurity
+public class SecurityConfig {
+
+    @Value("${spring.security.user.name:admin}")
+    private String adminUsername;
+
+    @Value("${spring.security.user.password:dev-password}")
+    private String adminPassword;
+
+    @Bean
+    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+        http
+                // CSRF deaktiviert für REST API
+                .csrf(csrf -> csrf.disable())
+
+                // Session Management: Stateless für REST API
+                .sessionManagement(session -> session
+                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/api/v1/decide").permitAll()
+                        .requestMatchers("/api/v1/policies/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+                        .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
+                        // Spring-Boot-Fehlerseite (z. B. 404) ohne Login
+                        .requestMatchers("/error").permitAll()
+                        .anyRequest().authenticated())
+
+                // Basic Authentication für Regelverwaltung und Actuator Management Endpoints
+                .httpBasic(basic -> basic
+                        .realmName("Authorization Service Management"));
+
+        return http.build();
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder();
+    }
+
+    @Bean
+    public UserDetailsService userDetailsService() {
+        UserDetails admin = User.builder()
+                .username(adminUsername)
+                .password(passwordEncoder().encode(adminPassword))
+                .roles("ADMIN")
+                .build();
+
+        return new InMemoryUserDetailsManager(admin);
+    }
+}
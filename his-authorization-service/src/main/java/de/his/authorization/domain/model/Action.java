@@ -0,0 +1,8 @@
+package de.his.authorization.domain.model;
+
+public enum Action {
+    READ,
+    CREATE,
+    UPDATE,
+    DELETE
+}
@@ -0,0 +1,6 @@
+package de.his.authorization.domain.model;
+
+public enum Decision {
+    PERMIT,
+    DENY
+}
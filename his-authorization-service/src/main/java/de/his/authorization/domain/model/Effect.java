@@ -0,0 +1,6 @@
+package de.his.authorization.domain.model;
+
+public enum Effect {
+    PERMIT,
+    DENY
+}
@@ -0,0 +1,13 @@
+package de.his.authorization.domain.model;
+
+import java.util.List;
+
+/**
+ * Ergebnis einer Auswertung; bei PERMIT ggf. mit Auflagen, die der zuständige Service
+ * durchsetzen muss (z. B. nur Patienten mit Behandlungsbeziehung).
+ */
+public record PolicyDecision(Decision decision, List<RuleCondition> obligations) {
+
+    public static final PolicyDecision PERMIT = new PolicyDecision(Decision.PERMIT, List.of());
+    public static final PolicyDecision DENY = new PolicyDecision(Decision.DENY, List.of());
+}
@@ -0,0 +1,93 @@
+package de.his.authorization.domain.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * RBAC-Regel: Rolle darf (bzw. darf nicht) Aktion auf Ressource, optional nur bei
+ * Behandlungsbeziehung. {@code *} für role, resource oder action steht für beliebig.
+ */
+@Entity
+@Table(name = "policy_rules", schema = "his_authorization")
+public class PolicyRule {
+
+    public static final String ANY = "*";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "role", nullable = false, length = 64)
+    private String role;
+
+    @Column(name = "resource", nullable = false, length = 64)
+    private String resource;
+
+    // Action-Name oder '*'
+    @Column(name = "action", nullable = false, length = 16)
+    private String action;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "effect", nullable = false, length = 8)
+    private Effect effect;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "rule_condition", nullable = false, length = 32)
+    private RuleCondition condition;
+
+    @Column(name = "description")
+    private String description;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    // Constructors
+    protected PolicyRule() {
+    }
+
+    public PolicyRule(String role, String resource, String action, Effect effect, RuleCondition condition,
+            String description) {
+        this.role = role;
+        this.resource = resource;
+        this.action = action;
+        this.effect = effect;
+        this.condition = condition;
+        this.description = description;
+        this.createdAt = Instant.now();
+    }
+
+    // Getters
+    public UUID getId() {
+        return id;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public String getResource() {
+        return resource;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public Effect getEffect() {
+        return effect;
+    }
+
+    public RuleCondition getCondition() {
+        return condition;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,13 @@
+package de.his.authorization.domain.model;
+
+/**
+ * Zusatzbedingung einer Regel.
+ *
+ * TREATING_RELATIONSHIP: Regel greift nur, wenn der Benutzer den Patienten behandelt.
+ * Kennt der Aufrufer die Beziehung nicht (Gateway, Entscheidung je Route), wird die
+ * Bedingung als Auflage (Obligation) an den zuständigen Service zurückgegeben.
+ */
+public enum RuleCondition {
+    NONE,
+    TREATING_RELATIONSHIP
+}
@@ -0,0 +1,14 @@
+package de.his.authorization.domain.repository;
+
+import de.his.authorization.domain.model.PolicyRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PolicyRuleRepository extends JpaRepository<PolicyRule, UUID> {
+
+    List<PolicyRule> findAllByOrderByRoleAscResourceAscActionAsc();
+}
@@ -0,0 +1,134 @@
+package de.his.authorization.infrastructure.exception;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Global Exception Handler für den Authorization Service
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    @ExceptionHandler(PolicyRuleNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handlePolicyRuleNotFound(PolicyRuleNotFoundException ex) {
+        ErrorResponse error = new ErrorResponse(
+                "POLICY_RULE_NOT_FOUND",
+                ex.getMessage(),
+                LocalDateTime.now());
+
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(InvalidPolicyRuleException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidPolicyRule(InvalidPolicyRuleException ex) {
+        ErrorResponse error = new ErrorResponse(
+                "INVALID_POLICY_RULE",
+                ex.getMessage(),
+                LocalDateTime.now());
+
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDuplicateRule(DataIntegrityViolationException ex) {
+        logger.debug("Rule violates constraint: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+                "DUPLICATE_POLICY_RULE",
+                "An identical rule already exists",
+                LocalDateTime.now());
+
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ErrorResponse> handleValidationErrors(MethodArgumentNotValidException ex) {
+        logger.debug("Validation error in request: {}", ex.getMessage());
+
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getAllErrors().forEach((error) -> {
+            String fieldName = ((FieldError) error).getField();
+            String errorMessage = error.getDefaultMessage();
+            errors.put(fieldName, errorMessage);
+        });
+
+        ErrorResponse error = new ErrorResponse(
+                "VALIDATION_ERROR",
+                "Validation failed for request fields",
+                LocalDateTime.now(),
+                errors);
+
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponse> handleMessageNotReadable(HttpMessageNotReadableException ex) {
+        logger.debug("Unreadable request body: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+                "INVALID_REQUEST_BODY",
+                "Request body is missing or malformed",
+                LocalDateTime.now());
+
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
+        logger.error("Unexpected error", ex);
+
+        ErrorResponse error = new ErrorResponse(
+                "INTERNAL_ERROR",
+                "An unexpected error occurred",
+                LocalDateTime.now());
+
+        return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    public static class ErrorResponse {
+        private String code;
+        private String message;
+        private LocalDateTime timestamp;
+        private Map<String, String> details;
+
+        public ErrorResponse(String code, String message, LocalDateTime timestamp) {
+            this.code = code;
+            this.message = message;
+            this.timestamp = timestamp;
+        }
+
+        public ErrorResponse(String code, String message, LocalDateTime timestamp, Map<String, String> details) {
+            this.code = code;
+            this.message = message;
+            this.timestamp = timestamp;
+            this.details = details;
+        }
+
+        // Getters and Setters
+        public String getCode() { return code; }
+        public void setCode(String code) { this.code = code; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+
+        public LocalDateTime getTimestamp() { return timestamp; }
+        public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+
+        public Map<String, String> getDetails() { return details; }
+        public void setDetails(Map<String, String> details) { this.details = details; }
+    }
+}
@@ -0,0 +1,8 @@
+package de.his.authorization.infrastructure.exception;
+
+public class InvalidPolicyRuleException extends RuntimeException {
+
+    public InvalidPolicyRuleException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package de.his.authorization.infrastructure.exception;
+
+import java.util.UUID;
+
+public class PolicyRuleNotFoundException extends RuntimeException {
+
+    public PolicyRuleNotFoundException(UUID id) {
+        super("Policy rule not found: " + id);
+    }
+}
@@ -0,0 +1,38 @@
+package de.his.authorization.infrastructure.messaging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Meldet eine neue Policy-Version per Redis Pub/Sub; das Gateway verwirft daraufhin seinen
+ * Entscheidungs-Cache, andere Instanzen kompilieren neu. Geht eine Meldung verloren, begrenzen
+ * Cache-TTL im Gateway und periodisches Neuladen die Verzögerung.
+ */
+@Component
+@ConditionalOnProperty(name = "his.authorization.policy.events.enabled", havingValue = "true", matchIfMissing = true)
+public class PolicyChangeNotifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(PolicyChangeNotifier.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+
+    public PolicyChangeNotifier(StringRedisTemplate redisTemplate,
+            @Value("${his.authorization.policy.events.channel:his:authz:policy-changed}") String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    public void publish(String version) {
+        try {
+            redisTemplate.convertAndSend(channel, version);
+            logger.debug("Published policy version {} on {}", version, channel);
+        } catch (RuntimeException e) {
+            logger.warn("Policy change notification failed, gateway caches expire by TTL: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package de.his.authorization.presentation.controller;
+
+import de.his.authorization.application.dto.BatchDecisionRequest;
+import de.his.authorization.application.dto.BatchDecisionResponse;
+import de.his.authorization.application.service.PolicyDecisionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1")
+@Tag(name = "Decisions", description = "Policy decisions for the API gateway and services")
+public class DecisionController {
+
+    private final PolicyDecisionService policyDecisionService;
+
+    public DecisionController(PolicyDecisionService policyDecisionService) {
+        this.policyDecisionService = policyDecisionService;
+    }
+
+    @PostMapping("/decide")
+    @Operation(summary = "Decide", description = "Answers a batch of authorization questions (role, resource, action, treating relationship) against one policy version")
+    public ResponseEntity<BatchDecisionResponse> decide(@Valid @RequestBody BatchDecisionRequest request) {
+        return ResponseEntity.ok(policyDecisionService.decideAll(request.getRequests()));
+    }
+}
@@ -0,0 +1,52 @@
+package de.his.authorization.presentation.controller;
+
+import de.his.authorization.application.dto.PolicyRuleRequest;
+import de.his.authorization.application.dto.PolicyRuleResponse;
+import de.his.authorization.application.service.PolicyRuleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/policies")
+@Tag(name = "Policy Rules", description = "RBAC rule management")
+public class PolicyRuleController {
+
+    private final PolicyRuleService policyRuleService;
+
+    public PolicyRuleController(PolicyRuleService policyRuleService) {
+        this.policyRuleService = policyRuleService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Get rules", description = "Lists all policy rules ordered by role, resource and action")
+    public ResponseEntity<List<PolicyRuleResponse>> getRules() {
+        return ResponseEntity.ok(policyRuleService.getRules());
+    }
+
+    @PostMapping
+    @Operation(summary = "Create rule", description = "Adds a rule; decisions and gateway caches reflect it after commit")
+    public ResponseEntity<PolicyRuleResponse> createRule(@Valid @RequestBody PolicyRuleRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(policyRuleService.createRule(request));
+    }
+
+    @DeleteMapping("/{ruleId}")
+    @Operation(summary = "Delete rule", description = "Removes a rule; decisions and gateway caches reflect it after commit")
+    public ResponseEntity<Void> deleteRule(@Parameter(description = "Rule ID") @PathVariable UUID ruleId) {
+        policyRuleService.deleteRule(ruleId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,30 @@
+-- RBAC-Regeln für den Policy Decision Service
+-- role/resource/action: '*' steht für beliebig; action: READ, CREATE, UPDATE, DELETE
+-- rule_condition TREATING_RELATIONSHIP: gilt nur bei Behandlungsbeziehung zum Patienten
+CREATE TABLE policy_rules (
+    id UUID PRIMARY KEY,
+    role VARCHAR(64) NOT NULL,
+    resource VARCHAR(64) NOT NULL,
+    action VARCHAR(16) NOT NULL,
+    effect VARCHAR(8) NOT NULL,
+    rule_condition VARCHAR(32) NOT NULL,
+    description VARCHAR(255),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_policy_rules UNIQUE (role, resource, action, effect, rule_condition)
+);
+
+INSERT INTO policy_rules (id, role, resource, action, effect, rule_condition, description, created_at) VALUES
+    ('00000000-0000-0000-0000-000000000001', 'ADMIN', '*', '*', 'PERMIT', 'NONE', 'Administration: Vollzugriff', CURRENT_TIMESTAMP),
+    ('00000000-0000-0000-0000-000000000011', 'DOCTOR', 'patients', 'READ', 'PERMIT', 'NONE', 'Arzt: Patientenstammdaten lesen', CURRENT_TIMESTAMP),
+    ('00000000-0000-0000-0000-000000000012', 'DOCTOR', 'patients', 'CREATE', 'PERMIT', 'NONE', 'Arzt: Patient anlegen', CURRENT_TIMESTAMP),
+    ('00000000-0000-0000-0000-000000000013', 'DOCTOR', 'patients', 'UPDATE', 'PERMIT', 'NONE', 'Arzt: Patientenstammdaten ändern', CURRENT_TIMESTAMP),
+    ('00000000-0000-0000-0000-000000000014', 'DOCTOR', 'encounters', 'CREATE', 'PERMIT', 'NONE', 'Arzt: Behandlung anlegen', CURRENT_TIMESTAMP),
+    ('00000000-0000-0000-0000-000000000015', 'DOCTOR', 'encounters', 'READ', 'PERMIT', 'TREATING_RELATIONSHIP', 'Arzt: Behandlungen eigener Patienten lesen', CURRENT_TIMESTAMP),
+    ('00000000-0000-0000-0000-000000000016', 'DOCTOR', 'encounters', 'UPDATE', 'PERMIT', 'TREATING_RELATIONSHIP', 'Arzt: Behandlungen eigener Patienten dokumentieren', CURRENT_TIMESTAMP),
+    ('00000000-0000-0000-0000-000000000021', 'NURSE', 'patients', 'READ', 'PERMIT', 'NONE', 'Pflege: Patientenstammdaten lesen', CURRENT_TIMESTAMP),
+    ('00000000-0000-0000-0000-000000000022', 'NURSE', 'encounters', 'READ', 'PERMIT', 'TREATING_RELATIONSHIP', 'Pflege: Behandlungen eigener Patienten lesen', CURRENT_TIMESTAMP),
+    ('00000000-0000-0000-0000-000000000031', 'RECEPTION', 'patients', 'READ', 'PERMIT', 'NONE', 'Empfang: Patientenstammdaten lesen', CURRENT_TIMESTAMP),
+    ('00000000-0000-0000-0000-000000000032', 'RECEPTION', 'patients', 'CREATE', 'PERMIT', 'NONE', 'Empfang: Patient aufnehmen', CURRENT_TIMESTAMP),
+    ('00000000-0000-0000-0000-000000000033', 'RECEPTION', 'patients', 'UPDATE', 'PERMIT', 'NONE', 'Empfang: Patientenstammdaten ändern', CURRENT_TIMESTAMP),
+    ('00000000-0000-0000-0000-000000000034', 'RECEPTION', 'encounters', 'CREATE', 'PERMIT', 'NONE', 'Empfang: Behandlung einplanen', CURRENT_TIMESTAMP),
+    ('00000000-0000-0000-0000-000000000041', 'READONLY', 'patients', 'READ', 'PERMIT', 'NONE', 'Nur lesen: Patientenstammdaten', CURRENT_TIMESTAMP);
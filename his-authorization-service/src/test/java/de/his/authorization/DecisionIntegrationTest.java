@@ -0,0 +1,135 @@
+package de.his.authorization;
+
+import de.his.authorization.application.dto.BatchDecisionRequest;
+import de.his.authorization.application.dto.BatchDecisionResponse;
+import de.his.authorization.application.dto.DecisionRequest;
+import de.his.authorization.application.dto.DecisionResponse;
+import de.his.authorization.application.dto.PolicyRuleRequest;
+import de.his.authorization.application.dto.PolicyRuleResponse;
+import de.his.authorization.domain.model.Action;
+import de.his.authorization.domain.model.Decision;
+import de.his.authorization.domain.model.Effect;
+import de.his.authorization.domain.model.RuleCondition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class DecisionIntegrationTest {
+
+    private static final String DECIDE_URL = "/api/v1/decide";
+    private static final String POLICIES_URL = "/api/v1/policies";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // HttpURLConnection kann 401-Antworten auf gestreamte POSTs nicht lesen
+        restTemplate.getRestTemplate().setRequestFactory(new JdkClientHttpRequestFactory());
+    }
+
+    @Test
+    void shouldAnswerBatchInRequestOrder() {
+        // When
+        BatchDecisionResponse response = decide(
+                new DecisionRequest("dr.mueller", List.of("DOCTOR"), "patients", Action.READ, null),
+                new DecisionRequest("dr.mueller", List.of("DOCTOR"), "encounters", Action.READ, null),
+                new DecisionRequest("pfl.schmidt", List.of("NURSE", "STATION_3A"), "patients", Action.DELETE, null),
+                new DecisionRequest("pfl.schmidt", List.of("ROLE_NURSE"), "Encounters", Action.READ, false));
+
+        // Then
+        assertThat(response.getPolicyVersion()).isNotBlank();
+        assertThat(response.getDecisions()).extracting(DecisionResponse::getDecision)
+                .containsExactly(Decision.PERMIT, Decision.PERMIT, Decision.DENY, Decision.DENY);
+        assertThat(response.getDecisions().get(0).getObligations()).isEmpty();
+        assertThat(response.getDecisions().get(1).getObligations()).containsExactly(RuleCondition.TREATING_RELATIONSHIP);
+    }
+
+    @Test
+    void shouldApplyRuleChangesImmediately() {
+        // Given
+        DecisionRequest nurseDocuments = new DecisionRequest("pfl.schmidt", List.of("NURSE"), "encounters", Action.UPDATE, true);
+        BatchDecisionResponse before = decide(nurseDocuments);
+        assertThat(before.getDecisions().get(0).getDecision()).isEqualTo(Decision.DENY);
+
+        // When
+        ResponseEntity<PolicyRuleResponse> created = restTemplate.withBasicAuth("admin", "dev-password")
+                .postForEntity(POLICIES_URL, new PolicyRuleRequest("nurse", "encounters", "UPDATE", Effect.PERMIT,
+                        RuleCondition.TREATING_RELATIONSHIP, "Pflege: Vitalwerte dokumentieren"), PolicyRuleResponse.class);
+
+        // Then
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(created.getBody().getRole()).isEqualTo("NURSE");
+        BatchDecisionResponse after = decide(nurseDocuments);
+        assertThat(after.getDecisions().get(0).getDecision()).isEqualTo(Decision.PERMIT);
+        assertThat(after.getPolicyVersion()).isNotEqualTo(before.getPolicyVersion());
+
+        // When
+        restTemplate.withBasicAuth("admin", "dev-password").delete(POLICIES_URL + "/" + created.getBody().getId());
+
+        // Then
+        BatchDecisionResponse reverted = decide(nurseDocuments);
+        assertThat(reverted.getDecisions().get(0).getDecision()).isEqualTo(Decision.DENY);
+        assertThat(reverted.getPolicyVersion()).isEqualTo(before.getPolicyVersion());
+    }
+
+    @Test
+    void shouldRejectDuplicateAndInvalidRules() {
+        // When
+        ResponseEntity<String> duplicate = restTemplate.withBasicAuth("admin", "dev-password")
+                .postForEntity(POLICIES_URL, new PolicyRuleRequest("ADMIN", "*", "*", Effect.PERMIT, RuleCondition.NONE, null),
+                        String.class);
+        ResponseEntity<String> conditionalDeny = restTemplate.withBasicAuth("admin", "dev-password")
+                .postForEntity(POLICIES_URL, new PolicyRuleRequest("NURSE", "patients", "DELETE", Effect.DENY,
+                        RuleCondition.TREATING_RELATIONSHIP, null), String.class);
+        ResponseEntity<String> unknownAction = restTemplate.withBasicAuth("admin", "dev-password")
+                .postForEntity(POLICIES_URL, new PolicyRuleRequest("NURSE", "patients", "PRINT", Effect.PERMIT,
+                        RuleCondition.NONE, null), String.class);
+
+        // Then
+        assertThat(duplicate.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(conditionalDeny.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(unknownAction.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void shouldRequireAdminForRuleManagement() {
+        // When
+        ResponseEntity<String> anonymous = restTemplate.postForEntity(POLICIES_URL,
+                new PolicyRuleRequest("NURSE", "patients", "DELETE", Effect.PERMIT, RuleCondition.NONE, null), String.class);
+
+        // Then
+        assertThat(anonymous.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void shouldRejectInvalidDecisionRequest() {
+        // When
+        ResponseEntity<String> response = restTemplate.postForEntity(DECIDE_URL,
+                new BatchDecisionRequest(List.of(new DecisionRequest("dr.mueller", List.of("DOCTOR"), "", null, null))),
+                String.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).contains("VALIDATION_ERROR");
+    }
+
+    private BatchDecisionResponse decide(DecisionRequest... requests) {
+        ResponseEntity<BatchDecisionResponse> response = restTemplate.postForEntity(DECIDE_URL,
+                new BatchDecisionRequest(List.of(requests)), BatchDecisionResponse.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+}
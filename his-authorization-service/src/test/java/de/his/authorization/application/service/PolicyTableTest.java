@@ -0,0 +1,86 @@
+package de.his.authorization.application.service;
+
+import de.his.authorization.domain.model.Action;
+import de.his.authorization.domain.model.Decision;
+import de.his.authorization.domain.model.Effect;
+import de.his.authorization.domain.model.PolicyDecision;
+import de.his.authorization.domain.model.PolicyRule;
+import de.his.authorization.domain.model.RuleCondition;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PolicyTableTest {
+
+    private static final List<PolicyRule> RULES = List.of(
+            new PolicyRule("ADMIN", "*", "*", Effect.PERMIT, RuleCondition.NONE, null),
+            new PolicyRule("DOCTOR", "patients", "READ", Effect.PERMIT, RuleCondition.NONE, null),
+            new PolicyRule("DOCTOR", "encounters", "READ", Effect.PERMIT, RuleCondition.TREATING_RELATIONSHIP, null),
+            new PolicyRule("NURSE", "encounters", "READ", Effect.PERMIT, RuleCondition.TREATING_RELATIONSHIP, null),
+            new PolicyRule("STATION_LEAD", "encounters", "*", Effect.PERMIT, RuleCondition.NONE, null),
+            new PolicyRule("TRAINEE", "*", "DELETE", Effect.DENY, RuleCondition.NONE, null));
+
+    private final PolicyTable table = PolicyTable.compile(RULES);
+
+    @Test
+    void shouldDenyWithoutMatchingRule() {
+        assertThat(table.decide(List.of("DOCTOR"), "patients", Action.DELETE, null)).isEqualTo(PolicyDecision.DENY);
+        assertThat(table.decide(List.of("UNKNOWN"), "patients", Action.READ, null)).isEqualTo(PolicyDecision.DENY);
+        assertThat(table.decide(List.of(), "patients", Action.READ, null)).isEqualTo(PolicyDecision.DENY);
+    }
+
+    @Test
+    void shouldApplyWildcards() {
+        assertThat(table.decide(List.of("ADMIN"), "changes", Action.DELETE, null)).isEqualTo(PolicyDecision.PERMIT);
+        assertThat(table.decide(List.of("STATION_LEAD"), "encounters", Action.UPDATE, null)).isEqualTo(PolicyDecision.PERMIT);
+        assertThat(table.decide(List.of("STATION_LEAD"), "patients", Action.UPDATE, null)).isEqualTo(PolicyDecision.DENY);
+    }
+
+    @Test
+    void shouldReturnConditionAsObligationWhenRelationshipUnknown() {
+        // When
+        PolicyDecision decision = table.decide(List.of("NURSE"), "encounters", Action.READ, null);
+
+        // Then - Gateway lässt durch, Encounter Service filtert auf eigene Patienten
+        assertThat(decision.decision()).isEqualTo(Decision.PERMIT);
+        assertThat(decision.obligations()).containsExactly(RuleCondition.TREATING_RELATIONSHIP);
+    }
+
+    @Test
+    void shouldEvaluateConditionWhenRelationshipKnown() {
+        assertThat(table.decide(List.of("NURSE"), "encounters", Action.READ, true)).isEqualTo(PolicyDecision.PERMIT);
+        assertThat(table.decide(List.of("NURSE"), "encounters", Action.READ, false)).isEqualTo(PolicyDecision.DENY);
+    }
+
+    @Test
+    void shouldPreferUnconditionalPermitOfAnotherRole() {
+        // Given - Stationsleitung sieht alle Behandlungen, auch als Pflegekraft
+        PolicyDecision decision = table.decide(List.of("NURSE", "STATION_LEAD"), "encounters", Action.READ, false);
+
+        // Then
+        assertThat(decision).isEqualTo(PolicyDecision.PERMIT);
+    }
+
+    @Test
+    void shouldLetDenyOverridePermit() {
+        assertThat(table.decide(List.of("ADMIN", "TRAINEE"), "patients", Action.DELETE, null)).isEqualTo(PolicyDecision.DENY);
+        assertThat(table.decide(List.of("ADMIN", "TRAINEE"), "patients", Action.READ, null)).isEqualTo(PolicyDecision.PERMIT);
+    }
+
+    @Test
+    void shouldDeriveVersionFromRulesOnly() {
+        // Given - gleiche Regeln in anderer Reihenfolge
+        List<PolicyRule> shuffled = new ArrayList<>(RULES);
+        Collections.reverse(shuffled);
+        List<PolicyRule> extended = new ArrayList<>(RULES);
+        extended.add(new PolicyRule("NURSE", "encounters", "UPDATE", Effect.PERMIT, RuleCondition.TREATING_RELATIONSHIP, null));
+
+        // Then
+        assertThat(PolicyTable.compile(shuffled).version()).isEqualTo(table.version());
+        assertThat(PolicyTable.compile(extended).version()).isNotEqualTo(table.version());
+    }
+}
@@ -2,10 +2,14 @@ package de.his.encounter;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// R2DBC nur für den reaktiven Lesepfad (ReactiveReadConfig), JPA behält die DataSource
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 @EnableFeignClients
+@EnableScheduling
 public class EncounterServiceApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,89 @@
+package de.his.encounter.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Schema(description = "Single entry of the change feed")
+public class ChangeEventResponse {
+
+    @Schema(description = "Feed position, usable as cursor for the next request")
+    private Long position;
+
+    @Schema(description = "Aggregate type", example = "Encounter")
+    private String aggregateType;
+
+    @Schema(description = "Aggregate identifier")
+    private UUID aggregateId;
+
+    @Schema(description = "Event type", example = "ENCOUNTER_STARTED")
+    private String eventType;
+
+    @Schema(description = "Event payload (JSON)")
+    @JsonRawValue
+    private String payload;
+
+    @Schema(description = "Time the change was committed")
+    private LocalDateTime occurredAt;
+
+    public ChangeEventResponse(Long position, String aggregateType, UUID aggregateId,
+            String eventType, String payload, LocalDateTime occurredAt) {
+        this.position = position;
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.occurredAt = occurredAt;
+    }
+
+    // Getters and Setters
+    public Long getPosition() {
+        return position;
+    }
+
+    public void setPosition(Long position) {
+        this.position = position;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public void setAggregateType(String aggregateType) {
+        this.aggregateType = aggregateType;
+    }
+
+    public UUID getAggregateId() {
+        return aggregateId;
+    }
+
+    public void setAggregateId(UUID aggregateId) {
+        this.aggregateId = aggregateId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
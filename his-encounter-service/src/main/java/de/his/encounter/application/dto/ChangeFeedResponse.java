@@ -0,0 +1,49 @@
+package de.his.encounter.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Batch of changes after a cursor")
+public class ChangeFeedResponse {
+
+    @Schema(description = "Changes in feed order")
+    private List<ChangeEventResponse> events;
+
+    @Schema(description = "Cursor to pass as 'since' in the next request")
+    private Long nextCursor;
+
+    @Schema(description = "True if more changes are immediately available")
+    private boolean hasMore;
+
+    public ChangeFeedResponse(List<ChangeEventResponse> events, Long nextCursor, boolean hasMore) {
+        this.events = events;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    // Getters and Setters
+    public List<ChangeEventResponse> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<ChangeEventResponse> events) {
+        this.events = events;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
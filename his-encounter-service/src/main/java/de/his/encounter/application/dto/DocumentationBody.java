@@ -0,0 +1,35 @@
+package de.his.encounter.application.dto;
+
+import de.his.encounter.domain.model.ContentType;
+import org.springframework.core.io.Resource;
+
+/**
+ * Inhalt eines Dokumentationseintrags (UTF-8) für den Content-Endpoint; große
+ * Inhalte als Datei-Resource, die gestreamt statt geladen wird.
+ */
+public class DocumentationBody {
+
+    private final Resource content;
+    private final String contentHash;
+    private final ContentType contentType;
+
+    // Constructor
+    public DocumentationBody(Resource content, String contentHash, ContentType contentType) {
+        this.content = content;
+        this.contentHash = contentHash;
+        this.contentType = contentType;
+    }
+
+    // Getters
+    public Resource getContent() {
+        return content;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public ContentType getContentType() {
+        return contentType;
+    }
+}
@@ -1,5 +1,6 @@
 package de.his.encounter.application.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import de.his.encounter.domain.model.SOAPSection;
 import de.his.encounter.domain.model.ContentType;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -7,7 +8,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
-@Schema(description = "SOAP documentation entry")
+@Schema(description = "SOAP documentation entry (header; content only on request)")
 public class DocumentationResponse {
 
     @Schema(description = "Documentation ID")
@@ -19,10 +20,18 @@ public class DocumentationResponse {
     @Schema(description = "Content type")
     private ContentType contentType;
 
-    @Schema(description = "Documentation content")
+    @Schema(description = "Size of the content in bytes (UTF-8)")
+    private Integer contentSize;
+
+    @Schema(description = "SHA-256 of the content, also used as ETag of the content endpoint")
+    private String contentHash;
+
+    @Schema(description = "Documentation content (only with includeContent=true)")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String content;
 
-    @Schema(description = "Structured content (JSON)")
+    @Schema(description = "Structured content (JSON, only with includeContent=true)")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String structuredContent;
 
     @Schema(description = "Author ID")
@@ -33,12 +42,12 @@ public class DocumentationResponse {
 
     // Constructor
     public DocumentationResponse(UUID id, SOAPSection soapSection, ContentType contentType,
-            String content, String structuredContent, UUID authorId, LocalDateTime createdAt) {
+            Integer contentSize, String contentHash, UUID authorId, LocalDateTime createdAt) {
         this.id = id;
         this.soapSection = soapSection;
         this.contentType = contentType;
-        this.content = content;
-        this.structuredContent = structuredContent;
+        this.contentSize = contentSize;
+        this.contentHash = contentHash;
         this.authorId = authorId;
         this.createdAt = createdAt;
     }
@@ -68,6 +77,22 @@ public class DocumentationResponse {
         this.contentType = contentType;
     }
 
+    public Integer getContentSize() {
+        return contentSize;
+    }
+
+    public void setContentSize(Integer contentSize) {
+        this.contentSize = contentSize;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
     public String getContent() {
         return content;
     }
@@ -0,0 +1,113 @@
+package de.his.encounter.application.dto;
+
+import de.his.encounter.domain.model.SOAPSection;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Schema(description = "Clinical note matching a full-text search")
+public class DocumentationSearchHit {
+
+    @Schema(description = "Documentation identifier")
+    private UUID documentationId;
+
+    @Schema(description = "Encounter identifier")
+    private UUID encounterId;
+
+    @Schema(description = "Patient identifier")
+    private UUID patientId;
+
+    @Schema(description = "Practitioner identifier")
+    private UUID practitionerId;
+
+    @Schema(description = "Date and time of encounter")
+    private LocalDateTime encounterDate;
+
+    @Schema(description = "SOAP section of the documentation")
+    private SOAPSection soapSection;
+
+    @Schema(description = "Relevance (ts_rank_cd), higher is better")
+    private float rank;
+
+    @Schema(description = "Text excerpt with matches wrapped in <mark>; HTML-escaped otherwise")
+    private String snippet;
+
+    // Constructor
+    public DocumentationSearchHit(UUID documentationId, UUID encounterId, UUID patientId, UUID practitionerId,
+            LocalDateTime encounterDate, SOAPSection soapSection, float rank, String snippet) {
+        this.documentationId = documentationId;
+        this.encounterId = encounterId;
+        this.patientId = patientId;
+        this.practitionerId = practitionerId;
+        this.encounterDate = encounterDate;
+        this.soapSection = soapSection;
+        this.rank = rank;
+        this.snippet = snippet;
+    }
+
+    // Getters and Setters
+    public UUID getDocumentationId() {
+        return documentationId;
+    }
+
+    public void setDocumentationId(UUID documentationId) {
+        this.documentationId = documentationId;
+    }
+
+    public UUID getEncounterId() {
+        return encounterId;
+    }
+
+    public void setEncounterId(UUID encounterId) {
+        this.encounterId = encounterId;
+    }
+
+    public UUID getPatientId() {
+        return patientId;
+    }
+
+    public void setPatientId(UUID patientId) {
+        this.patientId = patientId;
+    }
+
+    public UUID getPractitionerId() {
+        return practitionerId;
+    }
+
+    public void setPractitionerId(UUID practitionerId) {
+        this.practitionerId = practitionerId;
+    }
+
+    public LocalDateTime getEncounterDate() {
+        return encounterDate;
+    }
+
+    public void setEncounterDate(LocalDateTime encounterDate) {
+        this.encounterDate = encounterDate;
+    }
+
+    public SOAPSection getSoapSection() {
+        return soapSection;
+    }
+
+    public void setSoapSection(SOAPSection soapSection) {
+        this.soapSection = soapSection;
+    }
+
+    public float getRank() {
+        return rank;
+    }
+
+    public void setRank(float rank) {
+        this.rank = rank;
+    }
+
+    public String getSnippet() {
+        return snippet;
+    }
+
+    public void setSnippet(String snippet) {
+        this.snippet = snippet;
+    }
+}
@@ -0,0 +1,50 @@
+package de.his.encounter.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Page of full-text search results, best match first")
+public class DocumentationSearchResponse {
+
+    @Schema(description = "Matching clinical notes, ordered by relevance and encounter date")
+    private List<DocumentationSearchHit> results;
+
+    @Schema(description = "Requested page (0-based)")
+    private int page;
+
+    @Schema(description = "True if more results are available")
+    private boolean hasMore;
+
+    // Constructor
+    public DocumentationSearchResponse(List<DocumentationSearchHit> results, int page, boolean hasMore) {
+        this.results = results;
+        this.page = page;
+        this.hasMore = hasMore;
+    }
+
+    // Getters and Setters
+    public List<DocumentationSearchHit> getResults() {
+        return results;
+    }
+
+    public void setResults(List<DocumentationSearchHit> results) {
+        this.results = results;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -1,11 +1,13 @@
 package de.his.encounter.application.dto;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import de.his.encounter.domain.model.BillingContext;
 import de.his.encounter.domain.model.EncounterStatus;
 import de.his.encounter.domain.model.EncounterType;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -43,6 +45,7 @@ public class EncounterResponse {
     private LocalDateTime updatedAt;
 
     // Constructor
+    @JsonCreator
     public EncounterResponse(UUID id, UUID patientId, UUID practitionerId, EncounterType type,
             LocalDateTime encounterDate, EncounterStatus status, BillingContext billingContext,
             List<DocumentationResponse> documentation, LocalDateTime createdAt, LocalDateTime updatedAt) {
@@ -58,6 +61,14 @@ public class EncounterResponse {
         this.updatedAt = updatedAt;
     }
 
+    // Projektion aus EncounterRepository.findResponseById, Dokumentation wird separat gesetzt
+    public EncounterResponse(UUID id, UUID patientId, UUID practitionerId, EncounterType type,
+            LocalDateTime encounterDate, EncounterStatus status, BillingContext billingContext,
+            LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, patientId, practitionerId, type, encounterDate, status, billingContext, new ArrayList<>(),
+                createdAt, updatedAt);
+    }
+
     // Getters and Setters
     public UUID getId() {
         return id;
@@ -0,0 +1,85 @@
+package de.his.encounter.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import de.his.encounter.domain.model.BillingContext;
+import de.his.encounter.domain.model.EncounterStatus;
+import de.his.encounter.domain.model.EncounterType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+@Schema(description = "Encounter count for one combination of day, type, billing context and status")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EncounterStatisticBucket {
+
+    @Schema(description = "Day (only for daily statistics)")
+    private LocalDate date;
+
+    @Schema(description = "Type of encounter")
+    private EncounterType type;
+
+    @Schema(description = "Billing context")
+    private BillingContext billingContext;
+
+    @Schema(description = "Encounter status")
+    private EncounterStatus status;
+
+    @Schema(description = "Number of encounters", example = "42")
+    private long count;
+
+    // Constructors (auch als JPQL-Konstruktorausdruck verwendet)
+    public EncounterStatisticBucket(EncounterType type, BillingContext billingContext,
+            EncounterStatus status, Long count) {
+        this(null, type, billingContext, status, count);
+    }
+
+    public EncounterStatisticBucket(LocalDate date, EncounterType type, BillingContext billingContext,
+            EncounterStatus status, Long count) {
+        this.date = date;
+        this.type = type;
+        this.billingContext = billingContext;
+        this.status = status;
+        this.count = count != null ? count : 0L;
+    }
+
+    // Getters and Setters
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public EncounterType getType() {
+        return type;
+    }
+
+    public void setType(EncounterType type) {
+        this.type = type;
+    }
+
+    public BillingContext getBillingContext() {
+        return billingContext;
+    }
+
+    public void setBillingContext(BillingContext billingContext) {
+        this.billingContext = billingContext;
+    }
+
+    public EncounterStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(EncounterStatus status) {
+        this.status = status;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
@@ -0,0 +1,65 @@
+package de.his.encounter.application.dto;
+
+import de.his.encounter.domain.model.EncounterStatus;
+import de.his.encounter.domain.model.EncounterType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+
+@Schema(description = "Aggregated encounter statistics")
+public class EncounterStatisticsResponse {
+
+    @Schema(description = "Total number of encounters", example = "128")
+    private long total;
+
+    @Schema(description = "Encounters per type")
+    private Map<EncounterType, Long> byType;
+
+    @Schema(description = "Encounters per status")
+    private Map<EncounterStatus, Long> byStatus;
+
+    @Schema(description = "Encounters per billing context (NONE if not set)")
+    private Map<String, Long> byBillingContext;
+
+    // Constructor
+    public EncounterStatisticsResponse(long total, Map<EncounterType, Long> byType,
+            Map<EncounterStatus, Long> byStatus, Map<String, Long> byBillingContext) {
+        this.total = total;
+        this.byType = byType;
+        this.byStatus = byStatus;
+        this.byBillingContext = byBillingContext;
+    }
+
+    // Getters and Setters
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Map<EncounterType, Long> getByType() {
+        return byType;
+    }
+
+    public void setByType(Map<EncounterType, Long> byType) {
+        this.byType = byType;
+    }
+
+    public Map<EncounterStatus, Long> getByStatus() {
+        return byStatus;
+    }
+
+    public void setByStatus(Map<EncounterStatus, Long> byStatus) {
+        this.byStatus = byStatus;
+    }
+
+    public Map<String, Long> getByBillingContext() {
+        return byBillingContext;
+    }
+
+    public void setByBillingContext(Map<String, Long> byBillingContext) {
+        this.byBillingContext = byBillingContext;
+    }
+}
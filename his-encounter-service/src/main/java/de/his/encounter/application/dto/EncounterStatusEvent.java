@@ -0,0 +1,89 @@
+package de.his.encounter.application.dto;
+
+import de.his.encounter.domain.model.EncounterStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Schema(description = "Status transition of an encounter for live status boards")
+public class EncounterStatusEvent {
+
+    @Schema(description = "Encounter identifier")
+    private UUID encounterId;
+
+    @Schema(description = "Patient identifier")
+    private UUID patientId;
+
+    @Schema(description = "Practitioner identifier")
+    private UUID practitionerId;
+
+    @Schema(description = "Status before the transition", example = "PLANNED")
+    private EncounterStatus previousStatus;
+
+    @Schema(description = "Status after the transition", example = "IN_PROGRESS")
+    private EncounterStatus status;
+
+    @Schema(description = "Time of the transition")
+    private LocalDateTime changedAt;
+
+    // Constructor
+    public EncounterStatusEvent(UUID encounterId, UUID patientId, UUID practitionerId,
+            EncounterStatus previousStatus, EncounterStatus status, LocalDateTime changedAt) {
+        this.encounterId = encounterId;
+        this.patientId = patientId;
+        this.practitionerId = practitionerId;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.changedAt = changedAt;
+    }
+
+    // Getters and Setters
+    public UUID getEncounterId() {
+        return encounterId;
+    }
+
+    public void setEncounterId(UUID encounterId) {
+        this.encounterId = encounterId;
+    }
+
+    public UUID getPatientId() {
+        return patientId;
+    }
+
+    public void setPatientId(UUID patientId) {
+        this.patientId = patientId;
+    }
+
+    public UUID getPractitionerId() {
+        return practitionerId;
+    }
+
+    public void setPractitionerId(UUID practitionerId) {
+        this.practitionerId = practitionerId;
+    }
+
+    public EncounterStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public void setPreviousStatus(EncounterStatus previousStatus) {
+        this.previousStatus = previousStatus;
+    }
+
+    public EncounterStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(EncounterStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+}
@@ -0,0 +1,90 @@
+package de.his.encounter.application.dto;
+
+import de.his.encounter.domain.model.EncounterStatus;
+import de.his.encounter.domain.model.EncounterType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Schema(description = "Encounter whose structured documentation matches a search")
+public class StructuredSearchHit {
+
+    @Schema(description = "Encounter identifier")
+    private UUID id;
+
+    @Schema(description = "Patient identifier")
+    private UUID patientId;
+
+    @Schema(description = "Practitioner identifier")
+    private UUID practitionerId;
+
+    @Schema(description = "Type of encounter")
+    private EncounterType type;
+
+    @Schema(description = "Date and time of encounter")
+    private LocalDateTime encounterDate;
+
+    @Schema(description = "Current status")
+    private EncounterStatus status;
+
+    // Constructor
+    public StructuredSearchHit(UUID id, UUID patientId, UUID practitionerId, EncounterType type,
+            LocalDateTime encounterDate, EncounterStatus status) {
+        this.id = id;
+        this.patientId = patientId;
+        this.practitionerId = practitionerId;
+        this.type = type;
+        this.encounterDate = encounterDate;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getPatientId() {
+        return patientId;
+    }
+
+    public void setPatientId(UUID patientId) {
+        this.patientId = patientId;
+    }
+
+    public UUID getPractitionerId() {
+        return practitionerId;
+    }
+
+    public void setPractitionerId(UUID practitionerId) {
+        this.practitionerId = practitionerId;
+    }
+
+    public EncounterType getType() {
+        return type;
+    }
+
+    public void setType(EncounterType type) {
+        this.type = type;
+    }
+
+    public LocalDateTime getEncounterDate() {
+        return encounterDate;
+    }
+
+    public void setEncounterDate(LocalDateTime encounterDate) {
+        this.encounterDate = encounterDate;
+    }
+
+    public EncounterStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(EncounterStatus status) {
+        this.status = status;
+    }
+}
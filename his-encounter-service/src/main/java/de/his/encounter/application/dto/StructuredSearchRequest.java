@@ -0,0 +1,88 @@
+package de.his.encounter.application.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import de.his.encounter.domain.model.SOAPSection;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Schema(description = "Containment search over structured SOAP documentation")
+public class StructuredSearchRequest {
+
+    @Schema(description = "Restrict the search to one SOAP section", example = "ASSESSMENT")
+    private SOAPSection soapSection;
+
+    @NotNull(message = "Search filter 'contains' is required")
+    @Schema(description = "JSON the structured content must contain (PostgreSQL @> semantics)",
+            example = "{\"diagnoses\": [{\"icd10\": \"J06.9\"}]}")
+    private JsonNode contains;
+
+    @Schema(description = "Keyset cursor: encounter date of the last result of the previous page")
+    private LocalDateTime afterDate;
+
+    @Schema(description = "Keyset cursor: encounter ID of the last result of the previous page")
+    private UUID afterId;
+
+    @Min(value = 1, message = "Size must be at least 1")
+    @Max(value = 100, message = "Size must not exceed 100")
+    @Schema(description = "Maximum number of results", example = "20")
+    private int size = 20;
+
+    // Constructors
+    public StructuredSearchRequest() {
+    }
+
+    public StructuredSearchRequest(SOAPSection soapSection, JsonNode contains, LocalDateTime afterDate,
+            UUID afterId, int size) {
+        this.soapSection = soapSection;
+        this.contains = contains;
+        this.afterDate = afterDate;
+        this.afterId = afterId;
+        this.size = size;
+    }
+
+    // Getters and Setters
+    public SOAPSection getSoapSection() {
+        return soapSection;
+    }
+
+    public void setSoapSection(SOAPSection soapSection) {
+        this.soapSection = soapSection;
+    }
+
+    public JsonNode getContains() {
+        return contains;
+    }
+
+    public void setContains(JsonNode contains) {
+        this.contains = contains;
+    }
+
+    public LocalDateTime getAfterDate() {
+        return afterDate;
+    }
+
+    public void setAfterDate(LocalDateTime afterDate) {
+        this.afterDate = afterDate;
+    }
+
+    public UUID getAfterId() {
+        return afterId;
+    }
+
+    public void setAfterId(UUID afterId) {
+        this.afterId = afterId;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+}
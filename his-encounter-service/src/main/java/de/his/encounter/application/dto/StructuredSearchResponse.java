@@ -0,0 +1,66 @@
+package de.his.encounter.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Page of structured search results (keyset pagination, newest first)")
+public class StructuredSearchResponse {
+
+    @Schema(description = "Matching encounters, ordered by encounter date descending")
+    private List<StructuredSearchHit> results;
+
+    @Schema(description = "True if more results are available")
+    private boolean hasMore;
+
+    @Schema(description = "Pass as 'afterDate' to fetch the next page")
+    private LocalDateTime nextAfterDate;
+
+    @Schema(description = "Pass as 'afterId' to fetch the next page")
+    private UUID nextAfterId;
+
+    public StructuredSearchResponse(List<StructuredSearchHit> results, boolean hasMore) {
+        this.results = results;
+        this.hasMore = hasMore;
+        if (hasMore) {
+            StructuredSearchHit last = results.get(results.size() - 1);
+            this.nextAfterDate = last.getEncounterDate();
+            this.nextAfterId = last.getId();
+        }
+    }
+
+    // Getters and Setters
+    public List<StructuredSearchHit> getResults() {
+        return results;
+    }
+
+    public void setResults(List<StructuredSearchHit> results) {
+        this.results = results;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public LocalDateTime getNextAfterDate() {
+        return nextAfterDate;
+    }
+
+    public void setNextAfterDate(LocalDateTime nextAfterDate) {
+        this.nextAfterDate = nextAfterDate;
+    }
+
+    public UUID getNextAfterId() {
+        return nextAfterId;
+    }
+
+    public void setNextAfterId(UUID nextAfterId) {
+        this.nextAfterId = nextAfterId;
+    }
+}
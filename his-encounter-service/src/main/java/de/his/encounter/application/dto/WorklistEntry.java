@@ -0,0 +1,91 @@
+package de.his.encounter.application.dto;
+
+import de.his.encounter.domain.model.BillingContext;
+import de.his.encounter.domain.model.EncounterStatus;
+import de.his.encounter.domain.model.EncounterType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Schema(description = "Worklist entry of a practitioner (without documentation)")
+public class WorklistEntry {
+
+    @Schema(description = "Encounter identifier")
+    private UUID id;
+
+    @Schema(description = "Patient identifier")
+    private UUID patientId;
+
+    @Schema(description = "Type of encounter")
+    private EncounterType type;
+
+    @Schema(description = "Date and time of encounter")
+    private LocalDateTime encounterDate;
+
+    @Schema(description = "Current status")
+    private EncounterStatus status;
+
+    @Schema(description = "Billing context")
+    private BillingContext billingContext;
+
+    // Constructor (auch als JPQL-Konstruktorausdruck verwendet)
+    public WorklistEntry(UUID id, UUID patientId, EncounterType type, LocalDateTime encounterDate,
+            EncounterStatus status, BillingContext billingContext) {
+        this.id = id;
+        this.patientId = patientId;
+        this.type = type;
+        this.encounterDate = encounterDate;
+        this.status = status;
+        this.billingContext = billingContext;
+    }
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getPatientId() {
+        return patientId;
+    }
+
+    public void setPatientId(UUID patientId) {
+        this.patientId = patientId;
+    }
+
+    public EncounterType getType() {
+        return type;
+    }
+
+    public void setType(EncounterType type) {
+        this.type = type;
+    }
+
+    public LocalDateTime getEncounterDate() {
+        return encounterDate;
+    }
+
+    public void setEncounterDate(LocalDateTime encounterDate) {
+        this.encounterDate = encounterDate;
+    }
+
+    public EncounterStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(EncounterStatus status) {
+        this.status = status;
+    }
+
+    public BillingContext getBillingContext() {
+        return billingContext;
+    }
+
+    public void setBillingContext(BillingContext billingContext) {
+        this.billingContext = billingContext;
+    }
+}
@@ -0,0 +1,189 @@
+package de.his.encounter.application.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.his.encounter.domain.model.OutboxEvent;
+import de.his.encounter.domain.repository.EncounterRepository;
+import de.his.encounter.domain.repository.EncounterRepository.CareRelationshipRow;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Behandlungsbeziehungen Behandler → Patient aus {@code encounters(practitioner_id, patient_id)} und dem
+ * Cold-Storage-Katalog {@code archived_encounters}.
+ *
+ * Patienten bekommen beim ersten Auftreten eine fortlaufende Ordinalzahl, je Behandler liegt eine
+ * RoaringBitmap dieser Ordinalzahlen im Speicher; eine Prüfung ist ein Map-Lookup plus
+ * {@code contains}. Bitmaps werden nie verändert, sondern bei einer neuen Beziehung kopiert und
+ * ersetzt, Leser brauchen daher keine Sperren.
+ *
+ * Aufbau einmal beim Start per Keyset über beide Tabellen (V13, V15); bis dahin beantwortet die
+ * Datenbank die Prüfung. Danach inkrementell: eigene neue Encounters nach dem Commit, Encounters
+ * anderer Instanzen über den Change-Feed (ENCOUNTER_CREATED in der Outbox). Die Archivierung
+ * verschiebt nur Zeilen in den Katalog, eine Beziehung bleibt also bestehen.
+ */
+@Component
+public class CareRelationshipIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CareRelationshipIndex.class);
+
+    private static final UUID MIN_UUID = new UUID(0, 0);
+    private static final String ENCOUNTER_CREATED = "ENCOUNTER_CREATED";
+
+    private final EncounterRepository encounterRepository;
+    private final OutboxService outboxService;
+    private final ObjectMapper objectMapper;
+
+    private final Map<UUID, Integer> patientOrdinals = new ConcurrentHashMap<>();
+    private final AtomicInteger nextOrdinal = new AtomicInteger();
+    private final Map<UUID, RoaringBitmap> patientsByPractitioner = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded;
+    private volatile long feedCursor = -1;
+
+    @Value("${his.care-relationships.load-batch-size:10000}")
+    private int loadBatchSize;
+
+    @Value("${his.care-relationships.feed-batch-size:1000}")
+    private int feedBatchSize;
+
+    public CareRelationshipIndex(EncounterRepository encounterRepository, OutboxService outboxService,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.encounterRepository = encounterRepository;
+        this.outboxService = outboxService;
+        this.objectMapper = objectMapper;
+        Gauge.builder("his.encounter.care_relationships.practitioners", patientsByPractitioner, Map::size)
+                .description("Practitioners with at least one treating relationship in the index")
+                .register(meterRegistry);
+        Gauge.builder("his.encounter.care_relationships.patients", patientOrdinals, Map::size)
+                .description("Patients with an ordinal in the care relationship index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Behandelt (oder behandelte) der Behandler den Patienten in mindestens einem Encounter?
+     */
+    public boolean isTreating(UUID practitionerId, UUID patientId) {
+        if (practitionerId == null || patientId == null) {
+            return false;
+        }
+        if (!loaded) {
+            return encounterRepository.existsCareRelationship(practitionerId, patientId);
+        }
+        Integer ordinal = patientOrdinals.get(patientId);
+        RoaringBitmap patients = patientsByPractitioner.get(practitionerId);
+        return ordinal != null && patients != null && patients.contains(ordinal);
+    }
+
+    /**
+     * Ist der Index aufgebaut? Vorher fragt {@link #isTreating} blockierend die Datenbank.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Übernimmt die Beziehung eines neuen Encounters, in einer Transaktion erst nach deren Commit.
+     */
+    public void recordEncounter(UUID practitionerId, UUID patientId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(practitionerId, patientId);
+                }
+            });
+        } else {
+            add(practitionerId, patientId);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.nanoTime();
+        // Cursor vor dem Laden merken: was danach committet, kommt über den Change-Feed
+        feedCursor = outboxService.getLatestPosition();
+
+        UUID afterPractitioner = MIN_UUID;
+        UUID afterPatient = MIN_UUID;
+        long relationships = 0;
+        List<CareRelationshipRow> batch;
+        do {
+            batch = encounterRepository.findCareRelationshipsAfter(afterPractitioner, afterPatient, loadBatchSize);
+            for (CareRelationshipRow row : batch) {
+                add(row.getPractitionerId(), row.getPatientId());
+            }
+            if (!batch.isEmpty()) {
+                CareRelationshipRow last = batch.get(batch.size() - 1);
+                afterPractitioner = last.getPractitionerId();
+                afterPatient = last.getPatientId();
+                relationships += batch.size();
+            }
+        } while (batch.size() == loadBatchSize);
+
+        patientsByPractitioner.values().forEach(RoaringBitmap::runOptimize);
+        loaded = true;
+        logger.info("Loaded {} care relationships ({} practitioners, {} patients) in {} ms",
+                relationships, patientsByPractitioner.size(), patientOrdinals.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Scheduled(fixedDelayString = "${his.care-relationships.feed-interval-ms:2000}")
+    public void followChangeFeed() {
+        if (!loaded) {
+            return;
+        }
+        try {
+            List<OutboxEvent> events;
+            do {
+                events = outboxService.findPublishedAfter(feedCursor, feedBatchSize);
+                for (OutboxEvent event : events) {
+                    if (ENCOUNTER_CREATED.equals(event.getEventType())) {
+                        addFromPayload(event.getPayload());
+                    }
+                    feedCursor = event.getPosition();
+                }
+            } while (events.size() == feedBatchSize);
+        } catch (Exception ex) {
+            logger.warn("Failed to follow change feed for care relationships at position {}: {}",
+                    feedCursor, ex.getMessage());
+        }
+    }
+
+    private void addFromPayload(String payload) throws Exception {
+        JsonNode node = objectMapper.readTree(payload);
+        JsonNode practitionerId = node.get("practitionerId");
+        JsonNode patientId = node.get("patientId");
+        if (practitionerId != null && patientId != null) {
+            add(UUID.fromString(practitionerId.asText()), UUID.fromString(patientId.asText()));
+        }
+    }
+
+    private void add(UUID practitionerId, UUID patientId) {
+        int ordinal = patientOrdinals.computeIfAbsent(patientId, id -> nextOrdinal.getAndIncrement());
+        patientsByPractitioner.compute(practitionerId, (id, patients) -> {
+            if (patients != null && patients.contains(ordinal)) {
+                return patients;
+            }
+            RoaringBitmap updated = patients != null ? patients.clone() : new RoaringBitmap();
+            updated.add(ordinal);
+            return updated;
+        });
+    }
+}
@@ -0,0 +1,183 @@
+package de.his.encounter.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.his.encounter.application.dto.DocumentationSearchHit;
+import de.his.encounter.application.dto.DocumentationSearchResponse;
+import de.his.encounter.domain.model.SOAPSection;
+import de.his.encounter.domain.repository.EncounterDocumentationRepository;
+import de.his.encounter.domain.repository.EncounterDocumentationRepository.SearchRow;
+import de.his.encounter.infrastructure.exception.BusinessRuleViolationException;
+import de.his.encounter.infrastructure.security.CareAccessContext;
+import de.his.encounter.infrastructure.service.DocumentationContentStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Volltextsuche über Dokumentationstexte mit deutscher Stammformreduktion
+ * ("Thoraxschmerzen" findet "Thoraxschmerz").
+ *
+ * Der Suchvektor wird beim Anlegen der Dokumentation gepflegt; Zeilen ohne Vektor
+ * (Bestandsdaten, Fehler beim Indizieren) holt {@code DocumentationSearchIndexJob}
+ * nach. Indiziert werden die ersten {@code max-indexed-bytes} eines Textes.
+ */
+@Service
+@Transactional(readOnly = true)
+public class DocumentationSearchService {
+
+    private final EncounterDocumentationRepository documentationRepository;
+    private final DocumentationContentStore contentStore;
+    private final ObjectMapper objectMapper;
+
+    @Value("${his.documentation.search.max-indexed-bytes:262144}")
+    private int maxIndexedBytes;
+
+    @Value("${his.documentation.search.snippet-source-bytes:65536}")
+    private int snippetSourceBytes;
+
+    @Value("${his.documentation.search.headline-options:MaxFragments=2, MaxWords=20, MinWords=8, StartSel=<mark>, StopSel=</mark>}")
+    private String headlineOptions;
+
+    public DocumentationSearchService(EncounterDocumentationRepository documentationRepository,
+            DocumentationContentStore contentStore,
+            ObjectMapper objectMapper) {
+        this.documentationRepository = documentationRepository;
+        this.contentStore = contentStore;
+        this.objectMapper = objectMapper;
+    }
+
+    public DocumentationSearchResponse search(String query, UUID patientId, UUID practitionerId, int page,
+            int size) {
+        if (query == null || query.isBlank()) {
+            throw new BusinessRuleViolationException("INVALID_SEARCH_QUERY", "Search query 'q' must not be empty");
+        }
+        if (patientId == null && practitionerId == null) {
+            throw new BusinessRuleViolationException("SEARCH_FILTER_REQUIRED",
+                    "Full-text search requires 'patientId' and/or 'practitionerId'");
+        }
+
+        // Ein Treffer mehr als angefordert zeigt an, ob es eine weitere Seite gibt
+        int limit = size + 1;
+        long offset = (long) page * size;
+        // Auflage TREATING_RELATIONSHIP: nur Treffer zu Patienten, die der Aufrufer behandelt
+        boolean restricted = CareAccessContext.isRelationshipRequired();
+        UUID treatingPractitionerId = CareAccessContext.practitionerIdOrNil();
+        List<SearchRow> rows;
+        if (patientId != null && practitionerId != null) {
+            rows = documentationRepository.searchByPatientAndPractitioner(query, patientId, practitionerId,
+                    restricted, treatingPractitionerId, limit, offset);
+        } else if (patientId != null) {
+            rows = documentationRepository.searchByPatient(query, patientId, restricted, treatingPractitionerId,
+                    limit, offset);
+        } else {
+            rows = documentationRepository.searchByPractitioner(query, practitionerId, restricted,
+                    treatingPractitionerId, limit, offset);
+        }
+
+        boolean hasMore = rows.size() > size;
+        List<SearchRow> pageRows = hasMore ? rows.subList(0, size) : rows;
+        List<String> snippets = snippets(query, pageRows);
+
+        List<DocumentationSearchHit> results = new ArrayList<>(pageRows.size());
+        for (int i = 0; i < pageRows.size(); i++) {
+            results.add(mapToHit(pageRows.get(i), snippets.get(i)));
+        }
+        return new DocumentationSearchResponse(results, page, hasMore);
+    }
+
+    /**
+     * Setzt den Suchvektor für alle noch nicht indizierten Dokumentationen mit diesem Inhalt.
+     * Läuft in der Transaktion des Aufrufers, die neue Zeile muss bereits geschrieben sein.
+     */
+    @Transactional
+    public void index(String contentHash, byte[] content) {
+        documentationRepository.updateSearchVector(contentHash, indexableText(content, maxIndexedBytes));
+    }
+
+    /**
+     * Wie {@link #index(String, byte[])}, der Text kommt aus dem Content Store.
+     * Fehlt der Inhalt, bleibt ein leerer Vektor, damit der Job ihn nicht endlos erneut aufgreift.
+     */
+    @Transactional
+    public void indexFromStore(String contentHash) {
+        byte[] content = contentStore.loadPrefix(contentHash, maxIndexedBytes).orElse(new byte[0]);
+        index(contentHash, content);
+    }
+
+    public List<String> findPendingContentHashes(int limit) {
+        return documentationRepository.findPendingSearchIndex(limit);
+    }
+
+    // Alle Hervorhebungen einer Seite in einem Roundtrip; Markup im Text wird vorher entschärft
+    private List<String> snippets(String query, List<SearchRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        List<String> texts = new ArrayList<>(rows.size());
+        for (SearchRow row : rows) {
+            byte[] content = contentStore.loadPrefix(row.getContentHash(), snippetSourceBytes).orElse(new byte[0]);
+            texts.add(HtmlUtils.htmlEscape(indexableText(content, snippetSourceBytes)));
+        }
+        try {
+            return documentationRepository.headlines(query, objectMapper.writeValueAsString(texts), headlineOptions);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize snippet sources", ex);
+        }
+    }
+
+    /**
+     * UTF-8-Text aus höchstens {@code maxBytes} Bytes. Ein am Ende abgeschnittenes
+     * Multibyte-Zeichen wird verworfen, ungültige Bytes ersetzt; NUL-Zeichen nimmt
+     * PostgreSQL in Texten nicht an.
+     */
+    static String indexableText(byte[] content, int maxBytes) {
+        int length = Math.min(content.length, maxBytes);
+
+        // Angeschnittenes Zeichen am Ende (Präfix aus dem Content Store) nicht als Ersatzzeichen übernehmen
+        int lead = length - 1;
+        while (lead > 0 && (content[lead] & 0xC0) == 0x80) {
+            lead--;
+        }
+        if (lead >= 0) {
+            int first = content[lead] & 0xFF;
+            int expected = first >= 0xF0 ? 4 : first >= 0xE0 ? 3 : first >= 0xC0 ? 2 : 1;
+            if (length - lead < expected) {
+                length = lead;
+            }
+        }
+
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        String text;
+        try {
+            text = decoder.decode(ByteBuffer.wrap(content, 0, length)).toString();
+        } catch (CharacterCodingException ex) {
+            throw new IllegalStateException("UTF-8 decoding with replacement failed", ex);
+        }
+        return text.replace("\u0000", "");
+    }
+
+    private DocumentationSearchHit mapToHit(SearchRow row, String snippet) {
+        return new DocumentationSearchHit(
+                row.getDocumentationId(),
+                row.getEncounterId(),
+                row.getPatientId(),
+                row.getPractitionerId(),
+                row.getEncounterDate(),
+                SOAPSection.valueOf(row.getSoapSection()),
+                row.getRank() != null ? row.getRank() : 0f,
+                snippet);
+    }
+}
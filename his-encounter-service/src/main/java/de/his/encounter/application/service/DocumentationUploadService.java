@@ -0,0 +1,88 @@
+package de.his.encounter.application.service;
+
+import de.his.encounter.application.dto.EncounterResponse;
+import de.his.encounter.domain.model.ContentType;
+import de.his.encounter.domain.model.EncounterDocumentation;
+import de.his.encounter.domain.model.EncounterStatus;
+import de.his.encounter.domain.model.SOAPSection;
+import de.his.encounter.infrastructure.exception.InvalidDocumentationException;
+import de.his.encounter.infrastructure.exception.InvalidEncounterStateException;
+import de.his.encounter.infrastructure.service.DocumentationContentStore;
+import de.his.encounter.infrastructure.service.DocumentationContentStore.StoredContent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Streaming-Upload von Dokumentation (Diktat-Transkripte, importierte Arztbriefe).
+ *
+ * Bewusst ohne Transaktion: der Body wird zuerst in den Content Store gespoolt,
+ * erst danach hängt {@link EncounterService#addStoredDocumentation} die Dokumentation
+ * in einer kurzen Transaktion an. Ein langsamer Upload belegt so keine Verbindung.
+ * Scheitert das Anhängen, wird der gespoolte Inhalt wieder entfernt.
+ */
+@Service
+public class DocumentationUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentationUploadService.class);
+
+    private final EncounterService encounterService;
+    private final DocumentationContentStore contentStore;
+
+    public DocumentationUploadService(EncounterService encounterService, DocumentationContentStore contentStore) {
+        this.encounterService = encounterService;
+        this.contentStore = contentStore;
+    }
+
+    public EncounterResponse uploadDocumentation(UUID encounterId, SOAPSection soapSection,
+            ContentType contentType, UUID authorId, InputStream content) {
+        // Vor dem Lesen des Bodys prüfen, damit abgelehnte Uploads nicht erst gespoolt werden
+        if (encounterService.getEncounter(encounterId).getStatus() == EncounterStatus.COMPLETED) {
+            throw new InvalidEncounterStateException("Cannot add documentation to completed encounter");
+        }
+
+        StoredContent stored;
+        try {
+            stored = contentStore.store(content);
+        } catch (IOException ex) {
+            logger.error("Failed to spool documentation upload for encounter {}: {}", encounterId, ex.getMessage());
+            throw new RuntimeException("Failed to upload documentation", ex);
+        }
+
+        try {
+            if (stored.getSize() == 0) {
+                throw new InvalidDocumentationException(soapSection.toString(), "Content cannot be empty");
+            }
+
+            EncounterDocumentation documentation = new EncounterDocumentation(soapSection, contentType, null,
+                    authorId);
+            documentation.setContentHash(stored.getContentHash());
+            documentation.setContentSize(stored.getSize());
+
+            EncounterResponse response = encounterService.addStoredDocumentation(encounterId, documentation);
+            logger.info("Uploaded {} bytes of {} documentation for encounter {}",
+                    stored.getSize(), soapSection, encounterId);
+            return response;
+        } catch (RuntimeException ex) {
+            discard(stored, encounterId);
+            throw ex;
+        }
+    }
+
+    // Der Inhalt ist schon committet, die Dokumentation nicht (zurückgerollt oder nie angelegt).
+    // Ohne Verweis sofort entfernen; verweist inzwischen eine andere Dokumentation darauf, bleibt er.
+    private void discard(StoredContent stored, UUID encounterId) {
+        try {
+            contentStore.deleteUnreferenced(Set.of(stored.getContentHash()), Duration.ZERO);
+        } catch (RuntimeException ex) {
+            logger.warn("Failed to discard unreferenced upload {} for encounter {}: {}",
+                    stored.getContentHash(), encounterId, ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package de.his.encounter.application.service;
+
+import de.his.encounter.domain.model.Encounter;
+import de.his.encounter.domain.model.EncounterDocumentation;
+import de.his.encounter.domain.repository.EncounterRepository;
+import de.his.encounter.infrastructure.archive.ArchivedDocumentation;
+import de.his.encounter.infrastructure.archive.ArchivedEncounter;
+import de.his.encounter.infrastructure.service.DocumentationContentStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Datenbankseite der Cold-Storage-Archivierung: Kandidaten lesen, für das Segment
+ * aufbereiten und nach dem Schreiben des Segments aus den heißen Tabellen entfernen.
+ */
+@Service
+public class EncounterArchivalService {
+
+    // Obergrenze für IN-Listen pro Statement
+    private static final int DELETE_CHUNK_SIZE = 1000;
+
+    private final EncounterRepository encounterRepository;
+    private final DocumentationContentStore contentStore;
+
+    // Inhalte, die gerade von neuer Dokumentation wiederverwendet wurden, bleiben erhalten
+    @Value("${his.archive.content-grace-period:P1D}")
+    private Duration contentGracePeriod;
+
+    public EncounterArchivalService(EncounterRepository encounterRepository,
+            DocumentationContentStore contentStore) {
+        this.encounterRepository = encounterRepository;
+        this.contentStore = contentStore;
+    }
+
+    @Transactional(readOnly = true)
+    public List<UUID> findCandidateIds(LocalDateTime cutoff, int limit) {
+        return encounterRepository.findArchivalCandidateIds(cutoff, limit);
+    }
+
+    /**
+     * Lädt Encounters samt Dokumentation in der Reihenfolge von {@code encounterIds}
+     * (die Gruppierung nach Patient aus {@link #findCandidateIds} bleibt erhalten).
+     */
+    @Transactional(readOnly = true)
+    public List<ArchivedEncounter> loadForArchive(List<UUID> encounterIds) {
+        Map<UUID, Integer> order = new HashMap<>();
+        for (int i = 0; i < encounterIds.size(); i++) {
+            order.put(encounterIds.get(i), i);
+        }
+        List<Encounter> encounters = encounterRepository.findAllWithDocumentationByIdIn(encounterIds);
+        Map<String, byte[]> contents = contentStore.loadAll(encounters.stream()
+                .flatMap(encounter -> encounter.getDocumentation().stream())
+                .map(EncounterDocumentation::getContentHash)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+
+        return encounters.stream()
+                .sorted(Comparator.comparing(encounter -> order.get(encounter.getId())))
+                .map(encounter -> toArchived(encounter, contents))
+                .toList();
+    }
+
+    /**
+     * Entfernt die Encounters eines fertig geschriebenen Segments in einer Transaktion.
+     * Fehlt ein Encounter (zwischenzeitlich geändert oder gelöscht), wird alles
+     * zurückgerollt und das Segment verworfen. Inhalte im Content Store, auf die
+     * danach nichts mehr verweist, werden mit entfernt (Text steht im Segment).
+     */
+    @Transactional
+    public int removeArchived(List<UUID> encounterIds, String segmentName) {
+        int removed = 0;
+        Set<String> contentHashes = new HashSet<>();
+        for (int from = 0; from < encounterIds.size(); from += DELETE_CHUNK_SIZE) {
+            List<UUID> chunk = encounterIds.subList(from, Math.min(from + DELETE_CHUNK_SIZE, encounterIds.size()));
+            contentHashes.addAll(encounterRepository.findContentHashesByEncounterIds(chunk));
+            removed += encounterRepository.moveToColdStorage(chunk, segmentName);
+        }
+        if (removed != encounterIds.size()) {
+            throw new IllegalStateException(String.format(
+                    "Segment %s: expected to archive %d encounters but removed %d",
+                    segmentName, encounterIds.size(), removed));
+        }
+        contentStore.deleteUnreferenced(contentHashes, contentGracePeriod);
+        return removed;
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isSegmentCommitted(String segmentName) {
+        return encounterRepository.countArchivedInSegment(segmentName) > 0;
+    }
+
+    private ArchivedEncounter toArchived(Encounter encounter, Map<String, byte[]> contents) {
+        List<ArchivedDocumentation> documentation = encounter.getDocumentation().stream()
+                .sorted(Comparator.comparing(EncounterDocumentation::getCreatedAt,
+                        Comparator.nullsFirst(Comparator.naturalOrder())))
+                .map(doc -> new ArchivedDocumentation(
+                        doc.getId(),
+                        doc.getSoapSection(),
+                        doc.getContentType(),
+                        decodeContent(doc, contents),
+                        doc.getStructuredContent(),
+                        doc.getAuthorId(),
+                        doc.getCreatedAt()))
+                .toList();
+
+        return new ArchivedEncounter(
+                encounter.getId(),
+                encounter.getPatientId(),
+                encounter.getPractitionerId(),
+                encounter.getType(),
+                encounter.getEncounterDate(),
+                encounter.getStatus(),
+                encounter.getBillingContext(),
+                encounter.getCreatedAt(),
+                encounter.getUpdatedAt(),
+                encounter.getVersion() != null ? encounter.getVersion() : 0L,
+                documentation);
+    }
+
+    private String decodeContent(EncounterDocumentation documentation, Map<String, byte[]> contents) {
+        if (documentation.getContentHash() == null) {
+            return null;
+        }
+        byte[] content = contents.get(documentation.getContentHash());
+        if (content == null) {
+            throw new IllegalStateException("Content " + documentation.getContentHash()
+                    + " of documentation " + documentation.getId() + " missing in content store");
+        }
+        return new String(content, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,37 @@
+package de.his.encounter.application.service;
+
+import de.his.encounter.domain.repository.EncounterRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bulk-Statuswechsel für Housekeeping-Jobs. Jeder Chunk läuft in einer eigenen,
+ * kurzen Transaktion, damit Locks und WAL pro Commit begrenzt bleiben.
+ */
+@Service
+public class EncounterHousekeepingService {
+
+    private final EncounterRepository encounterRepository;
+
+    public EncounterHousekeepingService(EncounterRepository encounterRepository) {
+        this.encounterRepository = encounterRepository;
+    }
+
+    // Bewusst nicht readOnly: eine nachlaufende Replica lieferte schon umgestellte IDs erneut
+    // bzw. neue noch nicht, daher liest der Scan wie das Update vom Primary
+    public List<UUID> findStalePlannedIds(LocalDateTime cutoff, UUID afterId, int limit) {
+        return encounterRepository.findStalePlannedIds(cutoff, afterId, limit);
+    }
+
+    @Transactional
+    public int markAsNoShow(List<UUID> encounterIds) {
+        if (encounterIds.isEmpty()) {
+            return 0;
+        }
+        return encounterRepository.markAsNoShow(encounterIds);
+    }
+}
@@ -4,26 +4,57 @@
 package de.his.encounter.application.service;
 
 import de.his.encounter.application.dto.CreateEncounterRequest;
+import de.his.encounter.application.dto.DocumentationBody;
+import de.his.encounter.application.dto.DocumentationResponse;
 import de.his.encounter.application.dto.EncounterResponse;
 import de.his.encounter.application.dto.EncounterSummary;
+import de.his.encounter.application.dto.WorklistEntry;
 import de.his.encounter.domain.model.Encounter;
 import de.his.encounter.domain.model.EncounterDocumentation;
 import de.his.encounter.domain.model.EncounterStatus;
 import de.his.encounter.domain.repository.EncounterRepository;
+import de.his.encounter.infrastructure.archive.ArchivedDocumentation;
+import de.his.encounter.infrastructure.archive.ArchivedEncounter;
+import de.his.encounter.infrastructure.archive.ArchivedEncounterSummary;
+import de.his.encounter.infrastructure.archive.EncounterArchive;
 import de.his.encounter.infrastructure.exception.*;
+import de.his.encounter.infrastructure.security.CareAccessContext;
+import de.his.encounter.infrastructure.service.DocumentationContentStore;
 import de.his.encounter.infrastructure.service.PatientValidationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,13 +63,42 @@ public class EncounterService {
 
     private static final Logger logger = LoggerFactory.getLogger(EncounterService.class);
 
+    private static final String AGGREGATE_TYPE = "Encounter";
+
+    private static final EnumSet<EncounterStatus> WORKLIST_STATUSES = EnumSet.of(EncounterStatus.PLANNED,
+            EncounterStatus.IN_PROGRESS);
+
     private final EncounterRepository encounterRepository;
     private final PatientValidationService patientValidationService;
+    private final OutboxService outboxService;
+    private final EncounterStatisticsService statisticsService;
+    private final EncounterArchive encounterArchive;
+    private final DocumentationContentStore documentationContentStore;
+    private final DocumentationSearchService documentationSearchService;
+    private final CareRelationshipIndex careRelationshipIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    // Konfliktprüfung parallel zum Patient-Lookup
+    private final ExecutorService validationExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
     public EncounterService(EncounterRepository encounterRepository,
-            PatientValidationService patientValidationService) {
+            PatientValidationService patientValidationService,
+            OutboxService outboxService,
+            EncounterStatisticsService statisticsService,
+            EncounterArchive encounterArchive,
+            DocumentationContentStore documentationContentStore,
+            DocumentationSearchService documentationSearchService,
+            CareRelationshipIndex careRelationshipIndex,
+            PlatformTransactionManager transactionManager) {
         this.encounterRepository = encounterRepository;
         this.patientValidationService = patientValidationService;
+        this.outboxService = outboxService;
+        this.statisticsService = statisticsService;
+        this.encounterArchive = encounterArchive;
+        this.documentationContentStore = documentationContentStore;
+        this.documentationSearchService = documentationSearchService;
+        this.careRelationshipIndex = careRelationshipIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Transactional
@@ -49,19 +109,7 @@ public class EncounterService {
             // Business Rule Validation hinzufügen
             validateEncounterCreation(request);
 
-            Encounter encounter = new Encounter(
-                    request.getPatientId(),
-                    request.getPractitionerId(),
-                    request.getType(),
-                    request.getEncounterDate(),
-                    request.getBillingContext());
-
-            encounter = encounterRepository.save(encounter);
-
-            logger.info("Created encounter {} for patient {}",
-                    encounter.getId(), request.getPatientId());
-
-            return mapToResponse(encounter);
+            return insertEncounter(request);
 
         } catch (BusinessRuleViolationException ex) {
             throw ex; // Re-throw business rule violations
@@ -75,22 +123,42 @@ public class EncounterService {
         }
     }
 
-    @Transactional
+    /**
+     * Patient-Lookup (Patient Service) und Konfliktprüfung (Datenbank) laufen parallel und ohne
+     * Transaktion; die Transaktion zum Anlegen beginnt erst, wenn beide durch sind, und hält keine
+     * Verbindung über den Remote-Aufruf. Die Konfliktprüfung wird darin unter Patienten-Lock wiederholt.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public EncounterResponse createEncounterWithPatientValidation(CreateEncounterRequest request) {
         logger.info("Creating encounter with patient validation for patient {}", request.getPatientId());
 
         try {
-            // Enhanced Patient Validation
-            validatePatientForEncounter(request.getPatientId());
-
-            // Business Rule Validation
+            // Business Rule Validation (lokal, vor jedem Remote-Aufruf)
             validateEncounterCreation(request);
 
-            // Check for conflicting appointments
-            checkForConflictingEncounters(request);
+            // Check for conflicting appointments, während der Patient Service antwortet
+            CompletableFuture<Void> conflictCheck = CompletableFuture
+                    .runAsync(() -> checkForConflictingEncounters(request), validationExecutor);
+
+            // Enhanced Patient Validation
+            try {
+                validatePatientForEncounter(request.getPatientId());
+            } catch (RuntimeException ex) {
+                conflictCheck.cancel(true);
+                throw ex;
+            }
+            awaitConflictCheck(conflictCheck);
 
-            return createEncounter(request);
+            // Request ist validiert; in der Transaktion nur noch Konflikte erneut prüfen, serialisiert je
+            // Patient, damit ein paralleles Anlegen seit der ersten Prüfung nicht durchrutscht
+            return transactionTemplate.execute(status -> {
+                encounterRepository.lockPatientForCreation(request.getPatientId());
+                checkForConflictingEncounters(request);
+                return insertEncounter(request);
+            });
 
+        } catch (BusinessRuleViolationException ex) {
+            throw ex; // Re-throw business rule violations
         } catch (PatientNotFoundException ex) {
             logger.warn("Patient validation failed: {}", ex.getMessage());
             throw ex; // Re-throw as-is
@@ -108,21 +176,81 @@ public class EncounterService {
 
     @Transactional(readOnly = true)
     public EncounterResponse getEncounter(UUID encounterId) {
+        return getEncounter(encounterId, false);
+    }
+
+    /**
+     * Dokumentation wird standardmäßig nur als Kopfdaten geliefert; Inhalte über
+     * {@link #getDocumentationContent} oder mit {@code includeContent}.
+     */
+    @Transactional(readOnly = true)
+    public EncounterResponse getEncounter(UUID encounterId, boolean includeContent) {
         try {
-            Encounter encounter = findEncounterOrThrow(encounterId);
-            return mapToResponse(encounter);
+            // Heiße Tabellen zuerst, danach Cold Storage (abgeschlossene, alte Encounters)
+            Optional<EncounterResponse> encounter = encounterRepository.findResponseById(encounterId);
+            if (encounter.isPresent()) {
+                EncounterResponse response = encounter.get();
+                checkCareRelationship(encounterId, response.getPatientId());
+                response.setDocumentation(encounterRepository.findDocumentationResponses(encounterId));
+                if (includeContent) {
+                    attachContent(response);
+                }
+                return response;
+            }
+            ArchivedEncounter archived = encounterArchive.findEncounter(encounterId)
+                    .orElseThrow(() -> new EncounterNotFoundException(encounterId));
+            checkCareRelationship(encounterId, archived.getPatientId());
+            return mapArchivedToResponse(archived, includeContent);
         } catch (Exception ex) {
             logger.error("Error retrieving encounter {}: {}", encounterId, ex.getMessage());
             throw ex;
         }
     }
 
+    @Transactional(readOnly = true)
+    public DocumentationBody getDocumentationContent(UUID encounterId, UUID documentationId) {
+        try {
+            Optional<EncounterDocumentation> documentation = encounterRepository.findDocumentation(encounterId,
+                    documentationId);
+            if (documentation.isPresent()) {
+                EncounterDocumentation doc = documentation.get();
+                checkCareRelationship(encounterId, doc.getEncounter().getPatientId());
+                Resource content = doc.getContentHash() == null ? new ByteArrayResource(new byte[0])
+                        : documentationContentStore.load(doc.getContentHash())
+                                .orElseThrow(() -> new IllegalStateException(
+                                        "Content " + doc.getContentHash() + " missing in content store"));
+                return new DocumentationBody(content, doc.getContentHash(), doc.getContentType());
+            }
+
+            ArchivedEncounter archivedEncounter = encounterArchive.findEncounter(encounterId)
+                    .orElseThrow(() -> new DocumentationNotFoundException(documentationId));
+            ArchivedDocumentation archived = archivedEncounter.getDocumentation().stream()
+                    .filter(doc -> doc.getId().equals(documentationId))
+                    .findFirst()
+                    .orElseThrow(() -> new DocumentationNotFoundException(documentationId));
+            checkCareRelationship(encounterId, archivedEncounter.getPatientId());
+            byte[] content = archivedContentBytes(archived);
+            return new DocumentationBody(new ByteArrayResource(content), DocumentationContentStore.contentHash(content),
+                    archived.getContentType());
+
+        } catch (DocumentationNotFoundException | UnauthorizedEncounterAccessException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Error retrieving content of documentation {} in encounter {}: {}",
+                    documentationId, encounterId, ex.getMessage());
+            throw new RuntimeException("Failed to retrieve documentation content", ex);
+        }
+    }
+
     @Transactional(readOnly = true)
     public Page<EncounterSummary> getPatientEncounters(UUID patientId, Pageable pageable) {
         try {
             logger.info("Retrieving encounters for patient {} with pagination", patientId);
-            return encounterRepository.findByPatientIdOrderByEncounterDateDesc(patientId, pageable)
-                    .map(this::mapToSummary);
+            checkCareRelationship(null, patientId);
+            return withArchivedEncounters(encounterArchive.findSummariesByPatient(patientId), pageable,
+                    page -> encounterRepository.findSummariesByPatientId(patientId, page));
+        } catch (UnauthorizedEncounterAccessException ex) {
+            throw ex;
         } catch (Exception ex) {
             logger.error("Error retrieving encounters for patient {}: {}", patientId, ex.getMessage());
             throw new RuntimeException("Failed to retrieve patient encounters", ex);
@@ -141,11 +269,15 @@ public class EncounterService {
                 throw new BusinessRuleViolationException("INVALID_DATE_RANGE",
                         "From date cannot be after to date");
             }
-
-            return encounterRepository.findByPatientIdAndDateRange(
-                    patientId, fromDate, toDate, pageable)
-                    .map(this::mapToSummary);
-        } catch (BusinessRuleViolationException ex) {
+            checkCareRelationship(null, patientId);
+
+            List<ArchivedEncounterSummary> archived = encounterArchive.findSummariesByPatient(patientId).stream()
+                    .filter(e -> !e.getEncounterDate().isBefore(fromDate) && !e.getEncounterDate().isAfter(toDate))
+                    .toList();
+            return withArchivedEncounters(archived, pageable,
+                    page -> encounterRepository.findSummariesByPatientIdAndDateRange(patientId, fromDate, toDate,
+                            page));
+        } catch (BusinessRuleViolationException | UnauthorizedEncounterAccessException ex) {
             throw ex; // Re-throw business rule violations
         } catch (Exception ex) {
             logger.error("Error retrieving encounters for patient {} in date range: {}",
@@ -154,11 +286,34 @@ public class EncounterService {
         }
     }
 
+    @Transactional(readOnly = true)
+    public Page<WorklistEntry> getPractitionerWorklist(UUID practitionerId, LocalDate date, Pageable pageable) {
+        try {
+            logger.info("Retrieving worklist for practitioner {} on {}", practitionerId, date);
+            LocalDateTime fromDate = date.atStartOfDay();
+            LocalDateTime toDate = date.plusDays(1).atStartOfDay();
+            // Fremde Arbeitslisten: nur Einträge zu Patienten, die der Aufrufer selbst behandelt
+            if (CareAccessContext.isRelationshipRequired()
+                    && !practitionerId.equals(CareAccessContext.currentPractitionerId())) {
+                return encounterRepository.findWorklistOfTreatedPatients(practitionerId,
+                        CareAccessContext.currentPractitionerId(),
+                        WORKLIST_STATUSES.stream().map(EncounterStatus::name).toList(), fromDate, toDate, pageable)
+                        .map(row -> new WorklistEntry(row.getId(), row.getPatientId(), row.getType(),
+                                row.getEncounterDate(), row.getStatus(), row.getBillingContext()));
+            }
+            return encounterRepository.findWorklist(practitionerId, WORKLIST_STATUSES, fromDate, toDate, pageable);
+        } catch (Exception ex) {
+            logger.error("Error retrieving worklist for practitioner {}: {}", practitionerId, ex.getMessage());
+            throw new RuntimeException("Failed to retrieve practitioner worklist", ex);
+        }
+    }
+
     @Transactional
     public EncounterResponse startEncounter(UUID encounterId) {
         try {
             Encounter encounter = encounterRepository.findById(encounterId)
                     .orElseThrow(() -> new EncounterNotFoundException(encounterId));
+            checkCareRelationship(encounterId, encounter.getPatientId());
 
             // Validate current status
             if (encounter.getStatus() == EncounterStatus.IN_PROGRESS) {
@@ -177,12 +332,14 @@ public class EncounterService {
 
             encounter.startEncounter();
             encounter = encounterRepository.save(encounter);
+            outboxService.record(AGGREGATE_TYPE, encounter.getId(), "ENCOUNTER_STARTED", eventPayload(encounter));
+            statisticsService.recordTransition(encounter, EncounterStatus.PLANNED);
 
             logger.info("Successfully started encounter {}", encounterId);
             return mapToResponse(encounter);
 
         } catch (EncounterNotFoundException | EncounterAlreadyStartedException | EncounterAlreadyCompletedException
-                | InvalidEncounterStateException ex) {
+                | InvalidEncounterStateException | UnauthorizedEncounterAccessException ex) {
             throw ex; // Re-throw specific exceptions
         } catch (Exception ex) {
             logger.error("Unexpected error starting encounter {}: {}", encounterId, ex.getMessage());
@@ -195,6 +352,7 @@ public class EncounterService {
         try {
             Encounter encounter = encounterRepository.findById(encounterId)
                     .orElseThrow(() -> new EncounterNotFoundException(encounterId));
+            checkCareRelationship(encounterId, encounter.getPatientId());
 
             // Validate current status
             if (encounter.getStatus() == EncounterStatus.COMPLETED) {
@@ -209,11 +367,14 @@ public class EncounterService {
 
             encounter.completeEncounter();
             encounter = encounterRepository.save(encounter);
+            outboxService.record(AGGREGATE_TYPE, encounter.getId(), "ENCOUNTER_COMPLETED", eventPayload(encounter));
+            statisticsService.recordTransition(encounter, EncounterStatus.IN_PROGRESS);
 
             logger.info("Successfully completed encounter {}", encounterId);
             return mapToResponse(encounter);
 
-        } catch (EncounterNotFoundException | EncounterAlreadyCompletedException | InvalidEncounterStateException ex) {
+        } catch (EncounterNotFoundException | EncounterAlreadyCompletedException | InvalidEncounterStateException
+                | UnauthorizedEncounterAccessException ex) {
             throw ex; // Re-throw specific exceptions
         } catch (Exception ex) {
             logger.error("Unexpected error completing encounter {}: {}", encounterId, ex.getMessage());
@@ -223,11 +384,26 @@ public class EncounterService {
 
     @Transactional
     public EncounterResponse addDocumentation(UUID encounterId, EncounterDocumentation documentation) {
+        return appendDocumentation(encounterId, documentation, true);
+    }
+
+    /**
+     * Hängt Dokumentation an, deren Inhalt bereits im Content Store liegt
+     * ({@code contentHash}/{@code contentSize} gesetzt, z. B. nach Streaming-Upload).
+     */
+    @Transactional
+    public EncounterResponse addStoredDocumentation(UUID encounterId, EncounterDocumentation documentation) {
+        return appendDocumentation(encounterId, documentation, false);
+    }
+
+    private EncounterResponse appendDocumentation(UUID encounterId, EncounterDocumentation documentation,
+            boolean storeContent) {
         try {
             logger.info("Adding {} documentation to encounter {}",
                     documentation.getSoapSection(), encounterId);
 
             Encounter encounter = findEncounterOrThrow(encounterId);
+            checkCareRelationship(encounterId, encounter.getPatientId());
 
             // Validate encounter status for documentation
             if (encounter.getStatus() == EncounterStatus.COMPLETED) {
@@ -235,17 +411,36 @@ public class EncounterService {
                         "Cannot add documentation to completed encounter");
             }
 
-            // Validate documentation content
-            validateDocumentationContent(documentation);
+            byte[] content = null;
+            if (storeContent) {
+                // Validate documentation content
+                validateDocumentationContent(documentation);
+
+                // Text in den Content Store, in der Zeile bleibt nur der Verweis
+                content = documentation.getContent().getBytes(StandardCharsets.UTF_8);
+                documentation.setContentHash(documentationContentStore.store(content));
+                documentation.setContentSize(content.length);
+            }
 
             encounter.addDocumentation(documentation);
             encounter = encounterRepository.save(encounter);
 
+            // Suchvektor in derselben Transaktion; die Zeile muss dafür geschrieben sein
+            if (documentation.getContentHash() != null) {
+                encounterRepository.flush();
+                if (content != null) {
+                    documentationSearchService.index(documentation.getContentHash(), content);
+                } else {
+                    documentationSearchService.indexFromStore(documentation.getContentHash());
+                }
+            }
+
             logger.info("Successfully added {} documentation to encounter {}",
                     documentation.getSoapSection(), encounterId);
             return mapToResponse(encounter);
 
-        } catch (EncounterNotFoundException | InvalidEncounterStateException | InvalidDocumentationException ex) {
+        } catch (EncounterNotFoundException | InvalidEncounterStateException | InvalidDocumentationException
+                | UnauthorizedEncounterAccessException ex) {
             throw ex; // Re-throw specific exceptions
         } catch (OptimisticLockingFailureException ex) {
             logger.warn("Concurrent modification detected for encounter {}", encounterId);
@@ -261,6 +456,44 @@ public class EncounterService {
     // PRIVATE HELPER METHODS WITH ENHANCED VALIDATION
     // =========================================================================
 
+    /**
+     * Auflage TREATING_RELATIONSHIP: Zugriff nur auf Patienten, die der Aufrufer behandelt
+     * (CareRelationshipIndex, O(1)). Ohne Auflage im Request keine Prüfung.
+     */
+    private void checkCareRelationship(UUID encounterId, UUID patientId) {
+        if (!CareAccessContext.isRelationshipRequired()) {
+            return;
+        }
+        UUID practitionerId = CareAccessContext.currentPractitionerId();
+        if (careRelationshipIndex.isTreating(practitionerId, patientId)) {
+            return;
+        }
+        if (encounterId != null) {
+            throw new UnauthorizedEncounterAccessException(encounterId, practitionerId);
+        }
+        throw new UnauthorizedEncounterAccessException(String.format(
+                "Practitioner %s has no treating relationship to patient %s", practitionerId, patientId));
+    }
+
+    // Anlegen eines bereits validierten Requests, nur innerhalb einer Transaktion
+    private EncounterResponse insertEncounter(CreateEncounterRequest request) {
+        Encounter encounter = new Encounter(
+                request.getPatientId(),
+                request.getPractitionerId(),
+                request.getType(),
+                request.getEncounterDate(),
+                request.getBillingContext());
+
+        encounter = encounterRepository.save(encounter);
+        outboxService.record(AGGREGATE_TYPE, encounter.getId(), "ENCOUNTER_CREATED", eventPayload(encounter));
+        statisticsService.recordCreated(encounter);
+        careRelationshipIndex.recordEncounter(encounter.getPractitionerId(), encounter.getPatientId());
+
+        logger.info("Created encounter {} for patient {}", encounter.getId(), request.getPatientId());
+
+        return mapToResponse(encounter);
+    }
+
     private Encounter findEncounterOrThrow(UUID encounterId) {
         return encounterRepository.findById(encounterId)
                 .orElseThrow(() -> new EncounterNotFoundException(encounterId));
@@ -268,16 +501,17 @@ public class EncounterService {
 
     private void validatePatientForEncounter(UUID patientId) {
         try {
-            if (!patientValidationService.validatePatientExists(patientId)) {
+            // Ein Aufruf liefert Existenz und Details
+            var patientDetails = patientValidationService.getPatientDetails(patientId);
+            if (patientDetails == null) {
                 throw new PatientNotFoundException("Patient not found: " + patientId);
             }
-
-            // Optional: Get patient details for additional validation
-            var patientDetails = patientValidationService.getPatientDetails(patientId);
-            if (patientDetails != null) {
-                logger.info("Creating encounter for patient: {} {}",
-                        patientDetails.getFirstName(), patientDetails.getLastName());
+            if (patientDetails.isStale()) {
+                // Patient Service nicht erreichbar: der Patient war bekannt, Stammdaten ggf. veraltet
+                logger.warn("Validating patient {} against stale cached record", patientId);
             }
+            logger.info("Creating encounter for patient: {} {}",
+                    patientDetails.getFirstName(), patientDetails.getLastName());
         } catch (PatientNotFoundException ex) {
             throw ex; // Re-throw as-is
         } catch (Exception ex) {
@@ -287,6 +521,17 @@ public class EncounterService {
         }
     }
 
+    private void awaitConflictCheck(CompletableFuture<Void> conflictCheck) {
+        try {
+            conflictCheck.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
     private void validateEncounterCreation(CreateEncounterRequest request) {
         if (request.getPatientId() == null) {
             throw new BusinessRuleViolationException("MISSING_PATIENT_ID", "Patient ID is required");
@@ -349,12 +594,67 @@ public class EncounterService {
         }
 
         // Additional content validation rules
-        if (documentation.getContent().length() > 10000) {
+        int maxContentBytes = documentationContentStore.getMaxContentBytes();
+        if (documentation.getContent().getBytes(StandardCharsets.UTF_8).length > maxContentBytes) {
             throw new InvalidDocumentationException(documentation.getSoapSection().toString(),
-                    "Content exceeds maximum length of 10000 characters");
+                    "Content exceeds maximum size of " + maxContentBytes + " bytes");
         }
     }
 
+    /**
+     * Führt die Timeline aus den heißen Tabellen mit archivierten Encounters zusammen
+     * (beide absteigend nach Datum). Ohne Archivdaten bleibt es bei der einen DB-Abfrage;
+     * sonst werden aus der DB die ersten offset + size Einträge geladen und gemischt.
+     */
+    private Page<EncounterSummary> withArchivedEncounters(List<ArchivedEncounterSummary> archived, Pageable pageable,
+            Function<Pageable, Page<EncounterSummary>> hotQuery) {
+        if (archived.isEmpty()) {
+            return hotQuery.apply(pageable);
+        }
+        return mergeTimeline(hotQuery.apply(hotPage(pageable)), archived, pageable);
+    }
+
+    // Aus den heißen Tabellen werden zum Mischen die ersten offset + size Einträge gebraucht
+    static Pageable hotPage(Pageable pageable) {
+        return pageable.isPaged()
+                ? PageRequest.of(0, (int) pageable.getOffset() + pageable.getPageSize())
+                : pageable;
+    }
+
+    /**
+     * Mischt die erste(n) Seite(n) aus den heißen Tabellen ({@link #hotPage}) mit den archivierten
+     * Encounters des Patienten und schneidet die angeforderte Seite aus. Auch vom reaktiven Lesepfad
+     * genutzt ({@link ReactiveEncounterReadService}).
+     */
+    static Page<EncounterSummary> mergeTimeline(Page<EncounterSummary> hot, List<ArchivedEncounterSummary> archived,
+            Pageable pageable) {
+        List<EncounterSummary> merged = new ArrayList<>(hot.getNumberOfElements() + archived.size());
+        merged.addAll(hot.getContent());
+        archived.forEach(encounter -> merged.add(mapArchivedToSummary(encounter)));
+        merged.sort(Comparator.comparing(EncounterSummary::getEncounterDate).reversed());
+
+        long total = hot.getTotalElements() + archived.size();
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(merged, pageable, total);
+        }
+        int from = (int) Math.min(pageable.getOffset(), merged.size());
+        int to = Math.min(from + pageable.getPageSize(), merged.size());
+        return new PageImpl<>(merged.subList(from, to), pageable, total);
+    }
+
+    // Bewusst ohne Dokumentation: Konsumenten laden Details bei Bedarf nach
+    private Map<String, Object> eventPayload(Encounter encounter) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("encounterId", encounter.getId());
+        payload.put("patientId", encounter.getPatientId());
+        payload.put("practitionerId", encounter.getPractitionerId());
+        payload.put("type", encounter.getType());
+        payload.put("status", encounter.getStatus());
+        payload.put("encounterDate", encounter.getEncounterDate());
+        payload.put("billingContext", encounter.getBillingContext());
+        return payload;
+    }
+
     private boolean isEmergencyType(de.his.encounter.domain.model.EncounterType type) {
         return type == de.his.encounter.domain.model.EncounterType.EMERGENCY;
     }
@@ -387,21 +687,73 @@ public class EncounterService {
         }
     }
 
-    private EncounterSummary mapToSummary(Encounter encounter) {
-        try {
-            // Dokumentations-Anzahl berechnen
-            Integer documentationCount = encounter.getDocumentation() != null ? encounter.getDocumentation().size() : 0;
+    // Inhalte gesammelt aus dem Content Store nachladen (ein Query für alle Abschnitte)
+    private void attachContent(EncounterResponse response) {
+        Map<String, byte[]> contents = documentationContentStore.loadAll(response.getDocumentation().stream()
+                .map(DocumentationResponse::getContentHash)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        Map<UUID, String> structuredContents = new HashMap<>();
+        encounterRepository.findStructuredContents(response.getId())
+                .forEach(row -> structuredContents.put(row.getId(), row.getStructuredContent()));
+
+        for (DocumentationResponse doc : response.getDocumentation()) {
+            byte[] content = doc.getContentHash() != null ? contents.get(doc.getContentHash()) : null;
+            doc.setContent(content != null ? new String(content, StandardCharsets.UTF_8) : null);
+            doc.setStructuredContent(structuredContents.get(doc.getId()));
+        }
+    }
 
-            return new EncounterSummary(
-                    encounter.getId(),
-                    encounter.getType(),
-                    encounter.getEncounterDate(),
-                    encounter.getStatus(),
-                    documentationCount);
-        } catch (Exception ex) {
-            logger.error("Error mapping encounter to summary: {}", ex.getMessage());
-            throw new RuntimeException("Failed to map encounter summary", ex);
+    private byte[] archivedContentBytes(ArchivedDocumentation documentation) {
+        return documentation.getContent() != null
+                ? documentation.getContent().getBytes(StandardCharsets.UTF_8)
+                : new byte[0];
+    }
+
+    private EncounterResponse mapArchivedToResponse(ArchivedEncounter encounter, boolean includeContent) {
+        List<de.his.encounter.application.dto.DocumentationResponse> documentation = encounter.getDocumentation()
+                .stream()
+                .map(doc -> mapArchivedDocumentationToResponse(doc, includeContent))
+                .collect(Collectors.toList());
+
+        return new EncounterResponse(
+                encounter.getId(),
+                encounter.getPatientId(),
+                encounter.getPractitionerId(),
+                encounter.getType(),
+                encounter.getEncounterDate(),
+                encounter.getStatus(),
+                encounter.getBillingContext(),
+                documentation,
+                encounter.getCreatedAt(),
+                encounter.getUpdatedAt());
+    }
+
+    private static EncounterSummary mapArchivedToSummary(ArchivedEncounterSummary encounter) {
+        return new EncounterSummary(
+                encounter.getId(),
+                encounter.getType(),
+                encounter.getEncounterDate(),
+                encounter.getStatus(),
+                encounter.getDocumentationCount());
+    }
+
+    private de.his.encounter.application.dto.DocumentationResponse mapArchivedDocumentationToResponse(
+            ArchivedDocumentation documentation, boolean includeContent) {
+        byte[] content = archivedContentBytes(documentation);
+        DocumentationResponse response = new DocumentationResponse(
+                documentation.getId(),
+                documentation.getSoapSection(),
+                documentation.getContentType(),
+                content.length,
+                DocumentationContentStore.contentHash(content),
+                documentation.getAuthorId(),
+                documentation.getCreatedAt());
+        if (includeContent) {
+            response.setContent(documentation.getContent());
+            response.setStructuredContent(documentation.getStructuredContent());
         }
+        return response;
     }
 
     private de.his.encounter.application.dto.DocumentationResponse mapDocumentationToResponse(
@@ -411,8 +763,8 @@ public class EncounterService {
                     documentation.getId(),
                     documentation.getSoapSection(),
                     documentation.getContentType(),
-                    documentation.getContent(),
-                    documentation.getStructuredContent(),
+                    documentation.getContentSize(),
+                    documentation.getContentHash(),
                     documentation.getAuthorId(),
                     documentation.getCreatedAt());
         } catch (Exception ex) {
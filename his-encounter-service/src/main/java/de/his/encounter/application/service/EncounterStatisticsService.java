@@ -0,0 +1,162 @@
+package de.his.encounter.application.service;
+
+import de.his.encounter.application.dto.EncounterStatisticBucket;
+import de.his.encounter.application.dto.EncounterStatisticsResponse;
+import de.his.encounter.domain.model.Encounter;
+import de.his.encounter.domain.model.EncounterStatus;
+import de.his.encounter.domain.model.EncounterType;
+import de.his.encounter.domain.repository.EncounterDailyStatisticRepository;
+import de.his.encounter.domain.repository.PatientEncounterStatisticRepository;
+import de.his.encounter.infrastructure.exception.BusinessRuleViolationException;
+import de.his.encounter.infrastructure.exception.UnauthorizedEncounterAccessException;
+import de.his.encounter.infrastructure.security.CareAccessContext;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Encounter-Statistiken aus voraggregierten Tabellen.
+ *
+ * Zähler werden in der Transaktion der fachlichen Änderung verschoben (+1 beim
+ * Anlegen, -1/+1 beim Statuswechsel). Der nächtliche Abgleich berechnet sie aus
+ * der Quelltabelle neu und korrigiert so eventuelle Abweichungen.
+ */
+@Service
+public class EncounterStatisticsService {
+
+    static final int MAX_RANGE_DAYS = 366;
+
+    private final EncounterDailyStatisticRepository dailyStatisticRepository;
+    private final PatientEncounterStatisticRepository patientStatisticRepository;
+    private final CareRelationshipIndex careRelationshipIndex;
+
+    public EncounterStatisticsService(EncounterDailyStatisticRepository dailyStatisticRepository,
+            PatientEncounterStatisticRepository patientStatisticRepository,
+            CareRelationshipIndex careRelationshipIndex) {
+        this.dailyStatisticRepository = dailyStatisticRepository;
+        this.patientStatisticRepository = patientStatisticRepository;
+        this.careRelationshipIndex = careRelationshipIndex;
+    }
+
+    // =========================================================================
+    // INKREMENTELLE PFLEGE
+    // =========================================================================
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Encounter encounter) {
+        adjust(encounter, encounter.getStatus(), 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransition(Encounter encounter, EncounterStatus previousStatus) {
+        adjust(encounter, previousStatus, -1);
+        adjust(encounter, encounter.getStatus(), 1);
+    }
+
+    private void adjust(Encounter encounter, EncounterStatus status, long delta) {
+        String billingContext = encounter.getBillingContext() != null ? encounter.getBillingContext().name() : null;
+        dailyStatisticRepository.adjust(encounter.getEncounterDate().toLocalDate(), encounter.getPractitionerId(),
+                encounter.getType().name(), billingContext, status.name(), delta);
+        patientStatisticRepository.adjust(encounter.getPatientId(),
+                encounter.getType().name(), billingContext, status.name(), delta);
+    }
+
+    // =========================================================================
+    // ABFRAGEN
+    // =========================================================================
+
+    @Transactional(readOnly = true)
+    public EncounterStatisticsResponse getPatientStatistics(UUID patientId) {
+        // Auflage TREATING_RELATIONSHIP: Statistik nur zu behandelten Patienten
+        if (CareAccessContext.isRelationshipRequired()) {
+            UUID practitionerId = CareAccessContext.currentPractitionerId();
+            if (!careRelationshipIndex.isTreating(practitionerId, patientId)) {
+                throw new UnauthorizedEncounterAccessException(String.format(
+                        "Practitioner %s has no treating relationship to patient %s", practitionerId, patientId));
+            }
+        }
+        return summarize(patientStatisticRepository.sumByPatient(patientId));
+    }
+
+    @Transactional(readOnly = true)
+    public EncounterStatisticsResponse getPractitionerStatistics(UUID practitionerId, LocalDate fromDate,
+            LocalDate toDate) {
+        validateRange(fromDate, toDate);
+        return summarize(dailyStatisticRepository.sumByPractitioner(practitionerId, fromDate, toDate));
+    }
+
+    @Transactional(readOnly = true)
+    public List<EncounterStatisticBucket> getDailyStatistics(LocalDate fromDate, LocalDate toDate,
+            UUID practitionerId) {
+        validateRange(fromDate, toDate);
+        return practitionerId != null
+                ? dailyStatisticRepository.sumByDayForPractitioner(practitionerId, fromDate, toDate)
+                : dailyStatisticRepository.sumByDay(fromDate, toDate);
+    }
+
+    // =========================================================================
+    // ABGLEICH (Reconciliation)
+    // =========================================================================
+
+    /**
+     * Berechnet die Tagesstatistik für [fromDate, toDate) aus der Quelltabelle neu.
+     */
+    @Transactional
+    public int reconcileDays(LocalDate fromDate, LocalDate toDate) {
+        dailyStatisticRepository.deleteRange(fromDate, toDate);
+        return dailyStatisticRepository.recomputeRange(fromDate.atStartOfDay(), toDate.atStartOfDay());
+    }
+
+    @Transactional(readOnly = true)
+    public List<UUID> findPatientIdsAfter(UUID afterId, int limit) {
+        return patientStatisticRepository.findPatientIdsAfter(afterId, limit);
+    }
+
+    @Transactional
+    public int reconcilePatients(List<UUID> patientIds) {
+        if (patientIds.isEmpty()) {
+            return 0;
+        }
+        patientStatisticRepository.deleteByPatientIds(patientIds);
+        return patientStatisticRepository.recomputeForPatients(patientIds);
+    }
+
+    // =========================================================================
+    // PRIVATE HELPER METHODS
+    // =========================================================================
+
+    private void validateRange(LocalDate fromDate, LocalDate toDate) {
+        if (fromDate.isAfter(toDate)) {
+            throw new BusinessRuleViolationException("INVALID_DATE_RANGE",
+                    "From date cannot be after to date");
+        }
+        if (ChronoUnit.DAYS.between(fromDate, toDate) >= MAX_RANGE_DAYS) {
+            throw new BusinessRuleViolationException("DATE_RANGE_TOO_LARGE",
+                    "Date range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+
+    private EncounterStatisticsResponse summarize(List<EncounterStatisticBucket> buckets) {
+        long total = 0;
+        Map<EncounterType, Long> byType = new EnumMap<>(EncounterType.class);
+        Map<EncounterStatus, Long> byStatus = new EnumMap<>(EncounterStatus.class);
+        Map<String, Long> byBillingContext = new TreeMap<>();
+
+        for (EncounterStatisticBucket bucket : buckets) {
+            total += bucket.getCount();
+            byType.merge(bucket.getType(), bucket.getCount(), Long::sum);
+            byStatus.merge(bucket.getStatus(), bucket.getCount(), Long::sum);
+            String billingContext = bucket.getBillingContext() != null ? bucket.getBillingContext().name() : "NONE";
+            byBillingContext.merge(billingContext, bucket.getCount(), Long::sum);
+        }
+        return new EncounterStatisticsResponse(total, byType, byStatus, byBillingContext);
+    }
+}
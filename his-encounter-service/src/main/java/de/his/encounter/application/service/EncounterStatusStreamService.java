@@ -0,0 +1,277 @@
+package de.his.encounter.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.his.encounter.application.dto.ChangeEventResponse;
+import de.his.encounter.application.dto.ChangeFeedResponse;
+import de.his.encounter.application.dto.EncounterStatusEvent;
+import de.his.encounter.domain.model.EncounterStatus;
+import de.his.encounter.infrastructure.exception.ChangeFeedCursorExpiredException;
+import de.his.encounter.infrastructure.security.CareAccessContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verteilt Statuswechsel (start/complete/no-show) an Live-Statusboards.
+ *
+ * Quelle ist der Change-Feed (Outbox), nicht das lokale Commit: so sehen Boards auch Übergänge,
+ * die auf anderen Instanzen oder per Bulk-Update (NoShowHousekeepingJob) committet wurden.
+ * Verzögerung ist das Relay-Intervall ({@code his.outbox.relay.interval-ms}).
+ *
+ * Jeder Abonnent hat einen begrenzten Puffer und einen eigenen Sende-Thread.
+ * Läuft der Puffer voll, wird der Abonnent getrennt statt den Publisher zu
+ * blockieren; der Client erhält ein "resync"-Event und lädt den Stand neu.
+ */
+@Service
+public class EncounterStatusStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EncounterStatusStreamService.class);
+
+    // Outbox-Events mit Statuswechsel und der jeweilige Ausgangsstatus
+    private static final Map<String, EncounterStatus> PREVIOUS_STATUS = Map.of(
+            "ENCOUNTER_STARTED", EncounterStatus.PLANNED,
+            "ENCOUNTER_COMPLETED", EncounterStatus.IN_PROGRESS,
+            "ENCOUNTER_NO_SHOW", EncounterStatus.PLANNED);
+
+    private static final int FEED_PAGE_SIZE = 500;
+
+    // Lesetransaktionen können auf ein Replikat gehen, das die neue Position noch nicht hat
+    private static final int FEED_READ_ATTEMPTS = 3;
+    private static final long FEED_READ_RETRY_DELAY_MS = 100;
+
+    @Value("${his.status-stream.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${his.status-stream.heartbeat-interval-ms:15000}")
+    private long heartbeatIntervalMs;
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    private final ChangeFeedService changeFeedService;
+    private final CareRelationshipIndex careRelationshipIndex;
+    private final ObjectMapper objectMapper;
+
+    // zuletzt verteilte Feed-Position, -1 bis zum Start; nur unter dem Monitor von this
+    private long feedCursor = -1;
+
+    public EncounterStatusStreamService(ChangeFeedService changeFeedService,
+            CareRelationshipIndex careRelationshipIndex, ObjectMapper objectMapper) {
+        this.changeFeedService = changeFeedService;
+        this.careRelationshipIndex = careRelationshipIndex;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Ziel eines Abonnements, z.B. ein SseEmitter.
+     */
+    public interface StatusSink {
+
+        void send(EncounterStatusEvent event) throws IOException;
+
+        void heartbeat() throws IOException;
+
+        void resync() throws IOException;
+
+        void close();
+    }
+
+    /**
+     * Muss auf dem Request-Thread laufen: die Auflage TREATING_RELATIONSHIP wird hier aus dem
+     * {@link CareAccessContext} übernommen und gilt für jedes spätere Event des Abonnements.
+     */
+    public Subscription subscribe(UUID practitionerId, UUID patientId, StatusSink sink) {
+        Subscription subscription = new Subscription(practitionerId, patientId,
+                CareAccessContext.isRelationshipRequired(), CareAccessContext.currentPractitionerId(),
+                sink, bufferSize);
+        subscriptions.add(subscription);
+        subscription.start();
+        logger.debug("Status stream subscribed (practitioner={}, patient={}), {} active",
+                practitionerId, patientId, subscriptions.size());
+        return subscription;
+    }
+
+    public int getActiveSubscriptions() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Folgt dem Change-Feed ab der aktuellen Position; ältere Übergänge holen Boards beim
+     * Verbinden über die Arbeitsliste.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void followChangeFeed() {
+        synchronized (this) {
+            feedCursor = changeFeedService.getLatestPosition();
+        }
+        changeFeedService.addListener(this::onFeedAdvanced);
+    }
+
+    // Benachrichtigungen kommen parallel (ChangeFeedService), daher serialisiert
+    synchronized void onFeedAdvanced(long position) {
+        if (feedCursor < 0 || position <= feedCursor) {
+            return;
+        }
+        if (subscriptions.isEmpty()) {
+            feedCursor = position;
+            return;
+        }
+        try {
+            for (int attempt = 0; feedCursor < position && attempt < FEED_READ_ATTEMPTS; attempt++) {
+                if (attempt > 0) {
+                    Thread.sleep(FEED_READ_RETRY_DELAY_MS);
+                }
+                ChangeFeedResponse changes;
+                do {
+                    changes = changeFeedService.readChanges(feedCursor, FEED_PAGE_SIZE);
+                    changes.getEvents().forEach(this::publishStatusChange);
+                    feedCursor = changes.getNextCursor();
+                } while (changes.isHasMore());
+            }
+        } catch (ChangeFeedCursorExpiredException ex) {
+            logger.warn("Status stream fell behind the change feed, resyncing {} subscribers", subscriptions.size());
+            subscriptions.forEach(Subscription::requestResync);
+            feedCursor = ex.getLatestPosition();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void publishStatusChange(ChangeEventResponse change) {
+        EncounterStatus previousStatus = PREVIOUS_STATUS.get(change.getEventType());
+        if (previousStatus == null) {
+            return;
+        }
+        try {
+            JsonNode payload = objectMapper.readTree(change.getPayload());
+            publish(new EncounterStatusEvent(
+                    UUID.fromString(payload.get("encounterId").asText()),
+                    UUID.fromString(payload.get("patientId").asText()),
+                    UUID.fromString(payload.get("practitionerId").asText()),
+                    previousStatus,
+                    EncounterStatus.valueOf(payload.get("status").asText()),
+                    change.getOccurredAt()));
+        } catch (JsonProcessingException | RuntimeException ex) {
+            logger.warn("Skipping malformed status change at position {}: {}", change.getPosition(), ex.getMessage());
+        }
+    }
+
+    void publish(EncounterStatusEvent event) {
+        for (Subscription subscription : subscriptions) {
+            if (subscription.matches(event)) {
+                subscription.offer(event);
+            }
+        }
+    }
+
+    public final class Subscription {
+
+        private final UUID practitionerId;
+        private final UUID patientId;
+        private final boolean restricted;
+        private final UUID treatingPractitionerId;
+        private final StatusSink sink;
+        private final BlockingQueue<EncounterStatusEvent> buffer;
+
+        private volatile boolean overflowed;
+        private volatile boolean cancelled;
+        private Thread sender;
+
+        private Subscription(UUID practitionerId, UUID patientId, boolean restricted,
+                UUID treatingPractitionerId, StatusSink sink, int capacity) {
+            this.practitionerId = practitionerId;
+            this.patientId = patientId;
+            this.restricted = restricted;
+            this.treatingPractitionerId = treatingPractitionerId;
+            this.sink = sink;
+            this.buffer = new ArrayBlockingQueue<>(capacity);
+        }
+
+        private void start() {
+            sender = Thread.ofVirtual().name("encounter-status-stream").start(this::drain);
+        }
+
+        // Feed-Lücke: Board muss neu laden, Sende-Thread sofort wecken
+        private void requestResync() {
+            overflowed = true;
+            subscriptions.remove(this);
+            if (sender != null) {
+                sender.interrupt();
+            }
+        }
+
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+            if (sender != null) {
+                sender.interrupt();
+            }
+        }
+
+        private boolean matches(EncounterStatusEvent event) {
+            return (practitionerId == null || practitionerId.equals(event.getPractitionerId()))
+                    && (patientId == null || patientId.equals(event.getPatientId()))
+                    && (!restricted || careRelationshipIndex.isTreating(treatingPractitionerId,
+                            event.getPatientId()));
+        }
+
+        private void offer(EncounterStatusEvent event) {
+            if (!buffer.offer(event)) {
+                // Slow Consumer: abhängen statt Publisher oder andere Abonnenten auszubremsen
+                overflowed = true;
+                subscriptions.remove(this);
+                logger.warn("Status stream subscriber dropped after buffer overflow ({} events)",
+                        buffer.size());
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!cancelled) {
+                    if (overflowed) {
+                        buffer.clear();
+                        sink.resync();
+                        break;
+                    }
+                    EncounterStatusEvent event = buffer.poll(heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+                    if (event != null) {
+                        sink.send(event);
+                    } else if (!overflowed) {
+                        sink.heartbeat();
+                    }
+                }
+            } catch (InterruptedException ex) {
+                if (overflowed && !cancelled) {
+                    resyncQuietly();
+                }
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException ex) {
+                logger.debug("Status stream subscriber disconnected: {}", ex.getMessage());
+            } finally {
+                subscriptions.remove(this);
+                sink.close();
+            }
+        }
+
+        private void resyncQuietly() {
+            try {
+                sink.resync();
+            } catch (IOException | IllegalStateException ex) {
+                logger.debug("Status stream subscriber disconnected before resync: {}", ex.getMessage());
+            }
+        }
+    }
+}
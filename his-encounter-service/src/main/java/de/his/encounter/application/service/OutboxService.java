@@ -0,0 +1,93 @@
+package de.his.encounter.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.his.encounter.domain.model.OutboxEvent;
+import de.his.encounter.domain.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Schreibt und veröffentlicht Outbox-Einträge für den Change-Feed.
+ */
+@Service
+public class OutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxService.class);
+
+    // Schlüssel für pg_try_advisory_xact_lock – eindeutig je Schema
+    static final long RELAY_LOCK_KEY = 0x6869735F656E6331L; // "his_enc1"
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Legt einen Outbox-Eintrag an. Muss innerhalb der fachlichen Transaktion
+     * aufgerufen werden, damit Änderung und Event gemeinsam committen.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(String aggregateType, UUID aggregateId, String eventType, Map<String, Object> payload) {
+        try {
+            String json = objectMapper.writeValueAsString(payload);
+            outboxEventRepository.save(new OutboxEvent(aggregateType, aggregateId, eventType, json));
+            logger.debug("Recorded outbox event {} for {} {}", eventType, aggregateType, aggregateId);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize outbox payload for " + eventType, ex);
+        }
+    }
+
+    /**
+     * Vergibt Feed-Positionen für den nächsten Batch unveröffentlichter Einträge.
+     *
+     * @return Anzahl veröffentlichter Einträge, 0 wenn ein anderer Relay den Lock hält
+     */
+    @Transactional
+    public int publishPendingBatch(int batchSize) {
+        if (!outboxEventRepository.tryAcquireRelayLock(RELAY_LOCK_KEY)) {
+            return 0;
+        }
+
+        List<OutboxEvent> batch = outboxEventRepository.findUnpublished(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        long position = outboxEventRepository.findMaxPosition();
+        for (OutboxEvent event : batch) {
+            event.markPublished(++position);
+        }
+        outboxEventRepository.saveAll(batch);
+
+        logger.debug("Published {} outbox events up to position {}", batch.size(), position);
+        return batch.size();
+    }
+
+    @Transactional(readOnly = true)
+    public long getLatestPosition() {
+        return outboxEventRepository.findMaxPosition();
+    }
+
+    @Transactional(readOnly = true)
+    public List<OutboxEvent> findPublishedAfter(long cursor, int limit) {
+        return outboxEventRepository.findPublishedAfter(cursor, PageRequest.of(0, limit));
+    }
+
+    @Transactional
+    public int purgePublishedBefore(LocalDateTime before) {
+        return outboxEventRepository.deletePublishedBefore(before);
+    }
+}
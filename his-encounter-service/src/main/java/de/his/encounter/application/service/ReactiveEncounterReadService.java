@@ -0,0 +1,156 @@
+package de.his.encounter.application.service;
+
+import de.his.encounter.application.dto.EncounterResponse;
+import de.his.encounter.application.dto.EncounterSummary;
+import de.his.encounter.infrastructure.archive.ArchivedEncounterSummary;
+import de.his.encounter.infrastructure.archive.EncounterArchive;
+import de.his.encounter.infrastructure.exception.BusinessRuleViolationException;
+import de.his.encounter.infrastructure.exception.UnauthorizedEncounterAccessException;
+import de.his.encounter.infrastructure.reactive.ReactiveEncounterQueries;
+import de.his.encounter.infrastructure.security.CareAccessContext;
+import de.his.encounter.infrastructure.security.CareAccessContext.CareAccess;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Reaktiver Lesepfad für Detailansicht und Timeline (ReactiveReadServer), gleiche Ergebnisse wie
+ * {@link EncounterService#getEncounter} und {@link EncounterService#getPatientEncounters}.
+ *
+ * Heiße Tabellen über R2DBC ohne Thread je Request. Blockierend auf {@code boundedElastic} bleiben:
+ * Inhalte ({@code includeContent}, Content Store) und archivierte Encounters über den
+ * EncounterService, sowie die Auflage TREATING_RELATIONSHIP, solange der CareRelationshipIndex
+ * noch nicht geladen ist.
+ */
+public class ReactiveEncounterReadService {
+
+    private final ReactiveEncounterQueries queries;
+    private final EncounterArchive encounterArchive;
+    private final CareRelationshipIndex careRelationshipIndex;
+    private final EncounterService encounterService;
+
+    public ReactiveEncounterReadService(ReactiveEncounterQueries queries, EncounterArchive encounterArchive,
+            CareRelationshipIndex careRelationshipIndex, EncounterService encounterService) {
+        this.queries = queries;
+        this.encounterArchive = encounterArchive;
+        this.careRelationshipIndex = careRelationshipIndex;
+        this.encounterService = encounterService;
+    }
+
+    public Mono<EncounterResponse> getEncounter(UUID encounterId, boolean includeContent) {
+        if (includeContent) {
+            return blocking(() -> encounterService.getEncounter(encounterId, true));
+        }
+        return queries.findResponseById(encounterId)
+                .flatMap(response -> checkCareRelationship(encounterId, response.getPatientId())
+                        .then(queries.findDocumentationResponses(encounterId).collectList())
+                        .map(documentation -> {
+                            response.setDocumentation(documentation);
+                            return response;
+                        }))
+                // nicht in den heißen Tabellen: Cold Storage (oder 404) wie im MVC-Pfad
+                .switchIfEmpty(blocking(() -> encounterService.getEncounter(encounterId, false)));
+    }
+
+    /**
+     * Timeline eines Patienten, mit {@code fromDate} und {@code toDate} eingeschränkt auf den Zeitraum.
+     */
+    public Mono<Page<EncounterSummary>> getPatientEncounters(UUID patientId, LocalDateTime fromDate,
+            LocalDateTime toDate, Pageable pageable) {
+        if (fromDate != null && fromDate.isAfter(toDate)) {
+            return Mono.error(new BusinessRuleViolationException("INVALID_DATE_RANGE",
+                    "From date cannot be after to date"));
+        }
+        return checkCareRelationship(null, patientId).then(Mono.defer(() -> {
+            // Segmente sind gemappt, ohne Archivdaten des Patienten nur ein Lookup im Segmentindex
+            List<ArchivedEncounterSummary> archived = encounterArchive.findSummariesByPatient(patientId).stream()
+                    .filter(e -> fromDate == null
+                            || !e.getEncounterDate().isBefore(fromDate) && !e.getEncounterDate().isAfter(toDate))
+                    .toList();
+            if (archived.isEmpty()) {
+                return hotSummaries(patientId, fromDate, toDate, pageable);
+            }
+            return hotSummaries(patientId, fromDate, toDate, EncounterService.hotPage(pageable))
+                    .map(hot -> EncounterService.mergeTimeline(hot, archived, pageable));
+        }));
+    }
+
+    private Mono<Page<EncounterSummary>> hotSummaries(UUID patientId, LocalDateTime fromDate, LocalDateTime toDate,
+            Pageable pageable) {
+        return queries.findSummaries(patientId, fromDate, toDate, pageable)
+                .collectList()
+                .flatMap(content -> total(content, pageable, () -> queries.countSummaries(patientId, fromDate, toDate))
+                        .map(total -> new PageImpl<>(content, pageable, total)));
+    }
+
+    // Wie PageableExecutionUtils: Count-Abfrage nur, wenn die Seite die Gesamtzahl nicht schon ergibt
+    private Mono<Long> total(List<EncounterSummary> content, Pageable pageable, Supplier<Mono<Long>> count) {
+        if (pageable.isUnpaged()) {
+            return Mono.just((long) content.size());
+        }
+        boolean partialPage = pageable.getPageSize() > content.size();
+        if (pageable.getOffset() == 0 && partialPage) {
+            return Mono.just((long) content.size());
+        }
+        if (!content.isEmpty() && partialPage) {
+            return Mono.just(pageable.getOffset() + content.size());
+        }
+        return count.get();
+    }
+
+    /**
+     * Auflage TREATING_RELATIONSHIP aus dem Reactor-Context; Prüfung wie
+     * {@code EncounterService#checkCareRelationship}.
+     */
+    private Mono<Void> checkCareRelationship(UUID encounterId, UUID patientId) {
+        return Mono.deferContextual(context -> {
+            Optional<CareAccess> access = context.getOrEmpty(CareAccessContext.REACTOR_KEY);
+            if (access.isEmpty()) {
+                return Mono.empty();
+            }
+            UUID practitionerId = access.get().practitionerId();
+            // bis der Index geladen ist, beantwortet die Datenbank (JPA) die Prüfung
+            Mono<Boolean> treating = careRelationshipIndex.isLoaded()
+                    ? Mono.just(careRelationshipIndex.isTreating(practitionerId, patientId))
+                    : Mono.fromCallable(() -> careRelationshipIndex.isTreating(practitionerId, patientId))
+                            .subscribeOn(Schedulers.boundedElastic());
+            return treating.flatMap(isTreating -> isTreating ? Mono.<Void>empty()
+                    : Mono.error(unauthorized(encounterId, practitionerId, patientId)));
+        });
+    }
+
+    private UnauthorizedEncounterAccessException unauthorized(UUID encounterId, UUID practitionerId,
+            UUID patientId) {
+        if (encounterId != null) {
+            return new UnauthorizedEncounterAccessException(encounterId, practitionerId);
+        }
+        return new UnauthorizedEncounterAccessException(String.format(
+                "Practitioner %s has no treating relationship to patient %s", practitionerId, patientId));
+    }
+
+    /**
+     * Ruft den blockierenden EncounterService auf {@code boundedElastic} auf; die Auflage aus dem
+     * Reactor-Context gilt dort wie im MVC-Pfad über den CareAccessContext.
+     */
+    private <T> Mono<T> blocking(Supplier<T> call) {
+        return Mono.deferContextual(context -> {
+            Optional<CareAccess> access = context.getOrEmpty(CareAccessContext.REACTOR_KEY);
+            return Mono.fromSupplier(() -> {
+                access.ifPresent(careAccess -> CareAccessContext.open(careAccess.practitionerId()));
+                try {
+                    return call.get();
+                } finally {
+                    CareAccessContext.close();
+                }
+            }).subscribeOn(Schedulers.boundedElastic());
+        });
+    }
+}
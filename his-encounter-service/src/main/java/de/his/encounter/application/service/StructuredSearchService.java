@@ -0,0 +1,237 @@
+package de.his.encounter.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.his.encounter.application.dto.StructuredSearchHit;
+import de.his.encounter.application.dto.StructuredSearchRequest;
+import de.his.encounter.application.dto.StructuredSearchResponse;
+import de.his.encounter.domain.model.Encounter;
+import de.his.encounter.domain.model.EncounterDocumentation;
+import de.his.encounter.domain.model.SOAPSection;
+import de.his.encounter.domain.repository.EncounterRepository;
+import de.his.encounter.infrastructure.exception.BusinessRuleViolationException;
+import de.his.encounter.infrastructure.security.CareAccessContext;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Containment-Suche über strukturierte SOAP-Dokumentation (z. B. alle Encounters,
+ * deren ASSESSMENT einen bestimmten ICD-10-Code enthält).
+ *
+ * Auf PostgreSQL per {@code @>} über den GIN-Index aus V3. Auf anderen Datenbanken
+ * (H2 in Tests) werden Kandidaten in Keyset-Reihenfolge gelesen und das Containment
+ * mit denselben Regeln in der Anwendung geprüft - gleiche Ergebnisse, aber ohne Index.
+ *
+ * Gilt die Auflage TREATING_RELATIONSHIP, liefern beide Wege nur Encounters von Patienten,
+ * die der Aufrufer behandelt.
+ */
+@Service
+@Transactional(readOnly = true)
+public class StructuredSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StructuredSearchService.class);
+
+    private final EncounterRepository encounterRepository;
+    private final CareRelationshipIndex careRelationshipIndex;
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+
+    @Value("${his.structured-search.fallback-batch-size:500}")
+    private int fallbackBatchSize;
+
+    private boolean jsonbSupported;
+
+    public StructuredSearchService(EncounterRepository encounterRepository,
+            CareRelationshipIndex careRelationshipIndex, DataSource dataSource, ObjectMapper objectMapper) {
+        this.encounterRepository = encounterRepository;
+        this.careRelationshipIndex = careRelationshipIndex;
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    public void init() {
+        try (Connection connection = dataSource.getConnection()) {
+            jsonbSupported = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not determine database type for structured search", ex);
+        }
+        if (!jsonbSupported) {
+            logger.warn("Structured search runs without JSONB index support (in-application filtering)");
+        }
+    }
+
+    public StructuredSearchResponse search(StructuredSearchRequest request) {
+        JsonNode filter = request.getContains();
+        if (filter == null || !filter.isContainerNode() || filter.isEmpty()) {
+            throw new BusinessRuleViolationException("INVALID_SEARCH_FILTER",
+                    "Search filter 'contains' must be a non-empty JSON object or array");
+        }
+        if ((request.getAfterDate() == null) != (request.getAfterId() == null)) {
+            throw new BusinessRuleViolationException("INVALID_SEARCH_CURSOR",
+                    "Parameters 'afterDate' and 'afterId' must be given together");
+        }
+
+        List<SOAPSection> sections = request.getSoapSection() != null
+                ? List.of(request.getSoapSection())
+                : Arrays.asList(SOAPSection.values());
+
+        // Ein Treffer mehr als angefordert zeigt an, ob es eine weitere Seite gibt
+        int limit = request.getSize() + 1;
+        List<Encounter> encounters = jsonbSupported
+                ? searchJsonb(filter, sections, request, limit)
+                : searchPortable(filter, sections, request, limit);
+
+        boolean hasMore = encounters.size() > request.getSize();
+        List<StructuredSearchHit> results = encounters.stream()
+                .limit(request.getSize())
+                .map(this::mapToHit)
+                .toList();
+        return new StructuredSearchResponse(results, hasMore);
+    }
+
+    private List<Encounter> searchJsonb(JsonNode filter, List<SOAPSection> sections,
+            StructuredSearchRequest request, int limit) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(filter);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize search filter", ex);
+        }
+        List<String> sectionNames = sections.stream().map(SOAPSection::name).toList();
+
+        boolean restricted = CareAccessContext.isRelationshipRequired();
+        UUID treatingPractitionerId = CareAccessContext.practitionerIdOrNil();
+        if (request.getAfterDate() == null) {
+            return encounterRepository.findByStructuredContent(json, sectionNames, restricted,
+                    treatingPractitionerId, limit);
+        }
+        return encounterRepository.findByStructuredContentAfter(json, sectionNames,
+                request.getAfterDate(), request.getAfterId(), restricted, treatingPractitionerId, limit);
+    }
+
+    private List<Encounter> searchPortable(JsonNode filter, List<SOAPSection> sections,
+            StructuredSearchRequest request, int limit) {
+        Map<UUID, Encounter> matches = new LinkedHashMap<>();
+        boolean restricted = CareAccessContext.isRelationshipRequired();
+        UUID treatingPractitionerId = CareAccessContext.currentPractitionerId();
+        int page = 0;
+        Slice<EncounterDocumentation> candidates;
+        do {
+            candidates = encounterRepository.findStructuredCandidates(sections, request.getAfterDate(),
+                    request.getAfterId(), PageRequest.of(page++, fallbackBatchSize));
+            Iterator<EncounterDocumentation> iterator = candidates.iterator();
+            while (iterator.hasNext() && matches.size() < limit) {
+                EncounterDocumentation documentation = iterator.next();
+                if (restricted && !careRelationshipIndex.isTreating(treatingPractitionerId,
+                        documentation.getEncounter().getPatientId())) {
+                    continue;
+                }
+                if (contains(readTree(documentation.getStructuredContent()), filter)) {
+                    matches.putIfAbsent(documentation.getEncounter().getId(), documentation.getEncounter());
+                }
+            }
+        } while (candidates.hasNext() && matches.size() < limit);
+
+        return new ArrayList<>(matches.values());
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (JsonProcessingException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Containment nach PostgreSQL-Regeln für jsonb {@code @>}: Objekte enthalten alle
+     * Schlüssel des Filters (rekursiv), Arrays enthalten jedes Filterelement in
+     * irgendeinem Element, Skalare sind gleich. Ein Array auf oberster Ebene enthält
+     * zusätzlich einen einzelnen Skalar.
+     */
+    static boolean contains(JsonNode target, JsonNode filter) {
+        return contains(target, filter, true);
+    }
+
+    private static boolean contains(JsonNode target, JsonNode filter, boolean topLevel) {
+        if (target == null) {
+            return false;
+        }
+        if (filter.isObject()) {
+            if (!target.isObject()) {
+                return false;
+            }
+            Set<Map.Entry<String, JsonNode>> entries = filter.properties();
+            for (Map.Entry<String, JsonNode> entry : entries) {
+                if (!contains(target.get(entry.getKey()), entry.getValue(), false)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (filter.isArray()) {
+            if (!target.isArray()) {
+                return false;
+            }
+            for (JsonNode element : filter) {
+                boolean found = false;
+                for (JsonNode candidate : target) {
+                    if (contains(candidate, element, false)) {
+                        found = true;
+                        break;
+                    }
+                }
+                if (!found) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (topLevel && target.isArray()) {
+            for (JsonNode candidate : target) {
+                if (!candidate.isContainerNode() && scalarEquals(candidate, filter)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return scalarEquals(target, filter);
+    }
+
+    private static boolean scalarEquals(JsonNode target, JsonNode filter) {
+        if (target.isNumber() && filter.isNumber()) {
+            return target.decimalValue().compareTo(filter.decimalValue()) == 0;
+        }
+        return target.equals(filter);
+    }
+
+    private StructuredSearchHit mapToHit(Encounter encounter) {
+        return new StructuredSearchHit(
+                encounter.getId(),
+                encounter.getPatientId(),
+                encounter.getPractitionerId(),
+                encounter.getType(),
+                encounter.getEncounterDate(),
+                encounter.getStatus());
+    }
+}
@@ -1,7 +1,11 @@
 package de.his.encounter.config;
 
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import de.his.encounter.infrastructure.client.PatientClient;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -23,4 +27,14 @@ public class ApplicationConfig {
         source.registerCorsConfiguration("/api/**", configuration);
         return source;
     }
+
+    /**
+     * CBOR neben JSON: Antworten binär bei {@code Accept: application/cbor}, sonst weiter JSON.
+     * Dekodiert außerdem die CBOR-Antworten des Patient Service für {@link PatientClient}.
+     * Gleiche Jackson-Konfiguration wie für JSON (spring.jackson.*).
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
 }
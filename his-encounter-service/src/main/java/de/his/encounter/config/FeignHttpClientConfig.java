@@ -0,0 +1,72 @@
+package de.his.encounter.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration;
+import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Transport der Feign-Clients (PatientClient): Apache HttpClient 5 mit Verbindungspool statt
+ * HttpURLConnection. Poolgrößen und TTL aus spring.cloud.openfeign.httpclient.*, dazu
+ * TCP-Keep-Alive und Aufräumen untätiger Verbindungen (his.feign.httpclient.*).
+ *
+ * Ersetzt den Connection Manager aus Spring Clouds HttpClient5FeignConfiguration, der weder
+ * SO_KEEPALIVE noch Prüfung nach Inaktivität setzt.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.cloud.openfeign.httpclient.hc5.enabled", matchIfMissing = true)
+public class FeignHttpClientConfig {
+
+    @Value("${his.feign.httpclient.idle-timeout:PT30S}")
+    private Duration idleTimeout;
+
+    @Value("${his.feign.httpclient.tcp-keep-alive:true}")
+    private boolean tcpKeepAlive;
+
+    @Value("${his.feign.httpclient.validate-after-inactivity:PT2S}")
+    private Duration validateAfterInactivity;
+
+    @Bean
+    public HttpClientConnectionManager feignConnectionManager(FeignHttpClientProperties properties) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxConnections())
+                .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+                // zuletzt benutzte Verbindung zuerst: wenige warme Verbindungen, der Rest läuft ins Idle-Timeout
+                .setConnPoolPolicy(PoolReusePolicy.LIFO)
+                .setPoolConcurrencyPolicy(
+                        PoolConcurrencyPolicy.valueOf(properties.getHc5().getPoolConcurrencyPolicy().name()))
+                .setDefaultSocketConfig(SocketConfig.custom()
+                        // Intervalle aus net.ipv4.tcp_keepalive_*, httpcore5 5.2 setzt TCP_KEEPIDLE nicht
+                        .setSoKeepAlive(tcpKeepAlive)
+                        .setTcpNoDelay(true)
+                        .build())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(properties.getConnectionTimeout()))
+                        .setTimeToLive(TimeValue.of(properties.getTimeToLive(), properties.getTimeToLiveUnit()))
+                        // vom Server geschlossene Keep-Alive-Verbindungen vor der Wiederverwendung erkennen
+                        .setValidateAfterInactivity(TimeValue.of(validateAfterInactivity))
+                        .build())
+                .build();
+    }
+
+    /**
+     * Schließt Verbindungen, die länger als {@code idle-timeout} ungenutzt im Pool liegen – vor dem
+     * Keep-Alive-Timeout des Patient Service (Tomcat: 60s).
+     */
+    @Bean
+    public HttpClient5FeignConfiguration.HttpClientBuilderCustomizer idleConnectionEviction() {
+        return builder -> builder.evictIdleConnections(TimeValue.of(idleTimeout));
+    }
+}
@@ -0,0 +1,128 @@
+package de.his.encounter.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.his.encounter.application.service.CareRelationshipIndex;
+import de.his.encounter.application.service.EncounterService;
+import de.his.encounter.application.service.ReactiveEncounterReadService;
+import de.his.encounter.infrastructure.archive.EncounterArchive;
+import de.his.encounter.infrastructure.exception.GlobalExceptionHandler;
+import de.his.encounter.infrastructure.reactive.ReactiveEncounterQueries;
+import de.his.encounter.infrastructure.reactive.ReactiveReadServer;
+import de.his.encounter.presentation.reactive.ReactiveEncounterHandler;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.util.MimeType;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Reaktiver Lesepfad (his.reactive-read.*): Detailansicht und Timeline zusätzlich über Netty und
+ * R2DBC auf eigenem Port, Schreibpfad und alle übrigen Endpunkte bleiben Spring MVC + JPA.
+ *
+ * Der R2DBC-Pool ist bewusst kein Bean: ein ConnectionFactory-Bean schaltet die
+ * DataSource-Autokonfiguration ab (R2dbcAutoConfiguration ist ausgeschlossen).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "his.reactive-read", name = "enabled", havingValue = "true")
+public class ReactiveReadConfig {
+
+    @Value("${his.reactive-read.port:8092}")
+    private int port;
+
+    @Value("${his.reactive-read.r2dbc.url}")
+    private String url;
+
+    @Value("${his.reactive-read.r2dbc.username:${spring.datasource.username}}")
+    private String username;
+
+    @Value("${his.reactive-read.r2dbc.password:${spring.datasource.password}}")
+    private String password;
+
+    @Value("${his.reactive-read.r2dbc.max-size:10}")
+    private int maxSize;
+
+    @Value("${his.reactive-read.r2dbc.max-acquire-time:PT30S}")
+    private Duration maxAcquireTime;
+
+    @Bean(destroyMethod = "close")
+    public ReactiveEncounterQueries reactiveEncounterQueries() {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        ConnectionPoolConfiguration pool = ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("encounter-reactive-read")
+                .maxSize(maxSize)
+                .maxAcquireTime(maxAcquireTime)
+                .build();
+        return new ReactiveEncounterQueries(new ConnectionPool(pool));
+    }
+
+    @Bean
+    public ReactiveEncounterReadService reactiveEncounterReadService(ReactiveEncounterQueries queries,
+            EncounterArchive encounterArchive, CareRelationshipIndex careRelationshipIndex,
+            EncounterService encounterService) {
+        return new ReactiveEncounterReadService(queries, encounterArchive, careRelationshipIndex, encounterService);
+    }
+
+    /**
+     * Gleiche Jackson-Konfiguration (JSON und CBOR) und gleiche server.compression/server.http2
+     * wie der Tomcat des MVC-Pfads.
+     */
+    @Bean
+    public ReactiveReadServer reactiveReadServer(ReactiveEncounterReadService readService,
+            GlobalExceptionHandler exceptionHandler, ObjectMapper objectMapper,
+            MappingJackson2CborHttpMessageConverter cborHttpMessageConverter, ServerProperties serverProperties) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.customCodecs()
+                            .register(new SingleValueCborEncoder(cborHttpMessageConverter.getObjectMapper()));
+                })
+                .build();
+        ReactiveEncounterHandler handler = new ReactiveEncounterHandler(readService, exceptionHandler);
+
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory(port);
+        factory.setCompression(serverProperties.getCompression());
+        factory.setHttp2(serverProperties.getHttp2());
+        return new ReactiveReadServer(
+                factory.getWebServer(RouterFunctions.toHttpHandler(handler.routes(), strategies)));
+    }
+
+    /**
+     * Jackson2CborEncoder kodiert nur Einzelwerte ({@code encodeValue}); ServerResponse.bodyValue
+     * schreibt über {@code encode} ein Mono mit genau einem Wert.
+     */
+    static final class SingleValueCborEncoder extends Jackson2CborEncoder {
+
+        SingleValueCborEncoder(ObjectMapper mapper) {
+            super(mapper, MediaType.APPLICATION_CBOR);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+            return Flux.from(inputStream).map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints));
+        }
+    }
+}
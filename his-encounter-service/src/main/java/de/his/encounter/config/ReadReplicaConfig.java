@@ -0,0 +1,102 @@
+package de.his.encounter.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import de.his.encounter.infrastructure.datasource.ReadYourWritesFilter;
+import de.his.encounter.infrastructure.datasource.ReplicaRoutingDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-Replicas für readOnly-Transaktionen (his.datasource.read-replicas.*).
+ *
+ * Nur aktiv mit {@code enabled: true}; sonst bleibt die DataSource aus der
+ * Spring-Boot-Autokonfiguration.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "his.datasource.read-replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Value("${his.datasource.read-replicas.urls}")
+    private List<String> replicaUrls;
+
+    @Value("${his.datasource.read-replicas.username:${spring.datasource.username}}")
+    private String username;
+
+    @Value("${his.datasource.read-replicas.password:${spring.datasource.password}}")
+    private String password;
+
+    @Value("${his.datasource.read-replicas.maximum-pool-size:10}")
+    private int maximumPoolSize;
+
+    @Value("${his.datasource.read-replicas.max-lag:PT5S}")
+    private Duration maxLag;
+
+    @Value("${his.datasource.read-replicas.lag-query}")
+    private String lagQuery;
+
+    @Value("${his.datasource.read-replicas.sticky-for:PT5S}")
+    private Duration stickyFor;
+
+    @Value("${his.datasource.read-replicas.cookie-name:HIS_PRIMARY_UNTIL}")
+    private String cookieName;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+            MeterRegistry meterRegistry) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("encounter-replica-" + i);
+            replica.setJdbcUrl(replicaUrls.get(i).trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setMaximumPoolSize(maximumPoolSize);
+            // gleiche Wartezeit und Treiber-Optionen (Statement-Cache) wie der Primary
+            replica.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+            replica.setDataSourceProperties(primaryDataSource.getDataSourceProperties());
+            replica.setReadOnly(true);
+            // Replica darf beim Start fehlen, sie wird dann bis zur nächsten Lag-Prüfung übergangen
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(replica);
+        }
+
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primaryDataSource, replicas,
+                maxLag, lagQuery);
+        routingDataSource.checkReplicas();
+        Gauge.builder("his.datasource.replicas.healthy", routingDataSource,
+                        ReplicaRoutingDataSource::getHealthyReplicaCount)
+                .description("Read replicas currently receiving read-only transactions")
+                .register(meterRegistry);
+        return routingDataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter() {
+        return new ReadYourWritesFilter(cookieName, stickyFor);
+    }
+}
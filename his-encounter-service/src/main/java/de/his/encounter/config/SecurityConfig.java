@@ -1,5 +1,6 @@
 package de.his.encounter.config;
 
+import de.his.encounter.infrastructure.security.CareAccessFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -76,6 +77,14 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Auflagen der Policy-Entscheidung (Behandlungsbeziehung) aus den Gateway-Headern
+     */
+    @Bean
+    public CareAccessFilter careAccessFilter() {
+        return new CareAccessFilter();
+    }
+
     /**
      * Password Encoder - BCrypt für sichere Passwort-Verschlüsselung
      */
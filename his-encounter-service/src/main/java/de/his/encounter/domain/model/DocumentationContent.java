@@ -0,0 +1,79 @@
+package de.his.encounter.domain.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Inhaltsadressierter Dokumentationstext (SHA-256 der UTF-8-Bytes).
+ *
+ * Identische Texte werden nur einmal gespeichert; {@code body} ist je nach
+ * {@code compression} Zstandard-komprimiert oder unverändert (NONE). Große
+ * Inhalte liegen unkomprimiert im Dateispeicher ({@code storage = FILE}),
+ * {@code body} ist dann leer.
+ */
+@Entity
+@Table(name = "documentation_contents", schema = "his_encounter")
+public class DocumentationContent {
+
+    public static final String COMPRESSION_NONE = "NONE";
+    public static final String COMPRESSION_ZSTD = "ZSTD";
+
+    public static final String STORAGE_DATABASE = "DATABASE";
+    public static final String STORAGE_FILE = "FILE";
+
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "compression", nullable = false, length = 10)
+    private String compression;
+
+    @Column(name = "storage", nullable = false, length = 10)
+    private String storage;
+
+    @Column(name = "original_size", nullable = false)
+    private Integer originalSize;
+
+    @Column(name = "body", nullable = false)
+    private byte[] body;
+
+    @Column(name = "created_at", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "last_referenced_at", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime lastReferencedAt;
+
+    // Constructors
+    public DocumentationContent() {
+    }
+
+    // Getters
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public String getCompression() {
+        return compression;
+    }
+
+    public String getStorage() {
+        return storage;
+    }
+
+    public Integer getOriginalSize() {
+        return originalSize;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getLastReferencedAt() {
+        return lastReferencedAt;
+    }
+}
@@ -17,7 +17,8 @@ import java.util.UUID;
         indexes = {
                 @Index(name = "idx_patient_date", columnList = "patient_id, encounter_date"),
                 @Index(name = "idx_encounter_date", columnList = "encounter_date"),
-                @Index(name = "idx_status", columnList = "status")
+                @Index(name = "idx_status", columnList = "status"),
+                @Index(name = "idx_encounters_practitioner_status_date", columnList = "practitioner_id, status, encounter_date")
         }
 )
 public class Encounter {
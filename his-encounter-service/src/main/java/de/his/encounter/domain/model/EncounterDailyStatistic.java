@@ -0,0 +1,74 @@
+package de.his.encounter.domain.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Voraggregierte Anzahl Encounters je Tag, Behandler, Typ, Abrechnungskontext
+ * und Status. Wird inkrementell gepflegt, siehe EncounterStatisticsService.
+ */
+@Entity
+@Table(name = "encounter_stats_daily", schema = "his_encounter")
+public class EncounterDailyStatistic {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Column(name = "practitioner_id", nullable = false)
+    private UUID practitionerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "encounter_type", nullable = false)
+    private EncounterType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "billing_context")
+    private BillingContext billingContext;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private EncounterStatus status;
+
+    @Column(name = "encounter_count", nullable = false)
+    private long encounterCount;
+
+    // Constructors
+    public EncounterDailyStatistic() {
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getStatDate() {
+        return statDate;
+    }
+
+    public UUID getPractitionerId() {
+        return practitionerId;
+    }
+
+    public EncounterType getType() {
+        return type;
+    }
+
+    public BillingContext getBillingContext() {
+        return billingContext;
+    }
+
+    public EncounterStatus getStatus() {
+        return status;
+    }
+
+    public long getEncounterCount() {
+        return encounterCount;
+    }
+}
@@ -39,9 +39,17 @@ public class EncounterDocumentation {
     @Column(name = "content_type", nullable = false)
     private ContentType contentType;
 
-    @Column(name = "content", columnDefinition = "TEXT")
+    // Text liegt komprimiert und dedupliziert im Content Store (documentation_contents),
+    // hier nur Verweis und Größe; content ist lediglich Transportfeld beim Anlegen
+    @Transient
     private String content;
 
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "content_size")
+    private Integer contentSize;
+
     // JSONB für PostgreSQL, TEXT für H2
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "structured_content", columnDefinition = "TEXT") // Geändert von "jsonb" zu "TEXT"
@@ -108,6 +116,22 @@ public class EncounterDocumentation {
         this.content = content;
     }
 
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public Integer getContentSize() {
+        return contentSize;
+    }
+
+    public void setContentSize(Integer contentSize) {
+        this.contentSize = contentSize;
+    }
+
     public String getStructuredContent() {
         return structuredContent;
     }
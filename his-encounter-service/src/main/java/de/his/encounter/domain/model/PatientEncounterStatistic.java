@@ -0,0 +1,66 @@
+package de.his.encounter.domain.model;
+
+import jakarta.persistence.*;
+
+import java.util.UUID;
+
+/**
+ * Voraggregierte Anzahl Encounters je Patient, Typ, Abrechnungskontext und
+ * Status. Wird inkrementell gepflegt, siehe EncounterStatisticsService.
+ */
+@Entity
+@Table(name = "encounter_stats_patient", schema = "his_encounter")
+public class PatientEncounterStatistic {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "patient_id", nullable = false)
+    private UUID patientId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "encounter_type", nullable = false)
+    private EncounterType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "billing_context")
+    private BillingContext billingContext;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private EncounterStatus status;
+
+    @Column(name = "encounter_count", nullable = false)
+    private long encounterCount;
+
+    // Constructors
+    public PatientEncounterStatistic() {
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public UUID getPatientId() {
+        return patientId;
+    }
+
+    public EncounterType getType() {
+        return type;
+    }
+
+    public BillingContext getBillingContext() {
+        return billingContext;
+    }
+
+    public EncounterStatus getStatus() {
+        return status;
+    }
+
+    public long getEncounterCount() {
+        return encounterCount;
+    }
+}
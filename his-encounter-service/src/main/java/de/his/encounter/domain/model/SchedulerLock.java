@@ -0,0 +1,48 @@
+package de.his.encounter.domain.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Sperre für geplante Jobs. Eine Instanz hält den Lock bis {@code lockUntil};
+ * stirbt sie, läuft der Lock von selbst ab.
+ */
+@Entity
+@Table(name = "scheduler_locks", schema = "his_encounter")
+public class SchedulerLock {
+
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @Column(name = "lock_until", nullable = false)
+    private LocalDateTime lockUntil;
+
+    @Column(name = "locked_at", nullable = false)
+    private LocalDateTime lockedAt;
+
+    @Column(name = "locked_by", nullable = false)
+    private String lockedBy;
+
+    // Constructors
+    public SchedulerLock() {
+    }
+
+    // Getters
+    public String getName() {
+        return name;
+    }
+
+    public LocalDateTime getLockUntil() {
+        return lockUntil;
+    }
+
+    public LocalDateTime getLockedAt() {
+        return lockedAt;
+    }
+
+    public String getLockedBy() {
+        return lockedBy;
+    }
+}
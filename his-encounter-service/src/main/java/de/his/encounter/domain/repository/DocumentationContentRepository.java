@@ -0,0 +1,47 @@
+package de.his.encounter.domain.repository;
+
+import de.his.encounter.domain.model.DocumentationContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DocumentationContentRepository extends JpaRepository<DocumentationContent, String> {
+
+    // Deduplizierung: existiert der Hash bereits, wird nur last_referenced_at fortgeschrieben
+    // (Zeilensperre schützt zusätzlich vor parallelem Aufräumen). Eigene Transaktion,
+    // falls der Aufrufer keine hat (Streaming-Upload hält während des Uploads keine offen)
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO his_encounter.documentation_contents " +
+                    "(content_hash, storage, compression, original_size, body) " +
+                    "VALUES (:contentHash, :storage, :compression, :originalSize, :body) " +
+                    "ON CONFLICT (content_hash) DO UPDATE SET last_referenced_at = CURRENT_TIMESTAMP",
+                    nativeQuery = true)
+    int upsert(@Param("contentHash") String contentHash,
+                    @Param("storage") String storage,
+                    @Param("compression") String compression,
+                    @Param("originalSize") int originalSize,
+                    @Param("body") byte[] body);
+
+    @Query(value = "SELECT content_hash FROM his_encounter.documentation_contents " +
+                    "WHERE content_hash IN (:contentHashes) AND storage = 'FILE'", nativeQuery = true)
+    List<String> findFileBacked(@Param("contentHashes") Collection<String> contentHashes);
+
+    // Aufräumen nach Archivierung: nur Inhalte ohne verbleibende Referenz, die seit
+    // :referencedBefore nicht wiederverwendet wurden (laufende Transaktionen sehen wir nicht)
+    @Modifying
+    @Query(value = "DELETE FROM his_encounter.documentation_contents c " +
+                    "WHERE c.content_hash IN (:contentHashes) AND c.last_referenced_at < :referencedBefore " +
+                    "AND NOT EXISTS (SELECT 1 FROM his_encounter.encounter_documentation d " +
+                    "WHERE d.content_hash = c.content_hash)", nativeQuery = true)
+    int deleteUnreferenced(@Param("contentHashes") Collection<String> contentHashes,
+                    @Param("referencedBefore") LocalDateTime referencedBefore);
+}
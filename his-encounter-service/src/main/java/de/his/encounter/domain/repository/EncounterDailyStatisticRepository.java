@@ -0,0 +1,81 @@
+package de.his.encounter.domain.repository;
+
+import de.his.encounter.application.dto.EncounterStatisticBucket;
+import de.his.encounter.domain.model.EncounterDailyStatistic;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface EncounterDailyStatisticRepository extends JpaRepository<EncounterDailyStatistic, Long> {
+
+    // Inkrementelle Pflege: Zähler um delta verschieben (Zeile wird bei Bedarf angelegt)
+    @Modifying
+    @Query(value = "INSERT INTO his_encounter.encounter_stats_daily " +
+                    "(stat_date, practitioner_id, encounter_type, billing_context, status, encounter_count) " +
+                    "VALUES (:statDate, :practitionerId, :type, CAST(:billingContext AS VARCHAR), :status, :delta) " +
+                    "ON CONFLICT ON CONSTRAINT uk_encounter_stats_daily DO UPDATE " +
+                    "SET encounter_count = his_encounter.encounter_stats_daily.encounter_count + EXCLUDED.encounter_count",
+                    nativeQuery = true)
+    int adjust(@Param("statDate") LocalDate statDate,
+                    @Param("practitionerId") UUID practitionerId,
+                    @Param("type") String type,
+                    @Param("billingContext") String billingContext,
+                    @Param("status") String status,
+                    @Param("delta") long delta);
+
+    @Query("SELECT new de.his.encounter.application.dto.EncounterStatisticBucket(" +
+                    "s.type, s.billingContext, s.status, SUM(s.encounterCount)) " +
+                    "FROM EncounterDailyStatistic s WHERE s.practitionerId = :practitionerId " +
+                    "AND s.statDate BETWEEN :fromDate AND :toDate " +
+                    "GROUP BY s.type, s.billingContext, s.status HAVING SUM(s.encounterCount) > 0")
+    List<EncounterStatisticBucket> sumByPractitioner(
+                    @Param("practitionerId") UUID practitionerId,
+                    @Param("fromDate") LocalDate fromDate,
+                    @Param("toDate") LocalDate toDate);
+
+    @Query("SELECT new de.his.encounter.application.dto.EncounterStatisticBucket(" +
+                    "s.statDate, s.type, s.billingContext, s.status, SUM(s.encounterCount)) " +
+                    "FROM EncounterDailyStatistic s WHERE s.statDate BETWEEN :fromDate AND :toDate " +
+                    "GROUP BY s.statDate, s.type, s.billingContext, s.status HAVING SUM(s.encounterCount) > 0 " +
+                    "ORDER BY s.statDate ASC")
+    List<EncounterStatisticBucket> sumByDay(
+                    @Param("fromDate") LocalDate fromDate,
+                    @Param("toDate") LocalDate toDate);
+
+    @Query("SELECT new de.his.encounter.application.dto.EncounterStatisticBucket(" +
+                    "s.statDate, s.type, s.billingContext, s.status, SUM(s.encounterCount)) " +
+                    "FROM EncounterDailyStatistic s WHERE s.practitionerId = :practitionerId " +
+                    "AND s.statDate BETWEEN :fromDate AND :toDate " +
+                    "GROUP BY s.statDate, s.type, s.billingContext, s.status HAVING SUM(s.encounterCount) > 0 " +
+                    "ORDER BY s.statDate ASC")
+    List<EncounterStatisticBucket> sumByDayForPractitioner(
+                    @Param("practitionerId") UUID practitionerId,
+                    @Param("fromDate") LocalDate fromDate,
+                    @Param("toDate") LocalDate toDate);
+
+    // Abgleich: Tage [fromDate, toDate) aus der Quelltabelle neu berechnen
+    @Modifying
+    @Query(value = "DELETE FROM his_encounter.encounter_stats_daily " +
+                    "WHERE stat_date >= :fromDate AND stat_date < :toDate", nativeQuery = true)
+    int deleteRange(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    @Modifying
+    @Query(value = "INSERT INTO his_encounter.encounter_stats_daily " +
+                    "(stat_date, practitioner_id, encounter_type, billing_context, status, encounter_count) " +
+                    "SELECT CAST(encounter_date AS DATE), practitioner_id, encounter_type, billing_context, status, COUNT(*) " +
+                    "FROM (SELECT encounter_date, practitioner_id, encounter_type, billing_context, status " +
+                    "FROM his_encounter.encounters WHERE encounter_date >= :fromTime AND encounter_date < :toTime " +
+                    "UNION ALL SELECT encounter_date, practitioner_id, encounter_type, billing_context, status " +
+                    "FROM his_encounter.archived_encounters WHERE encounter_date >= :fromTime AND encounter_date < :toTime) e " +
+                    "GROUP BY CAST(encounter_date AS DATE), practitioner_id, encounter_type, billing_context, status",
+                    nativeQuery = true)
+    int recomputeRange(@Param("fromTime") LocalDateTime fromTime, @Param("toTime") LocalDateTime toTime);
+}
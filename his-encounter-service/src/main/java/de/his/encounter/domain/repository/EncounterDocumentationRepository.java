@@ -0,0 +1,98 @@
+package de.his.encounter.domain.repository;
+
+import de.his.encounter.domain.model.EncounterDocumentation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Volltextsuche über Dokumentationstexte (search_vector, GIN-Index aus V12).
+ *
+ * Suchen sind immer auf Patient und/oder Behandler eingeschränkt; so startet der
+ * Plan bei den Encounters des Filters statt beim gesamten Index.
+ */
+@Repository
+public interface EncounterDocumentationRepository extends JpaRepository<EncounterDocumentation, UUID> {
+
+    interface SearchRow {
+        UUID getDocumentationId();
+
+        UUID getEncounterId();
+
+        UUID getPatientId();
+
+        UUID getPractitionerId();
+
+        LocalDateTime getEncounterDate();
+
+        String getSoapSection();
+
+        String getContentHash();
+
+        Float getRank();
+    }
+
+    String SEARCH_SELECT = "SELECT d.documentation_id AS documentationId, d.encounter_id AS encounterId, " +
+            "e.patient_id AS patientId, e.practitioner_id AS practitionerId, e.encounter_date AS encounterDate, " +
+            "d.soap_section AS soapSection, d.content_hash AS contentHash, " +
+            "ts_rank_cd(d.search_vector, q.query) AS rank " +
+            "FROM his_encounter.encounters e " +
+            "JOIN his_encounter.encounter_documentation d ON d.encounter_id = e.encounter_id " +
+            "CROSS JOIN websearch_to_tsquery('german', :query) AS q(query) " +
+            "WHERE d.search_vector @@ q.query ";
+
+    String SEARCH_ORDER = "ORDER BY rank DESC, e.encounter_date DESC, d.documentation_id " +
+            "LIMIT :limit OFFSET :offset";
+
+    @Query(value = SEARCH_SELECT + "AND e.patient_id = :patientId "
+            + EncounterRepository.TREATED_PATIENTS_ONLY + SEARCH_ORDER, nativeQuery = true)
+    List<SearchRow> searchByPatient(@Param("query") String query,
+            @Param("patientId") UUID patientId,
+            @Param("restricted") boolean restricted,
+            @Param("treatingPractitionerId") UUID treatingPractitionerId,
+            @Param("limit") int limit,
+            @Param("offset") long offset);
+
+    @Query(value = SEARCH_SELECT + "AND e.practitioner_id = :practitionerId "
+            + EncounterRepository.TREATED_PATIENTS_ONLY + SEARCH_ORDER, nativeQuery = true)
+    List<SearchRow> searchByPractitioner(@Param("query") String query,
+            @Param("practitionerId") UUID practitionerId,
+            @Param("restricted") boolean restricted,
+            @Param("treatingPractitionerId") UUID treatingPractitionerId,
+            @Param("limit") int limit,
+            @Param("offset") long offset);
+
+    @Query(value = SEARCH_SELECT + "AND e.patient_id = :patientId AND e.practitioner_id = :practitionerId "
+            + EncounterRepository.TREATED_PATIENTS_ONLY + SEARCH_ORDER, nativeQuery = true)
+    List<SearchRow> searchByPatientAndPractitioner(@Param("query") String query,
+            @Param("patientId") UUID patientId,
+            @Param("practitionerId") UUID practitionerId,
+            @Param("restricted") boolean restricted,
+            @Param("treatingPractitionerId") UUID treatingPractitionerId,
+            @Param("limit") int limit,
+            @Param("offset") long offset);
+
+    // Hervorhebungen für eine Ergebnisseite in einem Roundtrip; texts ist ein JSON-Array
+    @Query(value = "SELECT ts_headline('german', t.text, websearch_to_tsquery('german', :query), :options) " +
+            "FROM jsonb_array_elements_text(CAST(:texts AS jsonb)) WITH ORDINALITY AS t(text, position) " +
+            "ORDER BY t.position", nativeQuery = true)
+    List<String> headlines(@Param("query") String query,
+            @Param("texts") String texts,
+            @Param("options") String options);
+
+    // Gleicher Hash = gleicher Text: ein to_tsvector für alle noch nicht indizierten Zeilen
+    @Modifying
+    @Query(value = "UPDATE his_encounter.encounter_documentation SET search_vector = to_tsvector('german', :text) " +
+            "WHERE content_hash = :contentHash AND search_vector IS NULL", nativeQuery = true)
+    int updateSearchVector(@Param("contentHash") String contentHash, @Param("text") String text);
+
+    @Query(value = "SELECT DISTINCT d.content_hash FROM his_encounter.encounter_documentation d " +
+            "WHERE d.search_vector IS NULL AND d.content_hash IS NOT NULL LIMIT :limit", nativeQuery = true)
+    List<String> findPendingSearchIndex(@Param("limit") int limit);
+}
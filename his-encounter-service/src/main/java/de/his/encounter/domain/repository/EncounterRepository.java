@@ -1,16 +1,27 @@
 package de.his.encounter.domain.repository;
 
+import de.his.encounter.application.dto.DocumentationResponse;
+import de.his.encounter.application.dto.EncounterResponse;
+import de.his.encounter.application.dto.EncounterSummary;
+import de.his.encounter.application.dto.WorklistEntry;
+import de.his.encounter.domain.model.BillingContext;
 import de.his.encounter.domain.model.Encounter;
+import de.his.encounter.domain.model.EncounterDocumentation;
 import de.his.encounter.domain.model.EncounterStatus;
 import de.his.encounter.domain.model.EncounterType;
+import de.his.encounter.domain.model.SOAPSection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,12 +29,68 @@ import java.util.UUID;
 @Repository
 public interface EncounterRepository extends JpaRepository<Encounter, UUID> {
 
-        // Timeline-Queries für his
-        @Query("SELECT e FROM Encounter e WHERE e.patientId = :patientId " +
-                        "ORDER BY e.encounterDate DESC")
-        Page<Encounter> findByPatientIdOrderByEncounterDateDesc(
+        interface StructuredContentRow {
+                UUID getId();
+
+                String getStructuredContent();
+        }
+
+        // Behandlungsbeziehung von :treatingPractitionerId zu e.patient_id, inkl. Cold Storage
+        String TREATING_RELATIONSHIP_EXISTS = "(EXISTS (SELECT 1 FROM his_encounter.encounters t " +
+                        "WHERE t.practitioner_id = :treatingPractitionerId AND t.patient_id = e.patient_id) " +
+                        "OR EXISTS (SELECT 1 FROM his_encounter.archived_encounters a " +
+                        "WHERE a.practitioner_id = :treatingPractitionerId AND a.patient_id = e.patient_id)) ";
+
+        // Auflage TREATING_RELATIONSHIP: bei :restricted nur behandelte Patienten
+        String TREATED_PATIENTS_ONLY = "AND (:restricted = FALSE OR " + TREATING_RELATIONSHIP_EXISTS + ") ";
+
+        String TREATED_WORKLIST_CONDITION = "WHERE e.practitioner_id = :practitionerId " +
+                        "AND e.status IN (:statuses) " +
+                        "AND e.encounter_date >= :fromDate AND e.encounter_date < :toDate " +
+                        "AND " + TREATING_RELATIONSHIP_EXISTS;
+
+        interface WorklistRow {
+                UUID getId();
+
+                UUID getPatientId();
+
+                EncounterType getType();
+
+                LocalDateTime getEncounterDate();
+
+                EncounterStatus getStatus();
+
+                BillingContext getBillingContext();
+        }
+
+        interface CareRelationshipRow {
+                UUID getPractitionerId();
+
+                UUID getPatientId();
+        }
+
+        // Timeline-Queries für his: Projektion, Dokumentationsanzahl per Subquery statt Collection-Load
+        @Query(value = "SELECT new de.his.encounter.application.dto.EncounterSummary(" +
+                        "e.id, e.type, e.encounterDate, e.status, SIZE(e.documentation)) " +
+                        "FROM Encounter e WHERE e.patientId = :patientId " +
+                        "ORDER BY e.encounterDate DESC",
+                        countQuery = "SELECT COUNT(e) FROM Encounter e WHERE e.patientId = :patientId")
+        Page<EncounterSummary> findSummariesByPatientId(
                         @Param("patientId") UUID patientId, Pageable pageable);
 
+        @Query(value = "SELECT new de.his.encounter.application.dto.EncounterSummary(" +
+                        "e.id, e.type, e.encounterDate, e.status, SIZE(e.documentation)) " +
+                        "FROM Encounter e WHERE e.patientId = :patientId " +
+                        "AND e.encounterDate BETWEEN :fromDate AND :toDate " +
+                        "ORDER BY e.encounterDate DESC",
+                        countQuery = "SELECT COUNT(e) FROM Encounter e WHERE e.patientId = :patientId " +
+                                        "AND e.encounterDate BETWEEN :fromDate AND :toDate")
+        Page<EncounterSummary> findSummariesByPatientIdAndDateRange(
+                        @Param("patientId") UUID patientId,
+                        @Param("fromDate") LocalDateTime fromDate,
+                        @Param("toDate") LocalDateTime toDate,
+                        Pageable pageable);
+
         @Query("SELECT e FROM Encounter e WHERE e.patientId = :patientId " +
                         "AND e.encounterDate BETWEEN :fromDate AND :toDate " +
                         "ORDER BY e.encounterDate DESC")
@@ -33,26 +100,211 @@ public interface EncounterRepository extends JpaRepository<Encounter, UUID> {
                         @Param("toDate") LocalDateTime toDate,
                         Pageable pageable);
 
-        // Status-basierte Queries
-        List<Encounter> findByStatusAndEncounterDateBefore(
-                        EncounterStatus status, LocalDateTime date);
+        // Anlegen mit Konfliktprüfung je Patient serialisieren (Lock endet mit der Transaktion)
+        @Query(value = "SELECT pg_advisory_xact_lock(hashtextextended(CAST(:patientId AS text), 0))",
+                        nativeQuery = true)
+        void lockPatientForCreation(@Param("patientId") UUID patientId);
 
-        @Query("SELECT e FROM Encounter e WHERE e.practitionerId = :practitionerId " +
-                        "AND e.status = :status ORDER BY e.encounterDate ASC")
-        List<Encounter> findByPractitionerAndStatus(
-                        @Param("practitionerId") UUID practitionerId,
-                        @Param("status") EncounterStatus status);
+        // Housekeeping: überfällige PLANNED-Encounters per Keyset (idx_encounters_planned_keyset)
+        @Query(value = "SELECT encounter_id FROM his_encounter.encounters " +
+                        "WHERE status = 'PLANNED' AND encounter_date < :cutoff AND encounter_id > :afterId " +
+                        "ORDER BY encounter_id LIMIT :limit", nativeQuery = true)
+        List<UUID> findStalePlannedIds(
+                        @Param("cutoff") LocalDateTime cutoff,
+                        @Param("afterId") UUID afterId,
+                        @Param("limit") int limit);
 
-        // Aggregation Queries für Statistiken
-        @Query("SELECT COUNT(e) FROM Encounter e WHERE e.patientId = :patientId")
-        Long countByPatientId(@Param("patientId") UUID patientId);
+        // Set-basiert: Statuswechsel inkl. Version-Bump, Statistik-Zählern und Outbox-Einträgen
+        // in einem Statement. Die Status-Bedingung schützt vor zwischenzeitlich gestarteten Encounters.
+        @Modifying
+        @Query(value = "WITH updated AS (" +
+                        "UPDATE his_encounter.encounters SET status = 'NO_SHOW', version = version + 1 " +
+                        "WHERE encounter_id IN (:ids) AND status = 'PLANNED' " +
+                        "RETURNING encounter_id, patient_id, practitioner_id, encounter_type, status, " +
+                        "encounter_date, billing_context), " +
+                        "transition(status, delta) AS (VALUES ('PLANNED', -1), ('NO_SHOW', 1)), " +
+                        "daily_stats AS (" +
+                        "INSERT INTO his_encounter.encounter_stats_daily " +
+                        "(stat_date, practitioner_id, encounter_type, billing_context, status, encounter_count) " +
+                        "SELECT CAST(u.encounter_date AS DATE), u.practitioner_id, u.encounter_type, " +
+                        "u.billing_context, t.status, SUM(t.delta) FROM updated u CROSS JOIN transition t " +
+                        "GROUP BY CAST(u.encounter_date AS DATE), u.practitioner_id, u.encounter_type, " +
+                        "u.billing_context, t.status " +
+                        "ON CONFLICT ON CONSTRAINT uk_encounter_stats_daily DO UPDATE " +
+                        "SET encounter_count = his_encounter.encounter_stats_daily.encounter_count + EXCLUDED.encounter_count), " +
+                        "patient_stats AS (" +
+                        "INSERT INTO his_encounter.encounter_stats_patient " +
+                        "(patient_id, encounter_type, billing_context, status, encounter_count) " +
+                        "SELECT u.patient_id, u.encounter_type, u.billing_context, t.status, SUM(t.delta) " +
+                        "FROM updated u CROSS JOIN transition t " +
+                        "GROUP BY u.patient_id, u.encounter_type, u.billing_context, t.status " +
+                        "ON CONFLICT ON CONSTRAINT uk_encounter_stats_patient DO UPDATE " +
+                        "SET encounter_count = his_encounter.encounter_stats_patient.encounter_count + EXCLUDED.encounter_count) " +
+                        "INSERT INTO his_encounter.outbox_events (aggregate_type, aggregate_id, event_type, payload) " +
+                        "SELECT 'Encounter', encounter_id, 'ENCOUNTER_NO_SHOW', jsonb_build_object(" +
+                        "'encounterId', encounter_id, 'patientId', patient_id, 'practitionerId', practitioner_id, " +
+                        "'type', encounter_type, 'status', status, 'encounterDate', encounter_date, " +
+                        "'billingContext', billing_context) FROM updated", nativeQuery = true)
+        int markAsNoShow(@Param("ids") List<UUID> ids);
 
-        @Query("SELECT e.type, COUNT(e) FROM Encounter e WHERE e.patientId = :patientId " +
-                        "GROUP BY e.type")
-        List<Object[]> countByPatientIdGroupByType(@Param("patientId") UUID patientId);
+        // Arbeitsliste: Projektion ohne Dokumentation, nutzt idx_encounters_practitioner_status_date
+        @Query(value = "SELECT new de.his.encounter.application.dto.WorklistEntry(" +
+                        "e.id, e.patientId, e.type, e.encounterDate, e.status, e.billingContext) " +
+                        "FROM Encounter e WHERE e.practitionerId = :practitionerId " +
+                        "AND e.status IN :statuses " +
+                        "AND e.encounterDate >= :fromDate AND e.encounterDate < :toDate " +
+                        "ORDER BY e.encounterDate ASC, e.id ASC",
+                        countQuery = "SELECT COUNT(e) FROM Encounter e WHERE e.practitionerId = :practitionerId " +
+                                        "AND e.status IN :statuses " +
+                                        "AND e.encounterDate >= :fromDate AND e.encounterDate < :toDate")
+        Page<WorklistEntry> findWorklist(
+                        @Param("practitionerId") UUID practitionerId,
+                        @Param("statuses") Collection<EncounterStatus> statuses,
+                        @Param("fromDate") LocalDateTime fromDate,
+                        @Param("toDate") LocalDateTime toDate,
+                        Pageable pageable);
+
+        // Fremde Arbeitsliste unter Auflage TREATING_RELATIONSHIP: nur Patienten, die auch der Aufrufer
+        // behandelt (laufende oder archivierte Encounters). Filter in Abfrage und Zählung, damit Seiten
+        // voll und Summen stimmen; nativ, weil der Cold-Storage-Katalog keine Entity hat.
+        @Query(value = "SELECT e.encounter_id AS \"id\", e.patient_id AS \"patientId\", e.encounter_type AS \"type\", " +
+                        "e.encounter_date AS \"encounterDate\", e.status AS \"status\", " +
+                        "e.billing_context AS \"billingContext\" " +
+                        "FROM his_encounter.encounters e " + TREATED_WORKLIST_CONDITION +
+                        "ORDER BY e.encounter_date ASC, e.encounter_id ASC",
+                        countQuery = "SELECT COUNT(*) FROM his_encounter.encounters e " + TREATED_WORKLIST_CONDITION,
+                        nativeQuery = true)
+        Page<WorklistRow> findWorklistOfTreatedPatients(
+                        @Param("practitionerId") UUID practitionerId,
+                        @Param("treatingPractitionerId") UUID treatingPractitionerId,
+                        @Param("statuses") Collection<String> statuses,
+                        @Param("fromDate") LocalDateTime fromDate,
+                        @Param("toDate") LocalDateTime toDate,
+                        Pageable pageable);
 
         // Letzte Encounters
         @Query("SELECT e FROM Encounter e WHERE e.patientId = :patientId " +
                         "AND e.status = 'COMPLETED' ORDER BY e.encounterDate DESC")
         Optional<Encounter> findLastCompletedEncounter(@Param("patientId") UUID patientId);
-}
\ No newline at end of file
+
+        // Cold Storage: Kandidaten nach Patient gruppiert, damit pro Patient ein Segmentblock entsteht
+        @Query(value = "SELECT encounter_id FROM his_encounter.encounters " +
+                        "WHERE status = 'COMPLETED' AND encounter_date < :cutoff " +
+                        "ORDER BY patient_id, encounter_id LIMIT :limit", nativeQuery = true)
+        List<UUID> findArchivalCandidateIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+        @Query("SELECT DISTINCT e FROM Encounter e LEFT JOIN FETCH e.documentation WHERE e.id IN :ids")
+        List<Encounter> findAllWithDocumentationByIdIn(@Param("ids") Collection<UUID> ids);
+
+        // Entfernt archivierte Encounters samt Dokumentation aus den heißen Tabellen und trägt
+        // sie in den Katalog ein. Statistik-Zähler bleiben unverändert (Encounters existieren weiter).
+        @Modifying
+        @Query(value = "WITH removed AS (" +
+                        "DELETE FROM his_encounter.encounters " +
+                        "WHERE encounter_id IN (:ids) AND status = 'COMPLETED' " +
+                        "RETURNING encounter_id, patient_id, practitioner_id, encounter_type, encounter_date, " +
+                        "status, billing_context), " +
+                        "removed_documentation AS (" +
+                        "DELETE FROM his_encounter.encounter_documentation d USING removed r " +
+                        "WHERE d.encounter_id = r.encounter_id) " +
+                        "INSERT INTO his_encounter.archived_encounters (encounter_id, patient_id, practitioner_id, " +
+                        "encounter_type, encounter_date, status, billing_context, segment_name) " +
+                        "SELECT encounter_id, patient_id, practitioner_id, encounter_type, encounter_date, status, " +
+                        "billing_context, :segmentName FROM removed", nativeQuery = true)
+        int moveToColdStorage(@Param("ids") List<UUID> ids, @Param("segmentName") String segmentName);
+
+        // Detailansicht ohne Entities: Kopfdaten und Dokumentations-Header je eine Abfrage
+        @Query("SELECT new de.his.encounter.application.dto.EncounterResponse(" +
+                        "e.id, e.patientId, e.practitionerId, e.type, e.encounterDate, e.status, e.billingContext, " +
+                        "e.createdAt, e.updatedAt) FROM Encounter e WHERE e.id = :encounterId")
+        Optional<EncounterResponse> findResponseById(@Param("encounterId") UUID encounterId);
+
+        @Query("SELECT new de.his.encounter.application.dto.DocumentationResponse(" +
+                        "d.id, d.soapSection, d.contentType, d.contentSize, d.contentHash, d.authorId, d.createdAt) " +
+                        "FROM EncounterDocumentation d WHERE d.encounter.id = :encounterId " +
+                        "ORDER BY d.createdAt, d.id")
+        List<DocumentationResponse> findDocumentationResponses(@Param("encounterId") UUID encounterId);
+
+        // Nur für includeContent; strukturierte Inhalte können groß sein
+        @Query("SELECT d.id AS id, d.structuredContent AS structuredContent FROM EncounterDocumentation d " +
+                        "WHERE d.encounter.id = :encounterId AND d.structuredContent IS NOT NULL")
+        List<StructuredContentRow> findStructuredContents(@Param("encounterId") UUID encounterId);
+
+        @Query("SELECT d FROM EncounterDocumentation d WHERE d.id = :documentationId AND d.encounter.id = :encounterId")
+        Optional<EncounterDocumentation> findDocumentation(@Param("encounterId") UUID encounterId,
+                        @Param("documentationId") UUID documentationId);
+
+        @Query(value = "SELECT DISTINCT content_hash FROM his_encounter.encounter_documentation " +
+                        "WHERE encounter_id IN (:ids) AND content_hash IS NOT NULL", nativeQuery = true)
+        List<String> findContentHashesByEncounterIds(@Param("ids") Collection<UUID> ids);
+
+        // Strukturierte Suche (PostgreSQL): @> nutzt idx_documentation_structured_content (GIN),
+        // Keyset über (encounter_date, encounter_id) absteigend
+        @Query(value = "SELECT e.* FROM his_encounter.encounters e " +
+                        "WHERE e.encounter_id IN (SELECT d.encounter_id FROM his_encounter.encounter_documentation d " +
+                        "WHERE d.structured_content @> CAST(:filter AS jsonb) AND d.soap_section IN (:soapSections)) " +
+                        TREATED_PATIENTS_ONLY +
+                        "ORDER BY e.encounter_date DESC, e.encounter_id DESC LIMIT :limit", nativeQuery = true)
+        List<Encounter> findByStructuredContent(@Param("filter") String filter,
+                        @Param("soapSections") Collection<String> soapSections,
+                        @Param("restricted") boolean restricted,
+                        @Param("treatingPractitionerId") UUID treatingPractitionerId,
+                        @Param("limit") int limit);
+
+        @Query(value = "SELECT e.* FROM his_encounter.encounters e " +
+                        "WHERE e.encounter_id IN (SELECT d.encounter_id FROM his_encounter.encounter_documentation d " +
+                        "WHERE d.structured_content @> CAST(:filter AS jsonb) AND d.soap_section IN (:soapSections)) " +
+                        "AND (e.encounter_date, e.encounter_id) < (:afterDate, :afterId) " +
+                        TREATED_PATIENTS_ONLY +
+                        "ORDER BY e.encounter_date DESC, e.encounter_id DESC LIMIT :limit", nativeQuery = true)
+        List<Encounter> findByStructuredContentAfter(@Param("filter") String filter,
+                        @Param("soapSections") Collection<String> soapSections,
+                        @Param("afterDate") LocalDateTime afterDate,
+                        @Param("afterId") UUID afterId,
+                        @Param("restricted") boolean restricted,
+                        @Param("treatingPractitionerId") UUID treatingPractitionerId,
+                        @Param("limit") int limit);
+
+        // Portable Variante ohne JSONB-Operatoren (H2): Kandidaten in Keyset-Reihenfolge,
+        // Containment wird in der Anwendung geprüft
+        @Query("SELECT d FROM EncounterDocumentation d JOIN FETCH d.encounter e " +
+                        "WHERE d.structuredContent IS NOT NULL AND d.soapSection IN :soapSections " +
+                        "AND (:afterDate IS NULL OR e.encounterDate < :afterDate " +
+                        "OR (e.encounterDate = :afterDate AND e.id < :afterId)) " +
+                        "ORDER BY e.encounterDate DESC, e.id DESC, d.id ASC")
+        Slice<EncounterDocumentation> findStructuredCandidates(
+                        @Param("soapSections") Collection<SOAPSection> soapSections,
+                        @Param("afterDate") LocalDateTime afterDate,
+                        @Param("afterId") UUID afterId,
+                        Pageable pageable);
+
+        // Behandlungsbeziehungen inkl. Cold Storage: Keyset je Tabelle über
+        // idx_encounters_practitioner_patient (V13) und idx_archived_encounters_practitioner_patient (V15)
+        @Query(value = "SELECT practitioner_id AS \"practitionerId\", patient_id AS \"patientId\" FROM (" +
+                        "(SELECT DISTINCT practitioner_id, patient_id FROM his_encounter.encounters " +
+                        "WHERE (practitioner_id, patient_id) > (:afterPractitionerId, :afterPatientId) " +
+                        "ORDER BY practitioner_id, patient_id LIMIT :limit) " +
+                        "UNION " +
+                        "(SELECT DISTINCT practitioner_id, patient_id FROM his_encounter.archived_encounters " +
+                        "WHERE (practitioner_id, patient_id) > (:afterPractitionerId, :afterPatientId) " +
+                        "ORDER BY practitioner_id, patient_id LIMIT :limit)) r " +
+                        "ORDER BY practitioner_id, patient_id LIMIT :limit", nativeQuery = true)
+        List<CareRelationshipRow> findCareRelationshipsAfter(@Param("afterPractitionerId") UUID afterPractitionerId,
+                        @Param("afterPatientId") UUID afterPatientId,
+                        @Param("limit") int limit);
+
+        @Query(value = "SELECT EXISTS (SELECT 1 FROM his_encounter.encounters " +
+                        "WHERE practitioner_id = :practitionerId AND patient_id = :patientId) " +
+                        "OR EXISTS (SELECT 1 FROM his_encounter.archived_encounters " +
+                        "WHERE practitioner_id = :practitionerId AND patient_id = :patientId)", nativeQuery = true)
+        boolean existsCareRelationship(@Param("practitionerId") UUID practitionerId,
+                        @Param("patientId") UUID patientId);
+
+        @Query(value = "SELECT COUNT(*) FROM his_encounter.archived_encounters WHERE segment_name = :segmentName",
+                        nativeQuery = true)
+        long countArchivedInSegment(@Param("segmentName") String segmentName);
+
+        // Partitionspflege (Funktion aus V8/V14), benötigt eine schreibende Transaktion
+        @Query(value = "SELECT his_encounter.create_encounter_partitions(:fromDate, :toDate)", nativeQuery = true)
+        int createMonthlyPartitions(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+}
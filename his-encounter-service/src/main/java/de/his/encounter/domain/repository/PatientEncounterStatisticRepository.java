@@ -0,0 +1,59 @@
+package de.his.encounter.domain.repository;
+
+import de.his.encounter.application.dto.EncounterStatisticBucket;
+import de.his.encounter.domain.model.PatientEncounterStatistic;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PatientEncounterStatisticRepository extends JpaRepository<PatientEncounterStatistic, Long> {
+
+    // Inkrementelle Pflege: Zähler um delta verschieben (Zeile wird bei Bedarf angelegt)
+    @Modifying
+    @Query(value = "INSERT INTO his_encounter.encounter_stats_patient " +
+                    "(patient_id, encounter_type, billing_context, status, encounter_count) " +
+                    "VALUES (:patientId, :type, CAST(:billingContext AS VARCHAR), :status, :delta) " +
+                    "ON CONFLICT ON CONSTRAINT uk_encounter_stats_patient DO UPDATE " +
+                    "SET encounter_count = his_encounter.encounter_stats_patient.encounter_count + EXCLUDED.encounter_count",
+                    nativeQuery = true)
+    int adjust(@Param("patientId") UUID patientId,
+                    @Param("type") String type,
+                    @Param("billingContext") String billingContext,
+                    @Param("status") String status,
+                    @Param("delta") long delta);
+
+    @Query("SELECT new de.his.encounter.application.dto.EncounterStatisticBucket(" +
+                    "s.type, s.billingContext, s.status, SUM(s.encounterCount)) " +
+                    "FROM PatientEncounterStatistic s WHERE s.patientId = :patientId " +
+                    "GROUP BY s.type, s.billingContext, s.status HAVING SUM(s.encounterCount) > 0")
+    List<EncounterStatisticBucket> sumByPatient(@Param("patientId") UUID patientId);
+
+    // Abgleich in Patienten-Batches (Keyset über patient_id), inkl. Cold Storage (archived_encounters)
+    @Query(value = "SELECT patient_id FROM (" +
+                    "SELECT patient_id FROM his_encounter.encounters WHERE patient_id > :afterId " +
+                    "UNION SELECT patient_id FROM his_encounter.archived_encounters WHERE patient_id > :afterId) p " +
+                    "ORDER BY patient_id LIMIT :limit", nativeQuery = true)
+    List<UUID> findPatientIdsAfter(@Param("afterId") UUID afterId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM his_encounter.encounter_stats_patient WHERE patient_id IN (:patientIds)",
+                    nativeQuery = true)
+    int deleteByPatientIds(@Param("patientIds") List<UUID> patientIds);
+
+    @Modifying
+    @Query(value = "INSERT INTO his_encounter.encounter_stats_patient " +
+                    "(patient_id, encounter_type, billing_context, status, encounter_count) " +
+                    "SELECT patient_id, encounter_type, billing_context, status, COUNT(*) FROM (" +
+                    "SELECT patient_id, encounter_type, billing_context, status " +
+                    "FROM his_encounter.encounters WHERE patient_id IN (:patientIds) " +
+                    "UNION ALL SELECT patient_id, encounter_type, billing_context, status " +
+                    "FROM his_encounter.archived_encounters WHERE patient_id IN (:patientIds)) e " +
+                    "GROUP BY patient_id, encounter_type, billing_context, status", nativeQuery = true)
+    int recomputeForPatients(@Param("patientIds") List<UUID> patientIds);
+}
@@ -0,0 +1,29 @@
+package de.his.encounter.domain.repository;
+
+import de.his.encounter.domain.model.SchedulerLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLock, String> {
+
+    // Legt den Lock an oder übernimmt ihn, falls abgelaufen; 1 = erhalten, 0 = belegt.
+    // Zeitstempel aus der DB, damit Uhrabweichungen zwischen Instanzen keine Rolle spielen.
+    @Modifying
+    @Query(value = "INSERT INTO his_encounter.scheduler_locks (name, lock_until, locked_at, locked_by) " +
+            "VALUES (:name, CURRENT_TIMESTAMP + make_interval(secs => :lockSeconds), CURRENT_TIMESTAMP, :lockedBy) " +
+            "ON CONFLICT (name) DO UPDATE SET lock_until = EXCLUDED.lock_until, " +
+            "locked_at = EXCLUDED.locked_at, locked_by = EXCLUDED.locked_by " +
+            "WHERE his_encounter.scheduler_locks.lock_until <= CURRENT_TIMESTAMP", nativeQuery = true)
+    int tryAcquire(@Param("name") String name,
+            @Param("lockSeconds") long lockSeconds,
+            @Param("lockedBy") String lockedBy);
+
+    @Modifying
+    @Query(value = "UPDATE his_encounter.scheduler_locks SET lock_until = CURRENT_TIMESTAMP " +
+            "WHERE name = :name AND locked_by = :lockedBy", nativeQuery = true)
+    int release(@Param("name") String name, @Param("lockedBy") String lockedBy);
+}
@@ -0,0 +1,62 @@
+package de.his.encounter.infrastructure.archive;
+
+import de.his.encounter.domain.model.ContentType;
+import de.his.encounter.domain.model.SOAPSection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Dokumentationseintrag eines archivierten Encounters (unveränderlich).
+ */
+public final class ArchivedDocumentation {
+
+    private final UUID id;
+    private final SOAPSection soapSection;
+    private final ContentType contentType;
+    private final String content;
+    private final String structuredContent;
+    private final UUID authorId;
+    private final LocalDateTime createdAt;
+
+    // Constructor
+    public ArchivedDocumentation(UUID id, SOAPSection soapSection, ContentType contentType, String content,
+            String structuredContent, UUID authorId, LocalDateTime createdAt) {
+        this.id = id;
+        this.soapSection = soapSection;
+        this.contentType = contentType;
+        this.content = content;
+        this.structuredContent = structuredContent;
+        this.authorId = authorId;
+        this.createdAt = createdAt;
+    }
+
+    // Getters
+    public UUID getId() {
+        return id;
+    }
+
+    public SOAPSection getSoapSection() {
+        return soapSection;
+    }
+
+    public ContentType getContentType() {
+        return contentType;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public String getStructuredContent() {
+        return structuredContent;
+    }
+
+    public UUID getAuthorId() {
+        return authorId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
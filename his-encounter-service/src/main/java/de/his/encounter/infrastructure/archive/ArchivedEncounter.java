@@ -0,0 +1,90 @@
+package de.his.encounter.infrastructure.archive;
+
+import de.his.encounter.domain.model.BillingContext;
+import de.his.encounter.domain.model.EncounterStatus;
+import de.his.encounter.domain.model.EncounterType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Encounter aus dem Cold Storage (Segmentdatei) inkl. Dokumentation (unveränderlich).
+ */
+public final class ArchivedEncounter {
+
+    private final UUID id;
+    private final UUID patientId;
+    private final UUID practitionerId;
+    private final EncounterType type;
+    private final LocalDateTime encounterDate;
+    private final EncounterStatus status;
+    private final BillingContext billingContext;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final long version;
+    private final List<ArchivedDocumentation> documentation;
+
+    // Constructor
+    public ArchivedEncounter(UUID id, UUID patientId, UUID practitionerId, EncounterType type,
+            LocalDateTime encounterDate, EncounterStatus status, BillingContext billingContext,
+            LocalDateTime createdAt, LocalDateTime updatedAt, long version,
+            List<ArchivedDocumentation> documentation) {
+        this.id = id;
+        this.patientId = patientId;
+        this.practitionerId = practitionerId;
+        this.type = type;
+        this.encounterDate = encounterDate;
+        this.status = status;
+        this.billingContext = billingContext;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+        this.documentation = List.copyOf(documentation);
+    }
+
+    // Getters
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getPatientId() {
+        return patientId;
+    }
+
+    public UUID getPractitionerId() {
+        return practitionerId;
+    }
+
+    public EncounterType getType() {
+        return type;
+    }
+
+    public LocalDateTime getEncounterDate() {
+        return encounterDate;
+    }
+
+    public EncounterStatus getStatus() {
+        return status;
+    }
+
+    public BillingContext getBillingContext() {
+        return billingContext;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<ArchivedDocumentation> getDocumentation() {
+        return documentation;
+    }
+}
@@ -0,0 +1,51 @@
+package de.his.encounter.infrastructure.archive;
+
+import de.his.encounter.domain.model.EncounterStatus;
+import de.his.encounter.domain.model.EncounterType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Kopfdaten eines archivierten Encounters für die Timeline: nur Encounter-Spalten und die Anzahl
+ * der Dokumentationen, ohne deren Inhalte.
+ */
+public final class ArchivedEncounterSummary {
+
+    private final UUID id;
+    private final EncounterType type;
+    private final LocalDateTime encounterDate;
+    private final EncounterStatus status;
+    private final int documentationCount;
+
+    // Constructor
+    public ArchivedEncounterSummary(UUID id, EncounterType type, LocalDateTime encounterDate,
+            EncounterStatus status, int documentationCount) {
+        this.id = id;
+        this.type = type;
+        this.encounterDate = encounterDate;
+        this.status = status;
+        this.documentationCount = documentationCount;
+    }
+
+    // Getters
+    public UUID getId() {
+        return id;
+    }
+
+    public EncounterType getType() {
+        return type;
+    }
+
+    public LocalDateTime getEncounterDate() {
+        return encounterDate;
+    }
+
+    public EncounterStatus getStatus() {
+        return status;
+    }
+
+    public int getDocumentationCount() {
+        return documentationCount;
+    }
+}
@@ -0,0 +1,194 @@
+package de.his.encounter.infrastructure.archive;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold Storage für abgeschlossene Encounters: Verzeichnis unveränderlicher Segmentdateien.
+ *
+ * Alle Segmente sind gemappt; Lookups durchsuchen die Indizes der Segmente vom
+ * neuesten zum ältesten. Bei mehreren Instanzen muss das Verzeichnis geteilt sein
+ * (Shared Volume). Eigene Segmente kommen per {@link #register} sofort in den Lesepfad,
+ * die anderer Instanzen über eine sekündliche Prüfung des Verzeichnis-Zeitstempels und den
+ * periodischen Refresh, bei einem Einzelabruf zusätzlich nach einem Fehlgriff. Der
+ * Timeline-Pfad greift selbst nicht auf das Dateisystem zu.
+ */
+@Component
+public class EncounterArchive {
+
+    private static final Logger logger = LoggerFactory.getLogger(EncounterArchive.class);
+
+    public static final String SEGMENT_SUFFIX = ".seg";
+
+    @Value("${his.archive.directory:./data/encounter-archive}")
+    private String directory;
+
+    @Value("${his.archive.refresh-on-miss-interval-ms:1000}")
+    private long refreshOnMissIntervalMs;
+
+    // Neuestes Segment zuerst (Namen beginnen mit Zeitstempel); wird nur als Ganzes ersetzt
+    private volatile List<EncounterSegment> segments = List.of();
+
+    // Stand des letzten Einlesens, für refreshIfChanged()
+    private volatile FileTime directoryModifiedAtRefresh;
+    private volatile long lastRefreshNanos;
+
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(getDirectory());
+        refresh();
+    }
+
+    public Path getDirectory() {
+        return Paths.get(directory);
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    @Scheduled(fixedDelayString = "${his.archive.refresh-interval-ms:60000}")
+    public synchronized void refresh() {
+        // Vor dem Auflisten merken: spätere Änderungen lösen den nächsten Refresh aus
+        try {
+            directoryModifiedAtRefresh = Files.getLastModifiedTime(getDirectory());
+        } catch (IOException ex) {
+            directoryModifiedAtRefresh = null;
+        }
+        lastRefreshNanos = System.nanoTime();
+
+        Set<String> known = new HashSet<>();
+        segments.forEach(segment -> known.add(segment.getName()));
+
+        List<EncounterSegment> added = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(getDirectory(), "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                if (known.contains(file.getFileName().toString())) {
+                    continue;
+                }
+                try {
+                    added.add(EncounterSegment.open(file));
+                } catch (IOException ex) {
+                    logger.error("Skipping unreadable encounter archive segment {}: {}", file, ex.getMessage());
+                }
+            }
+        } catch (IOException ex) {
+            logger.error("Failed to load encounter archive segments from {}: {}", directory, ex.getMessage(), ex);
+            return;
+        }
+
+        if (!added.isEmpty()) {
+            addSegments(added);
+            logger.info("Loaded {} encounter archive segments ({} total)", added.size(), segments.size());
+        }
+    }
+
+    /**
+     * Nimmt ein soeben fertiggestelltes Segment sofort in den Lesepfad auf.
+     */
+    public synchronized void register(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        if (segments.stream().noneMatch(segment -> segment.getName().equals(name))) {
+            addSegments(List.of(EncounterSegment.open(file)));
+        }
+    }
+
+    public Optional<ArchivedEncounter> findEncounter(UUID encounterId) {
+        Optional<ArchivedEncounter> encounter = readEncounter(encounterId);
+        if (encounter.isEmpty() && refreshIfChanged()) {
+            encounter = readEncounter(encounterId);
+        }
+        return encounter;
+    }
+
+    /**
+     * Timeline-Kopfdaten aller archivierten Encounters eines Patienten, neueste zuerst. Liest nur
+     * die bereits eingelesenen Segmente und dekomprimiert keine Dokumentationsinhalte.
+     */
+    public List<ArchivedEncounterSummary> findSummariesByPatient(UUID patientId) {
+        List<ArchivedEncounterSummary> encounters = new ArrayList<>();
+        Set<UUID> seen = new HashSet<>();
+        for (EncounterSegment segment : segments) {
+            for (ArchivedEncounterSummary encounter : segment.readPatientSummaries(patientId)) {
+                if (seen.add(encounter.getId())) {
+                    encounters.add(encounter);
+                }
+            }
+        }
+        encounters.sort(Comparator.comparing(ArchivedEncounterSummary::getEncounterDate).reversed());
+        return encounters;
+    }
+
+    /**
+     * Liest neue Segmente ein, sobald sich der Zeitstempel des Verzeichnisses geändert hat. Kostet
+     * ohne Änderung nur einen stat-Aufruf; grobe Zeitstempel fängt der periodische Refresh auf.
+     */
+    @Scheduled(fixedDelayString = "${his.archive.change-check-interval-ms:1000}")
+    public void refreshOnDirectoryChange() {
+        try {
+            if (Files.getLastModifiedTime(getDirectory()).equals(directoryModifiedAtRefresh)) {
+                return;
+            }
+        } catch (IOException ex) {
+            return;
+        }
+        refresh();
+    }
+
+    /**
+     * Liest neue Segmente ein, wenn sich das Verzeichnis seit dem letzten Einlesen geändert hat
+     * oder dieses länger als {@code refresh-on-miss-interval-ms} zurückliegt (grobe
+     * Zeitstempel-Auflösung mancher Dateisysteme). Liefert {@code true}, wenn Segmente hinzukamen.
+     */
+    private boolean refreshIfChanged() {
+        FileTime modified;
+        try {
+            modified = Files.getLastModifiedTime(getDirectory());
+        } catch (IOException ex) {
+            return false;
+        }
+        if (modified.equals(directoryModifiedAtRefresh)
+                && System.nanoTime() - lastRefreshNanos < TimeUnit.MILLISECONDS.toNanos(refreshOnMissIntervalMs)) {
+            return false;
+        }
+        int before = segments.size();
+        refresh();
+        return segments.size() > before;
+    }
+
+    private Optional<ArchivedEncounter> readEncounter(UUID encounterId) {
+        for (EncounterSegment segment : segments) {
+            Optional<ArchivedEncounter> encounter = segment.readEncounter(encounterId);
+            if (encounter.isPresent()) {
+                return encounter;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private void addSegments(List<EncounterSegment> added) {
+        List<EncounterSegment> all = new ArrayList<>(segments);
+        all.addAll(added);
+        all.sort(Comparator.comparing(EncounterSegment::getName).reversed());
+        segments = List.copyOf(all);
+    }
+}
@@ -0,0 +1,207 @@
+package de.his.encounter.infrastructure.archive;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Lesezugriff auf ein unveränderliches Segment über Memory Mapping.
+ *
+ * Die Indizes werden direkt im gemappten Bereich binär durchsucht; dekomprimiert
+ * wird nur der Block des gesuchten Patienten, für die Timeline nur dessen Anfang.
+ * Zugriffe verwenden absolute Positionen und sind damit threadsicher.
+ */
+public final class EncounterSegment {
+
+    private final String name;
+    private final MappedByteBuffer buffer;
+    private final int patientCount;
+    private final int encounterCount;
+    private final long patientIndexOffset;
+    private final long encounterIndexOffset;
+
+    private EncounterSegment(String name, MappedByteBuffer buffer) throws IOException {
+        this.name = name;
+        this.buffer = buffer;
+
+        if (buffer.capacity() < SegmentFormat.HEADER_SIZE || buffer.getLong(0) != SegmentFormat.MAGIC) {
+            throw new IOException("Not an encounter segment: " + name);
+        }
+        int version = buffer.getInt(8);
+        if (version != SegmentFormat.VERSION) {
+            throw new IOException("Unsupported encounter segment version " + version + ": " + name);
+        }
+        this.patientCount = buffer.getInt(12);
+        this.encounterCount = buffer.getInt(16);
+        this.patientIndexOffset = buffer.getLong(24);
+        this.encounterIndexOffset = buffer.getLong(32);
+
+        if (patientIndexOffset + (long) patientCount * SegmentFormat.PATIENT_ENTRY_SIZE != encounterIndexOffset
+                || encounterIndexOffset + (long) encounterCount * SegmentFormat.ENCOUNTER_ENTRY_SIZE
+                        != buffer.capacity()) {
+            throw new IOException("Corrupt encounter segment index: " + name);
+        }
+    }
+
+    public static EncounterSegment open(Path file) throws IOException {
+        // Das Mapping bleibt nach dem Schließen des Channels gültig
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new EncounterSegment(file.getFileName().toString(), buffer);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPatientCount() {
+        return patientCount;
+    }
+
+    public int getEncounterCount() {
+        return encounterCount;
+    }
+
+    public boolean containsPatient(UUID patientId) {
+        return findPatient(patientId) >= 0;
+    }
+
+    public List<ArchivedEncounter> readPatient(UUID patientId) {
+        int ordinal = findPatient(patientId);
+        return ordinal >= 0 ? readBlock(ordinal) : List.of();
+    }
+
+    /**
+     * Timeline-Kopfdaten eines Patienten; dekomprimiert wird nur der Anfang des Blocks bis vor die
+     * Spalten der Dokumentation.
+     */
+    public List<ArchivedEncounterSummary> readPatientSummaries(UUID patientId) {
+        int ordinal = findPatient(patientId);
+        if (ordinal < 0) {
+            return List.of();
+        }
+        int entry = patientEntry(ordinal);
+        ByteBuffer block = buffer.slice((int) buffer.getLong(entry + 16), buffer.getInt(entry + 24));
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new BlockInputStream(block)))) {
+            return SegmentFormat.decodeSummaries(in);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(new IOException(
+                    "Corrupt block for patient " + patientId + " in segment " + name, ex));
+        }
+    }
+
+    public Optional<ArchivedEncounter> readEncounter(UUID encounterId) {
+        int low = 0;
+        int high = encounterCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int entry = (int) (encounterIndexOffset + (long) mid * SegmentFormat.ENCOUNTER_ENTRY_SIZE);
+            int cmp = new UUID(buffer.getLong(entry), buffer.getLong(entry + 8)).compareTo(encounterId);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return readBlock(buffer.getInt(entry + 16)).stream()
+                        .filter(encounter -> encounter.getId().equals(encounterId))
+                        .findFirst();
+            }
+        }
+        return Optional.empty();
+    }
+
+    private int findPatient(UUID patientId) {
+        int low = 0;
+        int high = patientCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = patientIdAt(mid).compareTo(patientId);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private UUID patientIdAt(int ordinal) {
+        int entry = patientEntry(ordinal);
+        return new UUID(buffer.getLong(entry), buffer.getLong(entry + 8));
+    }
+
+    private int patientEntry(int ordinal) {
+        return (int) (patientIndexOffset + (long) ordinal * SegmentFormat.PATIENT_ENTRY_SIZE);
+    }
+
+    private List<ArchivedEncounter> readBlock(int ordinal) {
+        int entry = patientEntry(ordinal);
+        UUID patientId = patientIdAt(ordinal);
+        int blockOffset = (int) buffer.getLong(entry + 16);
+        int compressedLength = buffer.getInt(entry + 24);
+        int uncompressedLength = buffer.getInt(entry + 28);
+
+        byte[] raw = new byte[uncompressedLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer.slice(blockOffset, compressedLength));
+            int read = 0;
+            while (read < raw.length && !inflater.finished()) {
+                int n = inflater.inflate(raw, read, raw.length - read);
+                if (n == 0 && inflater.needsInput()) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != raw.length) {
+                throw new DataFormatException("Truncated block");
+            }
+        } catch (DataFormatException ex) {
+            throw new UncheckedIOException(new IOException(
+                    "Corrupt block for patient " + patientId + " in segment " + name, ex));
+        } finally {
+            inflater.end();
+        }
+        return SegmentFormat.decodeBlock(patientId, ByteBuffer.wrap(raw));
+    }
+
+    // Komprimierter Block direkt aus dem Mapping, ohne Kopie
+    private static final class BlockInputStream extends InputStream {
+
+        private final ByteBuffer block;
+
+        BlockInputStream(ByteBuffer block) {
+            this.block = block;
+        }
+
+        @Override
+        public int read() {
+            return block.hasRemaining() ? block.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) {
+            if (!block.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(length, block.remaining());
+            block.get(target, offset, n);
+            return n;
+        }
+    }
+}
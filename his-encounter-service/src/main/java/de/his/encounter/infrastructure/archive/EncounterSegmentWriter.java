@@ -0,0 +1,205 @@
+package de.his.encounter.infrastructure.archive;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.Deflater;
+
+/**
+ * Schreibt ein Segment sequentiell. Encounters müssen nach Patient gruppiert
+ * übergeben werden; pro Patient wird ein Block geschrieben, sobald der nächste
+ * Patient beginnt. Im Speicher bleiben nur die Indizes (36 Byte pro Encounter).
+ *
+ * Die Datei ist erst nach {@link #finish()} gültig (Header zuletzt, dann fsync).
+ */
+public class EncounterSegmentWriter implements Closeable {
+
+    // Segmente werden über einen Speicherbereich gelesen (MappedByteBuffer, max. 2 GB);
+    // der Archivierungsjob beginnt deutlich vorher ein neues Segment (segment-max-bytes)
+    public static final long MAX_SEGMENT_SIZE = Integer.MAX_VALUE;
+
+    private final FileChannel channel;
+    private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+
+    private final List<PatientEntry> patients = new ArrayList<>();
+    private final Map<UUID, PatientEntry> encounterOwners = new HashMap<>();
+    private final Set<UUID> writtenPatients = new HashSet<>();
+
+    private UUID currentPatientId;
+    private final List<ArchivedEncounter> currentBlock = new ArrayList<>();
+    private long position = SegmentFormat.HEADER_SIZE;
+    private int documentationCount;
+    private boolean finished;
+
+    private EncounterSegmentWriter(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    public static EncounterSegmentWriter create(Path file) throws IOException {
+        return new EncounterSegmentWriter(FileChannel.open(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE));
+    }
+
+    public void append(ArchivedEncounter encounter) throws IOException {
+        if (finished) {
+            throw new IllegalStateException("Segment already finished");
+        }
+        if (!encounter.getPatientId().equals(currentPatientId)) {
+            flushBlock();
+            if (!writtenPatients.add(encounter.getPatientId())) {
+                throw new IllegalStateException("Encounters of patient " + encounter.getPatientId()
+                        + " must be appended consecutively");
+            }
+            currentPatientId = encounter.getPatientId();
+        }
+        currentBlock.add(encounter);
+    }
+
+    public int getEncounterCount() {
+        return encounterOwners.size() + currentBlock.size();
+    }
+
+    /**
+     * Bisher geschriebene Bytes; der Block des aktuellen Patienten folgt erst mit dem nächsten
+     * Patienten bzw. {@link #finish()}.
+     */
+    public long getWrittenBytes() {
+        return position;
+    }
+
+    /**
+     * Schreibt Indizes und Header und synchronisiert die Datei auf den Datenträger.
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        flushBlock();
+
+        // Beide Indizes in UUID.compareTo-Ordnung, damit der Reader binär suchen kann
+        patients.sort(Comparator.comparing(PatientEntry::patientId));
+        for (int i = 0; i < patients.size(); i++) {
+            patients.get(i).ordinal = i;
+        }
+
+        long patientIndexOffset = position;
+        ByteBuffer patientIndex = ByteBuffer.allocate(patients.size() * SegmentFormat.PATIENT_ENTRY_SIZE);
+        for (PatientEntry entry : patients) {
+            patientIndex.putLong(entry.patientId.getMostSignificantBits());
+            patientIndex.putLong(entry.patientId.getLeastSignificantBits());
+            patientIndex.putLong(entry.blockOffset);
+            patientIndex.putInt(entry.compressedLength);
+            patientIndex.putInt(entry.uncompressedLength);
+            patientIndex.putInt(entry.encounterCount);
+            patientIndex.putInt(0);
+        }
+        write(patientIndex.flip());
+
+        long encounterIndexOffset = position;
+        List<UUID> encounterIds = new ArrayList<>(encounterOwners.keySet());
+        encounterIds.sort(Comparator.naturalOrder());
+        ByteBuffer encounterIndex = ByteBuffer.allocate(encounterIds.size() * SegmentFormat.ENCOUNTER_ENTRY_SIZE);
+        for (UUID encounterId : encounterIds) {
+            encounterIndex.putLong(encounterId.getMostSignificantBits());
+            encounterIndex.putLong(encounterId.getLeastSignificantBits());
+            encounterIndex.putInt(encounterOwners.get(encounterId).ordinal);
+        }
+        write(encounterIndex.flip());
+
+        ByteBuffer header = ByteBuffer.allocate(SegmentFormat.HEADER_SIZE);
+        header.putLong(SegmentFormat.MAGIC);
+        header.putInt(SegmentFormat.VERSION);
+        header.putInt(patients.size());
+        header.putInt(encounterIds.size());
+        header.putInt(documentationCount);
+        header.putLong(patientIndexOffset);
+        header.putLong(encounterIndexOffset);
+        header.putLong(System.currentTimeMillis());
+        header.position(SegmentFormat.HEADER_SIZE).flip();
+        channel.write(header, 0);
+
+        channel.force(true);
+        finished = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        deflater.end();
+        channel.close();
+    }
+
+    private void flushBlock() throws IOException {
+        if (currentBlock.isEmpty()) {
+            return;
+        }
+        byte[] raw = SegmentFormat.encodeBlock(currentBlock);
+
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteBuffer compressed = ByteBuffer.allocate(raw.length + raw.length / 1000 + 64);
+        while (!deflater.finished()) {
+            if (!compressed.hasRemaining()) {
+                compressed = ByteBuffer.allocate(compressed.capacity() * 2).put(compressed.flip());
+            }
+            deflater.deflate(compressed);
+        }
+
+        PatientEntry entry = new PatientEntry(currentPatientId, position, compressed.position(), raw.length,
+                currentBlock.size());
+        write(compressed.flip());
+
+        patients.add(entry);
+        for (ArchivedEncounter encounter : currentBlock) {
+            if (encounterOwners.put(encounter.getId(), entry) != null) {
+                throw new IllegalStateException("Duplicate encounter " + encounter.getId() + " in segment");
+            }
+            documentationCount += encounter.getDocumentation().size();
+        }
+        currentBlock.clear();
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        if (position + buffer.remaining() > MAX_SEGMENT_SIZE) {
+            throw new IOException("Encounter segment exceeds maximum size of " + MAX_SEGMENT_SIZE + " bytes");
+        }
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static final class PatientEntry {
+
+        private final UUID patientId;
+        private final long blockOffset;
+        private final int compressedLength;
+        private final int uncompressedLength;
+        private final int encounterCount;
+        private int ordinal;
+
+        private PatientEntry(UUID patientId, long blockOffset, int compressedLength, int uncompressedLength,
+                int encounterCount) {
+            this.patientId = patientId;
+            this.blockOffset = blockOffset;
+            this.compressedLength = compressedLength;
+            this.uncompressedLength = uncompressedLength;
+            this.encounterCount = encounterCount;
+        }
+
+        private UUID patientId() {
+            return patientId;
+        }
+    }
+}
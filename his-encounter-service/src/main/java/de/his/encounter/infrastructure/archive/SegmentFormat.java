@@ -0,0 +1,332 @@
+package de.his.encounter.infrastructure.archive;
+
+import de.his.encounter.domain.model.BillingContext;
+import de.his.encounter.domain.model.ContentType;
+import de.his.encounter.domain.model.EncounterStatus;
+import de.his.encounter.domain.model.EncounterType;
+import de.his.encounter.domain.model.SOAPSection;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Binärformat der Cold-Storage-Segmente (Big Endian).
+ *
+ * <pre>
+ * Header (64 Byte)  magic, version, patientCount, encounterCount, documentationCount,
+ *                   patientIndexOffset, encounterIndexOffset, createdAt
+ * Blöcke            je Patient ein Deflate-komprimierter, spaltenorientierter Block
+ * Patientenindex    patientCount x 40 Byte, sortiert nach patientId:
+ *                   patientId, blockOffset, compressedLength, uncompressedLength, encounterCount
+ * Encounterindex    encounterCount x 20 Byte, sortiert nach encounterId:
+ *                   encounterId, Position im Patientenindex
+ * </pre>
+ *
+ * Ein Block speichert alle Encounters eines Patienten spaltenweise (erst alle IDs,
+ * dann alle Typen, ...), danach die Dokumentation ebenso. Gleichartige Werte liegen
+ * dadurch beieinander und komprimieren deutlich besser als zeilenweise.
+ */
+final class SegmentFormat {
+
+    static final long MAGIC = 0x484953454E435347L; // "HISENCSG"
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 64;
+    static final int PATIENT_ENTRY_SIZE = 40;
+    static final int ENCOUNTER_ENTRY_SIZE = 20;
+
+    private static final long NULL_TIMESTAMP = Long.MIN_VALUE;
+
+    private SegmentFormat() {
+    }
+
+    static byte[] encodeBlock(List<ArchivedEncounter> encounters) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024 * encounters.size());
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeInt(encounters.size());
+        for (ArchivedEncounter e : encounters) {
+            writeUuid(out, e.getId());
+        }
+        for (ArchivedEncounter e : encounters) {
+            writeUuid(out, e.getPractitionerId());
+        }
+        for (ArchivedEncounter e : encounters) {
+            writeString(out, e.getType().name());
+        }
+        for (ArchivedEncounter e : encounters) {
+            writeTimestamp(out, e.getEncounterDate());
+        }
+        for (ArchivedEncounter e : encounters) {
+            writeString(out, e.getStatus().name());
+        }
+        for (ArchivedEncounter e : encounters) {
+            writeString(out, e.getBillingContext() != null ? e.getBillingContext().name() : null);
+        }
+        for (ArchivedEncounter e : encounters) {
+            writeTimestamp(out, e.getCreatedAt());
+        }
+        for (ArchivedEncounter e : encounters) {
+            writeTimestamp(out, e.getUpdatedAt());
+        }
+        for (ArchivedEncounter e : encounters) {
+            out.writeLong(e.getVersion());
+        }
+
+        List<ArchivedDocumentation> documentation = new ArrayList<>();
+        List<Integer> owners = new ArrayList<>();
+        for (int i = 0; i < encounters.size(); i++) {
+            for (ArchivedDocumentation doc : encounters.get(i).getDocumentation()) {
+                documentation.add(doc);
+                owners.add(i);
+            }
+        }
+
+        out.writeInt(documentation.size());
+        for (Integer owner : owners) {
+            out.writeInt(owner);
+        }
+        for (ArchivedDocumentation doc : documentation) {
+            writeUuid(out, doc.getId());
+        }
+        for (ArchivedDocumentation doc : documentation) {
+            writeString(out, doc.getSoapSection().name());
+        }
+        for (ArchivedDocumentation doc : documentation) {
+            writeString(out, doc.getContentType().name());
+        }
+        for (ArchivedDocumentation doc : documentation) {
+            writeUuid(out, doc.getAuthorId());
+        }
+        for (ArchivedDocumentation doc : documentation) {
+            writeTimestamp(out, doc.getCreatedAt());
+        }
+        for (ArchivedDocumentation doc : documentation) {
+            writeString(out, doc.getContent());
+        }
+        for (ArchivedDocumentation doc : documentation) {
+            writeString(out, doc.getStructuredContent());
+        }
+
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    static List<ArchivedEncounter> decodeBlock(UUID patientId, ByteBuffer in) {
+        int count = in.getInt();
+        UUID[] ids = new UUID[count];
+        UUID[] practitionerIds = new UUID[count];
+        EncounterType[] types = new EncounterType[count];
+        LocalDateTime[] encounterDates = new LocalDateTime[count];
+        EncounterStatus[] statuses = new EncounterStatus[count];
+        BillingContext[] billingContexts = new BillingContext[count];
+        LocalDateTime[] createdAts = new LocalDateTime[count];
+        LocalDateTime[] updatedAts = new LocalDateTime[count];
+        long[] versions = new long[count];
+
+        for (int i = 0; i < count; i++) {
+            ids[i] = readUuid(in);
+        }
+        for (int i = 0; i < count; i++) {
+            practitionerIds[i] = readUuid(in);
+        }
+        for (int i = 0; i < count; i++) {
+            types[i] = EncounterType.valueOf(readString(in));
+        }
+        for (int i = 0; i < count; i++) {
+            encounterDates[i] = readTimestamp(in);
+        }
+        for (int i = 0; i < count; i++) {
+            statuses[i] = EncounterStatus.valueOf(readString(in));
+        }
+        for (int i = 0; i < count; i++) {
+            String billingContext = readString(in);
+            billingContexts[i] = billingContext != null ? BillingContext.valueOf(billingContext) : null;
+        }
+        for (int i = 0; i < count; i++) {
+            createdAts[i] = readTimestamp(in);
+        }
+        for (int i = 0; i < count; i++) {
+            updatedAts[i] = readTimestamp(in);
+        }
+        for (int i = 0; i < count; i++) {
+            versions[i] = in.getLong();
+        }
+
+        int docCount = in.getInt();
+        int[] owners = new int[docCount];
+        UUID[] docIds = new UUID[docCount];
+        SOAPSection[] sections = new SOAPSection[docCount];
+        ContentType[] contentTypes = new ContentType[docCount];
+        UUID[] authorIds = new UUID[docCount];
+        LocalDateTime[] docCreatedAts = new LocalDateTime[docCount];
+        String[] contents = new String[docCount];
+        String[] structuredContents = new String[docCount];
+
+        for (int i = 0; i < docCount; i++) {
+            owners[i] = in.getInt();
+        }
+        for (int i = 0; i < docCount; i++) {
+            docIds[i] = readUuid(in);
+        }
+        for (int i = 0; i < docCount; i++) {
+            sections[i] = SOAPSection.valueOf(readString(in));
+        }
+        for (int i = 0; i < docCount; i++) {
+            contentTypes[i] = ContentType.valueOf(readString(in));
+        }
+        for (int i = 0; i < docCount; i++) {
+            authorIds[i] = readUuid(in);
+        }
+        for (int i = 0; i < docCount; i++) {
+            docCreatedAts[i] = readTimestamp(in);
+        }
+        for (int i = 0; i < docCount; i++) {
+            contents[i] = readString(in);
+        }
+        for (int i = 0; i < docCount; i++) {
+            structuredContents[i] = readString(in);
+        }
+
+        List<List<ArchivedDocumentation>> documentation = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            documentation.add(new ArrayList<>());
+        }
+        for (int i = 0; i < docCount; i++) {
+            documentation.get(owners[i]).add(new ArchivedDocumentation(docIds[i], sections[i], contentTypes[i],
+                    contents[i], structuredContents[i], authorIds[i], docCreatedAts[i]));
+        }
+
+        List<ArchivedEncounter> encounters = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            encounters.add(new ArchivedEncounter(ids[i], patientId, practitionerIds[i], types[i],
+                    encounterDates[i], statuses[i], billingContexts[i], createdAts[i], updatedAts[i],
+                    versions[i], documentation.get(i)));
+        }
+        return encounters;
+    }
+
+    /**
+     * Liest aus einem Block nur die Encounter-Spalten und die Zuordnung der Dokumentation und hört
+     * vor deren Spalten auf. Aus einem Deflate-Strom gelesen wird der Rest des Blocks - vor allem
+     * die Inhalte - nicht dekomprimiert.
+     */
+    static List<ArchivedEncounterSummary> decodeSummaries(DataInput in) throws IOException {
+        int count = in.readInt();
+        UUID[] ids = new UUID[count];
+        EncounterType[] types = new EncounterType[count];
+        LocalDateTime[] encounterDates = new LocalDateTime[count];
+        EncounterStatus[] statuses = new EncounterStatus[count];
+
+        for (int i = 0; i < count; i++) {
+            ids[i] = new UUID(in.readLong(), in.readLong());
+        }
+        skip(in, count * 16); // practitionerId
+        for (int i = 0; i < count; i++) {
+            types[i] = EncounterType.valueOf(readString(in));
+        }
+        for (int i = 0; i < count; i++) {
+            encounterDates[i] = toTimestamp(in.readLong(), in.readInt());
+        }
+        for (int i = 0; i < count; i++) {
+            statuses[i] = EncounterStatus.valueOf(readString(in));
+        }
+        for (int i = 0; i < count; i++) {
+            readString(in); // billingContext
+        }
+        skip(in, count * (12 + 12 + 8)); // createdAt, updatedAt, version
+
+        int docCount = in.readInt();
+        int[] documentationCounts = new int[count];
+        for (int i = 0; i < docCount; i++) {
+            documentationCounts[in.readInt()]++;
+        }
+
+        List<ArchivedEncounterSummary> summaries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            summaries.add(new ArchivedEncounterSummary(ids[i], types[i], encounterDates[i], statuses[i],
+                    documentationCounts[i]));
+        }
+        return summaries;
+    }
+
+    static UUID readUuid(ByteBuffer in) {
+        return new UUID(in.getLong(), in.getLong());
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID value) throws IOException {
+        out.writeLong(value.getMostSignificantBits());
+        out.writeLong(value.getLeastSignificantBits());
+    }
+
+    // Länge + UTF-8 statt writeUTF: Inhalte können länger als 64 KB sein
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void skip(DataInput in, int length) throws IOException {
+        int remaining = length;
+        while (remaining > 0) {
+            int skipped = in.skipBytes(remaining);
+            if (skipped <= 0) {
+                throw new EOFException("Truncated block");
+            }
+            remaining -= skipped;
+        }
+    }
+
+    // LocalDateTime ohne Zeitzone: Sekunden/Nanos relativ zu UTC, verlustfrei
+    private static void writeTimestamp(DataOutputStream out, LocalDateTime value) throws IOException {
+        if (value == null) {
+            out.writeLong(NULL_TIMESTAMP);
+            out.writeInt(0);
+            return;
+        }
+        out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(value.getNano());
+    }
+
+    private static LocalDateTime readTimestamp(ByteBuffer in) {
+        return toTimestamp(in.getLong(), in.getInt());
+    }
+
+    private static LocalDateTime toTimestamp(long seconds, int nanos) {
+        return seconds == NULL_TIMESTAMP ? null : LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+}
@@ -7,7 +7,8 @@ import org.springframework.web.bind.annotation.PathVariable;
 
 import java.util.UUID;
 
-@FeignClient(name = "patient-service", url = "${services.patient.url:http://patient-service:8080}")
+@FeignClient(name = "patient-service", url = "${services.patient.url:http://patient-service:8080}",
+        configuration = PatientClientConfig.class)
 public interface PatientClient {
 
     @GetMapping("/api/v1/patients/{patientId}")
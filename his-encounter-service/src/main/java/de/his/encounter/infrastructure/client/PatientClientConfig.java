@@ -0,0 +1,26 @@
+package de.his.encounter.infrastructure.client;
+
+import feign.RequestInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Feign-Konfiguration nur für {@link PatientClient} (bewusst ohne @Configuration, sonst gälte sie
+ * für alle Clients).
+ *
+ * Fordert Patienten als CBOR an, JSON bleibt als Rückfall für Patient-Service-Versionen ohne CBOR.
+ * Der Decoder wählt den Converter nach dem Content-Type der Antwort
+ * (MappingJackson2CborHttpMessageConverter aus ApplicationConfig).
+ */
+public class PatientClientConfig {
+
+    static final String CBOR_FIRST = "application/cbor, application/json;q=0.9";
+
+    @Bean
+    public RequestInterceptor patientWireFormatInterceptor(
+            @Value("${services.patient.cbor:true}") boolean cbor) {
+        String accept = cbor ? CBOR_FIRST : "application/json";
+        return template -> template.header(HttpHeaders.ACCEPT, accept);
+    }
+}
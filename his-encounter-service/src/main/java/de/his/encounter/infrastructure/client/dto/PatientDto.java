@@ -1,6 +1,7 @@
 package de.his.encounter.infrastructure.client.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import java.time.LocalDate;
@@ -40,6 +41,10 @@ public class PatientDto {
     // Zusätzliches Feld vom Patient Service
     private String fullName;
 
+    // Nicht vom Patient Service: Kopie aus dem Cache, weil der Patient Service nicht erreichbar war
+    @JsonIgnore
+    private boolean stale;
+
     // Default constructor for Jackson
     public PatientDto() {
     }
@@ -197,6 +202,38 @@ public class PatientDto {
         this.fullName = fullName;
     }
 
+    public boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * Kopie für den Fallback-Cache, als veraltet markiert.
+     */
+    public PatientDto staleCopy() {
+        PatientDto copy = new PatientDto();
+        copy.id = id;
+        copy.firstName = firstName;
+        copy.lastName = lastName;
+        copy.title = title;
+        copy.birthDate = birthDate;
+        copy.gender = gender;
+        copy.kvnr = kvnr;
+        copy.insuranceNumber = insuranceNumber;
+        copy.insuranceStatus = insuranceStatus;
+        copy.insuranceType = insuranceType;
+        copy.insuranceCompanyId = insuranceCompanyId;
+        copy.insuranceCompanyName = insuranceCompanyName;
+        copy.phone = phone;
+        copy.email = email;
+        copy.consentCommunication = consentCommunication;
+        copy.consentDataProcessing = consentDataProcessing;
+        copy.createdAt = createdAt;
+        copy.updatedAt = updatedAt;
+        copy.fullName = fullName;
+        copy.stale = true;
+        return copy;
+    }
+
     @Override
     public String toString() {
         return "PatientDto{" +
@@ -0,0 +1,67 @@
+package de.his.encounter.infrastructure.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Hält einen Client nach einem Schreibzugriff für {@code stickyFor} auf dem Primary.
+ *
+ * Die Services sind zustandslos und laufen mehrfach; der Zeitpunkt steckt deshalb in
+ * einem Cookie statt in einer serverseitigen Session.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final String cookieName;
+    private final Duration stickyFor;
+
+    public ReadYourWritesFilter(String cookieName, Duration stickyFor) {
+        this.cookieName = cookieName;
+        this.stickyFor = stickyFor;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ReplicaRoutingContext.open(primaryUntil(request) > System.currentTimeMillis(),
+                () -> stickToPrimary(response));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingContext.close();
+        }
+    }
+
+    private long primaryUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (cookieName.equals(cookie.getName())) {
+                    try {
+                        return Long.parseLong(cookie.getValue());
+                    } catch (NumberFormatException ex) {
+                        return 0;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+
+    private void stickToPrimary(HttpServletResponse response) {
+        if (response.isCommitted()) {
+            return;
+        }
+        Cookie cookie = new Cookie(cookieName, String.valueOf(System.currentTimeMillis() + stickyFor.toMillis()));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, stickyFor.toSeconds()));
+        response.addCookie(cookie);
+    }
+}
@@ -0,0 +1,175 @@
+package de.his.encounter.infrastructure.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Leitet {@code @Transactional(readOnly = true)} auf Read-Replicas, alles andere auf den Primary.
+ *
+ * Replicas, deren Replikationsverzug {@code maxLag} überschreitet oder die nicht erreichbar
+ * sind, werden bis zur nächsten Prüfung übergangen; ohne gesunde Replica liest der Primary.
+ * Nach einem Schreib-Commit liest der laufende Request (und per Cookie der nächste)
+ * ebenfalls vom Primary, siehe {@link ReplicaRoutingContext}.
+ *
+ * Muss hinter einem {@code LazyConnectionDataSourceProxy} liegen: der Transaktionsmanager
+ * holt die Verbindung sonst, bevor das readOnly-Flag der Transaktion gesetzt ist.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    static final String PRIMARY = "primary";
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+
+    // Transaktions-Ressource als Merker: Commit-Synchronisation nur einmal pro Transaktion
+    private final Object writeSynchronizationKey = new Object();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources, Duration maxLag,
+            String lagQuery) {
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicaDataSources.size(); i++) {
+            Replica replica = new Replica("replica-" + i, replicaDataSources.get(i));
+            replicas.add(replica);
+            targets.put(replica.key, replica.dataSource);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()
+                    && !TransactionSynchronizationManager.hasResource(writeSynchronizationKey)) {
+                TransactionSynchronizationManager.registerSynchronization(new WriteSynchronization());
+                TransactionSynchronizationManager.bindResource(writeSynchronizationKey, Boolean.TRUE);
+            }
+            return PRIMARY;
+        }
+        if (ReplicaRoutingContext.isPrimaryRequired()) {
+            return PRIMARY;
+        }
+
+        // Round-Robin über die gesunden Replicas
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica.key;
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * Misst den Verzug jeder Replica mit {@code lagQuery} (Sekunden).
+     */
+    @Scheduled(fixedDelayString = "${his.datasource.read-replicas.lag-check-interval-ms:5000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection();
+                    Statement statement = connection.createStatement();
+                    ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                double lagSeconds = resultSet.next() ? resultSet.getDouble(1) : 0;
+                healthy = lagSeconds * 1000 <= maxLag.toMillis();
+                if (!healthy && replica.healthy) {
+                    logger.warn("Read replica {} lags {}s behind primary, routing reads to primary", replica.key,
+                            lagSeconds);
+                }
+            } catch (SQLException ex) {
+                healthy = false;
+                if (replica.healthy) {
+                    logger.warn("Read replica {} unavailable, routing reads to primary: {}", replica.key,
+                            ex.getMessage());
+                }
+            }
+            if (healthy && !replica.healthy) {
+                logger.info("Read replica {} back in rotation", replica.key);
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    public int getHealthyReplicaCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    // Replica-Pools gehören dieser DataSource, der Primary ist eine eigene Bean
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception ex) {
+                    logger.warn("Could not close read replica {}: {}", replica.key, ex.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Markiert den Request nach dem Commit als schreibend. Der Merker folgt dem Lebenszyklus
+     * der Transaktion: bei REQUIRES_NEW ausgesetzt, nach Abschluss entfernt.
+     */
+    private class WriteSynchronization implements TransactionSynchronization {
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResourceIfPossible(writeSynchronizationKey);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(writeSynchronizationKey, Boolean.TRUE);
+        }
+
+        @Override
+        public void afterCommit() {
+            ReplicaRoutingContext.markWritten();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(writeSynchronizationKey);
+        }
+    }
+
+    private static class Replica {
+
+        private final String key;
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+
+        Replica(String key, DataSource dataSource) {
+            this.key = key;
+            this.dataSource = dataSource;
+        }
+    }
+}
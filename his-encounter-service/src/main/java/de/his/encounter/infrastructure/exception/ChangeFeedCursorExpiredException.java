@@ -0,0 +1,32 @@
+package de.his.encounter.infrastructure.exception;
+
+/**
+ * Cursor liegt vor der ältesten noch aufbewahrten Feed-Position (Outbox-Bereinigung): die
+ * dazwischen liegenden Änderungen sind gelöscht, der Konsument muss neu synchronisieren.
+ */
+public class ChangeFeedCursorExpiredException extends RuntimeException {
+
+    private final long cursor;
+    private final long oldestPosition;
+    private final long latestPosition;
+
+    public ChangeFeedCursorExpiredException(long cursor, long oldestPosition, long latestPosition) {
+        super(String.format("Cursor %d is older than the oldest retained change %d, resync required",
+                cursor, oldestPosition));
+        this.cursor = cursor;
+        this.oldestPosition = oldestPosition;
+        this.latestPosition = latestPosition;
+    }
+
+    public long getCursor() {
+        return cursor;
+    }
+
+    public long getOldestPosition() {
+        return oldestPosition;
+    }
+
+    public long getLatestPosition() {
+        return latestPosition;
+    }
+}
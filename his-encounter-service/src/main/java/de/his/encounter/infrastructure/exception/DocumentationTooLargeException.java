@@ -0,0 +1,8 @@
+package de.his.encounter.infrastructure.exception;
+
+public class DocumentationTooLargeException extends RuntimeException {
+
+    public DocumentationTooLargeException(long maxContentBytes) {
+        super(String.format("Documentation content exceeds maximum size of %d bytes", maxContentBytes));
+    }
+}
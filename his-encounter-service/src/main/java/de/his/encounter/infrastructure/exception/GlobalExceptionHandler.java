@@ -1,13 +1,16 @@
 package de.his.encounter.infrastructure.exception;
 
 import feign.FeignException;
+import io.r2dbc.spi.R2dbcTimeoutException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
@@ -16,10 +19,12 @@ import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
 
 import jakarta.validation.ConstraintViolationException;
 import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -45,6 +50,7 @@ public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
     private static final String CORRELATION_ID_HEADER = "X-Correlation-ID";
+    private static final String POOL_EXHAUSTED_RETRY_AFTER_SECONDS = "1";
 
     // =========================================================================
     // APPLICATION-SPEZIFISCHE EXCEPTIONS
@@ -138,6 +144,30 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(InvalidDocumentationException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidDocumentation(InvalidDocumentationException ex) {
+        logger.warn("Invalid documentation: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+                "INVALID_DOCUMENTATION",
+                ex.getMessage(),
+                LocalDateTime.now());
+
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler({ DocumentationTooLargeException.class, MaxUploadSizeExceededException.class })
+    public ResponseEntity<ErrorResponse> handleDocumentationTooLarge(Exception ex) {
+        logger.warn("Documentation upload rejected: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+                "DOCUMENTATION_TOO_LARGE",
+                ex.getMessage(),
+                LocalDateTime.now());
+
+        return new ResponseEntity<>(error, HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
     @ExceptionHandler(UnauthorizedEncounterAccessException.class)
     public ResponseEntity<ErrorResponse> handleUnauthorizedEncounterAccess(UnauthorizedEncounterAccessException ex) {
         logger.warn("Unauthorized encounter access attempt: {}", ex.getMessage());
@@ -256,6 +286,25 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(ChangeFeedCursorExpiredException.class)
+    public ResponseEntity<ErrorResponse> handleChangeFeedCursorExpired(ChangeFeedCursorExpiredException ex) {
+        logger.info("Change feed cursor expired: {}", ex.getMessage());
+
+        // Konsument lädt den Bestand neu und liest ab latestPosition weiter
+        Map<String, String> details = new HashMap<>();
+        details.put("cursor", String.valueOf(ex.getCursor()));
+        details.put("oldestPosition", String.valueOf(ex.getOldestPosition()));
+        details.put("latestPosition", String.valueOf(ex.getLatestPosition()));
+
+        ErrorResponse error = new ErrorResponse(
+                "CHANGE_FEED_RESYNC_REQUIRED",
+                ex.getMessage(),
+                LocalDateTime.now(),
+                details);
+
+        return new ResponseEntity<>(error, HttpStatus.GONE);
+    }
+
     // =========================================================================
     // FEIGN CLIENT EXCEPTIONS - ERWEITERT
     // =========================================================================
@@ -375,8 +424,26 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ErrorResponse> handleCannotCreateTransaction(CannotCreateTransactionException ex) {
+        if (isConnectionPoolExhausted(ex)) {
+            return connectionPoolExhausted(ex);
+        }
+        logger.error("Could not open database transaction: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+                "DATABASE_ACCESS_ERROR",
+                "Database is temporarily unavailable",
+                LocalDateTime.now());
+
+        return new ResponseEntity<>(error, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(DataAccessException.class)
     public ResponseEntity<ErrorResponse> handleDataAccessException(DataAccessException ex) {
+        if (isConnectionPoolExhausted(ex)) {
+            return connectionPoolExhausted(ex);
+        }
         logger.error("Database access error: {}", ex.getMessage());
 
         ErrorResponse error = new ErrorResponse(
@@ -387,6 +454,40 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.SERVICE_UNAVAILABLE);
     }
 
+    /**
+     * Keine freie Verbindung innerhalb von {@code spring.datasource.hikari.connection-timeout}:
+     * Überlast statt Fehler, der Client soll kurz warten und erneut senden.
+     */
+    private ResponseEntity<ErrorResponse> connectionPoolExhausted(Exception ex) {
+        logger.warn("Database connection pool exhausted: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+                "DATABASE_POOL_EXHAUSTED",
+                "Service is under heavy load, please retry shortly",
+                LocalDateTime.now());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, POOL_EXHAUSTED_RETRY_AFTER_SECONDS)
+                .body(error);
+    }
+
+    // Hikari meldet das Warten auf eine Verbindung als SQLTransientConnectionException, r2dbc-pool
+    // (reaktiver Lesepfad) als R2dbcTimeoutException mit TimeoutException als Ursache
+    private static boolean isConnectionPoolExhausted(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException) {
+                return true;
+            }
+            if (cause instanceof R2dbcTimeoutException && cause.getCause() instanceof TimeoutException) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
     // =========================================================================
     // PERFORMANCE & TIMEOUT EXCEPTIONS
     // =========================================================================
@@ -455,6 +556,11 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ErrorResponse> handleRuntimeException(RuntimeException ex) {
+        // Services verpacken Datenbankfehler teils in RuntimeException
+        if (isConnectionPoolExhausted(ex)) {
+            return connectionPoolExhausted(ex);
+        }
+
         // Spezifische Behandlung für bekannte RuntimeException-Muster
         if (ex.getMessage() != null && ex.getMessage().contains("Patient service temporarily unavailable")) {
             logger.error("Patient service unavailable: {}", ex.getMessage());
@@ -0,0 +1,135 @@
+package de.his.encounter.infrastructure.reactive;
+
+import de.his.encounter.application.dto.DocumentationResponse;
+import de.his.encounter.application.dto.EncounterResponse;
+import de.his.encounter.application.dto.EncounterSummary;
+import de.his.encounter.domain.model.BillingContext;
+import de.his.encounter.domain.model.ContentType;
+import de.his.encounter.domain.model.EncounterStatus;
+import de.his.encounter.domain.model.EncounterType;
+import de.his.encounter.domain.model.SOAPSection;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Readable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Lesezugriffe des reaktiven Pfads über R2DBC, gleiche Projektionen wie
+ * {@code EncounterRepository#findResponseById}, {@code #findDocumentationResponses} und
+ * {@code #findSummariesByPatientId(AndDateRange)}. Eigener Verbindungspool (r2dbc-pool) neben Hikari.
+ */
+public class ReactiveEncounterQueries {
+
+    private static final String RESPONSE_BY_ID = """
+            SELECT encounter_id, patient_id, practitioner_id, encounter_type, encounter_date, status,
+                   billing_context, created_at, updated_at
+            FROM his_encounter.encounters WHERE encounter_id = :encounterId
+            """;
+
+    private static final String DOCUMENTATION_RESPONSES = """
+            SELECT documentation_id, soap_section, content_type, content_size, content_hash, author_id, created_at
+            FROM his_encounter.encounter_documentation WHERE encounter_id = :encounterId
+            ORDER BY created_at, documentation_id
+            """;
+
+    // Dokumentationsanzahl per Subquery wie SIZE(e.documentation) in der JPQL-Projektion
+    private static final String SUMMARIES = """
+            SELECT e.encounter_id, e.encounter_type, e.encounter_date, e.status,
+                   (SELECT COUNT(*) FROM his_encounter.encounter_documentation d
+                    WHERE d.encounter_id = e.encounter_id) AS documentation_count
+            FROM his_encounter.encounters e WHERE e.patient_id = :patientId
+            """;
+
+    private static final String COUNT_SUMMARIES =
+            "SELECT COUNT(*) FROM his_encounter.encounters e WHERE e.patient_id = :patientId";
+
+    private static final String DATE_RANGE = " AND e.encounter_date BETWEEN :fromDate AND :toDate";
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+
+    public ReactiveEncounterQueries(ConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+        this.databaseClient = DatabaseClient.create(connectionPool);
+    }
+
+    public Mono<EncounterResponse> findResponseById(UUID encounterId) {
+        return databaseClient.sql(RESPONSE_BY_ID)
+                .bind("encounterId", encounterId)
+                .map(row -> new EncounterResponse(
+                        row.get("encounter_id", UUID.class),
+                        row.get("patient_id", UUID.class),
+                        row.get("practitioner_id", UUID.class),
+                        EncounterType.valueOf(row.get("encounter_type", String.class)),
+                        row.get("encounter_date", LocalDateTime.class),
+                        EncounterStatus.valueOf(row.get("status", String.class)),
+                        billingContext(row),
+                        row.get("created_at", LocalDateTime.class),
+                        row.get("updated_at", LocalDateTime.class)))
+                .one();
+    }
+
+    public Flux<DocumentationResponse> findDocumentationResponses(UUID encounterId) {
+        return databaseClient.sql(DOCUMENTATION_RESPONSES)
+                .bind("encounterId", encounterId)
+                .map(row -> new DocumentationResponse(
+                        row.get("documentation_id", UUID.class),
+                        SOAPSection.valueOf(row.get("soap_section", String.class)),
+                        ContentType.valueOf(row.get("content_type", String.class)),
+                        row.get("content_size", Integer.class),
+                        row.get("content_hash", String.class),
+                        row.get("author_id", UUID.class),
+                        row.get("created_at", LocalDateTime.class)))
+                .all();
+    }
+
+    /**
+     * Timeline-Einträge eines Patienten, neueste zuerst; mit {@code fromDate}/{@code toDate}
+     * (beide gesetzt) eingeschränkt auf den Zeitraum.
+     */
+    public Flux<EncounterSummary> findSummaries(UUID patientId, LocalDateTime fromDate, LocalDateTime toDate,
+            Pageable pageable) {
+        StringBuilder sql = new StringBuilder(SUMMARIES);
+        if (fromDate != null) {
+            sql.append(DATE_RANGE);
+        }
+        sql.append(" ORDER BY e.encounter_date DESC");
+        if (pageable.isPaged()) {
+            sql.append(" LIMIT ").append(pageable.getPageSize()).append(" OFFSET ").append(pageable.getOffset());
+        }
+        return bindRange(databaseClient.sql(sql.toString()).bind("patientId", patientId), fromDate, toDate)
+                .map(row -> new EncounterSummary(
+                        row.get("encounter_id", UUID.class),
+                        EncounterType.valueOf(row.get("encounter_type", String.class)),
+                        row.get("encounter_date", LocalDateTime.class),
+                        EncounterStatus.valueOf(row.get("status", String.class)),
+                        row.get("documentation_count", Long.class).intValue()))
+                .all();
+    }
+
+    public Mono<Long> countSummaries(UUID patientId, LocalDateTime fromDate, LocalDateTime toDate) {
+        String sql = fromDate != null ? COUNT_SUMMARIES + DATE_RANGE : COUNT_SUMMARIES;
+        return bindRange(databaseClient.sql(sql).bind("patientId", patientId), fromDate, toDate)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    public void close() {
+        connectionPool.dispose();
+    }
+
+    private DatabaseClient.GenericExecuteSpec bindRange(DatabaseClient.GenericExecuteSpec spec,
+            LocalDateTime fromDate, LocalDateTime toDate) {
+        return fromDate != null ? spec.bind("fromDate", fromDate).bind("toDate", toDate) : spec;
+    }
+
+    private BillingContext billingContext(Readable row) {
+        String billingContext = row.get("billing_context", String.class);
+        return billingContext != null ? BillingContext.valueOf(billingContext) : null;
+    }
+}
@@ -0,0 +1,44 @@
+package de.his.encounter.infrastructure.reactive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Netty-Server des reaktiven Lesepfads auf eigenem Port neben Tomcat (his.reactive-read.port);
+ * startet und stoppt mit dem Anwendungskontext.
+ */
+public class ReactiveReadServer implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveReadServer.class);
+
+    private final WebServer webServer;
+    private volatile boolean running;
+
+    public ReactiveReadServer(WebServer webServer) {
+        this.webServer = webServer;
+    }
+
+    @Override
+    public void start() {
+        webServer.start();
+        running = true;
+        logger.info("Reactive read API listening on port {}", webServer.getPort());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        webServer.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int getPort() {
+        return webServer.getPort();
+    }
+}
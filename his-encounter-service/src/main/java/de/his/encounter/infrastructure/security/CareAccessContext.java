@@ -0,0 +1,55 @@
+package de.his.encounter.infrastructure.security;
+
+import java.util.UUID;
+
+/**
+ * Auflage der Policy-Entscheidung für den aktuellen Request: Muss der Aufrufer den Patienten
+ * behandeln (TREATING_RELATIONSHIP), und wer ist der Aufrufer als Behandler? Außerhalb eines
+ * Requests (Jobs, Relays) und ohne Auflage ohne Wirkung.
+ *
+ * Der reaktive Lesepfad trägt die Auflage statt im ThreadLocal als {@link CareAccess} im
+ * Reactor-Context unter {@link #REACTOR_KEY}.
+ */
+public final class CareAccessContext {
+
+    public static final String REACTOR_KEY = CareAccessContext.class.getName();
+
+    private static final UUID NIL = new UUID(0, 0);
+
+    private static final ThreadLocal<CareAccess> CURRENT = new ThreadLocal<>();
+
+    private CareAccessContext() {
+    }
+
+    public static void open(UUID practitionerId) {
+        CURRENT.set(new CareAccess(practitionerId));
+    }
+
+    public static void close() {
+        CURRENT.remove();
+    }
+
+    public static boolean isRelationshipRequired() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Behandler-ID des Aufrufers, {@code null} wenn die Auflage gilt, aber keine ID mitkam.
+     */
+    public static UUID currentPractitionerId() {
+        CareAccess access = CURRENT.get();
+        return access != null ? access.practitionerId() : null;
+    }
+
+    /**
+     * Behandler-ID als Query-Parameter: ohne mitgesendete ID die Null-UUID, zu der es keine
+     * Behandlungsbeziehung gibt.
+     */
+    public static UUID practitionerIdOrNil() {
+        UUID practitionerId = currentPractitionerId();
+        return practitionerId != null ? practitionerId : NIL;
+    }
+
+    public record CareAccess(UUID practitionerId) {
+    }
+}
@@ -0,0 +1,66 @@
+package de.his.encounter.infrastructure.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Übernimmt die Auflagen, die das Gateway aus der Policy-Entscheidung weiterreicht
+ * ({@code X-Authz-Obligations}, {@code X-Practitioner-Id} aus dem Token). Das Gateway entfernt
+ * beide Header aus Client-Anfragen; der Service ist nur über das Gateway erreichbar.
+ */
+public class CareAccessFilter extends OncePerRequestFilter {
+
+    public static final String OBLIGATIONS_HEADER = "X-Authz-Obligations";
+    public static final String PRACTITIONER_HEADER = "X-Practitioner-Id";
+
+    static final String TREATING_RELATIONSHIP = "TREATING_RELATIONSHIP";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!requiresRelationship(request.getHeader(OBLIGATIONS_HEADER))) {
+            chain.doFilter(request, response);
+            return;
+        }
+        CareAccessContext.open(practitionerId(request.getHeader(PRACTITIONER_HEADER)));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            CareAccessContext.close();
+        }
+    }
+
+    /**
+     * Enthält {@code X-Authz-Obligations} die Auflage TREATING_RELATIONSHIP? Auch vom reaktiven
+     * Lesepfad genutzt, der ohne Servlet-Filter und ThreadLocal auskommt.
+     */
+    public static boolean requiresRelationship(String obligations) {
+        if (obligations == null) {
+            return false;
+        }
+        for (String obligation : obligations.split(",")) {
+            if (TREATING_RELATIONSHIP.equals(obligation.trim())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ungültige ID: Auflage bleibt bestehen, ohne Behandler wird jeder Patientenzugriff abgelehnt
+    public static UUID practitionerId(String header) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        try {
+            return UUID.fromString(header.trim());
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package de.his.encounter.infrastructure.service;
+
+import com.github.luben.zstd.Zstd;
+import de.his.encounter.domain.model.DocumentationContent;
+import de.his.encounter.domain.repository.DocumentationContentRepository;
+import de.his.encounter.infrastructure.exception.DocumentationTooLargeException;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Inhaltsadressierter Speicher für Dokumentationstexte.
+ *
+ * Schlüssel ist der SHA-256 der UTF-8-Bytes; identische Texte (Vorlagen,
+ * fortgeschriebene Befunde) landen nur einmal in der Datenbank. Texte ab
+ * {@code min-compress-bytes} werden mit Zstandard komprimiert, sofern das
+ * tatsächlich Platz spart.
+ *
+ * Inhalte ab {@code file-threshold-bytes} liegen unkomprimiert unter
+ * {@code directory} ({@code <hash[0..2]>/<hash>}) und werden beim Download als
+ * Datei ausgeliefert. Uploads laufen über eine Spool-Datei im selben Verzeichnis,
+ * der Heap-Bedarf hängt damit nicht von der Dokumentgröße ab.
+ */
+@Service
+public class DocumentationContentStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentationContentStore.class);
+
+    private static final int SPOOL_BUFFER_SIZE = 64 * 1024;
+
+    private final DocumentationContentRepository contentRepository;
+
+    @Value("${his.documentation.store.compression-level:3}")
+    private int compressionLevel;
+
+    @Value("${his.documentation.store.min-compress-bytes:256}")
+    private int minCompressBytes;
+
+    @Value("${his.documentation.store.file-threshold-bytes:1048576}")
+    private int fileThresholdBytes;
+
+    @Value("${his.documentation.store.directory:./data/documentation-store}")
+    private String directory;
+
+    @Value("${his.documentation.max-content-bytes:10485760}")
+    private int maxContentBytes;
+
+    private Path storeDirectory;
+    private Path spoolDirectory;
+
+    public DocumentationContentStore(DocumentationContentRepository contentRepository) {
+        this.contentRepository = contentRepository;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        storeDirectory = Files.createDirectories(Path.of(directory));
+        spoolDirectory = Files.createDirectories(storeDirectory.resolve("spool"));
+    }
+
+    public int getMaxContentBytes() {
+        return maxContentBytes;
+    }
+
+    /**
+     * Legt den Inhalt ab (oder verweist auf den vorhandenen) und liefert dessen Hash.
+     */
+    @Transactional
+    public String store(byte[] content) {
+        String contentHash = contentHash(content);
+
+        if (content.length >= fileThresholdBytes) {
+            try {
+                Path spool = Files.createTempFile(spoolDirectory, "upload-", ".tmp");
+                Files.write(spool, content);
+                publishFile(spool, contentHash);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Failed to store documentation content " + contentHash, ex);
+            }
+            contentRepository.upsert(contentHash, DocumentationContent.STORAGE_FILE,
+                    DocumentationContent.COMPRESSION_NONE, content.length, new byte[0]);
+            return contentHash;
+        }
+
+        storeInDatabase(contentHash, content);
+        return contentHash;
+    }
+
+    /**
+     * Streaming-Variante für Uploads: schreibt {@code content} in eine Spool-Datei und
+     * berechnet dabei den Hash. Bewusst ohne Transaktion, damit während eines langsamen
+     * Uploads keine Datenbankverbindung belegt ist.
+     *
+     * @throws DocumentationTooLargeException wenn mehr als {@code max-content-bytes} ankommen
+     */
+    public StoredContent store(InputStream content) throws IOException {
+        Path spool = Files.createTempFile(spoolDirectory, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            long size = 0;
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(spool), digest)) {
+                byte[] buffer = new byte[SPOOL_BUFFER_SIZE];
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxContentBytes) {
+                        throw new DocumentationTooLargeException(maxContentBytes);
+                    }
+                    out.write(buffer, 0, read);
+                }
+            }
+
+            String contentHash = HexFormat.of().formatHex(digest.digest());
+            if (size >= fileThresholdBytes) {
+                publishFile(spool, contentHash);
+                contentRepository.upsert(contentHash, DocumentationContent.STORAGE_FILE,
+                        DocumentationContent.COMPRESSION_NONE, (int) size, new byte[0]);
+            } else {
+                // unterhalb der Schwelle begrenzt klein: wie bisher komprimiert in die Datenbank
+                storeInDatabase(contentHash, Files.readAllBytes(spool));
+            }
+            return new StoredContent(contentHash, (int) size);
+        } finally {
+            Files.deleteIfExists(spool);
+        }
+    }
+
+    /**
+     * Inhalt als {@link Resource}; Dateiinhalte werden nicht in den Speicher geladen.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Resource> load(String contentHash) {
+        return contentRepository.findById(contentHash).map(content -> {
+            if (DocumentationContent.STORAGE_FILE.equals(content.getStorage())) {
+                return new FileSystemResource(filePath(contentHash));
+            }
+            return new ByteArrayResource(decode(content));
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, byte[]> loadAll(Collection<String> contentHashes) {
+        Map<String, byte[]> contents = new HashMap<>();
+        if (!contentHashes.isEmpty()) {
+            contentRepository.findAllById(contentHashes)
+                    .forEach(content -> contents.put(content.getContentHash(), read(content)));
+        }
+        return contents;
+    }
+
+    /**
+     * Höchstens die ersten {@code maxBytes} Bytes des Inhalts (Suchindex, Hervorhebungen);
+     * Dateiinhalte werden nur so weit gelesen.
+     */
+    @Transactional(readOnly = true)
+    public Optional<byte[]> loadPrefix(String contentHash, int maxBytes) {
+        return contentRepository.findById(contentHash).map(content -> {
+            if (DocumentationContent.STORAGE_FILE.equals(content.getStorage())) {
+                try (InputStream in = Files.newInputStream(filePath(contentHash))) {
+                    return in.readNBytes(maxBytes);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException("Failed to read documentation content " + contentHash, ex);
+                }
+            }
+            byte[] decoded = decode(content);
+            return decoded.length <= maxBytes ? decoded : Arrays.copyOf(decoded, maxBytes);
+        });
+    }
+
+    /**
+     * Entfernt Inhalte, auf die keine Dokumentation mehr verweist und die seit
+     * {@code gracePeriod} nicht wiederverwendet wurden. Dateien werden erst nach
+     * dem Commit gelöscht.
+     */
+    @Transactional
+    public int deleteUnreferenced(Collection<String> contentHashes, Duration gracePeriod) {
+        if (contentHashes.isEmpty()) {
+            return 0;
+        }
+        List<String> fileBacked = contentRepository.findFileBacked(contentHashes);
+        int deleted = contentRepository.deleteUnreferenced(contentHashes, LocalDateTime.now().minus(gracePeriod));
+
+        if (!fileBacked.isEmpty() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteOrphanedFiles(fileBacked);
+                }
+            });
+        }
+        return deleted;
+    }
+
+    public static String contentHash(byte[] content) {
+        return HexFormat.of().formatHex(sha256().digest(content));
+    }
+
+    private void storeInDatabase(String contentHash, byte[] content) {
+        String compression = DocumentationContent.COMPRESSION_NONE;
+        byte[] body = content;
+        if (content.length >= minCompressBytes) {
+            byte[] compressed = Zstd.compress(content, compressionLevel);
+            if (compressed.length < content.length) {
+                compression = DocumentationContent.COMPRESSION_ZSTD;
+                body = compressed;
+            }
+        }
+
+        contentRepository.upsert(contentHash, DocumentationContent.STORAGE_DATABASE, compression,
+                content.length, body);
+    }
+
+    // Gleicher Hash = gleicher Inhalt, eine vorhandene Datei wird einfach ersetzt
+    private void publishFile(Path spool, String contentHash) throws IOException {
+        Path target = filePath(contentHash);
+        Files.createDirectories(target.getParent());
+        Files.move(spool, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void deleteOrphanedFiles(List<String> contentHashes) {
+        for (String contentHash : contentHashes) {
+            try {
+                // zwischenzeitlich erneut hochgeladen: Datei gehört wieder einer Zeile
+                if (!contentRepository.existsById(contentHash)) {
+                    Files.deleteIfExists(filePath(contentHash));
+                }
+            } catch (Exception ex) {
+                logger.warn("Could not delete documentation content file {}: {}", contentHash, ex.getMessage());
+            }
+        }
+    }
+
+    private Path filePath(String contentHash) {
+        return storeDirectory.resolve(contentHash.substring(0, 2)).resolve(contentHash);
+    }
+
+    private byte[] read(DocumentationContent content) {
+        if (DocumentationContent.STORAGE_FILE.equals(content.getStorage())) {
+            try {
+                return Files.readAllBytes(filePath(content.getContentHash()));
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Failed to read documentation content " + content.getContentHash(), ex);
+            }
+        }
+        return decode(content);
+    }
+
+    private byte[] decode(DocumentationContent content) {
+        if (DocumentationContent.COMPRESSION_ZSTD.equals(content.getCompression())) {
+            return Zstd.decompress(content.getBody(), content.getOriginalSize());
+        }
+        return content.getBody();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    /**
+     * Ergebnis eines Streaming-Uploads.
+     */
+    public static class StoredContent {
+
+        private final String contentHash;
+        private final int size;
+
+        public StoredContent(String contentHash, int size) {
+            this.contentHash = contentHash;
+            this.size = size;
+        }
+
+        // Getters
+        public String getContentHash() {
+            return contentHash;
+        }
+
+        public int getSize() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package de.his.encounter.infrastructure.service;
+
+import de.his.encounter.application.service.DocumentationSearchService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Holt fehlende Suchvektoren nach (Bestandsdaten aus V10, komprimierte und
+ * dateibasierte Inhalte, die V12 nicht selbst indizieren konnte).
+ *
+ * Läuft clusterweit nur einmal (scheduler_locks); je Inhalt eine Transaktion,
+ * gleiche Inhalte werden gemeinsam indiziert.
+ */
+@Component
+public class DocumentationSearchIndexJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentationSearchIndexJob.class);
+
+    static final String LOCK_NAME = "documentation-search-index";
+
+    private final DocumentationSearchService searchService;
+    private final SchedulerLockService schedulerLockService;
+
+    private final Counter indexedCounter;
+    private final Counter failedCounter;
+
+    @Value("${his.documentation.search.backfill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${his.documentation.search.backfill.batch-size:200}")
+    private int batchSize;
+
+    @Value("${his.documentation.search.backfill.max-batches-per-run:50}")
+    private int maxBatchesPerRun;
+
+    @Value("${his.documentation.search.backfill.lock-at-most-for:PT15M}")
+    private Duration lockAtMostFor;
+
+    public DocumentationSearchIndexJob(DocumentationSearchService searchService,
+            SchedulerLockService schedulerLockService,
+            MeterRegistry meterRegistry) {
+        this.searchService = searchService;
+        this.schedulerLockService = schedulerLockService;
+        this.indexedCounter = Counter.builder("his.encounter.documentation.search_index.indexed")
+                .description("Documentation contents added to the full-text index by the backfill job")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("his.encounter.documentation.search_index.failed")
+                .description("Documentation contents the backfill job could not index")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${his.documentation.search.backfill.cron:0 */10 * * * *}")
+    public void indexPendingDocumentation() {
+        if (!enabled || !schedulerLockService.tryLock(LOCK_NAME, lockAtMostFor)) {
+            return;
+        }
+        try {
+            runBatches();
+        } catch (Exception ex) {
+            logger.error("Documentation search backfill failed: {}", ex.getMessage(), ex);
+        } finally {
+            schedulerLockService.unlock(LOCK_NAME);
+        }
+    }
+
+    private void runBatches() {
+        // Vor Ablauf des Locks aufhören, damit keine zweite Instanz parallel startet
+        long deadline = System.nanoTime() + lockAtMostFor.multipliedBy(8).dividedBy(10).toNanos();
+        long indexed = 0;
+        int batches = 0;
+
+        while (batches < maxBatchesPerRun && System.nanoTime() < deadline) {
+            List<String> contentHashes = searchService.findPendingContentHashes(batchSize);
+            if (contentHashes.isEmpty()) {
+                break;
+            }
+
+            int failed = 0;
+            for (String contentHash : contentHashes) {
+                try {
+                    searchService.indexFromStore(contentHash);
+                    indexed++;
+                    indexedCounter.increment();
+                } catch (Exception ex) {
+                    failed++;
+                    failedCounter.increment();
+                    logger.warn("Could not index documentation content {}: {}", contentHash, ex.getMessage());
+                }
+            }
+            batches++;
+
+            // Nur noch fehlerhafte Inhalte übrig: nicht im selben Lauf erneut versuchen
+            if (failed == contentHashes.size() || contentHashes.size() < batchSize) {
+                break;
+            }
+        }
+
+        if (indexed > 0) {
+            logger.info("Documentation search backfill indexed {} contents ({} batches)", indexed, batches);
+        }
+    }
+}
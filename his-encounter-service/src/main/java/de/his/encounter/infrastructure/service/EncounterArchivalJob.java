@@ -0,0 +1,260 @@
+package de.his.encounter.infrastructure.service;
+
+import de.his.encounter.application.service.EncounterArchivalService;
+import de.his.encounter.infrastructure.archive.ArchivedEncounter;
+import de.his.encounter.infrastructure.archive.EncounterArchive;
+import de.his.encounter.infrastructure.archive.EncounterSegmentWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Verschiebt abgeschlossene Encounters, die älter als {@code archive-after-months}
+ * sind, samt Dokumentation in Cold-Storage-Segmente ({@link EncounterArchive}).
+ *
+ * Ablauf pro Segment: Datei als {@code .pending} schreiben und synchronisieren (bei
+ * {@code segment-max-bytes} an der nächsten Patientengrenze ein neues Segment beginnen),
+ * Encounters in einer Transaktion aus den heißen Tabellen entfernen (Katalog-Eintrag
+ * mit Segmentname), danach in {@code .seg} umbenennen. Stirbt die Instanz zwischen
+ * Commit und Umbenennen, entscheidet der Katalog beim nächsten Lauf, ob das
+ * Segment übernommen oder verworfen wird.
+ */
+@Component
+public class EncounterArchivalJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(EncounterArchivalJob.class);
+
+    static final String LOCK_NAME = "encounter-cold-storage-archival";
+    private static final String PENDING_SUFFIX = ".pending";
+    private static final DateTimeFormatter SEGMENT_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final EncounterArchivalService archivalService;
+    private final EncounterArchive encounterArchive;
+    private final SchedulerLockService schedulerLockService;
+
+    private final Counter archivedCounter;
+    private final Counter segmentCounter;
+
+    @Value("${his.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${his.archive.archive-after-months:24}")
+    private int archiveAfterMonths;
+
+    @Value("${his.archive.segment-max-encounters:50000}")
+    private int segmentMaxEncounters;
+
+    // Deutlich unter EncounterSegmentWriter.MAX_SEGMENT_SIZE, der letzte Patientenblock kommt noch hinzu
+    @Value("${his.archive.segment-max-bytes:1073741824}")
+    private long segmentMaxBytes;
+
+    @Value("${his.archive.load-batch-size:500}")
+    private int loadBatchSize;
+
+    @Value("${his.archive.max-segments-per-run:10}")
+    private int maxSegmentsPerRun;
+
+    @Value("${his.archive.lock-at-most-for:PT2H}")
+    private Duration lockAtMostFor;
+
+    public EncounterArchivalJob(EncounterArchivalService archivalService,
+            EncounterArchive encounterArchive,
+            SchedulerLockService schedulerLockService,
+            MeterRegistry meterRegistry) {
+        this.archivalService = archivalService;
+        this.encounterArchive = encounterArchive;
+        this.schedulerLockService = schedulerLockService;
+        this.archivedCounter = Counter.builder("his.encounter.archive.encounters")
+                .description("Encounters moved to cold storage")
+                .register(meterRegistry);
+        this.segmentCounter = Counter.builder("his.encounter.archive.segments")
+                .description("Cold storage segments written")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOnStartup() {
+        if (!schedulerLockService.tryLock(LOCK_NAME, lockAtMostFor)) {
+            return;
+        }
+        try {
+            recoverPendingSegments();
+        } catch (Exception ex) {
+            logger.error("Encounter archive recovery failed: {}", ex.getMessage(), ex);
+        } finally {
+            schedulerLockService.unlock(LOCK_NAME);
+        }
+    }
+
+    @Scheduled(cron = "${his.archive.cron:0 30 3 * * SUN}")
+    public void archiveCompletedEncounters() {
+        if (!enabled || !schedulerLockService.tryLock(LOCK_NAME, lockAtMostFor)) {
+            return;
+        }
+        try {
+            recoverPendingSegments();
+
+            LocalDateTime cutoff = LocalDateTime.now().minusMonths(archiveAfterMonths);
+            long deadline = System.nanoTime() + lockAtMostFor.multipliedBy(8).dividedBy(10).toNanos();
+            long archived = 0;
+            int batches = 0;
+
+            while (batches < maxSegmentsPerRun && System.nanoTime() < deadline) {
+                int written = archiveBatch(cutoff);
+                if (written == 0) {
+                    break;
+                }
+                archived += written;
+                batches++;
+                if (written < segmentMaxEncounters) {
+                    break;
+                }
+            }
+
+            if (archived > 0) {
+                logger.info("Moved {} encounters completed before {} to cold storage ({} batches)",
+                        archived, cutoff, batches);
+            }
+        } catch (Exception ex) {
+            logger.error("Encounter archival failed: {}", ex.getMessage(), ex);
+        } finally {
+            schedulerLockService.unlock(LOCK_NAME);
+        }
+    }
+
+    /**
+     * Archiviert bis zu {@code segment-max-encounters} Kandidaten. Überschreitet ein Segment
+     * {@code segment-max-bytes}, wird es an der nächsten Patientengrenze abgeschlossen und
+     * übernommen; die übrigen Kandidaten gehen in ein neues Segment.
+     */
+    int archiveBatch(LocalDateTime cutoff) throws IOException {
+        List<UUID> ids = archivalService.findCandidateIds(cutoff, segmentMaxEncounters);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        int archived = 0;
+        int loaded = 0;
+        PendingSegment segment = PendingSegment.create(encounterArchive.getDirectory());
+        try {
+            for (int from = 0; from < ids.size(); from += loadBatchSize) {
+                List<UUID> batch = ids.subList(from, Math.min(from + loadBatchSize, ids.size()));
+                for (ArchivedEncounter encounter : archivalService.loadForArchive(batch)) {
+                    if (segment.isFull(encounter.getPatientId(), segmentMaxBytes)) {
+                        archived += commitSegment(segment);
+                        segment = PendingSegment.create(encounterArchive.getDirectory());
+                    }
+                    segment.append(encounter);
+                    loaded++;
+                }
+            }
+            if (loaded != ids.size()) {
+                throw new IllegalStateException("Loaded " + loaded + " of " + ids.size() + " archival candidates");
+            }
+            archived += commitSegment(segment);
+        } catch (IOException | RuntimeException ex) {
+            segment.discard();
+            throw ex;
+        }
+        return archived;
+    }
+
+    private int commitSegment(PendingSegment segment) throws IOException {
+        segment.writer.finish();
+        segment.writer.close();
+        archivalService.removeArchived(segment.encounterIds, segment.name);
+        // Ab hier entscheidet bei einem Fehler der Katalog (recoverPendingSegments)
+        segment.committed = true;
+
+        publishSegment(segment.file, segment.name);
+        archivedCounter.increment(segment.encounterIds.size());
+        segmentCounter.increment();
+        return segment.encounterIds.size();
+    }
+
+    // Übrig gebliebene .pending-Dateien: committed -> übernehmen, sonst verwerfen
+    void recoverPendingSegments() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(encounterArchive.getDirectory(),
+                "*" + PENDING_SUFFIX)) {
+            for (Path pending : files) {
+                String fileName = pending.getFileName().toString();
+                String segmentName = fileName.substring(0, fileName.length() - PENDING_SUFFIX.length());
+                if (archivalService.isSegmentCommitted(segmentName)) {
+                    publishSegment(pending, segmentName);
+                    logger.warn("Recovered committed encounter archive segment {}", segmentName);
+                } else {
+                    Files.delete(pending);
+                    logger.warn("Discarded uncommitted encounter archive segment {}", segmentName);
+                }
+            }
+        }
+    }
+
+    private void publishSegment(Path pending, String segmentName) throws IOException {
+        Path segment = pending.resolveSibling(segmentName);
+        Files.move(pending, segment, StandardCopyOption.ATOMIC_MOVE);
+        encounterArchive.register(segment);
+    }
+
+    // Segment im Aufbau: .pending-Datei samt Writer und den bereits übergebenen Encounter-IDs
+    private static final class PendingSegment {
+
+        private final String name;
+        private final Path file;
+        private final EncounterSegmentWriter writer;
+        private final List<UUID> encounterIds = new ArrayList<>();
+        private UUID lastPatientId;
+        private boolean committed;
+
+        private PendingSegment(String name, Path file, EncounterSegmentWriter writer) {
+            this.name = name;
+            this.file = file;
+            this.writer = writer;
+        }
+
+        private static PendingSegment create(Path directory) throws IOException {
+            String name = "encounters-" + LocalDateTime.now().format(SEGMENT_TIMESTAMP) + "-"
+                    + UUID.randomUUID().toString().substring(0, 8) + EncounterArchive.SEGMENT_SUFFIX;
+            Path file = directory.resolve(name + PENDING_SUFFIX);
+            return new PendingSegment(name, file, EncounterSegmentWriter.create(file));
+        }
+
+        // Nur an Patientengrenzen wechseln: die Encounters eines Patienten bleiben in einem Block
+        private boolean isFull(UUID nextPatientId, long maxBytes) {
+            return lastPatientId != null && !lastPatientId.equals(nextPatientId)
+                    && writer.getWrittenBytes() >= maxBytes;
+        }
+
+        private void append(ArchivedEncounter encounter) throws IOException {
+            writer.append(encounter);
+            encounterIds.add(encounter.getId());
+            lastPatientId = encounter.getPatientId();
+        }
+
+        private void discard() throws IOException {
+            if (committed) {
+                return;
+            }
+            writer.close();
+            Files.deleteIfExists(file);
+        }
+    }
+}
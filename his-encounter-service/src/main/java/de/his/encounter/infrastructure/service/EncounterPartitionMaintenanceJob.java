@@ -0,0 +1,52 @@
+package de.his.encounter.infrastructure.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Legt künftige Monatspartitionen an.
+ *
+ * Alte Encounters verlassen die Tabelle nur über den Cold Storage
+ * ({@link EncounterArchivalJob}), nicht durch Abhängen von Partitionen.
+ */
+@Component
+public class EncounterPartitionMaintenanceJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(EncounterPartitionMaintenanceJob.class);
+
+    static final String LOCK_NAME = "encounter-partition-maintenance";
+
+    private final EncounterPartitionService partitionService;
+    private final SchedulerLockService schedulerLockService;
+
+    @Value("${his.partitioning.months-ahead:12}")
+    private int monthsAhead;
+
+    @Value("${his.partitioning.lock-at-most-for:PT30M}")
+    private Duration lockAtMostFor;
+
+    public EncounterPartitionMaintenanceJob(EncounterPartitionService partitionService,
+            SchedulerLockService schedulerLockService) {
+        this.partitionService = partitionService;
+        this.schedulerLockService = schedulerLockService;
+    }
+
+    @Scheduled(cron = "${his.partitioning.cron:0 15 1 * * *}")
+    public void maintainPartitions() {
+        if (!schedulerLockService.tryLock(LOCK_NAME, lockAtMostFor)) {
+            return;
+        }
+        try {
+            partitionService.createFuturePartitions(monthsAhead);
+        } catch (Exception ex) {
+            logger.error("Encounter partition maintenance failed: {}", ex.getMessage(), ex);
+        } finally {
+            schedulerLockService.unlock(LOCK_NAME);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package de.his.encounter.infrastructure.service;
+
+import de.his.encounter.domain.repository.EncounterRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+/**
+ * Pflege der Monatspartitionen von his_encounter.encounters.
+ */
+@Service
+public class EncounterPartitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EncounterPartitionService.class);
+
+    private final EncounterRepository encounterRepository;
+
+    public EncounterPartitionService(EncounterRepository encounterRepository) {
+        this.encounterRepository = encounterRepository;
+    }
+
+    @Transactional
+    public int createFuturePartitions(int monthsAhead) {
+        LocalDate today = LocalDate.now();
+        int created = encounterRepository.createMonthlyPartitions(today, today.plusMonths(monthsAhead));
+        if (created > 0) {
+            logger.info("Created {} encounter partitions up to {} months ahead", created, monthsAhead);
+        }
+        return created;
+    }
+}
@@ -0,0 +1,126 @@
+package de.his.encounter.infrastructure.service;
+
+import de.his.encounter.application.service.EncounterHousekeepingService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Setzt überfällige PLANNED-Encounters auf NO_SHOW.
+ *
+ * Läuft clusterweit nur einmal (scheduler_locks) und arbeitet in Keyset-Chunks
+ * mit je einer Transaktion. Die Laufzeit pro Durchlauf ist begrenzt; ein großer
+ * Rückstand wird über mehrere Durchläufe abgebaut.
+ */
+@Component
+public class NoShowHousekeepingJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(NoShowHousekeepingJob.class);
+
+    static final String LOCK_NAME = "encounter-no-show-housekeeping";
+    private static final UUID KEYSET_START = new UUID(0L, 0L);
+
+    private final EncounterHousekeepingService housekeepingService;
+    private final SchedulerLockService schedulerLockService;
+
+    private final Counter transitionedCounter;
+    private final Counter chunkCounter;
+    private final Timer runTimer;
+    private final AtomicLong lastRunTransitioned = new AtomicLong();
+
+    @Value("${his.housekeeping.no-show.enabled:true}")
+    private boolean enabled;
+
+    @Value("${his.housekeeping.no-show.grace-hours:24}")
+    private long graceHours;
+
+    @Value("${his.housekeeping.no-show.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${his.housekeeping.no-show.max-chunks-per-run:500}")
+    private int maxChunksPerRun;
+
+    @Value("${his.housekeeping.no-show.lock-at-most-for:PT30M}")
+    private Duration lockAtMostFor;
+
+    public NoShowHousekeepingJob(EncounterHousekeepingService housekeepingService,
+            SchedulerLockService schedulerLockService,
+            MeterRegistry meterRegistry) {
+        this.housekeepingService = housekeepingService;
+        this.schedulerLockService = schedulerLockService;
+        this.transitionedCounter = Counter.builder("his.encounter.housekeeping.no_show.transitioned")
+                .description("Encounters transitioned from PLANNED to NO_SHOW")
+                .register(meterRegistry);
+        this.chunkCounter = Counter.builder("his.encounter.housekeeping.no_show.chunks")
+                .description("Committed housekeeping chunks")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("his.encounter.housekeeping.no_show.duration")
+                .description("Duration of a housekeeping run")
+                .register(meterRegistry);
+        meterRegistry.gauge("his.encounter.housekeeping.no_show.last_run", lastRunTransitioned);
+    }
+
+    @Scheduled(cron = "${his.housekeeping.no-show.cron:0 5 * * * *}")
+    public void markStalePlannedEncounters() {
+        if (!enabled || !schedulerLockService.tryLock(LOCK_NAME, lockAtMostFor)) {
+            return;
+        }
+        try {
+            runTimer.record(this::runChunks);
+        } catch (Exception ex) {
+            logger.error("No-show housekeeping failed: {}", ex.getMessage(), ex);
+        } finally {
+            schedulerLockService.unlock(LOCK_NAME);
+        }
+    }
+
+    private void runChunks() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(graceHours);
+        // Vor Ablauf des Locks aufhören, damit keine zweite Instanz parallel startet
+        long deadline = System.nanoTime() + lockAtMostFor.multipliedBy(8).dividedBy(10).toNanos();
+
+        UUID afterId = KEYSET_START;
+        long transitioned = 0;
+        int chunks = 0;
+
+        while (chunks < maxChunksPerRun && System.nanoTime() < deadline) {
+            List<UUID> ids = housekeepingService.findStalePlannedIds(cutoff, afterId, chunkSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            int updated = housekeepingService.markAsNoShow(ids);
+            transitioned += updated;
+            chunks++;
+            transitionedCounter.increment(updated);
+            chunkCounter.increment();
+
+            // Sortierung macht die DB (UUID-Ordnung), daher letzte ID der Seite übernehmen
+            afterId = ids.get(ids.size() - 1);
+
+            if (chunks % 50 == 0) {
+                logger.info("No-show housekeeping progress: {} encounters in {} chunks", transitioned, chunks);
+            }
+            if (ids.size() < chunkSize) {
+                break;
+            }
+        }
+
+        lastRunTransitioned.set(transitioned);
+        if (transitioned > 0) {
+            logger.info("No-show housekeeping marked {} encounters planned before {} as NO_SHOW ({} chunks)",
+                    transitioned, cutoff, chunks);
+        }
+    }
+}
@@ -1,53 +1,134 @@
 package de.his.encounter.infrastructure.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import de.his.encounter.infrastructure.client.PatientClient;
 import de.his.encounter.infrastructure.client.dto.PatientDto;
 import feign.FeignException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
 
+/**
+ * Zugriff auf den Patient Service mit resilience4j (Instanz {@code patient-service}):
+ * Circuit Breaker → Time Limiter → Bulkhead → PatientClient. Ein 404 zählt nicht als Fehler.
+ *
+ * Ist der Patient Service nicht nutzbar (Breaker offen, Bulkhead voll, Timeout, 5xx), liefert
+ * der Fallback den zuletzt gelesenen Datensatz des Patienten als {@link PatientDto#isStale()};
+ * ohne Cache-Eintrag bleibt es bei "Patient service temporarily unavailable" (503).
+ */
 @Service
 public class PatientValidationService {
 
     private static final Logger logger = LoggerFactory.getLogger(PatientValidationService.class);
 
+    static final String INSTANCE = "patient-service";
+
     private final PatientClient patientClient;
+    private final CircuitBreaker circuitBreaker;
+    private final TimeLimiter timeLimiter;
+    private final Bulkhead bulkhead;
+    private final Cache<UUID, PatientDto> lastKnownPatients;
+    private final Counter staleResponses;
+
+    // Feign blockiert; der Time Limiter wartet auf einen eigenen (virtuellen) Thread
+    private final ExecutorService callExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
-    public PatientValidationService(PatientClient patientClient) {
+    public PatientValidationService(PatientClient patientClient,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            TimeLimiterRegistry timeLimiterRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            MeterRegistry meterRegistry,
+            @Value("${his.patient-cache.maximum-size:10000}") long cacheMaximumSize,
+            @Value("${his.patient-cache.expire-after-write:PT24H}") Duration cacheExpireAfterWrite) {
         this.patientClient = patientClient;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(INSTANCE);
+        this.timeLimiter = timeLimiterRegistry.timeLimiter(INSTANCE);
+        this.bulkhead = bulkheadRegistry.bulkhead(INSTANCE);
+        this.lastKnownPatients = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfterWrite(cacheExpireAfterWrite)
+                .build();
+        this.staleResponses = Counter.builder("his.encounter.patient.stale.responses")
+                .description("Patients served from the fallback cache while the patient service was unavailable")
+                .register(meterRegistry);
+        // resilience4j.bulkhead.* liefert nur freie und maximale Plätze
+        Gauge.builder("his.encounter.patient.bulkhead.saturation", bulkhead,
+                        b -> 1.0 - (double) b.getMetrics().getAvailableConcurrentCalls()
+                                / b.getMetrics().getMaxAllowedConcurrentCalls())
+                .description("Share of patient service bulkhead permits in use")
+                .register(meterRegistry);
     }
 
     public boolean validatePatientExists(UUID patientId) {
-        try {
-            logger.info("Validating patient exists for ID: {}", patientId);
-            PatientDto patient = patientClient.getPatient(patientId);
-            logger.info("Patient validation successful for ID: {}", patientId);
-            return patient != null;
-        } catch (FeignException.NotFound e) {
-            logger.warn("Patient not found for ID: {} - HTTP Status: {}", patientId, e.status());
-            return false;
-        } catch (FeignException e) {
-            logger.error("Feign error validating patient with ID {}: HTTP Status: {}, Message: {}",
-                    patientId, e.status(), e.getMessage());
-            throw new RuntimeException("Patient service temporarily unavailable: " + e.getMessage(), e);
-        } catch (Exception e) {
-            logger.error("Unexpected error validating patient with ID {}: {}", patientId, e.getMessage(), e);
-            throw new RuntimeException("Patient validation failed: " + e.getMessage(), e);
-        }
+        logger.info("Validating patient exists for ID: {}", patientId);
+        return getPatientDetails(patientId) != null;
     }
 
+    /**
+     * @return Patient, {@code null} wenn der Patient Service ihn nicht kennt, oder im Fallback
+     *         der zuletzt gelesene Datensatz ({@link PatientDto#isStale()})
+     */
     public PatientDto getPatientDetails(UUID patientId) {
         try {
-            return patientClient.getPatient(patientId);
+            PatientDto patient = fetch(patientId);
+            if (patient != null) {
+                lastKnownPatients.put(patientId, patient.staleCopy());
+            }
+            return patient;
         } catch (FeignException.NotFound e) {
             logger.warn("Patient not found for ID: {}", patientId);
+            lastKnownPatients.invalidate(patientId);
             return null;
+        } catch (CallNotPermittedException e) {
+            return staleOrThrow(patientId, "circuit breaker open", e);
+        } catch (BulkheadFullException e) {
+            return staleOrThrow(patientId, "bulkhead full", e);
+        } catch (TimeoutException e) {
+            return staleOrThrow(patientId, "timed out after " + timeLimiter.getTimeLimiterConfig()
+                    .getTimeoutDuration().toMillis() + " ms", e);
         } catch (FeignException e) {
-            logger.error("Error retrieving patient with ID {}: {}", patientId, e.getMessage());
-            throw new RuntimeException("Patient service temporarily unavailable", e);
+            logger.error("Error retrieving patient with ID {}: HTTP Status: {}, Message: {}",
+                    patientId, e.status(), e.getMessage());
+            return staleOrThrow(patientId, "HTTP " + e.status(), e);
+        } catch (Exception e) {
+            logger.error("Unexpected error retrieving patient with ID {}: {}", patientId, e.getMessage(), e);
+            return staleOrThrow(patientId, e.getClass().getSimpleName(), e);
+        }
+    }
+
+    private PatientDto fetch(UUID patientId) throws Exception {
+        Callable<PatientDto> call = Bulkhead.decorateCallable(bulkhead, () -> patientClient.getPatient(patientId));
+        return circuitBreaker.executeCallable(
+                () -> timeLimiter.executeFutureSupplier(() -> callExecutor.submit(call)));
+    }
+
+    private PatientDto staleOrThrow(UUID patientId, String reason, Exception cause) {
+        PatientDto stale = lastKnownPatients.getIfPresent(patientId);
+        if (stale == null) {
+            throw new RuntimeException("Patient service temporarily unavailable: " + reason, cause);
         }
+        logger.warn("Patient service unavailable ({}), serving stale record for patient {}", reason, patientId);
+        staleResponses.increment();
+        return stale;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,44 @@
+package de.his.encounter.infrastructure.service;
+
+import de.his.encounter.domain.repository.SchedulerLockRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+
+/**
+ * Sorgt dafür, dass ein geplanter Job clusterweit nur auf einer Instanz läuft.
+ *
+ * Der Lock ist zeitbegrenzt ({@code lockAtMostFor}); er muss länger sein als
+ * die erwartete Laufzeit des Jobs.
+ */
+@Service
+public class SchedulerLockService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchedulerLockService.class);
+
+    private final SchedulerLockRepository schedulerLockRepository;
+    private final String instanceId = ManagementFactory.getRuntimeMXBean().getName();
+
+    public SchedulerLockService(SchedulerLockRepository schedulerLockRepository) {
+        this.schedulerLockRepository = schedulerLockRepository;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean tryLock(String name, Duration lockAtMostFor) {
+        boolean acquired = schedulerLockRepository.tryAcquire(name, lockAtMostFor.toSeconds(), instanceId) == 1;
+        if (!acquired) {
+            logger.debug("Scheduler lock {} is held by another instance", name);
+        }
+        return acquired;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void unlock(String name) {
+        schedulerLockRepository.release(name, instanceId);
+    }
+}
@@ -0,0 +1,94 @@
+package de.his.encounter.infrastructure.service;
+
+import de.his.encounter.application.service.EncounterStatisticsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Gleicht die Statistik-Tabellen mit der Quelltabelle ab.
+ *
+ * Tagesstatistik: von {@code lookback-days} in der Vergangenheit bis ein Jahr
+ * in die Zukunft (geplante Termine), jeweils {@code day-batch} Tage pro
+ * Transaktion. Patientenstatistik: vollständiger Durchlauf in Patienten-Batches.
+ */
+@Component
+public class StatisticsReconciliationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatisticsReconciliationJob.class);
+
+    static final String LOCK_NAME = "encounter-statistics-reconciliation";
+    private static final UUID KEYSET_START = new UUID(0L, 0L);
+
+    private final EncounterStatisticsService statisticsService;
+    private final SchedulerLockService schedulerLockService;
+
+    @Value("${his.statistics.reconciliation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${his.statistics.reconciliation.lookback-days:90}")
+    private int lookbackDays;
+
+    @Value("${his.statistics.reconciliation.day-batch:7}")
+    private int dayBatch;
+
+    @Value("${his.statistics.reconciliation.patient-batch:500}")
+    private int patientBatch;
+
+    @Value("${his.statistics.reconciliation.lock-at-most-for:PT2H}")
+    private Duration lockAtMostFor;
+
+    public StatisticsReconciliationJob(EncounterStatisticsService statisticsService,
+            SchedulerLockService schedulerLockService) {
+        this.statisticsService = statisticsService;
+        this.schedulerLockService = schedulerLockService;
+    }
+
+    @Scheduled(cron = "${his.statistics.reconciliation.cron:0 45 2 * * *}")
+    public void reconcile() {
+        if (!enabled || !schedulerLockService.tryLock(LOCK_NAME, lockAtMostFor)) {
+            return;
+        }
+        try {
+            long started = System.currentTimeMillis();
+            int dailyRows = reconcileDailyStatistics();
+            int patientRows = reconcilePatientStatistics();
+            logger.info("Statistics reconciliation finished in {} ms ({} daily rows, {} patient rows)",
+                    System.currentTimeMillis() - started, dailyRows, patientRows);
+        } catch (Exception ex) {
+            logger.error("Statistics reconciliation failed: {}", ex.getMessage(), ex);
+        } finally {
+            schedulerLockService.unlock(LOCK_NAME);
+        }
+    }
+
+    private int reconcileDailyStatistics() {
+        LocalDate end = LocalDate.now().plusYears(1).plusDays(1);
+        int rows = 0;
+        for (LocalDate from = LocalDate.now().minusDays(lookbackDays); from.isBefore(end); from = from.plusDays(dayBatch)) {
+            LocalDate to = from.plusDays(dayBatch).isBefore(end) ? from.plusDays(dayBatch) : end;
+            rows += statisticsService.reconcileDays(from, to);
+        }
+        return rows;
+    }
+
+    private int reconcilePatientStatistics() {
+        UUID afterId = KEYSET_START;
+        int rows = 0;
+        while (true) {
+            List<UUID> patientIds = statisticsService.findPatientIdsAfter(afterId, patientBatch);
+            if (patientIds.isEmpty()) {
+                return rows;
+            }
+            rows += statisticsService.reconcilePatients(patientIds);
+            afterId = patientIds.get(patientIds.size() - 1);
+        }
+    }
+}
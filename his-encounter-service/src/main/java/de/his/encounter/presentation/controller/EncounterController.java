@@ -1,21 +1,43 @@
 package de.his.encounter.presentation.controller;
 
 import de.his.encounter.application.dto.CreateEncounterRequest;
+import de.his.encounter.application.dto.DocumentationBody;
 import de.his.encounter.application.dto.EncounterResponse;
+import de.his.encounter.application.dto.EncounterStatusEvent;
 import de.his.encounter.application.dto.EncounterSummary;
+import de.his.encounter.application.dto.DocumentationSearchResponse;
+import de.his.encounter.application.dto.StructuredSearchRequest;
+import de.his.encounter.application.dto.StructuredSearchResponse;
+import de.his.encounter.application.dto.WorklistEntry;
+import de.his.encounter.application.service.DocumentationUploadService;
 import de.his.encounter.application.service.EncounterService;
+import de.his.encounter.application.service.EncounterStatusStreamService;
+import de.his.encounter.application.service.DocumentationSearchService;
+import de.his.encounter.application.service.StructuredSearchService;
+import de.his.encounter.domain.model.ContentType;
+import de.his.encounter.domain.model.SOAPSection;
 import de.his.encounter.infrastructure.exception.InvalidPaginationParameterException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -25,9 +47,24 @@ import java.util.UUID;
 public class EncounterController {
 
     private final EncounterService encounterService;
+    private final EncounterStatusStreamService statusStreamService;
+    private final DocumentationUploadService documentationUploadService;
+    private final StructuredSearchService structuredSearchService;
+    private final DocumentationSearchService documentationSearchService;
 
-    public EncounterController(EncounterService encounterService) {
+    @Value("${his.status-stream.timeout-ms:1800000}")
+    private long statusStreamTimeoutMs;
+
+    public EncounterController(EncounterService encounterService,
+            EncounterStatusStreamService statusStreamService,
+            DocumentationUploadService documentationUploadService,
+            StructuredSearchService structuredSearchService,
+            DocumentationSearchService documentationSearchService) {
         this.encounterService = encounterService;
+        this.statusStreamService = statusStreamService;
+        this.documentationUploadService = documentationUploadService;
+        this.structuredSearchService = structuredSearchService;
+        this.documentationSearchService = documentationSearchService;
     }
 
     @PostMapping
@@ -51,12 +88,68 @@ public class EncounterController {
     @GetMapping("/{encounterId}")
     @Operation(summary = "Get encounter details", description = "Retrieves detailed encounter information")
     public ResponseEntity<EncounterResponse> getEncounter(
-            @Parameter(description = "Encounter ID") @PathVariable UUID encounterId) {
+            @Parameter(description = "Encounter ID") @PathVariable UUID encounterId,
+            @Parameter(description = "Include documentation bodies instead of section headers only")
+            @RequestParam(defaultValue = "false") boolean includeContent) {
 
-        EncounterResponse response = encounterService.getEncounter(encounterId);
+        EncounterResponse response = includeContent
+                ? encounterService.getEncounter(encounterId, true)
+                : encounterService.getEncounter(encounterId);
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping(value = "/{encounterId}/documentation",
+            consumes = { MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE })
+    @Operation(summary = "Upload documentation", description = "Streams a documentation body (UTF-8, chunked transfer encoding supported) into the documentation store")
+    public ResponseEntity<EncounterResponse> uploadDocumentation(
+            @Parameter(description = "Encounter ID") @PathVariable UUID encounterId,
+            @RequestParam SOAPSection soapSection,
+            @RequestParam(defaultValue = "TEXT") ContentType contentType,
+            @RequestParam UUID authorId,
+            InputStream content) {
+
+        EncounterResponse response = documentationUploadService.uploadDocumentation(
+                encounterId, soapSection, contentType, authorId, content);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    @PostMapping(value = "/{encounterId}/documentation", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Upload documentation file", description = "Uploads a documentation body as multipart file part")
+    public ResponseEntity<EncounterResponse> uploadDocumentationFile(
+            @Parameter(description = "Encounter ID") @PathVariable UUID encounterId,
+            @RequestParam SOAPSection soapSection,
+            @RequestParam(defaultValue = "TEXT") ContentType contentType,
+            @RequestParam UUID authorId,
+            @RequestPart("file") MultipartFile file) throws IOException {
+
+        // Multipart-Teile puffert der Container auf Platte (file-size-threshold 0)
+        try (InputStream content = file.getInputStream()) {
+            EncounterResponse response = documentationUploadService.uploadDocumentation(
+                    encounterId, soapSection, contentType, authorId, content);
+            return new ResponseEntity<>(response, HttpStatus.CREATED);
+        }
+    }
+
+    @GetMapping("/{encounterId}/documentation/{documentationId}/content")
+    @Operation(summary = "Get documentation content", description = "Retrieves the body of a documentation entry; supports HTTP Range requests")
+    public ResponseEntity<Resource> getDocumentationContent(
+            @Parameter(description = "Encounter ID") @PathVariable UUID encounterId,
+            @Parameter(description = "Documentation ID") @PathVariable UUID documentationId) {
+
+        DocumentationBody body = encounterService.getDocumentationContent(encounterId, documentationId);
+        MediaType mediaType = body.getContentType() == ContentType.STRUCTURED_DATA
+                ? MediaType.APPLICATION_JSON
+                : new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+        // Range-Anfragen (206) beantwortet Spring für Resource-Bodies selbst;
+        // Datei-Inhalte werden dabei gestreamt, nicht geladen
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .eTag(body.getContentHash())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(body.getContent());
+    }
+
     @GetMapping("/patient/{patientId}")
     @Operation(summary = "Get patient encounters", description = "Retrieves encounters for a specific patient")
     public ResponseEntity<Page<EncounterSummary>> getPatientEncounters(
@@ -86,6 +179,54 @@ public class EncounterController {
         return ResponseEntity.ok(encounters);
     }
 
+    @PostMapping("/search/structured")
+    @Operation(summary = "Search structured documentation", description = "Finds encounters whose structured SOAP documentation contains the given JSON (e.g. an ICD-10 code in ASSESSMENT); keyset-paginated, newest first")
+    public ResponseEntity<StructuredSearchResponse> searchStructuredDocumentation(
+            @Valid @RequestBody StructuredSearchRequest request) {
+
+        return ResponseEntity.ok(structuredSearchService.search(request));
+    }
+
+    @GetMapping("/search/documentation")
+    @Operation(summary = "Search clinical notes", description = "Full-text search over documentation texts with German stemming, restricted to a patient and/or practitioner; ranked, with highlighted snippets")
+    public ResponseEntity<DocumentationSearchResponse> searchDocumentation(
+            @Parameter(description = "Search terms (web search syntax: quotes, OR, -exclusion)") @RequestParam("q") String query,
+            @RequestParam(required = false) UUID patientId,
+            @RequestParam(required = false) UUID practitionerId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        if (page < 0) {
+            throw new InvalidPaginationParameterException("page", page);
+        }
+
+        if (size <= 0 || size > 100) {
+            throw new InvalidPaginationParameterException("size", size);
+        }
+
+        return ResponseEntity.ok(documentationSearchService.search(query, patientId, practitionerId, page, size));
+    }
+
+    @GetMapping("/practitioner/{practitionerId}/worklist")
+    @Operation(summary = "Get practitioner worklist", description = "Retrieves planned and in-progress encounters of a practitioner for a day, ordered by time")
+    public ResponseEntity<Page<WorklistEntry>> getPractitionerWorklist(
+            @Parameter(description = "Practitioner ID") @PathVariable UUID practitionerId,
+            @Parameter(description = "Day of the worklist, defaults to today") @RequestParam(required = false) LocalDate date,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        if (page < 0) {
+            throw new InvalidPaginationParameterException("page", page);
+        }
+
+        if (size <= 0) {
+            throw new InvalidPaginationParameterException("size", size);
+        }
+
+        Pageable pageable = PageRequest.of(page, size);
+        LocalDate day = date != null ? date : LocalDate.now();
+
+        return ResponseEntity.ok(encounterService.getPractitionerWorklist(practitionerId, day, pageable));
+    }
+
     @PutMapping("/{encounterId}/start")
     @Operation(summary = "Start encounter", description = "Changes encounter status to IN_PROGRESS")
     public ResponseEntity<EncounterResponse> startEncounter(
@@ -103,4 +244,60 @@ public class EncounterController {
         EncounterResponse response = encounterService.completeEncounter(encounterId);
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping(value = "/status-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream status transitions", description = "Server-Sent Events stream of encounter start/complete/no-show transitions from all instances, optionally filtered by practitioner or patient")
+    public ResponseEntity<SseEmitter> streamStatusChanges(
+            @Parameter(description = "Practitioner ID") @RequestParam(required = false) UUID practitionerId,
+            @Parameter(description = "Patient ID") @RequestParam(required = false) UUID patientId) {
+
+        SseEmitter emitter = new SseEmitter(statusStreamTimeoutMs);
+        EncounterStatusStreamService.Subscription subscription = statusStreamService.subscribe(
+                practitionerId, patientId, new SseStatusSink(emitter));
+
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> subscription.cancel());
+
+        // Reverse Proxies (z.B. nginx) sollen den Stream nicht puffern
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")
+                .header("Cache-Control", "no-cache")
+                .body(emitter);
+    }
+
+    private static class SseStatusSink implements EncounterStatusStreamService.StatusSink {
+
+        private final SseEmitter emitter;
+
+        SseStatusSink(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void send(EncounterStatusEvent event) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .name("status")
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+        }
+
+        @Override
+        public void resync() throws IOException {
+            emitter.send(SseEmitter.event().name("resync").data("buffer overflow"));
+        }
+
+        @Override
+        public void close() {
+            try {
+                emitter.complete();
+            } catch (IllegalStateException ex) {
+                // bereits abgeschlossen
+            }
+        }
+    }
 }
@@ -0,0 +1,60 @@
+package de.his.encounter.presentation.controller;
+
+import de.his.encounter.application.dto.EncounterStatisticBucket;
+import de.his.encounter.application.dto.EncounterStatisticsResponse;
+import de.his.encounter.application.service.EncounterStatisticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/encounters/statistics")
+@Tag(name = "Encounter Statistics", description = "Pre-aggregated encounter statistics")
+public class EncounterStatisticsController {
+
+    private static final int DEFAULT_RANGE_DAYS = 30;
+
+    private final EncounterStatisticsService statisticsService;
+
+    public EncounterStatisticsController(EncounterStatisticsService statisticsService) {
+        this.statisticsService = statisticsService;
+    }
+
+    @GetMapping("/patient/{patientId}")
+    @Operation(summary = "Get patient statistics", description = "Encounter counts of a patient by type, status and billing context")
+    public ResponseEntity<EncounterStatisticsResponse> getPatientStatistics(
+            @Parameter(description = "Patient ID") @PathVariable UUID patientId) {
+
+        return ResponseEntity.ok(statisticsService.getPatientStatistics(patientId));
+    }
+
+    @GetMapping("/practitioner/{practitionerId}")
+    @Operation(summary = "Get practitioner statistics", description = "Encounter counts of a practitioner in a date range (default: last 30 days)")
+    public ResponseEntity<EncounterStatisticsResponse> getPractitionerStatistics(
+            @Parameter(description = "Practitioner ID") @PathVariable UUID practitionerId,
+            @RequestParam(required = false) LocalDate fromDate,
+            @RequestParam(required = false) LocalDate toDate) {
+
+        LocalDate to = toDate != null ? toDate : LocalDate.now();
+        LocalDate from = fromDate != null ? fromDate : to.minusDays(DEFAULT_RANGE_DAYS);
+        return ResponseEntity.ok(statisticsService.getPractitionerStatistics(practitionerId, from, to));
+    }
+
+    @GetMapping("/daily")
+    @Operation(summary = "Get daily statistics", description = "Encounter counts per day, type, billing context and status (default: last 30 days)")
+    public ResponseEntity<List<EncounterStatisticBucket>> getDailyStatistics(
+            @RequestParam(required = false) LocalDate fromDate,
+            @RequestParam(required = false) LocalDate toDate,
+            @Parameter(description = "Optional practitioner filter") @RequestParam(required = false) UUID practitionerId) {
+
+        LocalDate to = toDate != null ? toDate : LocalDate.now();
+        LocalDate from = fromDate != null ? fromDate : to.minusDays(DEFAULT_RANGE_DAYS);
+        return ResponseEntity.ok(statisticsService.getDailyStatistics(from, to, practitionerId));
+    }
+}
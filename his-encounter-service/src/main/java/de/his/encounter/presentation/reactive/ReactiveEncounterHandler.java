@@ -0,0 +1,178 @@
+package de.his.encounter.presentation.reactive;
+
+import de.his.encounter.application.service.ReactiveEncounterReadService;
+import de.his.encounter.infrastructure.exception.BusinessRuleViolationException;
+import de.his.encounter.infrastructure.exception.EncounterNotFoundException;
+import de.his.encounter.infrastructure.exception.GlobalExceptionHandler;
+import de.his.encounter.infrastructure.exception.InvalidPaginationParameterException;
+import de.his.encounter.infrastructure.exception.UnauthorizedEncounterAccessException;
+import de.his.encounter.infrastructure.security.CareAccessContext;
+import de.his.encounter.infrastructure.security.CareAccessFilter;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Reaktive Variante von {@code GET /api/v1/encounters/{id}} und
+ * {@code GET /api/v1/encounters/patient/{patientId}} (gleiche Parameter und Antworten wie der
+ * EncounterController). Fehler werden explizit auf die Handler des {@link GlobalExceptionHandler}
+ * abgebildet, damit Status und Fehlerformat mit dem MVC-Pfad übereinstimmen.
+ */
+public class ReactiveEncounterHandler {
+
+    private static final String UUID_PATTERN = "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}";
+
+    private final ReactiveEncounterReadService readService;
+    private final GlobalExceptionHandler exceptionHandler;
+
+    public ReactiveEncounterHandler(ReactiveEncounterReadService readService,
+            GlobalExceptionHandler exceptionHandler) {
+        this.readService = readService;
+        this.exceptionHandler = exceptionHandler;
+    }
+
+    public RouterFunction<ServerResponse> routes() {
+        // defer: Parameterfehler aus den Handlern landen so ebenfalls in onError
+        return RouterFunctions.route()
+                .GET("/api/v1/encounters/patient/{patientId:" + UUID_PATTERN + "}",
+                        request -> Mono.defer(() -> getPatientEncounters(request)))
+                .GET("/api/v1/encounters/{encounterId:" + UUID_PATTERN + "}",
+                        request -> Mono.defer(() -> getEncounter(request)))
+                .filter(this::withCareAccess)
+                .onError(Throwable.class, this::errorResponse)
+                .build();
+    }
+
+    private Mono<ServerResponse> getEncounter(ServerRequest request) {
+        UUID encounterId = UUID.fromString(request.pathVariable("encounterId"));
+        boolean includeContent = Boolean.parseBoolean(request.queryParam("includeContent").orElse("false"));
+        return readService.getEncounter(encounterId, includeContent)
+                .flatMap(encounter -> ServerResponse.ok().contentType(responseType(request)).bodyValue(encounter));
+    }
+
+    private Mono<ServerResponse> getPatientEncounters(ServerRequest request) {
+        UUID patientId = UUID.fromString(request.pathVariable("patientId"));
+        int page = intParam(request, "page", 0);
+        int size = intParam(request, "size", 20);
+        if (page < 0) {
+            throw new InvalidPaginationParameterException("page", page);
+        }
+        if (size <= 0) {
+            throw new InvalidPaginationParameterException("size", size);
+        }
+        // Zeitraum nur, wenn beide Grenzen gesetzt sind (wie im EncounterController)
+        LocalDateTime fromDate = dateParam(request, "fromDate");
+        LocalDateTime toDate = dateParam(request, "toDate");
+        if (fromDate == null || toDate == null) {
+            fromDate = null;
+            toDate = null;
+        }
+        return readService.getPatientEncounters(patientId, fromDate, toDate, PageRequest.of(page, size))
+                .flatMap(encounters -> ServerResponse.ok().contentType(responseType(request)).bodyValue(encounters));
+    }
+
+    // Gegenstück zum CareAccessFilter: Auflage aus den Gateway-Headern in den Reactor-Context
+    private Mono<ServerResponse> withCareAccess(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        String obligations = request.headers().firstHeader(CareAccessFilter.OBLIGATIONS_HEADER);
+        if (!CareAccessFilter.requiresRelationship(obligations)) {
+            return next.handle(request);
+        }
+        CareAccessContext.CareAccess access = new CareAccessContext.CareAccess(
+                CareAccessFilter.practitionerId(request.headers().firstHeader(CareAccessFilter.PRACTITIONER_HEADER)));
+        return next.handle(request).contextWrite(context -> context.put(CareAccessContext.REACTOR_KEY, access));
+    }
+
+    private Mono<ServerResponse> errorResponse(Throwable error, ServerRequest request) {
+        ResponseEntity<GlobalExceptionHandler.ErrorResponse> response = toErrorResponse(error);
+        if (response == null) {
+            return Mono.error(error);
+        }
+        return ServerResponse.status(response.getStatusCode())
+                .headers(headers -> headers.addAll(response.getHeaders()))
+                .contentType(responseType(request))
+                .bodyValue(response.getBody());
+    }
+
+    /**
+     * Fehler der beiden Lesepfade, gleiche Status und Codes wie im MVC-Pfad. R2DBC-Fehler (auch
+     * ausgeschöpfter Pool) sind RuntimeExceptions, Fehler des blockierenden JPA-Pfads
+     * (Cold Storage, Content Store, Beziehungsprüfung vor dem Indexaufbau) Spring-DAO-Exceptions.
+     */
+    private ResponseEntity<GlobalExceptionHandler.ErrorResponse> toErrorResponse(Throwable error) {
+        return switch (error) {
+            case ServerWebInputException ex -> new ResponseEntity<>(new GlobalExceptionHandler.ErrorResponse(
+                    "TYPE_MISMATCH", ex.getReason(), LocalDateTime.now()), HttpStatus.BAD_REQUEST);
+            case EncounterNotFoundException ex -> exceptionHandler.handleEncounterNotFound(ex);
+            case UnauthorizedEncounterAccessException ex -> exceptionHandler.handleUnauthorizedEncounterAccess(ex);
+            case InvalidPaginationParameterException ex -> exceptionHandler.handleInvalidPagination(ex);
+            case BusinessRuleViolationException ex -> exceptionHandler.handleBusinessRuleViolation(ex);
+            case CannotCreateTransactionException ex -> exceptionHandler.handleCannotCreateTransaction(ex);
+            case DataAccessException ex -> exceptionHandler.handleDataAccessException(ex);
+            case TimeoutException ex -> exceptionHandler.handleTimeout(ex);
+            case RuntimeException ex -> exceptionHandler.handleRuntimeException(ex);
+            case Exception ex -> exceptionHandler.handleGenericError(ex);
+            default -> null;
+        };
+    }
+
+    /**
+     * Funktionale Endpunkte wählen den Writer nach Content-Type, nicht nach Accept: CBOR nur, wenn
+     * der Client es höher gewichtet als JSON (Accept des PatientClient-Musters), sonst JSON.
+     */
+    private MediaType responseType(ServerRequest request) {
+        List<MediaType> accepted = request.headers().accept();
+        return quality(accepted, MediaType.APPLICATION_CBOR) > quality(accepted, MediaType.APPLICATION_JSON)
+                ? MediaType.APPLICATION_CBOR
+                : MediaType.APPLICATION_JSON;
+    }
+
+    private double quality(List<MediaType> accepted, MediaType mediaType) {
+        double quality = accepted.isEmpty() ? 1.0 : 0.0;
+        for (MediaType candidate : accepted) {
+            if (candidate.includes(mediaType)) {
+                quality = Math.max(quality, candidate.getQualityValue());
+            }
+        }
+        return quality;
+    }
+
+    private int intParam(ServerRequest request, String name, int defaultValue) {
+        String value = request.queryParam(name).orElse(null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException ex) {
+            throw new ServerWebInputException("Invalid value '" + value + "' for parameter '" + name + "'");
+        }
+    }
+
+    private LocalDateTime dateParam(ServerRequest request, String name) {
+        String value = request.queryParam(name).orElse(null);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw new ServerWebInputException("Invalid value '" + value + "' for parameter '" + name + "'");
+        }
+    }
+}
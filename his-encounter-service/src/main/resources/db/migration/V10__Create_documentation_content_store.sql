@@ -0,0 +1,36 @@
+-- Content Store für Dokumentationstexte: inhaltsadressiert (SHA-256 der UTF-8-Bytes),
+-- damit Vorlagen und fortgeschriebene Notizen nur einmal gespeichert werden.
+-- Die Anwendung komprimiert mit Zstandard; Bestandsdaten werden unkomprimiert übernommen.
+CREATE TABLE his_encounter.documentation_contents (
+    content_hash VARCHAR(64) PRIMARY KEY,
+    compression VARCHAR(10) NOT NULL,
+    original_size INTEGER NOT NULL,
+    body BYTEA NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    -- bei jeder Wiederverwendung aktualisiert; Aufräumen erst nach Karenzzeit
+    last_referenced_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Bereits komprimiert: TOAST nicht erneut komprimieren lassen
+ALTER TABLE his_encounter.documentation_contents ALTER COLUMN body SET STORAGE EXTERNAL;
+
+ALTER TABLE his_encounter.encounter_documentation
+    ADD COLUMN content_hash VARCHAR(64),
+    ADD COLUMN content_size INTEGER;
+
+INSERT INTO his_encounter.documentation_contents (content_hash, compression, original_size, body)
+SELECT encode(sha256(body), 'hex'), 'NONE', octet_length(body), body
+FROM (
+    SELECT DISTINCT convert_to(content, 'UTF8') AS body FROM his_encounter.encounter_documentation
+    WHERE content IS NOT NULL
+) contents
+ON CONFLICT (content_hash) DO NOTHING;
+
+UPDATE his_encounter.encounter_documentation
+SET content_hash = encode(sha256(convert_to(content, 'UTF8')), 'hex'),
+    content_size = octet_length(convert_to(content, 'UTF8'))
+WHERE content IS NOT NULL;
+
+ALTER TABLE his_encounter.encounter_documentation DROP COLUMN content;
+
+CREATE INDEX idx_documentation_content_hash ON his_encounter.encounter_documentation(content_hash);
@@ -0,0 +1,7 @@
+-- Große Dokumentationsinhalte (Diktate, importierte Arztbriefe) liegen als Datei im
+-- Content Store und werden von dort gestreamt; die Zeile hält nur Hash und Größe.
+ALTER TABLE his_encounter.documentation_contents
+    ADD COLUMN storage VARCHAR(10) NOT NULL DEFAULT 'DATABASE';
+
+ALTER TABLE his_encounter.documentation_contents
+    ADD CONSTRAINT chk_documentation_contents_storage CHECK (storage IN ('DATABASE', 'FILE'));
@@ -0,0 +1,19 @@
+-- Volltextsuche über Dokumentationstexte (Konfiguration 'german': Stemming, Stoppwörter).
+-- Der Text liegt seit V10 im Content Store, daher keine generierte Spalte: die Anwendung
+-- pflegt search_vector beim Anlegen (addDocumentation) und holt Fehlendes per Job nach.
+ALTER TABLE his_encounter.encounter_documentation ADD COLUMN search_vector tsvector;
+
+-- Bestandsdaten aus V10 liegen unkomprimiert vor; Zstd- und Datei-Inhalte übernimmt der Job
+UPDATE his_encounter.encounter_documentation d
+SET search_vector = to_tsvector('german', convert_from(substring(c.body FROM 1 FOR 262144), 'UTF8'))
+FROM his_encounter.documentation_contents c
+WHERE c.content_hash = d.content_hash
+  AND c.storage = 'DATABASE' AND c.compression = 'NONE'
+  AND c.original_size <= 262144;
+
+CREATE INDEX idx_documentation_search_vector ON his_encounter.encounter_documentation
+    USING GIN (search_vector);
+
+-- Nachholen durch DocumentationSearchIndexJob, bleibt im Normalbetrieb nahezu leer
+CREATE INDEX idx_documentation_search_pending ON his_encounter.encounter_documentation (content_hash)
+    WHERE search_vector IS NULL AND content_hash IS NOT NULL;
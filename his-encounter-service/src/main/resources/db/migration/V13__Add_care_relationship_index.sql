@@ -0,0 +1,4 @@
+-- Behandlungsbeziehungen (CareRelationshipIndex): Laden per Keyset über (practitioner_id, patient_id)
+-- und Einzelprüfung vor dem Aufbau, beides als Index-Only-Scan
+CREATE INDEX idx_encounters_practitioner_patient
+    ON his_encounter.encounters(practitioner_id, patient_id);
@@ -0,0 +1,98 @@
+-- Eindeutige encounter_id trotz Partitionierung (V8: PK ist (encounter_id, encounter_date))
+--
+-- his_encounter.encounter_ids führt jede Encounter-ID genau einmal; Trigger auf der partitionierten
+-- Tabelle halten sie aktuell. Eine doppelte ID in einem anderen Monat scheitert am Primärschlüssel
+-- der Registry, und die Dokumentation referenziert wieder per Fremdschlüssel.
+
+CREATE TABLE his_encounter.encounter_ids (
+    encounter_id UUID PRIMARY KEY
+);
+
+INSERT INTO his_encounter.encounter_ids (encounter_id)
+SELECT encounter_id FROM his_encounter.encounters;
+
+CREATE OR REPLACE FUNCTION his_encounter.register_encounter_id()
+RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO his_encounter.encounter_ids (encounter_id) VALUES (NEW.encounter_id);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION his_encounter.unregister_encounter_id()
+RETURNS TRIGGER AS $$
+BEGIN
+    DELETE FROM his_encounter.encounter_ids WHERE encounter_id = OLD.encounter_id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Ein Update von encounter_date über eine Monatsgrenze wird als DELETE + INSERT ausgeführt und
+-- feuert beide Trigger; IDs selbst werden nicht geändert
+CREATE TRIGGER register_encounter_id
+    AFTER INSERT ON his_encounter.encounters
+    FOR EACH ROW EXECUTE FUNCTION his_encounter.register_encounter_id();
+
+CREATE TRIGGER unregister_encounter_id
+    AFTER DELETE ON his_encounter.encounters
+    FOR EACH ROW EXECUTE FUNCTION his_encounter.unregister_encounter_id();
+
+-- Dokumentation, deren Encounter seit V8 ohne Fremdschlüssel gelöscht wurde, nicht verwerfen,
+-- sondern zur Prüfung beiseitelegen
+CREATE TABLE his_encounter.orphaned_encounter_documentation
+    (LIKE his_encounter.encounter_documentation INCLUDING DEFAULTS);
+
+WITH orphaned AS (
+    DELETE FROM his_encounter.encounter_documentation d
+    WHERE NOT EXISTS (SELECT 1 FROM his_encounter.encounter_ids r WHERE r.encounter_id = d.encounter_id)
+    RETURNING d.*
+)
+INSERT INTO his_encounter.orphaned_encounter_documentation SELECT * FROM orphaned;
+
+-- Zurückgestellt bis Commit: beim Partitionswechsel fehlt der Registry-Eintrag kurzzeitig.
+-- Kein ON DELETE CASCADE (nicht zurückstellbar); Dokumentation löschen JPA-Kaskade bzw. Archivierung.
+ALTER TABLE his_encounter.encounter_documentation
+    ADD CONSTRAINT fk_encounter_documentation_encounter
+    FOREIGN KEY (encounter_id) REFERENCES his_encounter.encounter_ids(encounter_id)
+    DEFERRABLE INITIALLY DEFERRED;
+
+-- Partitionsanlage verschiebt Zeilen direkt aus der Default-Partition in eine noch nicht
+-- angehängte Tabelle; deren IDs danach wieder registrieren
+CREATE OR REPLACE FUNCTION his_encounter.create_encounter_partitions(from_date DATE, to_date DATE)
+RETURNS INTEGER AS $$
+DECLARE
+    month_start DATE := date_trunc('month', from_date)::DATE;
+    month_end DATE;
+    partition_name TEXT;
+    created INTEGER := 0;
+BEGIN
+    WHILE month_start <= to_date LOOP
+        month_end := (month_start + INTERVAL '1 month')::DATE;
+        partition_name := 'encounters_' || to_char(month_start, 'YYYY_MM');
+
+        IF to_regclass('his_encounter.' || partition_name) IS NULL THEN
+            IF EXISTS (SELECT 1 FROM his_encounter.encounters_default
+                       WHERE encounter_date >= month_start AND encounter_date < month_end) THEN
+                EXECUTE format('CREATE TABLE his_encounter.%I (LIKE his_encounter.encounters INCLUDING DEFAULTS)',
+                        partition_name);
+                EXECUTE format('WITH moved AS (DELETE FROM his_encounter.encounters_default '
+                        || 'WHERE encounter_date >= %L AND encounter_date < %L RETURNING *) '
+                        || 'INSERT INTO his_encounter.%I SELECT * FROM moved',
+                        month_start, month_end, partition_name);
+                EXECUTE format('INSERT INTO his_encounter.encounter_ids (encounter_id) '
+                        || 'SELECT encounter_id FROM his_encounter.%I', partition_name);
+                EXECUTE format('ALTER TABLE his_encounter.encounters ATTACH PARTITION his_encounter.%I '
+                        || 'FOR VALUES FROM (%L) TO (%L)', partition_name, month_start, month_end);
+            ELSE
+                EXECUTE format('CREATE TABLE his_encounter.%I PARTITION OF his_encounter.encounters '
+                        || 'FOR VALUES FROM (%L) TO (%L)', partition_name, month_start, month_end);
+            END IF;
+            created := created + 1;
+        END IF;
+
+        month_start := month_end;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
@@ -0,0 +1,4 @@
+-- Behandlungsbeziehungen auch aus dem Cold-Storage-Katalog (V9): Laden des CareRelationshipIndex
+-- und Beziehungsprüfung in der Arbeitsliste, analog zu idx_encounters_practitioner_patient (V13)
+CREATE INDEX idx_archived_encounters_practitioner_patient
+    ON his_encounter.archived_encounters(practitioner_id, patient_id);
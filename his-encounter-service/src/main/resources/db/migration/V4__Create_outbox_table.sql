@@ -0,0 +1,17 @@
+-- Transactional Outbox: wird in derselben Transaktion wie die Encounter-Änderung geschrieben
+CREATE TABLE his_encounter.outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_type VARCHAR(50) NOT NULL,
+    aggregate_id UUID NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    -- Vom Relay vergeben: lückenlose, commit-sichere Reihenfolge für den Change-Feed
+    position BIGINT UNIQUE,
+    published_at TIMESTAMP NULL
+);
+
+-- Indizes
+CREATE INDEX idx_outbox_events_unpublished ON his_encounter.outbox_events(id) WHERE position IS NULL;
+CREATE INDEX idx_outbox_events_published_at ON his_encounter.outbox_events(published_at);
@@ -0,0 +1,6 @@
+-- Arbeitsliste je Behandler: Gleichheit auf practitioner_id/status, Bereich + Sortierung auf encounter_date
+CREATE INDEX idx_encounters_practitioner_status_date
+    ON his_encounter.encounters(practitioner_id, status, encounter_date);
+
+-- Einspaltiger Index ist Präfix des neuen Index und damit redundant
+DROP INDEX IF EXISTS his_encounter.idx_encounters_practitioner;
@@ -0,0 +1,12 @@
+-- Einzel-Ausführung geplanter Jobs über mehrere Instanzen (ShedLock-kompatibles Schema)
+CREATE TABLE his_encounter.scheduler_locks (
+    name VARCHAR(64) PRIMARY KEY,
+    lock_until TIMESTAMP NOT NULL,
+    locked_at TIMESTAMP NOT NULL,
+    locked_by VARCHAR(255) NOT NULL
+);
+
+-- Housekeeping NO_SHOW: Keyset über encounter_id, nur noch offene PLANNED-Einträge im Index
+CREATE INDEX idx_encounters_planned_keyset
+    ON his_encounter.encounters(encounter_id, encounter_date)
+    WHERE status = 'PLANNED';
@@ -0,0 +1,42 @@
+-- Voraggregierte Encounter-Statistiken, inkrementell gepflegt und nachts abgeglichen
+
+-- Je Tag/Behandler/Typ/Abrechnungskontext/Status
+CREATE TABLE his_encounter.encounter_stats_daily (
+    id BIGSERIAL PRIMARY KEY,
+    stat_date DATE NOT NULL,
+    practitioner_id UUID NOT NULL,
+    encounter_type VARCHAR(50) NOT NULL,
+    billing_context VARCHAR(50),
+    status VARCHAR(50) NOT NULL,
+    encounter_count BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_encounter_stats_daily
+        UNIQUE NULLS NOT DISTINCT (stat_date, practitioner_id, encounter_type, billing_context, status)
+);
+
+CREATE INDEX idx_encounter_stats_daily_practitioner
+    ON his_encounter.encounter_stats_daily(practitioner_id, stat_date);
+
+-- Je Patient/Typ/Abrechnungskontext/Status
+CREATE TABLE his_encounter.encounter_stats_patient (
+    id BIGSERIAL PRIMARY KEY,
+    patient_id UUID NOT NULL,
+    encounter_type VARCHAR(50) NOT NULL,
+    billing_context VARCHAR(50),
+    status VARCHAR(50) NOT NULL,
+    encounter_count BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_encounter_stats_patient
+        UNIQUE NULLS NOT DISTINCT (patient_id, encounter_type, billing_context, status)
+);
+
+-- Initialer Bestand
+INSERT INTO his_encounter.encounter_stats_daily
+    (stat_date, practitioner_id, encounter_type, billing_context, status, encounter_count)
+SELECT CAST(encounter_date AS DATE), practitioner_id, encounter_type, billing_context, status, COUNT(*)
+FROM his_encounter.encounters
+GROUP BY CAST(encounter_date AS DATE), practitioner_id, encounter_type, billing_context, status;
+
+INSERT INTO his_encounter.encounter_stats_patient
+    (patient_id, encounter_type, billing_context, status, encounter_count)
+SELECT patient_id, encounter_type, billing_context, status, COUNT(*)
+FROM his_encounter.encounters
+GROUP BY patient_id, encounter_type, billing_context, status;
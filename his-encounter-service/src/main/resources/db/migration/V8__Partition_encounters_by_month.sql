@@ -0,0 +1,98 @@
+-- Encounters monatlich nach encounter_date partitionieren (Range Partitioning)
+--
+-- Der Primärschlüssel muss den Partitionsschlüssel enthalten: (encounter_id, encounter_date).
+-- Damit ist encounter_id nicht mehr allein eindeutig referenzierbar; der Fremdschlüssel der
+-- Dokumentation zeigt ab V14 auf die ID-Registry his_encounter.encounter_ids.
+
+-- Legt fehlende Monatspartitionen für [from_date, to_date] an. Liegen bereits Zeilen des Monats
+-- in der Default-Partition, werden sie in die neue Partition verschoben und diese angehängt.
+CREATE OR REPLACE FUNCTION his_encounter.create_encounter_partitions(from_date DATE, to_date DATE)
+RETURNS INTEGER AS $$
+DECLARE
+    month_start DATE := date_trunc('month', from_date)::DATE;
+    month_end DATE;
+    partition_name TEXT;
+    created INTEGER := 0;
+BEGIN
+    WHILE month_start <= to_date LOOP
+        month_end := (month_start + INTERVAL '1 month')::DATE;
+        partition_name := 'encounters_' || to_char(month_start, 'YYYY_MM');
+
+        IF to_regclass('his_encounter.' || partition_name) IS NULL THEN
+            IF EXISTS (SELECT 1 FROM his_encounter.encounters_default
+                       WHERE encounter_date >= month_start AND encounter_date < month_end) THEN
+                EXECUTE format('CREATE TABLE his_encounter.%I (LIKE his_encounter.encounters INCLUDING DEFAULTS)',
+                        partition_name);
+                EXECUTE format('WITH moved AS (DELETE FROM his_encounter.encounters_default '
+                        || 'WHERE encounter_date >= %L AND encounter_date < %L RETURNING *) '
+                        || 'INSERT INTO his_encounter.%I SELECT * FROM moved',
+                        month_start, month_end, partition_name);
+                EXECUTE format('ALTER TABLE his_encounter.encounters ATTACH PARTITION his_encounter.%I '
+                        || 'FOR VALUES FROM (%L) TO (%L)', partition_name, month_start, month_end);
+            ELSE
+                EXECUTE format('CREATE TABLE his_encounter.%I PARTITION OF his_encounter.encounters '
+                        || 'FOR VALUES FROM (%L) TO (%L)', partition_name, month_start, month_end);
+            END IF;
+            created := created + 1;
+        END IF;
+
+        month_start := month_end;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Bestand umkopieren
+ALTER TABLE his_encounter.encounter_documentation
+    DROP CONSTRAINT IF EXISTS encounter_documentation_encounter_id_fkey;
+
+ALTER TABLE his_encounter.encounters RENAME TO encounters_unpartitioned;
+
+CREATE TABLE his_encounter.encounters (
+    encounter_id UUID NOT NULL DEFAULT gen_random_uuid(),
+    patient_id UUID NOT NULL,
+    practitioner_id UUID NOT NULL,
+    encounter_type VARCHAR(50) NOT NULL,
+    encounter_date TIMESTAMP NOT NULL,
+    status VARCHAR(50) NOT NULL DEFAULT 'PLANNED',
+    billing_context VARCHAR(50),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0
+) PARTITION BY RANGE (encounter_date);
+
+-- Auffangpartition für Daten außerhalb der angelegten Monate
+CREATE TABLE his_encounter.encounters_default PARTITION OF his_encounter.encounters DEFAULT;
+
+-- Vom ältesten Bestand bis 12 Monate in die Zukunft (Termine max. 1 Jahr im Voraus). Untergrenze
+-- höchstens 24 Monate zurück (Cold Storage, his.archive.archive-after-months): ein einzelner
+-- Altdatensatz (z. B. Tippfehler im Jahr) soll keine hunderte leere Partitionen erzeugen;
+-- ältere Zeilen landen in der Default-Partition.
+SELECT his_encounter.create_encounter_partitions(
+        GREATEST(
+            COALESCE((SELECT MIN(encounter_date)::DATE FROM his_encounter.encounters_unpartitioned), CURRENT_DATE),
+            (date_trunc('month', CURRENT_DATE) - INTERVAL '24 months')::DATE),
+        (CURRENT_DATE + INTERVAL '12 months')::DATE);
+
+INSERT INTO his_encounter.encounters
+SELECT encounter_id, patient_id, practitioner_id, encounter_type, encounter_date, status,
+       billing_context, created_at, updated_at, version
+FROM his_encounter.encounters_unpartitioned;
+
+DROP TABLE his_encounter.encounters_unpartitioned;
+
+-- Partitionierte Indizes (werden auf alle Partitionen übertragen, auch auf künftige)
+ALTER TABLE his_encounter.encounters ADD CONSTRAINT encounters_pkey PRIMARY KEY (encounter_id, encounter_date);
+
+CREATE INDEX idx_encounters_patient_date ON his_encounter.encounters(patient_id, encounter_date DESC);
+CREATE INDEX idx_encounters_status ON his_encounter.encounters(status);
+CREATE INDEX idx_encounters_date ON his_encounter.encounters(encounter_date);
+CREATE INDEX idx_encounters_practitioner_status_date
+    ON his_encounter.encounters(practitioner_id, status, encounter_date);
+CREATE INDEX idx_encounters_planned_keyset
+    ON his_encounter.encounters(encounter_id, encounter_date)
+    WHERE status = 'PLANNED';
+
+CREATE TRIGGER update_encounters_updated_at
+    BEFORE UPDATE ON his_encounter.encounters
+    FOR EACH ROW EXECUTE FUNCTION his_encounter.update_updated_at_column();
@@ -0,0 +1,18 @@
+-- Cold Storage: abgeschlossene Encounters samt Dokumentation liegen in Segmentdateien
+-- (his.archive.directory). Der Katalog hält nur die Stammdaten für Statistik-Abgleich
+-- und Wiederanlauf; gelesen wird über die Indizes der Segmente.
+CREATE TABLE his_encounter.archived_encounters (
+    encounter_id UUID PRIMARY KEY,
+    patient_id UUID NOT NULL,
+    practitioner_id UUID NOT NULL,
+    encounter_type VARCHAR(50) NOT NULL,
+    encounter_date TIMESTAMP NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    billing_context VARCHAR(50),
+    segment_name VARCHAR(100) NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_archived_encounters_patient ON his_encounter.archived_encounters(patient_id);
+CREATE INDEX idx_archived_encounters_date ON his_encounter.archived_encounters(encounter_date);
+CREATE INDEX idx_archived_encounters_segment ON his_encounter.archived_encounters(segment_name);
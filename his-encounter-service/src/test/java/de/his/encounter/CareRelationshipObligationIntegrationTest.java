@@ -0,0 +1,188 @@
+package de.his.encounter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.his.encounter.application.dto.CreateEncounterRequest;
+import de.his.encounter.application.dto.EncounterResponse;
+import de.his.encounter.application.dto.StructuredSearchRequest;
+import de.his.encounter.application.service.EncounterService;
+import de.his.encounter.domain.model.BillingContext;
+import de.his.encounter.domain.model.ContentType;
+import de.his.encounter.domain.model.EncounterDocumentation;
+import de.his.encounter.domain.model.EncounterStatus;
+import de.his.encounter.domain.model.EncounterType;
+import de.his.encounter.domain.model.SOAPSection;
+import de.his.encounter.domain.repository.EncounterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Auflage TREATING_RELATIONSHIP aus den Gateway-Headern auf Suche, Statistik und Schreibpfaden.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class CareRelationshipObligationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EncounterService encounterService;
+
+    @Autowired
+    private EncounterRepository encounterRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID practitionerId;
+    private UUID caller;
+    private UUID treatedPatient;
+    private UUID foreignPatient;
+    private LocalDateTime encounterDate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Behandler mit zwei Patienten; der Aufrufer behandelt nur einen davon
+        practitionerId = UUID.randomUUID();
+        caller = UUID.randomUUID();
+        treatedPatient = UUID.randomUUID();
+        foreignPatient = UUID.randomUUID();
+        encounterDate = LocalDateTime.now().plusDays(1).withHour(9).withNano(0);
+        createEncounter(treatedPatient, caller, encounterDate.minusHours(2));
+    }
+
+    @Test
+    void shouldRestrictDocumentationSearchToTreatedPatients() throws Exception {
+        // Given
+        UUID treatedEncounter = createEncounter(treatedPatient, practitionerId, encounterDate);
+        UUID foreignEncounter = createEncounter(foreignPatient, practitionerId, encounterDate.plusHours(1));
+        addNote(treatedEncounter, "Verdacht auf Pneumonie.");
+        addNote(foreignEncounter, "Pneumonie ausgeschlossen.");
+
+        // When & Then
+        mockMvc.perform(withObligation(get("/api/v1/encounters/search/documentation")
+                .param("q", "Pneumonie")
+                .param("practitionerId", practitionerId.toString())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(1))
+                .andExpect(jsonPath("$.results[0].patientId").value(treatedPatient.toString()));
+
+        // Then - ohne Auflage beide Treffer
+        mockMvc.perform(get("/api/v1/encounters/search/documentation")
+                .param("q", "Pneumonie")
+                .param("practitionerId", practitionerId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(2));
+    }
+
+    @Test
+    void shouldRestrictStructuredSearchToTreatedPatients() throws Exception {
+        // Given - eindeutiger Code, damit Bestandsdaten nicht mitzählen
+        String code = "U" + UUID.randomUUID().toString().substring(0, 8);
+        UUID treatedEncounter = createEncounter(treatedPatient, practitionerId, encounterDate);
+        UUID foreignEncounter = createEncounter(foreignPatient, practitionerId, encounterDate.plusHours(1));
+        insertStructuredDocumentation(treatedEncounter, code);
+        insertStructuredDocumentation(foreignEncounter, code);
+        String request = objectMapper.writeValueAsString(new StructuredSearchRequest(SOAPSection.ASSESSMENT,
+                objectMapper.readTree("{\"diagnoses\": [{\"icd10\": \"" + code + "\"}]}"), null, null, 10));
+
+        // When & Then
+        mockMvc.perform(withObligation(post("/api/v1/encounters/search/structured")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(1))
+                .andExpect(jsonPath("$.results[0].id").value(treatedEncounter.toString()));
+    }
+
+    @Test
+    void shouldRejectPatientStatisticsWithoutRelationship() throws Exception {
+        // Given
+        createEncounter(foreignPatient, practitionerId, encounterDate);
+
+        // When & Then
+        mockMvc.perform(withObligation(get("/api/v1/encounters/statistics/patient/{patientId}", foreignPatient)))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.code").value("UNAUTHORIZED_ENCOUNTER_ACCESS"));
+
+        mockMvc.perform(get("/api/v1/encounters/statistics/patient/{patientId}", foreignPatient))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldRejectWritesWithoutRelationship() throws Exception {
+        // Given
+        UUID encounterId = createEncounter(foreignPatient, practitionerId, encounterDate);
+
+        // When & Then
+        mockMvc.perform(withObligation(put("/api/v1/encounters/{id}/start", encounterId)))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.code").value("UNAUTHORIZED_ENCOUNTER_ACCESS"));
+        mockMvc.perform(withObligation(put("/api/v1/encounters/{id}/complete", encounterId)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(withObligation(post("/api/v1/encounters/{id}/documentation", encounterId)
+                .param("soapSection", "SUBJECTIVE")
+                .param("authorId", caller.toString())
+                .contentType(MediaType.TEXT_PLAIN)
+                .content("Fremder Befund")))
+                .andExpect(status().isForbidden());
+
+        // Then - Encounter unverändert
+        assertThat(encounterRepository.findById(encounterId)).get()
+                .satisfies(encounter -> {
+                    assertThat(encounter.getStatus()).isEqualTo(EncounterStatus.PLANNED);
+                    assertThat(encounter.getDocumentation()).isEmpty();
+                });
+    }
+
+    private MockHttpServletRequestBuilder withObligation(MockHttpServletRequestBuilder request) {
+        return request
+                .header("X-Authz-Obligations", "TREATING_RELATIONSHIP")
+                .header("X-Practitioner-Id", caller.toString());
+    }
+
+    private void addNote(UUID encounterId, String text) {
+        encounterService.addDocumentation(encounterId, new EncounterDocumentation(SOAPSection.SUBJECTIVE,
+                ContentType.TEXT, text, practitionerId));
+    }
+
+    private void insertStructuredDocumentation(UUID encounterId, String code) {
+        jdbcTemplate.update("""
+                INSERT INTO his_encounter.encounter_documentation
+                    (encounter_id, soap_section, content_type, structured_content, author_id)
+                VALUES (?, 'ASSESSMENT', 'STRUCTURED_DATA', CAST(? AS jsonb), ?)
+                """, encounterId, "{\"diagnoses\": [{\"icd10\": \"" + code + "\"}]}", practitionerId);
+    }
+
+    private UUID createEncounter(UUID patientId, UUID practitioner, LocalDateTime date) throws Exception {
+        CreateEncounterRequest request = new CreateEncounterRequest(patientId, practitioner,
+                EncounterType.INITIAL, date, BillingContext.GKV);
+        String response = mockMvc.perform(post("/api/v1/encounters")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, EncounterResponse.class).getId();
+    }
+}
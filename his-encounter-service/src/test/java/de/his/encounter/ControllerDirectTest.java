@@ -51,7 +51,7 @@ class ControllerDirectTest {
 
             // When - Retrieve encounter
             System.out.println("🔍 Retrieving encounter via controller: " + encounterId);
-            ResponseEntity<EncounterResponse> getResponse = encounterController.getEncounter(encounterId);
+            ResponseEntity<EncounterResponse> getResponse = encounterController.getEncounter(encounterId, false);
             System.out.println("✅ Controller get response: " + getResponse.getStatusCode());
 
             // Then
@@ -0,0 +1,149 @@
+package de.his.encounter;
+
+import de.his.encounter.application.dto.DocumentationSearchHit;
+import de.his.encounter.application.dto.DocumentationSearchResponse;
+import de.his.encounter.application.service.DocumentationSearchService;
+import de.his.encounter.application.service.EncounterService;
+import de.his.encounter.domain.model.ContentType;
+import de.his.encounter.domain.model.EncounterDocumentation;
+import de.his.encounter.domain.model.SOAPSection;
+import de.his.encounter.infrastructure.service.DocumentationSearchIndexJob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Volltextsuche mit deutschem Stemming über den GIN-Index aus V12 (benötigt PostgreSQL).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DocumentationSearchIT {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EncounterService encounterService;
+
+    @Autowired
+    private DocumentationSearchService searchService;
+
+    @Autowired
+    private DocumentationSearchIndexJob indexJob;
+
+    private UUID patientId;
+    private UUID otherPatientId;
+    private UUID practitionerId;
+
+    @BeforeEach
+    void setUp() {
+        patientId = UUID.randomUUID();
+        otherPatientId = UUID.randomUUID();
+        practitionerId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM his_encounter.encounter_documentation WHERE encounter_id IN "
+                + "(SELECT encounter_id FROM his_encounter.encounters WHERE patient_id IN (?, ?))",
+                patientId, otherPatientId);
+        jdbcTemplate.update("DELETE FROM his_encounter.encounters WHERE patient_id IN (?, ?)",
+                patientId, otherPatientId);
+    }
+
+    @Test
+    void shouldFindStemmedTermsWithinPatientAndHighlightThem() {
+        // Given
+        UUID encounterId = insertEncounter(patientId, LocalDateTime.of(2025, 5, 2, 10, 0));
+        addNote(encounterId, "Patient berichtet über drückenden Thoraxschmerz seit gestern Abend.");
+        addNote(encounterId, "Keine Dyspnoe, kein Fieber.");
+        UUID otherEncounterId = insertEncounter(otherPatientId, LocalDateTime.of(2025, 5, 3, 10, 0));
+        addNote(otherEncounterId, "Thoraxschmerz nach Sturz.");
+
+        // When
+        DocumentationSearchResponse response = searchService.search("Thoraxschmerzen", patientId, null, 0, 20);
+
+        // Then
+        assertThat(response.getResults()).hasSize(1);
+        DocumentationSearchHit hit = response.getResults().get(0);
+        assertThat(hit.getEncounterId()).isEqualTo(encounterId);
+        assertThat(hit.getPatientId()).isEqualTo(patientId);
+        assertThat(hit.getSnippet()).contains("<mark>Thoraxschmerz</mark>");
+        assertThat(hit.getRank()).isPositive();
+        assertThat(response.isHasMore()).isFalse();
+    }
+
+    @Test
+    void shouldSearchByPractitionerAcrossPatients() {
+        // Given
+        addNote(insertEncounter(patientId, LocalDateTime.of(2025, 5, 2, 10, 0)), "Verdacht auf Pneumonie.");
+        addNote(insertEncounter(otherPatientId, LocalDateTime.of(2025, 5, 3, 10, 0)), "Pneumonie ausgeschlossen.");
+
+        // When
+        DocumentationSearchResponse response = searchService.search("Pneumonie", null, practitionerId, 0, 1);
+
+        // Then - gleicher Rang, neuerer Encounter zuerst
+        assertThat(response.getResults()).extracting(DocumentationSearchHit::getPatientId)
+                .containsExactly(otherPatientId);
+        assertThat(response.isHasMore()).isTrue();
+    }
+
+    @Test
+    void shouldBackfillMissingSearchVectors() {
+        // Given - Vektor fehlt, z. B. Bestandsdaten vor V12
+        UUID encounterId = insertEncounter(patientId, LocalDateTime.of(2025, 5, 2, 10, 0));
+        addNote(encounterId, "Rezidivierende Kopfschmerzen, Migräne bekannt.");
+        jdbcTemplate.update("UPDATE his_encounter.encounter_documentation SET search_vector = NULL "
+                + "WHERE encounter_id = ?", encounterId);
+        assertThat(searchService.search("Migräne", patientId, null, 0, 20).getResults()).isEmpty();
+
+        // When
+        indexJob.indexPendingDocumentation();
+
+        // Then
+        assertThat(searchService.search("Migräne", patientId, null, 0, 20).getResults()).hasSize(1);
+    }
+
+    @Test
+    void shouldUseGinIndexForMatching() {
+        List<String> plan = transactionTemplate.execute(status -> {
+            // Testtabelle ist klein, ohne Verbot wählt der Planer den Seq Scan
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            return jdbcTemplate.queryForList("""
+                    EXPLAIN SELECT d.documentation_id FROM his_encounter.encounter_documentation d
+                    WHERE d.search_vector @@ websearch_to_tsquery('german', 'Thoraxschmerzen')
+                    """, String.class);
+        });
+
+        assertThat(String.join("\n", plan)).contains("idx_documentation_search_vector");
+    }
+
+    private void addNote(UUID encounterId, String text) {
+        encounterService.addDocumentation(encounterId, new EncounterDocumentation(SOAPSection.SUBJECTIVE,
+                ContentType.TEXT, text, practitionerId));
+    }
+
+    private UUID insertEncounter(UUID patient, LocalDateTime date) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO his_encounter.encounters
+                    (patient_id, practitioner_id, encounter_type, encounter_date, status, billing_context)
+                VALUES (?, ?, 'FOLLOW_UP', ?, 'IN_PROGRESS', 'GKV')
+                RETURNING encounter_id
+                """, UUID.class, patient, practitionerId, Timestamp.valueOf(date));
+    }
+}
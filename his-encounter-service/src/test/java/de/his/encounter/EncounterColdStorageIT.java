@@ -0,0 +1,131 @@
+package de.his.encounter;
+
+import de.his.encounter.application.dto.EncounterResponse;
+import de.his.encounter.application.dto.EncounterSummary;
+import de.his.encounter.application.service.EncounterService;
+import de.his.encounter.application.service.EncounterStatisticsService;
+import de.his.encounter.infrastructure.service.EncounterArchivalJob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Archivierung alter, abgeschlossener Encounters in den Cold Storage und
+ * transparentes Lesen über EncounterService (benötigt PostgreSQL).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EncounterColdStorageIT {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EncounterArchivalJob archivalJob;
+
+    @Autowired
+    private EncounterService encounterService;
+
+    @Autowired
+    private EncounterStatisticsService statisticsService;
+
+    // eindeutig pro Lauf, damit der Inhalt nur von diesem Test referenziert wird
+    private static final String CONTENT = "Archivierter Befund " + UUID.randomUUID();
+
+    private UUID patientId;
+    private String contentHash;
+    private UUID oldEncounterId;
+    private UUID recentEncounterId;
+
+    @BeforeEach
+    void setUp() {
+        patientId = UUID.randomUUID();
+        oldEncounterId = insertCompletedEncounter(LocalDateTime.now().minusYears(3));
+        recentEncounterId = insertCompletedEncounter(LocalDateTime.now().minusMonths(2));
+        // außerhalb der Karenzzeit, damit der Inhalt beim Archivieren entfernt wird
+        contentHash = jdbcTemplate.queryForObject("""
+                INSERT INTO his_encounter.documentation_contents
+                    (content_hash, compression, original_size, body, last_referenced_at)
+                VALUES (encode(sha256(convert_to(?, 'UTF8')), 'hex'), 'NONE', octet_length(convert_to(?, 'UTF8')),
+                    convert_to(?, 'UTF8'), now() - INTERVAL '2 days')
+                RETURNING content_hash
+                """, String.class, CONTENT, CONTENT, CONTENT);
+        jdbcTemplate.update("""
+                INSERT INTO his_encounter.encounter_documentation
+                    (encounter_id, soap_section, content_type, content_hash, content_size, author_id)
+                VALUES (?, 'ASSESSMENT', 'TEXT', ?, ?, gen_random_uuid())
+                """, oldEncounterId, contentHash, CONTENT.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM his_encounter.encounter_documentation WHERE encounter_id IN "
+                + "(SELECT encounter_id FROM his_encounter.encounters WHERE patient_id = ?)", patientId);
+        jdbcTemplate.update("DELETE FROM his_encounter.encounters WHERE patient_id = ?", patientId);
+        jdbcTemplate.update("DELETE FROM his_encounter.archived_encounters WHERE patient_id = ?", patientId);
+    }
+
+    @Test
+    void shouldMoveOldCompletedEncountersToColdStorageAndReadThemTransparently() throws IOException {
+        // When
+        archivalJob.archiveCompletedEncounters();
+
+        // Then - heiße Tabellen enthalten nur noch den aktuellen Encounter
+        assertThat(jdbcTemplate.queryForList("SELECT encounter_id FROM his_encounter.encounters WHERE patient_id = ?",
+                UUID.class, patientId)).containsExactly(recentEncounterId);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM his_encounter.encounter_documentation WHERE encounter_id = ?",
+                Integer.class, oldEncounterId)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM his_encounter.archived_encounters WHERE encounter_id = ?",
+                Integer.class, oldEncounterId)).isEqualTo(1);
+
+        EncounterResponse archived = encounterService.getEncounter(oldEncounterId);
+        assertThat(archived.getDocumentation()).hasSize(1);
+        assertThat(archived.getDocumentation().get(0).getContent()).isNull();
+        assertThat(archived.getDocumentation().get(0).getContentHash()).isEqualTo(contentHash);
+        assertThat(encounterService.getEncounter(oldEncounterId, true).getDocumentation().get(0).getContent())
+                .isEqualTo(CONTENT);
+        assertThat(encounterService.getDocumentationContent(oldEncounterId,
+                archived.getDocumentation().get(0).getId()).getContent().getContentAsByteArray())
+                .isEqualTo(CONTENT.getBytes(StandardCharsets.UTF_8));
+
+        // Inhalt steht im Segment, der Content Store wurde aufgeräumt
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM his_encounter.documentation_contents WHERE content_hash = ?",
+                Integer.class, contentHash)).isZero();
+
+        Page<EncounterSummary> timeline = encounterService.getPatientEncounters(patientId, PageRequest.of(0, 10));
+        assertThat(timeline.getTotalElements()).isEqualTo(2);
+        assertThat(timeline.getContent()).extracting(EncounterSummary::getId)
+                .containsExactly(recentEncounterId, oldEncounterId);
+
+        // Abgleich zählt archivierte Encounters weiterhin mit
+        statisticsService.reconcilePatients(List.of(patientId));
+        assertThat(statisticsService.getPatientStatistics(patientId).getTotal()).isEqualTo(2);
+    }
+
+    private UUID insertCompletedEncounter(LocalDateTime date) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO his_encounter.encounters
+                    (patient_id, practitioner_id, encounter_type, encounter_date, status, billing_context)
+                VALUES (?, gen_random_uuid(), 'FOLLOW_UP', ?, 'COMPLETED', 'GKV')
+                RETURNING encounter_id
+                """, UUID.class, patientId, Timestamp.valueOf(date));
+    }
+}
@@ -0,0 +1,129 @@
+package de.his.encounter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * ID-Registry (V14) der partitionierten Encounter-Tabelle: eindeutige encounter_id über alle
+ * Monatspartitionen und Fremdschlüssel der Dokumentation (benötigt PostgreSQL).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EncounterIdRegistryIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private UUID encounterId;
+    private LocalDateTime encounterDate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        encounterId = UUID.randomUUID();
+        encounterDate = LocalDateTime.now().plusDays(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM his_encounter.encounter_documentation WHERE encounter_id = ?", encounterId);
+            jdbcTemplate.update("DELETE FROM his_encounter.encounters WHERE encounter_id = ?", encounterId);
+        });
+    }
+
+    @Test
+    void shouldRejectSameEncounterIdInAnotherMonth() {
+        // Given
+        insertEncounter(encounterDate);
+
+        // When / Then - PK (encounter_id, encounter_date) allein ließe das zu
+        assertThatThrownBy(() -> insertEncounter(encounterDate.plusMonths(2)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(countEncounters()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectDocumentationWithoutEncounter() {
+        // When / Then - Prüfung beim Commit (zurückgestellter Fremdschlüssel)
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> insertDocumentation()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(countDocumentation()).isZero();
+    }
+
+    @Test
+    void shouldRejectDeletingEncounterThatStillHasDocumentation() {
+        // Given
+        insertEncounter(encounterDate);
+        transactionTemplate.executeWithoutResult(status -> insertDocumentation());
+
+        // When / Then
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+                "DELETE FROM his_encounter.encounters WHERE encounter_id = ?", encounterId)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(countEncounters()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepDocumentationWhenRescheduledIntoAnotherMonth() {
+        // Given
+        insertEncounter(encounterDate);
+        transactionTemplate.executeWithoutResult(status -> insertDocumentation());
+
+        // When - Partitionswechsel: DELETE + INSERT, Registry-Eintrag fehlt nur innerhalb des Statements
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+                "UPDATE his_encounter.encounters SET encounter_date = ? WHERE encounter_id = ?",
+                encounterDate.plusMonths(2), encounterId));
+
+        // Then
+        assertThat(countEncounters()).isEqualTo(1);
+        assertThat(countDocumentation()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM his_encounter.encounter_ids WHERE encounter_id = ?", Integer.class, encounterId))
+                .isEqualTo(1);
+    }
+
+    private void insertEncounter(LocalDateTime date) {
+        jdbcTemplate.update("""
+                INSERT INTO his_encounter.encounters
+                (encounter_id, patient_id, practitioner_id, encounter_type, encounter_date, status, billing_context)
+                VALUES (?, ?, ?, 'INITIAL', ?, 'PLANNED', 'GKV')
+                """, encounterId, UUID.randomUUID(), UUID.randomUUID(), date);
+    }
+
+    private void insertDocumentation() {
+        jdbcTemplate.update("""
+                INSERT INTO his_encounter.encounter_documentation
+                (encounter_id, soap_section, content_type, author_id, content_size)
+                VALUES (?, 'SUBJECTIVE', 'TEXT', ?, 0)
+                """, encounterId, UUID.randomUUID());
+    }
+
+    private int countEncounters() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM his_encounter.encounters WHERE encounter_id = ?", Integer.class, encounterId);
+    }
+
+    private int countDocumentation() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM his_encounter.encounter_documentation WHERE encounter_id = ?",
+                Integer.class, encounterId);
+    }
+}
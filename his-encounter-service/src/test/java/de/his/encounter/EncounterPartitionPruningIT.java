@@ -0,0 +1,116 @@
+package de.his.encounter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prüft Partition Pruning der Timeline-Queries auf einem Datenbestand über
+ * mehrere Jahre (benötigt PostgreSQL, siehe application-test.yml).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class EncounterPartitionPruningIT {
+
+    private static final Pattern PARTITION_SCAN = Pattern.compile("on (encounters_\\d{4}_\\d{2}|encounters_default)");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID patientId;
+    private LocalDate firstMonth;
+
+    @BeforeEach
+    void setUp() {
+        patientId = UUID.randomUUID();
+        firstMonth = LocalDate.now().withDayOfMonth(1).minusMonths(35);
+
+        jdbcTemplate.queryForObject("SELECT his_encounter.create_encounter_partitions(?, ?)", Integer.class,
+                firstMonth, LocalDate.now().plusMonths(12));
+
+        // ~100.000 Encounters über 36 Monate, davon 3 pro Monat für den Testpatienten
+        jdbcTemplate.update("""
+                INSERT INTO his_encounter.encounters
+                    (patient_id, practitioner_id, encounter_type, encounter_date, status, billing_context)
+                SELECT CASE WHEN g % 1000 < 3 THEN ?::uuid ELSE gen_random_uuid() END,
+                       gen_random_uuid(), 'FOLLOW_UP',
+                       ?::timestamp + (g % 1080) * INTERVAL '1 day' + (g % 600) * INTERVAL '1 minute',
+                       'COMPLETED', 'GKV'
+                FROM generate_series(1, 100000) g
+                """, patientId.toString(), Timestamp.valueOf(firstMonth.atStartOfDay()));
+        jdbcTemplate.execute("ANALYZE his_encounter.encounters");
+    }
+
+    @Test
+    void dateRangeTimelineShouldOnlyScanMatchingPartition() {
+        LocalDateTime from = firstMonth.plusMonths(10).atStartOfDay().plusDays(2);
+        LocalDateTime to = from.plusDays(10);
+
+        List<String> partitions = scannedPartitions("""
+                SELECT * FROM his_encounter.encounters e
+                WHERE e.patient_id = ? AND e.encounter_date BETWEEN ? AND ?
+                ORDER BY e.encounter_date DESC
+                """, patientId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+
+        assertThat(partitions).containsExactly(partitionName(from.toLocalDate()));
+    }
+
+    @Test
+    void quarterRangeShouldScanThreePartitions() {
+        LocalDateTime from = firstMonth.plusMonths(20).atStartOfDay();
+        LocalDateTime to = from.plusMonths(3).minusSeconds(1);
+
+        List<String> partitions = scannedPartitions("""
+                SELECT * FROM his_encounter.encounters e
+                WHERE e.patient_id = ? AND e.encounter_date BETWEEN ? AND ?
+                ORDER BY e.encounter_date DESC
+                """, patientId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+
+        assertThat(partitions).containsExactlyInAnyOrder(
+                partitionName(from.toLocalDate()),
+                partitionName(from.toLocalDate().plusMonths(1)),
+                partitionName(from.toLocalDate().plusMonths(2)));
+    }
+
+    @Test
+    void dateRangeQueryShouldReturnOnlyRowsOfRange() {
+        LocalDateTime from = firstMonth.plusMonths(10).atStartOfDay();
+        LocalDateTime to = from.plusMonths(1).minusSeconds(1);
+
+        Integer inRange = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM his_encounter.encounters e
+                WHERE e.patient_id = ? AND e.encounter_date BETWEEN ? AND ?
+                """, Integer.class, patientId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+
+        assertThat(inRange).isBetween(1, 10);
+    }
+
+    private List<String> scannedPartitions(String sql, Object... args) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args);
+        return plan.stream()
+                .map(PARTITION_SCAN::matcher)
+                .filter(Matcher::find)
+                .map(m -> m.group(1))
+                .distinct()
+                .toList();
+    }
+
+    private String partitionName(LocalDate day) {
+        return String.format("encounters_%04d_%02d", day.getYear(), day.getMonthValue());
+    }
+}
@@ -0,0 +1,120 @@
+package de.his.encounter;
+
+import de.his.encounter.application.dto.EncounterResponse;
+import de.his.encounter.application.dto.EncounterSummary;
+import de.his.encounter.application.service.EncounterService;
+import de.his.encounter.domain.model.ContentType;
+import de.his.encounter.domain.model.EncounterDocumentation;
+import de.his.encounter.domain.model.SOAPSection;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lesepfade ohne Entities: feste Anzahl Statements unabhängig von der Zahl der
+ * Encounters bzw. Dokumentationseinträge (benötigt PostgreSQL).
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // Statistiken sind global: Outbox-Relay während des Tests ruhen lassen
+        "his.outbox.relay.interval-ms=3600000" })
+@ActiveProfiles("test")
+class EncounterReadProjectionIT {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EncounterService encounterService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private UUID patientId;
+    private UUID practitionerId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        patientId = UUID.randomUUID();
+        practitionerId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM his_encounter.encounter_documentation WHERE encounter_id IN "
+                + "(SELECT encounter_id FROM his_encounter.encounters WHERE patient_id = ?)", patientId);
+        jdbcTemplate.update("DELETE FROM his_encounter.encounters WHERE patient_id = ?", patientId);
+    }
+
+    @Test
+    void shouldLoadEncounterDetailsWithTwoStatements() {
+        // Given
+        UUID encounterId = insertEncounter(LocalDateTime.of(2025, 5, 2, 10, 0));
+        addNote(encounterId, "Seit drei Tagen Kopfschmerzen.");
+        addNote(encounterId, "RR 120/80, neurologisch unauffällig.");
+        addNote(encounterId, "Spannungskopfschmerz.");
+        statistics.clear();
+
+        // When
+        EncounterResponse response = encounterService.getEncounter(encounterId);
+
+        // Then
+        assertThat(response.getId()).isEqualTo(encounterId);
+        assertThat(response.getDocumentation()).hasSize(3)
+                .allSatisfy(doc -> assertThat(doc.getContentHash()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void shouldLoadTimelinePageWithoutPerEncounterQueries() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            UUID encounterId = insertEncounter(LocalDateTime.of(2025, 5, 2 + i, 10, 0));
+            addNote(encounterId, "Verlaufskontrolle " + i);
+        }
+        statistics.clear();
+
+        // When
+        Page<EncounterSummary> timeline = encounterService.getPatientEncounters(patientId, PageRequest.of(0, 3));
+
+        // Then - Seite und Count, keine Abfrage je Encounter
+        assertThat(timeline.getTotalElements()).isEqualTo(5);
+        assertThat(timeline.getContent()).hasSize(3)
+                .allSatisfy(summary -> assertThat(summary.getDocumentationCount()).isEqualTo(1));
+        assertThat(timeline.getContent().get(0).getEncounterDate()).isEqualTo(LocalDateTime.of(2025, 5, 6, 10, 0));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
+    private void addNote(UUID encounterId, String text) {
+        encounterService.addDocumentation(encounterId, new EncounterDocumentation(SOAPSection.SUBJECTIVE,
+                ContentType.TEXT, text, practitionerId));
+    }
+
+    private UUID insertEncounter(LocalDateTime date) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO his_encounter.encounters
+                    (patient_id, practitioner_id, encounter_type, encounter_date, status, billing_context)
+                VALUES (?, ?, 'FOLLOW_UP', ?, 'IN_PROGRESS', 'GKV')
+                RETURNING encounter_id
+                """, UUID.class, patientId, practitionerId, Timestamp.valueOf(date));
+    }
+}
@@ -5,19 +5,26 @@ import de.his.encounter.application.dto.EncounterResponse;
 import de.his.encounter.domain.model.BillingContext;
 import de.his.encounter.domain.model.EncounterStatus;
 import de.his.encounter.domain.model.EncounterType;
+import de.his.encounter.domain.repository.EncounterRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -33,6 +40,15 @@ class EncounterServiceIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EncounterRepository encounterRepository;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     void shouldCreateAndRetrieveEncounter() throws Exception {
         // Given
@@ -111,4 +127,133 @@ class EncounterServiceIntegrationTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.code").value("VALIDATION_ERROR"));
     }
+
+    @Test
+    void shouldDenyEncounterWithoutTreatingRelationship() throws Exception {
+        // Given
+        UUID patientId = UUID.randomUUID();
+        UUID practitionerId = UUID.randomUUID();
+        CreateEncounterRequest request = new CreateEncounterRequest(
+                patientId,
+                practitionerId,
+                EncounterType.INITIAL,
+                LocalDateTime.now().plusDays(1),
+                BillingContext.GKV);
+
+        String createResponse = mockMvc.perform(post("/api/v1/encounters")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        EncounterResponse created = objectMapper.readValue(createResponse, EncounterResponse.class);
+
+        // When & Then - Auflage aus dem Gateway, anderer Behandler
+        mockMvc.perform(get("/api/v1/encounters/{id}", created.getId())
+                .header("X-Authz-Obligations", "TREATING_RELATIONSHIP")
+                .header("X-Practitioner-Id", UUID.randomUUID().toString()))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.code").value("UNAUTHORIZED_ENCOUNTER_ACCESS"));
+
+        mockMvc.perform(get("/api/v1/encounters/patient/{patientId}", patientId)
+                .header("X-Authz-Obligations", "TREATING_RELATIONSHIP"))
+                .andExpect(status().isForbidden());
+
+        // Then - Keyset-Abfrage für den Indexaufbau liefert die Beziehung
+        List<EncounterRepository.CareRelationshipRow> rows = encounterRepository
+                .findCareRelationshipsAfter(practitionerId, new UUID(0, 0), 1);
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).getPractitionerId()).isEqualTo(practitionerId);
+        assertThat(rows.get(0).getPatientId()).isEqualTo(patientId);
+    }
+
+    @Test
+    void shouldFilterForeignWorklistInQueryIncludingArchivedRelationships() throws Exception {
+        // Given - Arbeitsliste eines Behandlers mit zwei Patienten; der Aufrufer behandelte einen davon
+        // nur in einem archivierten Encounter (Cold-Storage-Katalog)
+        UUID practitionerId = UUID.randomUUID();
+        UUID caller = UUID.randomUUID();
+        UUID treatedPatient = UUID.randomUUID();
+        UUID foreignPatient = UUID.randomUUID();
+        LocalDateTime encounterDate = LocalDateTime.now().plusDays(1).withHour(9);
+        UUID treatedEncounter = createEncounter(treatedPatient, practitionerId, encounterDate);
+        createEncounter(foreignPatient, practitionerId, encounterDate.plusHours(1));
+        jdbcTemplate.update("INSERT INTO his_encounter.archived_encounters (encounter_id, patient_id, " +
+                "practitioner_id, encounter_type, encounter_date, status, billing_context, segment_name) " +
+                "VALUES (?, ?, ?, 'INITIAL', ?, 'COMPLETED', 'GKV', 'test.seg')",
+                UUID.randomUUID(), treatedPatient, caller, encounterDate.minusYears(3));
+
+        // When & Then - Seite und Gesamtzahl nur aus behandelten Patienten
+        mockMvc.perform(get("/api/v1/encounters/practitioner/{practitionerId}/worklist", practitionerId)
+                .param("date", encounterDate.toLocalDate().toString())
+                .param("size", "1")
+                .header("X-Authz-Obligations", "TREATING_RELATIONSHIP")
+                .header("X-Practitioner-Id", caller.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(treatedEncounter.toString()))
+                .andExpect(jsonPath("$.content[0].status").value("PLANNED"))
+                .andExpect(jsonPath("$.totalElements").value(1));
+
+        // Then - eigene Arbeitsliste ungefiltert, Einzelprüfung kennt die archivierte Beziehung
+        mockMvc.perform(get("/api/v1/encounters/practitioner/{practitionerId}/worklist", practitionerId)
+                .param("date", encounterDate.toLocalDate().toString())
+                .header("X-Authz-Obligations", "TREATING_RELATIONSHIP")
+                .header("X-Practitioner-Id", practitionerId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2));
+        assertThat(encounterRepository.existsCareRelationship(caller, treatedPatient)).isTrue();
+        assertThat(encounterRepository.existsCareRelationship(caller, foreignPatient)).isFalse();
+        assertThat(encounterRepository.findCareRelationshipsAfter(caller, new UUID(0, 0), 1))
+                .singleElement()
+                .satisfies(row -> assertThat(row.getPatientId()).isEqualTo(treatedPatient));
+    }
+
+    @Test
+    void shouldNegotiateCborForEncounter() throws Exception {
+        // Given
+        CreateEncounterRequest request = new CreateEncounterRequest(
+                UUID.randomUUID(),
+                UUID.randomUUID(),
+                EncounterType.FOLLOW_UP,
+                LocalDateTime.now().plusDays(1),
+                BillingContext.PKV);
+
+        String createResponse = mockMvc.perform(post("/api/v1/encounters")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        EncounterResponse created = objectMapper.readValue(createResponse, EncounterResponse.class);
+
+        // When
+        byte[] cbor = mockMvc.perform(get("/api/v1/encounters/{id}", created.getId())
+                .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then - kleiner als JSON, gleicher Inhalt
+        EncounterResponse decoded = cborConverter.getObjectMapper().readValue(cbor, EncounterResponse.class);
+        assertThat(decoded.getId()).isEqualTo(created.getId());
+        assertThat(decoded.getPatientId()).isEqualTo(request.getPatientId());
+        assertThat(decoded.getType()).isEqualTo(EncounterType.FOLLOW_UP);
+        assertThat(decoded.getEncounterDate()).isNotNull();
+        assertThat(decoded.getBillingContext()).isEqualTo(BillingContext.PKV);
+        assertThat(cbor.length).isLessThan(createResponse.getBytes(StandardCharsets.UTF_8).length);
+
+        // Then - ohne Accept weiter JSON
+        mockMvc.perform(get("/api/v1/encounters/{id}", created.getId()))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    private UUID createEncounter(UUID patientId, UUID practitionerId, LocalDateTime encounterDate) throws Exception {
+        CreateEncounterRequest request = new CreateEncounterRequest(patientId, practitionerId,
+                EncounterType.INITIAL, encounterDate, BillingContext.GKV);
+        String response = mockMvc.perform(post("/api/v1/encounters")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, EncounterResponse.class).getId();
+    }
 }
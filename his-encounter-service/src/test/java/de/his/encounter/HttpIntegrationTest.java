@@ -1,6 +1,7 @@
 package de.his.encounter;
 
 import de.his.encounter.application.dto.CreateEncounterRequest;
+import de.his.encounter.application.dto.DocumentationResponse;
 import de.his.encounter.application.dto.EncounterResponse;
 import de.his.encounter.domain.model.BillingContext;
 import de.his.encounter.domain.model.EncounterStatus;
@@ -10,12 +11,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -198,4 +205,41 @@ class HttpIntegrationTest {
 
         System.out.println("✅ Date range validation works correctly");
     }
+
+    @Test
+    void shouldStreamLargeDocumentationUploadAndServeRanges() {
+        // Given - Encounter und ein Arztbrief oberhalb der Datei-Schwelle (1 MB)
+        CreateEncounterRequest request = new CreateEncounterRequest(
+                UUID.randomUUID(),
+                UUID.randomUUID(),
+                EncounterType.INITIAL,
+                LocalDateTime.now().plusHours(1),
+                BillingContext.GKV);
+        UUID encounterId = restTemplate.postForEntity(getBaseUrl(), request, EncounterResponse.class)
+                .getBody().getId();
+        String letter = "Entlassbrief " + UUID.randomUUID() + "\n" + "Verlauf unauffällig. ".repeat(100_000);
+
+        HttpHeaders uploadHeaders = new HttpHeaders();
+        uploadHeaders.setContentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8));
+
+        // When
+        ResponseEntity<EncounterResponse> uploadResponse = restTemplate.postForEntity(
+                getBaseUrl() + "/" + encounterId + "/documentation?soapSection=ASSESSMENT&authorId=" + UUID.randomUUID(),
+                new HttpEntity<>(letter.getBytes(StandardCharsets.UTF_8), uploadHeaders), EncounterResponse.class);
+
+        // Then
+        assertThat(uploadResponse.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        DocumentationResponse documentation = uploadResponse.getBody().getDocumentation().get(0);
+        assertThat(documentation.getContentSize()).isEqualTo(letter.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(documentation.getContent()).isNull();
+
+        HttpHeaders rangeHeaders = new HttpHeaders();
+        rangeHeaders.setRange(List.of(HttpRange.createByteRange(0, 11)));
+        ResponseEntity<byte[]> range = restTemplate.exchange(
+                getBaseUrl() + "/" + encounterId + "/documentation/" + documentation.getId() + "/content",
+                HttpMethod.GET, new HttpEntity<>(rangeHeaders), byte[].class);
+
+        assertThat(range.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(new String(range.getBody(), StandardCharsets.UTF_8)).isEqualTo("Entlassbrief");
+    }
 }
@@ -0,0 +1,183 @@
+package de.his.encounter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.his.encounter.application.dto.CreateEncounterRequest;
+import de.his.encounter.application.dto.EncounterResponse;
+import de.his.encounter.application.service.EncounterService;
+import de.his.encounter.domain.model.BillingContext;
+import de.his.encounter.domain.model.EncounterType;
+import de.his.encounter.domain.repository.EncounterRepository;
+import de.his.encounter.infrastructure.client.dto.PatientDto;
+import de.his.encounter.infrastructure.exception.EncounterConflictException;
+import de.his.encounter.infrastructure.exception.PatientNotFoundException;
+import de.his.encounter.infrastructure.service.PatientValidationService;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+/**
+ * Anlegen mit Patientenprüfung gegen einen verzögerten Patient Service: Patient-Lookup und
+ * Konfliktprüfung laufen parallel, die Transaktion beginnt erst nach dem Remote-Aufruf und prüft
+ * Konflikte erneut.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PatientValidationLatencyIntegrationTest {
+
+    private static final Duration PATIENT_SERVICE_DELAY = Duration.ofMillis(400);
+    private static final Duration CONFLICT_CHECK_DELAY = Duration.ofMillis(400);
+
+    private static final UUID KNOWN_PATIENT = UUID.randomUUID();
+
+    // Patient Service: bekannter Patient nach PATIENT_SERVICE_DELAY als JSON, sonst 404
+    private static final DisposableServer patientService = HttpServer.create()
+            .port(0)
+            .route(routes -> routes.get("/api/v1/patients/{id}", (request, response) -> {
+                if (!KNOWN_PATIENT.toString().equals(request.param("id"))) {
+                    return response.status(HttpResponseStatus.NOT_FOUND).send();
+                }
+                return Mono.delay(PATIENT_SERVICE_DELAY).then(response
+                        .header("Content-Type", "application/json")
+                        .sendString(Mono.fromCallable(PatientValidationLatencyIntegrationTest::patientJson))
+                        .then());
+            }))
+            .bindNow();
+
+    @DynamicPropertySource
+    static void patientServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("services.patient.url", () -> "http://localhost:" + patientService.port());
+    }
+
+    @AfterAll
+    static void stopPatientService() {
+        patientService.disposeNow();
+    }
+
+    @Autowired
+    private EncounterService encounterService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private EncounterRepository encounterRepository;
+
+    @SpyBean
+    private PatientValidationService patientValidationService;
+
+    private final Queue<Boolean> transactionDuringLookup = new ConcurrentLinkedQueue<>();
+    private final Queue<Boolean> conflictCheckInTransaction = new ConcurrentLinkedQueue<>();
+
+    @BeforeEach
+    void setUp() {
+        // Parallele Konfliktprüfung künstlich so langsam wie der Patient Service und ohne Treffer,
+        // die Wiederholung in der Transaktion fragt die Datenbank (Spy auf einem JDK-Proxy delegiert
+        // über seine Default-Answer an das Repository)
+        Answer<?> repository = mockingDetails(encounterRepository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+            conflictCheckInTransaction.add(inTransaction);
+            if (inTransaction) {
+                return repository.answer(invocation);
+            }
+            Thread.sleep(CONFLICT_CHECK_DELAY.toMillis());
+            return Page.empty();
+        }).when(encounterRepository).findByPatientIdAndDateRange(any(), any(), any(), any());
+        doAnswer(invocation -> {
+            transactionDuringLookup.add(TransactionSynchronizationManager.isActualTransactionActive());
+            return invocation.callRealMethod();
+        }).when(patientValidationService).getPatientDetails(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM his_encounter.encounter_documentation WHERE encounter_id IN "
+                + "(SELECT encounter_id FROM his_encounter.encounters WHERE patient_id = ?)", KNOWN_PATIENT);
+        jdbcTemplate.update("DELETE FROM his_encounter.encounters WHERE patient_id = ?", KNOWN_PATIENT);
+    }
+
+    @Test
+    void shouldValidatePatientAndCheckConflictsConcurrently() {
+        // Given - Aufwärmen (Feign-Client, Verbindungen, Hibernate)
+        encounterService.createEncounterWithPatientValidation(request(LocalDateTime.now().plusDays(2)));
+
+        // When
+        long start = System.nanoTime();
+        EncounterResponse response = encounterService.createEncounterWithPatientValidation(
+                request(LocalDateTime.now().plusDays(5)));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Then - nacheinander wären es mindestens 800 ms
+        assertThat(response.getPatientId()).isEqualTo(KNOWN_PATIENT);
+        assertThat(elapsed).isLessThan(PATIENT_SERVICE_DELAY.plus(CONFLICT_CHECK_DELAY).minusMillis(100));
+        assertThat(transactionDuringLookup).containsOnly(false);
+        assertThat(conflictCheckInTransaction).containsExactly(false, true, false, true);
+    }
+
+    @Test
+    void shouldRecheckConflictsInsideTransaction() {
+        // Given - Encounter, den die parallele Prüfung noch nicht sah (gleichzeitig angelegt)
+        LocalDateTime encounterDate = LocalDateTime.now().plusDays(3);
+        encounterService.createEncounter(request(encounterDate));
+
+        // When / Then
+        assertThatThrownBy(() -> encounterService.createEncounterWithPatientValidation(
+                request(encounterDate.plusMinutes(15))))
+                .isInstanceOf(EncounterConflictException.class);
+        assertThat(conflictCheckInTransaction).containsExactly(false, true);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM his_encounter.encounters WHERE patient_id = ?",
+                Long.class, KNOWN_PATIENT)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotOpenTransactionForUnknownPatient() {
+        // When / Then
+        assertThatThrownBy(() -> encounterService.createEncounterWithPatientValidation(
+                new CreateEncounterRequest(UUID.randomUUID(), UUID.randomUUID(), EncounterType.CONSULTATION,
+                        LocalDateTime.now().plusDays(1), BillingContext.GKV)))
+                .isInstanceOf(PatientNotFoundException.class);
+        assertThat(transactionDuringLookup).containsExactly(false);
+    }
+
+    private CreateEncounterRequest request(LocalDateTime encounterDate) {
+        return new CreateEncounterRequest(KNOWN_PATIENT, UUID.randomUUID(), EncounterType.CONSULTATION,
+                encounterDate, BillingContext.GKV);
+    }
+
+    private static String patientJson() throws Exception {
+        PatientDto patient = new PatientDto();
+        patient.setId(KNOWN_PATIENT);
+        patient.setFirstName("Anna");
+        patient.setLastName("Schmidt");
+        patient.setBirthDate(LocalDate.of(1980, 4, 12));
+        patient.setKvnr("A123456780");
+        return new ObjectMapper().findAndRegisterModules().writeValueAsString(patient);
+    }
+}
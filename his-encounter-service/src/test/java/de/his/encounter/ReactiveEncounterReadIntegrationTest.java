@@ -0,0 +1,207 @@
+package de.his.encounter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.his.encounter.application.service.CareRelationshipIndex;
+import de.his.encounter.application.service.EncounterService;
+import de.his.encounter.domain.model.ContentType;
+import de.his.encounter.domain.model.EncounterDocumentation;
+import de.his.encounter.domain.model.SOAPSection;
+import de.his.encounter.infrastructure.reactive.ReactiveReadServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Reaktiver Lesepfad (ReactiveReadServer) gegen den MVC-Pfad: gleiche Antworten für Detailansicht
+ * und Timeline, gleiche Fehler, Auflage TREATING_RELATIONSHIP aus den Gateway-Headern.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "his.reactive-read.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReactiveEncounterReadIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EncounterService encounterService;
+
+    @Autowired
+    private CareRelationshipIndex careRelationshipIndex;
+
+    @Autowired
+    private ReactiveReadServer reactiveReadServer;
+
+    private WebTestClient reactiveClient;
+    private UUID patientId;
+    private UUID practitionerId;
+
+    @BeforeEach
+    void setUp() {
+        reactiveClient = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + reactiveReadServer.getPort() + "/api/v1/encounters")
+                .build();
+        patientId = UUID.randomUUID();
+        practitionerId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM his_encounter.encounter_documentation WHERE encounter_id IN "
+                + "(SELECT encounter_id FROM his_encounter.encounters WHERE patient_id = ?)", patientId);
+        jdbcTemplate.update("DELETE FROM his_encounter.encounters WHERE patient_id = ?", patientId);
+    }
+
+    @Test
+    void shouldReturnSameEncounterAsMvc() throws Exception {
+        // Given
+        UUID encounterId = insertEncounter(LocalDateTime.of(2025, 5, 2, 10, 0));
+        addNote(encounterId, SOAPSection.SUBJECTIVE, "Seit drei Tagen Kopfschmerzen.");
+        addNote(encounterId, SOAPSection.ASSESSMENT, "Spannungskopfschmerz.");
+
+        // When
+        JsonNode reactive = reactiveJson("/" + encounterId);
+        JsonNode mvc = mvcJson("/api/v1/encounters/" + encounterId);
+
+        // Then
+        assertThat(reactive).isEqualTo(mvc);
+        assertThat(reactive.get("documentation")).hasSize(2);
+    }
+
+    @Test
+    void shouldReturnSameEncounterWithContentAsMvc() throws Exception {
+        // Given
+        UUID encounterId = insertEncounter(LocalDateTime.of(2025, 5, 2, 10, 0));
+        addNote(encounterId, SOAPSection.PLAN, "Ibuprofen 400 mg bei Bedarf.");
+
+        // When
+        JsonNode reactive = reactiveJson("/" + encounterId + "?includeContent=true");
+        JsonNode mvc = mvcJson("/api/v1/encounters/" + encounterId + "?includeContent=true");
+
+        // Then
+        assertThat(reactive).isEqualTo(mvc);
+        assertThat(reactive.at("/documentation/0/content").asText()).isEqualTo("Ibuprofen 400 mg bei Bedarf.");
+    }
+
+    @Test
+    void shouldReturnSameTimelineAsMvc() throws Exception {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            UUID encounterId = insertEncounter(LocalDateTime.of(2025, 5, 2 + i, 10, 0));
+            addNote(encounterId, SOAPSection.SUBJECTIVE, "Verlaufskontrolle " + i);
+        }
+        String page = "/patient/" + patientId + "?page=1&size=2";
+        String range = "/patient/" + patientId + "?fromDate=2025-05-03T00:00:00&toDate=2025-05-05T23:59:59";
+
+        // When
+        JsonNode reactivePage = reactiveJson(page);
+        JsonNode reactiveRange = reactiveJson(range);
+
+        // Then
+        assertThat(reactivePage).isEqualTo(mvcJson("/api/v1/encounters" + page));
+        assertThat(reactivePage.get("totalElements").asLong()).isEqualTo(5);
+        assertThat(reactivePage.get("content")).hasSize(2);
+        assertThat(reactiveRange).isEqualTo(mvcJson("/api/v1/encounters" + range));
+        assertThat(reactiveRange.get("totalElements").asLong()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldReportErrorsLikeMvc() {
+        // Then
+        reactiveClient.get().uri("/" + UUID.randomUUID()).exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.code").isEqualTo("ENCOUNTER_NOT_FOUND");
+        reactiveClient.get().uri("/patient/" + patientId + "?size=0").exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.code").isEqualTo("INVALID_PAGINATION_PARAMETER");
+        reactiveClient.get().uri("/patient/" + patientId + "?page=abc").exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.code").isEqualTo("TYPE_MISMATCH");
+        reactiveClient.get().uri("/patient/" + patientId
+                        + "?fromDate=2025-05-05T00:00:00&toDate=2025-05-01T00:00:00").exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.code").isEqualTo("INVALID_DATE_RANGE");
+    }
+
+    @Test
+    void shouldEnforceTreatingRelationshipObligation() {
+        // Given
+        UUID encounterId = insertEncounter(LocalDateTime.of(2025, 5, 2, 10, 0));
+        careRelationshipIndex.recordEncounter(practitionerId, patientId);
+
+        // Then - behandelnder Arzt ja, fremder Arzt nein
+        reactiveClient.get().uri("/" + encounterId)
+                .header("X-Authz-Obligations", "TREATING_RELATIONSHIP")
+                .header("X-Practitioner-Id", practitionerId.toString())
+                .exchange()
+                .expectStatus().isOk();
+        reactiveClient.get().uri("/patient/" + patientId)
+                .header("X-Authz-Obligations", "TREATING_RELATIONSHIP")
+                .header("X-Practitioner-Id", UUID.randomUUID().toString())
+                .exchange()
+                .expectStatus().isForbidden()
+                .expectBody().jsonPath("$.code").isEqualTo("UNAUTHORIZED_ENCOUNTER_ACCESS");
+    }
+
+    @Test
+    void shouldNegotiateCbor() {
+        // Given
+        UUID encounterId = insertEncounter(LocalDateTime.of(2025, 5, 2, 10, 0));
+
+        // Then
+        reactiveClient.get().uri("/" + encounterId)
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR);
+    }
+
+    private JsonNode reactiveJson(String path) throws Exception {
+        byte[] body = reactiveClient.get().uri(path).accept(MediaType.APPLICATION_JSON).exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult().getResponseBody();
+        return objectMapper.readTree(body);
+    }
+
+    private JsonNode mvcJson(String path) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get(path).accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray());
+    }
+
+    private void addNote(UUID encounterId, SOAPSection section, String text) {
+        encounterService.addDocumentation(encounterId, new EncounterDocumentation(section,
+                ContentType.TEXT, text, practitionerId));
+    }
+
+    private UUID insertEncounter(LocalDateTime date) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO his_encounter.encounters
+                    (patient_id, practitioner_id, encounter_type, encounter_date, status, billing_context)
+                VALUES (?, ?, 'FOLLOW_UP', ?, 'IN_PROGRESS', 'GKV')
+                RETURNING encounter_id
+                """, UUID.class, patientId, practitionerId, Timestamp.valueOf(date));
+    }
+}
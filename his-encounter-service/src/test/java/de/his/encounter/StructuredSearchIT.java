@@ -0,0 +1,117 @@
+package de.his.encounter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.his.encounter.application.dto.StructuredSearchHit;
+import de.his.encounter.application.dto.StructuredSearchRequest;
+import de.his.encounter.application.dto.StructuredSearchResponse;
+import de.his.encounter.application.service.StructuredSearchService;
+import de.his.encounter.domain.model.SOAPSection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Strukturierte Suche per jsonb {@code @>} über den GIN-Index (benötigt PostgreSQL).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class StructuredSearchIT {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private StructuredSearchService searchService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private UUID patientId;
+    private String code;
+
+    @BeforeEach
+    void setUp() {
+        patientId = UUID.randomUUID();
+        // eindeutiger Code pro Lauf, damit fremde Testdaten nicht mitgezählt werden
+        code = "TEST." + UUID.randomUUID().toString().substring(0, 8);
+        for (int day = 1; day <= 5; day++) {
+            UUID encounterId = insertEncounter(LocalDateTime.of(2025, 4, day, 9, 0));
+            insertDocumentation(encounterId, "ASSESSMENT",
+                    "{\"diagnoses\": [{\"icd10\": \"" + (day % 2 == 1 ? code : "I10") + "\"}]}");
+            insertDocumentation(encounterId, "PLAN", "{\"diagnoses\": [{\"icd10\": \"" + code + "\"}]}");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM his_encounter.encounter_documentation WHERE encounter_id IN "
+                + "(SELECT encounter_id FROM his_encounter.encounters WHERE patient_id = ?)", patientId);
+        jdbcTemplate.update("DELETE FROM his_encounter.encounters WHERE patient_id = ?", patientId);
+    }
+
+    @Test
+    void shouldFindEncountersByContainmentWithKeysetPagination() throws Exception {
+        // When
+        StructuredSearchResponse first = searchService.search(request(null, null));
+        StructuredSearchResponse second = searchService.search(request(first.getNextAfterDate(), first.getNextAfterId()));
+
+        // Then - ASSESSMENT enthält den Code an Tag 5, 3 und 1
+        assertThat(first.getResults()).extracting(hit -> hit.getEncounterDate().getDayOfMonth())
+                .containsExactly(5, 3);
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(second.getResults()).extracting(hit -> hit.getEncounterDate().getDayOfMonth())
+                .containsExactly(1);
+        assertThat(second.isHasMore()).isFalse();
+        assertThat(second.getResults()).extracting(StructuredSearchHit::getPatientId).containsOnly(patientId);
+    }
+
+    @Test
+    void shouldUseGinIndexForContainment() {
+        List<String> plan = transactionTemplate.execute(status -> {
+            // Testtabelle ist klein, ohne Verbot wählt der Planer den Seq Scan
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            return jdbcTemplate.queryForList("""
+                    EXPLAIN SELECT d.encounter_id FROM his_encounter.encounter_documentation d
+                    WHERE d.structured_content @> CAST('{"diagnoses": [{"icd10": "J06.9"}]}' AS jsonb)
+                    """, String.class);
+        });
+
+        assertThat(String.join("\n", plan)).contains("idx_documentation_structured_content");
+    }
+
+    private StructuredSearchRequest request(LocalDateTime afterDate, UUID afterId) throws Exception {
+        return new StructuredSearchRequest(SOAPSection.ASSESSMENT,
+                objectMapper.readTree("{\"diagnoses\": [{\"icd10\": \"" + code + "\"}]}"), afterDate, afterId, 2);
+    }
+
+    private UUID insertEncounter(LocalDateTime date) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO his_encounter.encounters
+                    (patient_id, practitioner_id, encounter_type, encounter_date, status, billing_context)
+                VALUES (?, gen_random_uuid(), 'FOLLOW_UP', ?, 'COMPLETED', 'GKV')
+                RETURNING encounter_id
+                """, UUID.class, patientId, Timestamp.valueOf(date));
+    }
+
+    private void insertDocumentation(UUID encounterId, String soapSection, String structuredContent) {
+        jdbcTemplate.update("""
+                INSERT INTO his_encounter.encounter_documentation
+                    (encounter_id, soap_section, content_type, structured_content, author_id)
+                VALUES (?, ?, 'STRUCTURED_DATA', CAST(? AS jsonb), gen_random_uuid())
+                """, encounterId, soapSection, structuredContent);
+    }
+}
@@ -0,0 +1,138 @@
+package de.his.encounter.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.his.encounter.domain.model.OutboxEvent;
+import de.his.encounter.domain.repository.EncounterRepository;
+import de.his.encounter.domain.repository.EncounterRepository.CareRelationshipRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CareRelationshipIndexTest {
+
+    @Mock
+    private EncounterRepository encounterRepository;
+
+    @Mock
+    private OutboxService outboxService;
+
+    private CareRelationshipIndex index;
+
+    private final UUID doctor = UUID.randomUUID();
+    private final UUID nurse = UUID.randomUUID();
+    private final UUID patientA = UUID.randomUUID();
+    private final UUID patientB = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        index = new CareRelationshipIndex(encounterRepository, outboxService, new ObjectMapper(),
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(index, "loadBatchSize", 2);
+        ReflectionTestUtils.setField(index, "feedBatchSize", 10);
+    }
+
+    @Test
+    void shouldAskDatabaseUntilLoaded() {
+        // Given
+        when(encounterRepository.existsCareRelationship(doctor, patientA)).thenReturn(true);
+
+        // When & Then
+        assertThat(index.isTreating(doctor, patientA)).isTrue();
+        assertThat(index.isTreating(doctor, patientB)).isFalse();
+    }
+
+    @Test
+    void shouldLoadRelationshipsInKeysetBatches() {
+        // Given - zwei volle Batches und ein leerer
+        CareRelationshipRow first = row(doctor, patientA);
+        CareRelationshipRow second = row(doctor, patientB);
+        CareRelationshipRow third = row(nurse, patientA);
+        when(encounterRepository.findCareRelationshipsAfter(new UUID(0, 0), new UUID(0, 0), 2))
+                .thenReturn(List.of(first, second));
+        when(encounterRepository.findCareRelationshipsAfter(doctor, patientB, 2)).thenReturn(List.of(third));
+
+        // When
+        index.load();
+
+        // Then
+        assertThat(index.isTreating(doctor, patientA)).isTrue();
+        assertThat(index.isTreating(doctor, patientB)).isTrue();
+        assertThat(index.isTreating(nurse, patientA)).isTrue();
+        assertThat(index.isTreating(nurse, patientB)).isFalse();
+        assertThat(index.isTreating(UUID.randomUUID(), patientA)).isFalse();
+        assertThat(index.isTreating(null, patientA)).isFalse();
+        verify(encounterRepository, never()).existsCareRelationship(any(), any());
+    }
+
+    @Test
+    void shouldRecordEncounterWithoutTransactionImmediately() {
+        // Given
+        loadEmptyIndex();
+
+        // When
+        index.recordEncounter(doctor, patientA);
+
+        // Then
+        assertThat(index.isTreating(doctor, patientA)).isTrue();
+        assertThat(index.isTreating(nurse, patientA)).isFalse();
+    }
+
+    @Test
+    void shouldFollowEncounterCreationsOfOtherInstances() {
+        // Given
+        loadEmptyIndex();
+        OutboxEvent created = published(1, "ENCOUNTER_CREATED",
+                "{\"encounterId\":\"" + UUID.randomUUID() + "\",\"patientId\":\"" + patientB
+                        + "\",\"practitionerId\":\"" + nurse + "\"}");
+        OutboxEvent started = published(2, "ENCOUNTER_STARTED",
+                "{\"patientId\":\"" + patientA + "\",\"practitionerId\":\"" + nurse + "\"}");
+        when(outboxService.findPublishedAfter(0L, 10)).thenReturn(List.of(created, started));
+
+        // When
+        index.followChangeFeed();
+
+        // Then - nur neue Encounters begründen eine Beziehung
+        assertThat(index.isTreating(nurse, patientB)).isTrue();
+        assertThat(index.isTreating(nurse, patientA)).isFalse();
+        verify(outboxService, times(1)).findPublishedAfter(anyLong(), anyInt());
+
+        // When - nächste Runde ab dem letzten Eintrag
+        index.followChangeFeed();
+
+        // Then
+        verify(outboxService).findPublishedAfter(eq(2L), eq(10));
+    }
+
+    private void loadEmptyIndex() {
+        when(outboxService.getLatestPosition()).thenReturn(0L);
+        when(encounterRepository.findCareRelationshipsAfter(any(), any(), anyInt())).thenReturn(List.of());
+        index.load();
+    }
+
+    private CareRelationshipRow row(UUID practitionerId, UUID patientId) {
+        CareRelationshipRow row = mock(CareRelationshipRow.class);
+        lenient().when(row.getPractitionerId()).thenReturn(practitionerId);
+        lenient().when(row.getPatientId()).thenReturn(patientId);
+        return row;
+    }
+
+    private OutboxEvent published(long position, String eventType, String payload) {
+        OutboxEvent event = new OutboxEvent("Encounter", UUID.randomUUID(), eventType, payload);
+        event.markPublished(position);
+        return event;
+    }
+}
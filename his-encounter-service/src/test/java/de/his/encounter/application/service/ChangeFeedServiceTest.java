@@ -0,0 +1,111 @@
+package de.his.encounter.application.service;
+
+import de.his.encounter.application.dto.ChangeEventResponse;
+import de.his.encounter.application.dto.ChangeFeedResponse;
+import de.his.encounter.domain.model.OutboxEvent;
+import de.his.encounter.infrastructure.exception.ChangeFeedCursorExpiredException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ChangeFeedServiceTest {
+
+    private final OutboxService outboxService = mock(OutboxService.class);
+    private final ChangeFeedService changeFeedService = new ChangeFeedService(outboxService);
+
+    @Test
+    void shouldPageAfterCursorAndReportMore() {
+        // Given - Positionen 11..13 nach Cursor 10, Limit 2 (Service lädt Limit + 1)
+        when(outboxService.findPublishedAfter(10, 3)).thenReturn(published(11, 13));
+
+        // When
+        ChangeFeedResponse response = changeFeedService.readChanges(10, 2);
+
+        // Then
+        assertThat(response.getEvents()).extracting(ChangeEventResponse::getPosition).containsExactly(11L, 12L);
+        assertThat(response.getNextCursor()).isEqualTo(12L);
+        assertThat(response.isHasMore()).isTrue();
+    }
+
+    @Test
+    void shouldKeepCursorWhenNothingIsNew() {
+        // Given
+        when(outboxService.findPublishedAfter(anyLong(), anyInt())).thenReturn(List.of());
+
+        // When
+        ChangeFeedResponse response = changeFeedService.readChanges(42, 100);
+
+        // Then
+        assertThat(response.getEvents()).isEmpty();
+        assertThat(response.getNextCursor()).isEqualTo(42L);
+        assertThat(response.isHasMore()).isFalse();
+    }
+
+    @Test
+    void shouldRequireResyncWhenChangesAfterCursorWerePurged() {
+        // Given - 5..7 bereinigt, ältester Eintrag ist 8
+        when(outboxService.findPublishedAfter(4, 101)).thenReturn(published(8, 9));
+        when(outboxService.getLatestPosition()).thenReturn(9L);
+
+        // When / Then
+        assertThatThrownBy(() -> changeFeedService.readChanges(4, 100))
+                .isInstanceOfSatisfying(ChangeFeedCursorExpiredException.class, ex -> {
+                    assertThat(ex.getCursor()).isEqualTo(4L);
+                    assertThat(ex.getOldestPosition()).isEqualTo(8L);
+                    assertThat(ex.getLatestPosition()).isEqualTo(9L);
+                });
+    }
+
+    @Test
+    void shouldNotRequireResyncForContiguousPositions() {
+        // Given - neuer Konsument ohne Cursor, nichts bereinigt
+        when(outboxService.findPublishedAfter(0, 101)).thenReturn(published(1, 3));
+
+        // When / Then
+        assertThat(changeFeedService.readChanges(0, 100).getEvents()).hasSize(3);
+    }
+
+    @Test
+    void shouldNotifyListenersOnlyWhenPositionAdvances() throws InterruptedException {
+        // Given
+        List<Long> notified = new CopyOnWriteArrayList<>();
+        CountDownLatch twoNotifications = new CountDownLatch(2);
+        changeFeedService.addListener(position -> {
+            notified.add(position);
+            twoNotifications.countDown();
+        });
+
+        // When - 7 ist kein Fortschritt gegenüber 10
+        changeFeedService.onPositionAdvanced(10);
+        changeFeedService.onPositionAdvanced(10);
+        changeFeedService.onPositionAdvanced(7);
+        changeFeedService.onPositionAdvanced(12);
+
+        // Then
+        assertThat(twoNotifications.await(1, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(100);
+        assertThat(notified).containsExactlyInAnyOrder(10L, 12L);
+        assertThat(changeFeedService.getLatestPosition()).isEqualTo(12L);
+    }
+
+    private List<OutboxEvent> published(long from, long to) {
+        return LongStream.rangeClosed(from, to)
+                .mapToObj(position -> {
+                    OutboxEvent event = new OutboxEvent("ENCOUNTER", UUID.randomUUID(), "ENCOUNTER_STARTED", "{}");
+                    event.markPublished(position);
+                    return event;
+                })
+                .toList();
+    }
+}
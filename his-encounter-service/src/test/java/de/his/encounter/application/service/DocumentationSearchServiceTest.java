@@ -0,0 +1,97 @@
+package de.his.encounter.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.his.encounter.application.dto.DocumentationSearchResponse;
+import de.his.encounter.domain.repository.EncounterDocumentationRepository;
+import de.his.encounter.domain.repository.EncounterDocumentationRepository.SearchRow;
+import de.his.encounter.infrastructure.exception.BusinessRuleViolationException;
+import de.his.encounter.infrastructure.service.DocumentationContentStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentationSearchServiceTest {
+
+    @Mock
+    private EncounterDocumentationRepository documentationRepository;
+
+    @Mock
+    private DocumentationContentStore contentStore;
+
+    private DocumentationSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        searchService = new DocumentationSearchService(documentationRepository, contentStore, new ObjectMapper());
+        ReflectionTestUtils.setField(searchService, "maxIndexedBytes", 16);
+        ReflectionTestUtils.setField(searchService, "snippetSourceBytes", 1024);
+        ReflectionTestUtils.setField(searchService, "headlineOptions", "StartSel=<mark>, StopSel=</mark>");
+    }
+
+    @Test
+    void shouldRequirePatientOrPractitionerFilter() {
+        assertThatThrownBy(() -> searchService.search("Husten", null, null, 0, 20))
+                .isInstanceOf(BusinessRuleViolationException.class)
+                .hasMessageContaining("patientId");
+        verifyNoInteractions(documentationRepository);
+    }
+
+    @Test
+    void shouldEscapeSnippetSourcesAndDetectNextPage() {
+        // Given
+        UUID patientId = UUID.randomUUID();
+        SearchRow first = row("h1");
+        SearchRow second = row("h2");
+        when(documentationRepository.searchByPatient("Husten", patientId, false, new UUID(0, 0), 2, 0L))
+                .thenReturn(List.of(first, second));
+        when(contentStore.loadPrefix("h1", 1024))
+                .thenReturn(Optional.of("Husten <script>".getBytes(StandardCharsets.UTF_8)));
+        when(documentationRepository.headlines(eq("Husten"), anyString(), anyString()))
+                .thenReturn(List.of("<mark>Husten</mark> &lt;script&gt;"));
+
+        // When
+        DocumentationSearchResponse response = searchService.search("Husten", patientId, null, 0, 1);
+
+        // Then
+        assertThat(response.isHasMore()).isTrue();
+        assertThat(response.getResults()).hasSize(1);
+        assertThat(response.getResults().get(0).getSnippet()).isEqualTo("<mark>Husten</mark> &lt;script&gt;");
+        verify(documentationRepository).headlines(eq("Husten"), eq("[\"Husten &lt;script&gt;\"]"), anyString());
+        verify(contentStore, never()).loadPrefix(eq("h2"), anyInt());
+    }
+
+    @Test
+    void shouldIndexPrefixWithoutCutCharactersAndNulBytes() {
+        // 15 Bytes ASCII, danach "ü" (2 Bytes) - das zweite Byte liegt hinter der Grenze
+        byte[] content = "Thoraxschmerz\u0000 üblich".getBytes(StandardCharsets.UTF_8);
+
+        searchService.index("hash", content);
+
+        verify(documentationRepository).updateSearchVector("hash", "Thoraxschmerz ");
+    }
+
+    private SearchRow row(String contentHash) {
+        SearchRow row = mock(SearchRow.class);
+        lenient().when(row.getContentHash()).thenReturn(contentHash);
+        lenient().when(row.getSoapSection()).thenReturn("SUBJECTIVE");
+        lenient().when(row.getEncounterDate()).thenReturn(LocalDateTime.of(2025, 5, 1, 10, 0));
+        lenient().when(row.getRank()).thenReturn(0.5f);
+        return row;
+    }
+}
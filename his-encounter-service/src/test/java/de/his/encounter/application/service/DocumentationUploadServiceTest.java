@@ -0,0 +1,124 @@
+package de.his.encounter.application.service;
+
+import de.his.encounter.application.dto.EncounterResponse;
+import de.his.encounter.domain.model.BillingContext;
+import de.his.encounter.domain.model.ContentType;
+import de.his.encounter.domain.model.EncounterDocumentation;
+import de.his.encounter.domain.model.EncounterStatus;
+import de.his.encounter.domain.model.EncounterType;
+import de.his.encounter.domain.model.SOAPSection;
+import de.his.encounter.infrastructure.exception.EncounterNotFoundException;
+import de.his.encounter.infrastructure.exception.InvalidDocumentationException;
+import de.his.encounter.infrastructure.exception.InvalidEncounterStateException;
+import de.his.encounter.infrastructure.service.DocumentationContentStore;
+import de.his.encounter.infrastructure.service.DocumentationContentStore.StoredContent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentationUploadServiceTest {
+
+    @Mock
+    private EncounterService encounterService;
+
+    @Mock
+    private DocumentationContentStore contentStore;
+
+    private DocumentationUploadService uploadService;
+
+    private UUID encounterId;
+    private UUID authorId;
+
+    @BeforeEach
+    void setUp() {
+        uploadService = new DocumentationUploadService(encounterService, contentStore);
+        encounterId = UUID.randomUUID();
+        authorId = UUID.randomUUID();
+
+        LocalDateTime now = LocalDateTime.now();
+        when(encounterService.getEncounter(encounterId)).thenReturn(new EncounterResponse(encounterId,
+                UUID.randomUUID(), UUID.randomUUID(), EncounterType.INITIAL, now, EncounterStatus.IN_PROGRESS,
+                BillingContext.GKV, now, now));
+    }
+
+    @Test
+    void shouldAttachStoredContentWithoutDiscarding() throws Exception {
+        // Given
+        InputStream body = body("Diktat");
+        when(contentStore.store(body)).thenReturn(new StoredContent("h1", 6));
+
+        // When
+        uploadService.uploadDocumentation(encounterId, SOAPSection.SUBJECTIVE, ContentType.TEXT, authorId, body);
+
+        // Then
+        verify(encounterService).addStoredDocumentation(eq(encounterId), any(EncounterDocumentation.class));
+        verify(contentStore, never()).deleteUnreferenced(any(), any());
+    }
+
+    @Test
+    void shouldDiscardEmptyUpload() throws Exception {
+        // Given
+        InputStream body = body("");
+        when(contentStore.store(body)).thenReturn(new StoredContent("empty", 0));
+
+        // When / Then
+        assertThatThrownBy(() -> uploadService.uploadDocumentation(encounterId, SOAPSection.SUBJECTIVE,
+                ContentType.TEXT, authorId, body))
+                .isInstanceOf(InvalidDocumentationException.class);
+        verify(contentStore).deleteUnreferenced(Set.of("empty"), Duration.ZERO);
+        verify(encounterService, never()).addStoredDocumentation(any(), any());
+    }
+
+    @Test
+    void shouldDiscardContentWhenAttachingFails() throws Exception {
+        // Given - Encounter zwischen Prüfung und Anhängen abgeschlossen bzw. gelöscht
+        InputStream body = body("Befund");
+        when(contentStore.store(body)).thenReturn(new StoredContent("h2", 6));
+        when(encounterService.addStoredDocumentation(eq(encounterId), any(EncounterDocumentation.class)))
+                .thenThrow(new InvalidEncounterStateException("Cannot add documentation to completed encounter"))
+                .thenThrow(new EncounterNotFoundException(encounterId));
+
+        // When / Then
+        assertThatThrownBy(() -> uploadService.uploadDocumentation(encounterId, SOAPSection.SUBJECTIVE,
+                ContentType.TEXT, authorId, body))
+                .isInstanceOf(InvalidEncounterStateException.class);
+        assertThatThrownBy(() -> uploadService.uploadDocumentation(encounterId, SOAPSection.SUBJECTIVE,
+                ContentType.TEXT, authorId, body))
+                .isInstanceOf(EncounterNotFoundException.class);
+        verify(contentStore, times(2)).deleteUnreferenced(Set.of("h2"), Duration.ZERO);
+    }
+
+    @Test
+    void shouldKeepOriginalErrorWhenDiscardFails() throws Exception {
+        // Given
+        InputStream body = body("");
+        when(contentStore.store(body)).thenReturn(new StoredContent("empty", 0));
+        when(contentStore.deleteUnreferenced(Set.of("empty"), Duration.ZERO))
+                .thenThrow(new IllegalStateException("database unavailable"));
+
+        // When / Then
+        assertThatThrownBy(() -> uploadService.uploadDocumentation(encounterId, SOAPSection.SUBJECTIVE,
+                ContentType.TEXT, authorId, body))
+                .isInstanceOf(InvalidDocumentationException.class);
+    }
+
+    private InputStream body(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
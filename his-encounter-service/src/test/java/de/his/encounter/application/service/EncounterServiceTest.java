@@ -1,14 +1,26 @@
 package de.his.encounter.application.service;
 
 import de.his.encounter.application.dto.CreateEncounterRequest;
+import de.his.encounter.application.dto.DocumentationResponse;
 import de.his.encounter.application.dto.EncounterResponse;
 import de.his.encounter.application.dto.EncounterSummary;
+import de.his.encounter.application.dto.WorklistEntry;
 import de.his.encounter.domain.model.Encounter;
 import de.his.encounter.domain.model.BillingContext;
+import de.his.encounter.domain.model.ContentType;
+import de.his.encounter.domain.model.EncounterDocumentation;
+import de.his.encounter.domain.model.SOAPSection;
 import de.his.encounter.domain.model.EncounterStatus;
 import de.his.encounter.domain.model.EncounterType;
 import de.his.encounter.domain.repository.EncounterRepository;
+import de.his.encounter.infrastructure.archive.ArchivedEncounter;
+import de.his.encounter.infrastructure.archive.ArchivedEncounterSummary;
+import de.his.encounter.infrastructure.archive.EncounterArchive;
 import de.his.encounter.infrastructure.exception.EncounterNotFoundException;
+import de.his.encounter.infrastructure.exception.UnauthorizedEncounterAccessException;
+import de.his.encounter.infrastructure.security.CareAccessContext;
+import de.his.encounter.infrastructure.service.DocumentationContentStore;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,9 +32,14 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
@@ -36,6 +53,24 @@ class EncounterServiceTest {
     @Mock
     private EncounterRepository encounterRepository;
 
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private EncounterStatisticsService statisticsService;
+
+    @Mock
+    private EncounterArchive encounterArchive;
+
+    @Mock
+    private DocumentationContentStore documentationContentStore;
+
+    @Mock
+    private DocumentationSearchService documentationSearchService;
+
+    @Mock
+    private CareRelationshipIndex careRelationshipIndex;
+
     @InjectMocks
     private EncounterService encounterService;
 
@@ -52,6 +87,11 @@ class EncounterServiceTest {
         encounterDate = LocalDateTime.now().plusDays(1);
     }
 
+    @AfterEach
+    void tearDown() {
+        CareAccessContext.close();
+    }
+
     @Test
     void shouldCreateEncounter() {
         // Given
@@ -73,13 +113,17 @@ class EncounterServiceTest {
         assertThat(response.getBillingContext()).isEqualTo(BillingContext.GKV);
 
         verify(encounterRepository).save(any(Encounter.class));
+        verify(statisticsService).recordCreated(savedEncounter);
+        verify(careRelationshipIndex).recordEncounter(practitionerId, patientId);
     }
 
     @Test
     void shouldGetEncounter() {
         // Given
-        Encounter encounter = createTestEncounter();
-        when(encounterRepository.findById(encounterId)).thenReturn(Optional.of(encounter));
+        DocumentationResponse documentation = new DocumentationResponse(UUID.randomUUID(), SOAPSection.SUBJECTIVE,
+                ContentType.TEXT, 29, "abc123", UUID.randomUUID(), LocalDateTime.now());
+        when(encounterRepository.findResponseById(encounterId)).thenReturn(Optional.of(createTestResponse()));
+        when(encounterRepository.findDocumentationResponses(encounterId)).thenReturn(List.of(documentation));
 
         // When
         EncounterResponse response = encounterService.getEncounter(encounterId);
@@ -87,20 +131,105 @@ class EncounterServiceTest {
         // Then
         assertThat(response.getId()).isEqualTo(encounterId);
         assertThat(response.getPatientId()).isEqualTo(patientId);
-        verify(encounterRepository).findById(encounterId);
+        assertThat(response.getDocumentation()).containsExactly(documentation);
+        assertThat(documentation.getContent()).isNull();
+        verify(encounterRepository, never()).findById(any());
+        verifyNoInteractions(documentationContentStore);
+    }
+
+    @Test
+    void shouldAttachContentWhenRequested() {
+        // Given
+        UUID documentationId = UUID.randomUUID();
+        DocumentationResponse documentation = new DocumentationResponse(documentationId, SOAPSection.OBJECTIVE,
+                ContentType.STRUCTURED_DATA, 5, "abc123", UUID.randomUUID(), LocalDateTime.now());
+        EncounterRepository.StructuredContentRow structured = mock(EncounterRepository.StructuredContentRow.class);
+        when(structured.getId()).thenReturn(documentationId);
+        when(structured.getStructuredContent()).thenReturn("{\"rr\": \"120/80\"}");
+        when(encounterRepository.findResponseById(encounterId)).thenReturn(Optional.of(createTestResponse()));
+        when(encounterRepository.findDocumentationResponses(encounterId)).thenReturn(List.of(documentation));
+        when(encounterRepository.findStructuredContents(encounterId)).thenReturn(List.of(structured));
+        when(documentationContentStore.loadAll(Set.of("abc123")))
+                .thenReturn(Map.of("abc123", "RR ok".getBytes(StandardCharsets.UTF_8)));
+
+        // When
+        EncounterResponse response = encounterService.getEncounter(encounterId, true);
+
+        // Then
+        assertThat(response.getDocumentation().get(0).getContent()).isEqualTo("RR ok");
+        assertThat(response.getDocumentation().get(0).getStructuredContent()).isEqualTo("{\"rr\": \"120/80\"}");
     }
 
     @Test
     void shouldThrowExceptionWhenEncounterNotFound() {
         // Given
-        when(encounterRepository.findById(encounterId)).thenReturn(Optional.empty());
+        when(encounterRepository.findResponseById(encounterId)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> encounterService.getEncounter(encounterId))
                 .isInstanceOf(EncounterNotFoundException.class)
                 .hasMessageContaining(encounterId.toString());
 
-        verify(encounterRepository).findById(encounterId);
+        verify(encounterRepository).findResponseById(encounterId);
+    }
+
+    @Test
+    void shouldStoreDocumentationContentAndReturnHeadersOnly() {
+        // Given
+        Encounter encounter = createTestEncounter();
+        EncounterDocumentation documentation = new EncounterDocumentation(
+                SOAPSection.SUBJECTIVE, ContentType.TEXT, "Kopfschmerzen seit drei Tagen", UUID.randomUUID());
+        when(encounterRepository.findById(encounterId)).thenReturn(Optional.of(encounter));
+        when(encounterRepository.save(encounter)).thenReturn(encounter);
+        when(documentationContentStore.getMaxContentBytes()).thenReturn(10 * 1024 * 1024);
+        when(documentationContentStore.store(any(byte[].class))).thenReturn("abc123");
+
+        // When
+        EncounterResponse response = encounterService.addDocumentation(encounterId, documentation);
+
+        // Then
+        assertThat(response.getDocumentation()).hasSize(1);
+        assertThat(response.getDocumentation().get(0).getContentHash()).isEqualTo("abc123");
+        assertThat(response.getDocumentation().get(0).getContentSize()).isEqualTo(29);
+        assertThat(response.getDocumentation().get(0).getContent()).isNull();
+        verify(documentationContentStore).store(any(byte[].class));
+        verify(documentationSearchService).index(eq("abc123"), any(byte[].class));
+    }
+
+    @Test
+    void shouldGetArchivedEncounterFromColdStorage() {
+        // Given
+        ArchivedEncounter archived = createArchivedEncounter(LocalDateTime.now().minusYears(3));
+        when(encounterRepository.findResponseById(archived.getId())).thenReturn(Optional.empty());
+        when(encounterArchive.findEncounter(archived.getId())).thenReturn(Optional.of(archived));
+
+        // When
+        EncounterResponse response = encounterService.getEncounter(archived.getId());
+
+        // Then
+        assertThat(response.getId()).isEqualTo(archived.getId());
+        assertThat(response.getStatus()).isEqualTo(EncounterStatus.COMPLETED);
+    }
+
+    @Test
+    void shouldMergeArchivedEncountersIntoTimeline() {
+        // Given - 2 Encounters in der DB, 2 ältere im Cold Storage
+        EncounterSummary recent = createTestSummary();
+        ArchivedEncounterSummary older = createArchivedSummary(LocalDateTime.now().minusYears(3));
+        ArchivedEncounterSummary oldest = createArchivedSummary(LocalDateTime.now().minusYears(4));
+        Pageable pageable = PageRequest.of(1, 2);
+
+        when(encounterArchive.findSummariesByPatient(patientId)).thenReturn(List.of(older, oldest));
+        when(encounterRepository.findSummariesByPatientId(patientId, PageRequest.of(0, 4)))
+                .thenReturn(new PageImpl<>(List.of(recent, recent), PageRequest.of(0, 4), 2));
+
+        // When
+        Page<EncounterSummary> result = encounterService.getPatientEncounters(patientId, pageable);
+
+        // Then
+        assertThat(result.getTotalElements()).isEqualTo(4);
+        assertThat(result.getContent()).extracting(EncounterSummary::getId)
+                .containsExactly(older.getId(), oldest.getId());
     }
 
     @Test
@@ -117,6 +246,8 @@ class EncounterServiceTest {
         assertThat(response.getStatus()).isEqualTo(EncounterStatus.IN_PROGRESS);
         verify(encounterRepository).findById(encounterId);
         verify(encounterRepository).save(encounter);
+        verify(outboxService).record(eq("Encounter"), eq(encounter.getId()), eq("ENCOUNTER_STARTED"), any());
+        verify(statisticsService).recordTransition(encounter, EncounterStatus.PLANNED);
     }
 
     @Test
@@ -134,18 +265,20 @@ class EncounterServiceTest {
         assertThat(response.getStatus()).isEqualTo(EncounterStatus.COMPLETED);
         verify(encounterRepository).findById(encounterId);
         verify(encounterRepository).save(encounter);
+        verify(outboxService).record(eq("Encounter"), eq(encounter.getId()), eq("ENCOUNTER_COMPLETED"), any());
+        verify(statisticsService).recordTransition(encounter, EncounterStatus.IN_PROGRESS);
     }
 
     @Test
     void shouldGetPatientEncounters() {
         // Given
-        Encounter encounter1 = createTestEncounter();
-        Encounter encounter2 = createTestEncounter();
-        Page<Encounter> encounterPage = new PageImpl<>(Arrays.asList(encounter1, encounter2));
+        EncounterSummary summary1 = createTestSummary();
+        EncounterSummary summary2 = createTestSummary();
+        Page<EncounterSummary> summaryPage = new PageImpl<>(Arrays.asList(summary1, summary2));
         Pageable pageable = PageRequest.of(0, 10);
 
-        when(encounterRepository.findByPatientIdOrderByEncounterDateDesc(patientId, pageable))
-                .thenReturn(encounterPage);
+        when(encounterRepository.findSummariesByPatientId(patientId, pageable))
+                .thenReturn(summaryPage);
 
         // When
         Page<EncounterSummary> result = encounterService.getPatientEncounters(patientId, pageable);
@@ -153,7 +286,153 @@ class EncounterServiceTest {
         // Then
         assertThat(result.getContent()).hasSize(2);
         assertThat(result.getContent().get(0).getId()).isEqualTo(encounterId);
-        verify(encounterRepository).findByPatientIdOrderByEncounterDateDesc(patientId, pageable);
+        verify(encounterRepository).findSummariesByPatientId(patientId, pageable);
+    }
+
+    @Test
+    void shouldGetPractitionerWorklistForWholeDay() {
+        // Given
+        LocalDate day = encounterDate.toLocalDate();
+        Pageable pageable = PageRequest.of(0, 50);
+        WorklistEntry entry = new WorklistEntry(encounterId, patientId, EncounterType.INITIAL,
+                encounterDate, EncounterStatus.PLANNED, BillingContext.GKV);
+
+        when(encounterRepository.findWorklist(eq(practitionerId), any(), eq(day.atStartOfDay()),
+                eq(day.plusDays(1).atStartOfDay()), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(entry)));
+
+        // When
+        Page<WorklistEntry> result = encounterService.getPractitionerWorklist(practitionerId, day, pageable);
+
+        // Then
+        assertThat(result.getContent()).extracting(WorklistEntry::getId).containsExactly(encounterId);
+        verify(encounterRepository).findWorklist(eq(practitionerId),
+                argThat(statuses -> statuses.size() == 2
+                        && statuses.contains(EncounterStatus.PLANNED)
+                        && statuses.contains(EncounterStatus.IN_PROGRESS)),
+                eq(day.atStartOfDay()), eq(day.plusDays(1).atStartOfDay()), eq(pageable));
+    }
+
+    @Test
+    void shouldDenyEncounterWithoutTreatingRelationship() {
+        // Given - Auflage TREATING_RELATIONSHIP, Aufrufer behandelt den Patienten nicht
+        UUID otherPractitioner = UUID.randomUUID();
+        CareAccessContext.open(otherPractitioner);
+        when(encounterRepository.findResponseById(encounterId)).thenReturn(Optional.of(createTestResponse()));
+        when(careRelationshipIndex.isTreating(otherPractitioner, patientId)).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> encounterService.getEncounter(encounterId))
+                .isInstanceOf(UnauthorizedEncounterAccessException.class)
+                .hasMessageContaining(encounterId.toString());
+        verify(encounterRepository, never()).findDocumentationResponses(any());
+    }
+
+    @Test
+    void shouldReturnEncounterForTreatingPractitioner() {
+        // Given
+        CareAccessContext.open(practitionerId);
+        when(encounterRepository.findResponseById(encounterId)).thenReturn(Optional.of(createTestResponse()));
+        when(careRelationshipIndex.isTreating(practitionerId, patientId)).thenReturn(true);
+
+        // When
+        EncounterResponse response = encounterService.getEncounter(encounterId);
+
+        // Then
+        assertThat(response.getId()).isEqualTo(encounterId);
+    }
+
+    @Test
+    void shouldDenyPatientTimelineWithoutTreatingRelationship() {
+        // Given
+        CareAccessContext.open(UUID.randomUUID());
+
+        // When & Then
+        assertThatThrownBy(() -> encounterService.getPatientEncounters(patientId, PageRequest.of(0, 10)))
+                .isInstanceOf(UnauthorizedEncounterAccessException.class)
+                .hasMessageContaining(patientId.toString());
+        verifyNoInteractions(encounterArchive);
+    }
+
+    @Test
+    void shouldSkipRelationshipCheckWithoutObligation() {
+        // Given
+        when(encounterRepository.findResponseById(encounterId)).thenReturn(Optional.of(createTestResponse()));
+
+        // When
+        encounterService.getEncounter(encounterId);
+
+        // Then
+        verifyNoInteractions(careRelationshipIndex);
+    }
+
+    @Test
+    void shouldFilterForeignWorklistToOwnPatientsInQuery() {
+        // Given - Arbeitsliste eines anderen Behandlers unter Auflage TREATING_RELATIONSHIP
+        UUID caller = UUID.randomUUID();
+        LocalDate day = encounterDate.toLocalDate();
+        Pageable pageable = PageRequest.of(0, 50);
+        EncounterRepository.WorklistRow row = mock(EncounterRepository.WorklistRow.class);
+        when(row.getId()).thenReturn(encounterId);
+        when(row.getPatientId()).thenReturn(patientId);
+        when(row.getType()).thenReturn(EncounterType.INITIAL);
+        when(row.getEncounterDate()).thenReturn(encounterDate);
+        when(row.getStatus()).thenReturn(EncounterStatus.PLANNED);
+        when(row.getBillingContext()).thenReturn(BillingContext.GKV);
+        CareAccessContext.open(caller);
+        when(encounterRepository.findWorklistOfTreatedPatients(eq(practitionerId), eq(caller),
+                argThat(statuses -> statuses.size() == 2
+                        && statuses.contains("PLANNED") && statuses.contains("IN_PROGRESS")),
+                eq(day.atStartOfDay()), eq(day.plusDays(1).atStartOfDay()), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(row), pageable, 1));
+
+        // When
+        Page<WorklistEntry> result = encounterService.getPractitionerWorklist(practitionerId, day, pageable);
+
+        // Then - Gesamtzahl aus der Zählabfrage, keine Nachfilterung der Seite
+        assertThat(result.getContent()).singleElement().satisfies(entry -> {
+            assertThat(entry.getId()).isEqualTo(encounterId);
+            assertThat(entry.getPatientId()).isEqualTo(patientId);
+            assertThat(entry.getStatus()).isEqualTo(EncounterStatus.PLANNED);
+        });
+        assertThat(result.getTotalElements()).isEqualTo(1);
+        verify(encounterRepository, never()).findWorklist(any(), any(), any(), any(), any());
+        verifyNoInteractions(careRelationshipIndex);
+    }
+
+    @Test
+    void shouldNotFilterOwnWorklist() {
+        // Given - Auflage gilt, aber es ist die eigene Arbeitsliste
+        LocalDate day = encounterDate.toLocalDate();
+        Pageable pageable = PageRequest.of(0, 50);
+        CareAccessContext.open(practitionerId);
+        when(encounterRepository.findWorklist(eq(practitionerId), any(), any(), any(), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of()));
+
+        // When
+        encounterService.getPractitionerWorklist(practitionerId, day, pageable);
+
+        // Then
+        verify(encounterRepository, never()).findWorklistOfTreatedPatients(any(), any(), any(), any(), any(), any());
+    }
+
+    private ArchivedEncounter createArchivedEncounter(LocalDateTime date) {
+        return new ArchivedEncounter(UUID.randomUUID(), patientId, practitionerId, EncounterType.FOLLOW_UP,
+                date, EncounterStatus.COMPLETED, BillingContext.GKV, date, date, 2L, List.of());
+    }
+
+    private ArchivedEncounterSummary createArchivedSummary(LocalDateTime date) {
+        return new ArchivedEncounterSummary(UUID.randomUUID(), EncounterType.FOLLOW_UP, date,
+                EncounterStatus.COMPLETED, 0);
+    }
+
+    private EncounterResponse createTestResponse() {
+        return new EncounterResponse(encounterId, patientId, practitionerId, EncounterType.INITIAL,
+                encounterDate, EncounterStatus.PLANNED, BillingContext.GKV, encounterDate, encounterDate);
+    }
+
+    private EncounterSummary createTestSummary() {
+        return new EncounterSummary(encounterId, EncounterType.INITIAL, encounterDate, EncounterStatus.PLANNED, 0);
     }
 
     private Encounter createTestEncounter() {
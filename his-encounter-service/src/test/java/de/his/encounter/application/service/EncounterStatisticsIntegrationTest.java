@@ -0,0 +1,140 @@
+package de.his.encounter.application.service;
+
+import de.his.encounter.application.dto.CreateEncounterRequest;
+import de.his.encounter.application.dto.EncounterStatisticsResponse;
+import de.his.encounter.domain.model.BillingContext;
+import de.his.encounter.domain.model.EncounterStatus;
+import de.his.encounter.domain.model.EncounterType;
+import de.his.encounter.infrastructure.service.StatisticsReconciliationJob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Inkrementelle Statistik-Zähler und nächtlicher Abgleich gegen PostgreSQL.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EncounterStatisticsIntegrationTest {
+
+    private static final String RECONCILIATION_LOCK = "encounter-statistics-reconciliation";
+
+    @Autowired
+    private EncounterService encounterService;
+
+    @Autowired
+    private EncounterHousekeepingService housekeepingService;
+
+    @Autowired
+    private EncounterStatisticsService statisticsService;
+
+    @Autowired
+    private StatisticsReconciliationJob reconciliationJob;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID practitionerId;
+    private UUID patientId;
+
+    @BeforeEach
+    void setUp() {
+        practitionerId = UUID.randomUUID();
+        patientId = UUID.randomUUID();
+        jdbcTemplate.update("DELETE FROM his_encounter.scheduler_locks WHERE name = ?", RECONCILIATION_LOCK);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM his_encounter.scheduler_locks WHERE name = ?", RECONCILIATION_LOCK);
+        jdbcTemplate.update("""
+                DELETE FROM his_encounter.outbox_events WHERE aggregate_id IN
+                (SELECT encounter_id FROM his_encounter.encounters WHERE practitioner_id = ?)
+                """, practitionerId);
+        jdbcTemplate.update("DELETE FROM his_encounter.encounters WHERE practitioner_id = ?", practitionerId);
+        jdbcTemplate.update("DELETE FROM his_encounter.encounter_stats_daily WHERE practitioner_id = ?",
+                practitionerId);
+        jdbcTemplate.update("DELETE FROM his_encounter.encounter_stats_patient WHERE patient_id = ?", patientId);
+    }
+
+    @Test
+    void shouldMoveCountersOnCreateStartCompleteAndNoShow() {
+        // When
+        givenPlannedCompletedAndNoShowEncounters();
+
+        // Then
+        assertCounters(statisticsService.getPatientStatistics(patientId));
+        assertCounters(practitionerStatistics());
+    }
+
+    @Test
+    void shouldRepairDamagedCountersOnReconciliation() {
+        // Given - Zähler verfälscht bzw. gelöscht
+        givenPlannedCompletedAndNoShowEncounters();
+        jdbcTemplate.update("""
+                UPDATE his_encounter.encounter_stats_daily SET encounter_count = 42
+                WHERE practitioner_id = ? AND status = 'COMPLETED'
+                """, practitionerId);
+        jdbcTemplate.update("""
+                INSERT INTO his_encounter.encounter_stats_daily
+                (stat_date, practitioner_id, encounter_type, billing_context, status, encounter_count)
+                VALUES (CURRENT_DATE, ?, 'INITIAL', 'GKV', 'IN_PROGRESS', 7)
+                """, practitionerId);
+        jdbcTemplate.update("""
+                DELETE FROM his_encounter.encounter_stats_patient WHERE patient_id = ? AND status = 'NO_SHOW'
+                """, patientId);
+        assertThat(practitionerStatistics().getTotal()).isNotEqualTo(3);
+        assertThat(statisticsService.getPatientStatistics(patientId).getTotal()).isEqualTo(2);
+
+        // When
+        reconciliationJob.reconcile();
+
+        // Then
+        assertCounters(statisticsService.getPatientStatistics(patientId));
+        assertCounters(practitionerStatistics());
+    }
+
+    // Ein geplanter, ein abgeschlossener und ein nicht wahrgenommener Encounter
+    private void givenPlannedCompletedAndNoShowEncounters() {
+        LocalDateTime tomorrow = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        create(EncounterType.INITIAL, tomorrow);
+        UUID completed = create(EncounterType.INITIAL, tomorrow.plusHours(2));
+        encounterService.startEncounter(completed);
+        encounterService.completeEncounter(completed);
+        // Notfälle dürfen rückdatiert werden; NO_SHOW wie im Housekeeping per Bulk-Update
+        UUID noShow = create(EncounterType.EMERGENCY, LocalDateTime.now().minusDays(2));
+        assertThat(housekeepingService.markAsNoShow(List.of(noShow))).isEqualTo(1);
+    }
+
+    private UUID create(EncounterType type, LocalDateTime encounterDate) {
+        return encounterService.createEncounter(new CreateEncounterRequest(
+                patientId, practitionerId, type, encounterDate, BillingContext.GKV)).getId();
+    }
+
+    private EncounterStatisticsResponse practitionerStatistics() {
+        return statisticsService.getPractitionerStatistics(practitionerId,
+                LocalDate.now().minusDays(7), LocalDate.now().plusDays(7));
+    }
+
+    private void assertCounters(EncounterStatisticsResponse statistics) {
+        assertThat(statistics.getTotal()).isEqualTo(3);
+        assertThat(statistics.getByStatus().get(EncounterStatus.PLANNED)).isEqualTo(1L);
+        assertThat(statistics.getByStatus().getOrDefault(EncounterStatus.IN_PROGRESS, 0L)).isZero();
+        assertThat(statistics.getByStatus().get(EncounterStatus.COMPLETED)).isEqualTo(1L);
+        assertThat(statistics.getByStatus().get(EncounterStatus.NO_SHOW)).isEqualTo(1L);
+        assertThat(statistics.getByType().get(EncounterType.INITIAL)).isEqualTo(2L);
+        assertThat(statistics.getByType().get(EncounterType.EMERGENCY)).isEqualTo(1L);
+        assertThat(statistics.getByBillingContext().get("GKV")).isEqualTo(3L);
+    }
+}
@@ -0,0 +1,249 @@
+package de.his.encounter.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.his.encounter.application.dto.ChangeEventResponse;
+import de.his.encounter.application.dto.ChangeFeedResponse;
+import de.his.encounter.application.dto.EncounterStatusEvent;
+import de.his.encounter.domain.model.EncounterStatus;
+import de.his.encounter.infrastructure.exception.ChangeFeedCursorExpiredException;
+import de.his.encounter.infrastructure.security.CareAccessContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EncounterStatusStreamServiceTest {
+
+    private final ChangeFeedService changeFeedService = mock(ChangeFeedService.class);
+    private final CareRelationshipIndex careRelationshipIndex = mock(CareRelationshipIndex.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private EncounterStatusStreamService statusStreamService;
+
+    private UUID practitionerId;
+    private UUID patientId;
+
+    @BeforeEach
+    void setUp() {
+        statusStreamService = new EncounterStatusStreamService(changeFeedService, careRelationshipIndex,
+                objectMapper);
+        ReflectionTestUtils.setField(statusStreamService, "bufferSize", 2);
+        ReflectionTestUtils.setField(statusStreamService, "heartbeatIntervalMs", 60_000L);
+
+        practitionerId = UUID.randomUUID();
+        patientId = UUID.randomUUID();
+    }
+
+    @Test
+    void shouldDeliverOnlyMatchingTransitions() throws InterruptedException {
+        // Given
+        RecordingSink sink = new RecordingSink(null);
+        statusStreamService.subscribe(practitionerId, null, sink);
+
+        // When
+        statusStreamService.publish(statusEvent(UUID.randomUUID(), patientId));
+        statusStreamService.publish(statusEvent(practitionerId, patientId));
+
+        // Then
+        assertThat(sink.awaitEvents(1)).isTrue();
+        assertThat(sink.events).hasSize(1);
+        assertThat(sink.events.get(0).getPractitionerId()).isEqualTo(practitionerId);
+    }
+
+    @Test
+    void shouldDeliverOnlyTreatedPatientsUnderRelationshipObligation() throws InterruptedException {
+        // Given
+        UUID treatedPatientId = UUID.randomUUID();
+        when(careRelationshipIndex.isTreating(practitionerId, treatedPatientId)).thenReturn(true);
+        RecordingSink sink = new RecordingSink(null);
+        CareAccessContext.open(practitionerId);
+        try {
+            statusStreamService.subscribe(null, null, sink);
+        } finally {
+            CareAccessContext.close();
+        }
+
+        // When
+        statusStreamService.publish(statusEvent(UUID.randomUUID(), patientId));
+        statusStreamService.publish(statusEvent(UUID.randomUUID(), treatedPatientId));
+
+        // Then
+        assertThat(sink.awaitEvents(1)).isTrue();
+        assertThat(sink.events).extracting(EncounterStatusEvent::getPatientId).containsExactly(treatedPatientId);
+    }
+
+    @Test
+    void shouldDropSlowConsumerWithoutAffectingOthers() throws InterruptedException {
+        // Given
+        CountDownLatch releaseSlowConsumer = new CountDownLatch(1);
+        RecordingSink slowSink = new RecordingSink(releaseSlowConsumer);
+        RecordingSink fastSink = new RecordingSink(null);
+        statusStreamService.subscribe(null, patientId, slowSink);
+        statusStreamService.subscribe(null, patientId, fastSink);
+
+        // When - der langsame Abonnent blockiert im ersten send, Puffer (2) läuft über
+        for (int i = 0; i < 5; i++) {
+            statusStreamService.publish(statusEvent(practitionerId, patientId));
+            assertThat(fastSink.awaitEvents(i + 1)).isTrue();
+        }
+        releaseSlowConsumer.countDown();
+
+        // Then
+        assertThat(fastSink.awaitEvents(5)).isTrue();
+        assertThat(slowSink.closed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(slowSink.resyncRequested).isTrue();
+        assertThat(slowSink.events.size()).isLessThan(5);
+        assertThat(statusStreamService.getActiveSubscriptions()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRemoveSubscriptionOnCancel() throws InterruptedException {
+        // Given
+        RecordingSink sink = new RecordingSink(null);
+        EncounterStatusStreamService.Subscription subscription = statusStreamService.subscribe(null, null, sink);
+
+        // When
+        subscription.cancel();
+
+        // Then
+        assertThat(sink.closed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(statusStreamService.getActiveSubscriptions()).isZero();
+    }
+
+    @Test
+    void shouldDeliverTransitionsFromChangeFeedIncludingNoShow() throws Exception {
+        // Given - Übergänge von beliebigen Instanzen und aus dem Bulk-No-Show landen im Feed
+        when(changeFeedService.getLatestPosition()).thenReturn(10L);
+        statusStreamService.followChangeFeed();
+        RecordingSink sink = new RecordingSink(null);
+        statusStreamService.subscribe(practitionerId, null, sink);
+        UUID noShowId = UUID.randomUUID();
+        when(changeFeedService.readChanges(10, 500)).thenReturn(new ChangeFeedResponse(List.of(
+                change(11, "ENCOUNTER_CREATED", UUID.randomUUID(), "PLANNED"),
+                change(12, "ENCOUNTER_STARTED", UUID.randomUUID(), "IN_PROGRESS"),
+                change(13, "ENCOUNTER_NO_SHOW", noShowId, "NO_SHOW")), 13L, false));
+
+        // When
+        statusStreamService.onFeedAdvanced(13);
+
+        // Then - CREATED ist kein Statuswechsel
+        assertThat(sink.awaitEvents(2)).isTrue();
+        assertThat(sink.events).extracting(EncounterStatusEvent::getStatus)
+                .containsExactly(EncounterStatus.IN_PROGRESS, EncounterStatus.NO_SHOW);
+        EncounterStatusEvent noShow = sink.events.get(1);
+        assertThat(noShow.getEncounterId()).isEqualTo(noShowId);
+        assertThat(noShow.getPreviousStatus()).isEqualTo(EncounterStatus.PLANNED);
+    }
+
+    @Test
+    void shouldSkipFeedReadsWithoutSubscribers() {
+        // Given
+        when(changeFeedService.getLatestPosition()).thenReturn(10L);
+        statusStreamService.followChangeFeed();
+
+        // When
+        statusStreamService.onFeedAdvanced(20);
+
+        // Then - Cursor rückt ohne Lesen vor
+        verify(changeFeedService, never()).readChanges(anyLong(), anyInt());
+        RecordingSink sink = new RecordingSink(null);
+        statusStreamService.subscribe(null, null, sink);
+        when(changeFeedService.readChanges(20, 500)).thenReturn(new ChangeFeedResponse(List.of(), 20L, false));
+        statusStreamService.onFeedAdvanced(20);
+        verify(changeFeedService, never()).readChanges(anyLong(), anyInt());
+    }
+
+    @Test
+    void shouldResyncSubscribersWhenFeedCursorExpired() throws Exception {
+        // Given
+        when(changeFeedService.getLatestPosition()).thenReturn(10L);
+        statusStreamService.followChangeFeed();
+        RecordingSink sink = new RecordingSink(null);
+        statusStreamService.subscribe(null, null, sink);
+        when(changeFeedService.readChanges(10, 500)).thenThrow(new ChangeFeedCursorExpiredException(10, 15, 30));
+
+        // When
+        statusStreamService.onFeedAdvanced(30);
+
+        // Then
+        assertThat(sink.closed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(sink.resyncRequested).isTrue();
+        assertThat(statusStreamService.getActiveSubscriptions()).isZero();
+    }
+
+    private ChangeEventResponse change(long position, String eventType, UUID encounterId, String status)
+            throws Exception {
+        String payload = objectMapper.writeValueAsString(Map.of(
+                "encounterId", encounterId,
+                "patientId", patientId,
+                "practitionerId", practitionerId,
+                "status", status));
+        return new ChangeEventResponse(position, "Encounter", encounterId, eventType, payload, LocalDateTime.now());
+    }
+
+    private EncounterStatusEvent statusEvent(UUID practitioner, UUID patient) {
+        return new EncounterStatusEvent(UUID.randomUUID(), patient, practitioner,
+                EncounterStatus.PLANNED, EncounterStatus.IN_PROGRESS, LocalDateTime.now());
+    }
+
+    private static class RecordingSink implements EncounterStatusStreamService.StatusSink {
+
+        private final CountDownLatch blockFirstSend;
+        private final List<EncounterStatusEvent> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch closed = new CountDownLatch(1);
+        private volatile boolean resyncRequested;
+
+        RecordingSink(CountDownLatch blockFirstSend) {
+            this.blockFirstSend = blockFirstSend;
+        }
+
+        @Override
+        public void send(EncounterStatusEvent event) {
+            if (blockFirstSend != null && events.isEmpty()) {
+                try {
+                    blockFirstSend.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            events.add(event);
+        }
+
+        @Override
+        public void heartbeat() {
+        }
+
+        @Override
+        public void resync() {
+            resyncRequested = true;
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+
+        boolean awaitEvents(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (events.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            return events.size() >= count;
+        }
+    }
+}
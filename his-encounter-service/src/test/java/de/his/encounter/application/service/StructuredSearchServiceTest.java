@@ -0,0 +1,201 @@
+package de.his.encounter.application.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.his.encounter.application.dto.StructuredSearchHit;
+import de.his.encounter.application.dto.StructuredSearchRequest;
+import de.his.encounter.application.dto.StructuredSearchResponse;
+import de.his.encounter.domain.model.BillingContext;
+import de.his.encounter.domain.model.ContentType;
+import de.his.encounter.domain.model.Encounter;
+import de.his.encounter.domain.model.EncounterDocumentation;
+import de.his.encounter.domain.model.EncounterType;
+import de.his.encounter.domain.model.SOAPSection;
+import de.his.encounter.domain.repository.EncounterRepository;
+import de.his.encounter.infrastructure.exception.BusinessRuleViolationException;
+import de.his.encounter.infrastructure.security.CareAccessContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StructuredSearchServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private EncounterRepository encounterRepository;
+
+    @Mock
+    private CareRelationshipIndex careRelationshipIndex;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private DatabaseMetaData metaData;
+
+    private StructuredSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        searchService = new StructuredSearchService(encounterRepository, careRelationshipIndex, dataSource,
+                objectMapper);
+        ReflectionTestUtils.setField(searchService, "fallbackBatchSize", 2);
+    }
+
+    @Test
+    void shouldUseJsonbContainmentQueryOnPostgres() throws Exception {
+        // Given
+        useDatabase("PostgreSQL");
+        Encounter encounter = encounter(LocalDateTime.of(2025, 3, 1, 9, 0));
+        when(encounterRepository.findByStructuredContent("{\"diagnoses\":[{\"icd10\":\"J06.9\"}]}",
+                List.of("ASSESSMENT"), false, new UUID(0, 0), 3)).thenReturn(List.of(encounter));
+
+        // When
+        StructuredSearchResponse response = searchService.search(request(
+                "{\"diagnoses\": [{\"icd10\": \"J06.9\"}]}", null, null, 2));
+
+        // Then
+        assertThat(response.getResults()).extracting(StructuredSearchHit::getId).containsExactly(encounter.getId());
+        assertThat(response.isHasMore()).isFalse();
+        verify(encounterRepository, never()).findStructuredCandidates(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldFilterCandidatesInApplicationWithoutJsonbAndPaginateByKeyset() throws Exception {
+        // Given
+        useDatabase("H2");
+        Encounter newest = encounter(LocalDateTime.of(2025, 3, 3, 9, 0));
+        Encounter middle = encounter(LocalDateTime.of(2025, 3, 2, 9, 0));
+        Encounter oldest = encounter(LocalDateTime.of(2025, 3, 1, 9, 0));
+        EncounterDocumentation first = documentation(newest, "{\"diagnoses\": [{\"icd10\": \"J06.9\", \"side\": \"L\"}]}");
+        EncounterDocumentation other = documentation(middle, "{\"diagnoses\": [{\"icd10\": \"I10\"}]}");
+        EncounterDocumentation second = documentation(oldest, "{\"diagnoses\": [{\"icd10\": \"I10\"}, {\"icd10\": \"J06.9\"}]}");
+
+        when(encounterRepository.findStructuredCandidates(eq(List.of(SOAPSection.ASSESSMENT)), eq(null), eq(null),
+                eq(PageRequest.of(0, 2))))
+                .thenReturn(new SliceImpl<>(List.of(first, other), PageRequest.of(0, 2), true));
+        when(encounterRepository.findStructuredCandidates(eq(List.of(SOAPSection.ASSESSMENT)), eq(null), eq(null),
+                eq(PageRequest.of(1, 2))))
+                .thenReturn(new SliceImpl<>(List.of(second), PageRequest.of(1, 2), false));
+
+        // When
+        StructuredSearchResponse response = searchService.search(request(
+                "{\"diagnoses\": [{\"icd10\": \"J06.9\"}]}", null, null, 1));
+
+        // Then
+        assertThat(response.getResults()).extracting(StructuredSearchHit::getId).containsExactly(newest.getId());
+        assertThat(response.isHasMore()).isTrue();
+        assertThat(response.getNextAfterDate()).isEqualTo(newest.getEncounterDate());
+        assertThat(response.getNextAfterId()).isEqualTo(newest.getId());
+    }
+
+    @Test
+    void shouldSkipUntreatedPatientsInApplicationUnderRelationshipObligation() throws Exception {
+        // Given
+        useDatabase("H2");
+        UUID caller = UUID.randomUUID();
+        Encounter foreign = encounter(LocalDateTime.of(2025, 3, 2, 9, 0));
+        Encounter treated = encounter(LocalDateTime.of(2025, 3, 1, 9, 0));
+        when(careRelationshipIndex.isTreating(caller, foreign.getPatientId())).thenReturn(false);
+        when(careRelationshipIndex.isTreating(caller, treated.getPatientId())).thenReturn(true);
+        when(encounterRepository.findStructuredCandidates(eq(List.of(SOAPSection.ASSESSMENT)), eq(null), eq(null),
+                eq(PageRequest.of(0, 2))))
+                .thenReturn(new SliceImpl<>(List.of(
+                        documentation(foreign, "{\"diagnoses\": [{\"icd10\": \"J06.9\"}]}"),
+                        documentation(treated, "{\"diagnoses\": [{\"icd10\": \"J06.9\"}]}")),
+                        PageRequest.of(0, 2), false));
+
+        // When
+        StructuredSearchResponse response;
+        CareAccessContext.open(caller);
+        try {
+            response = searchService.search(request("{\"diagnoses\": [{\"icd10\": \"J06.9\"}]}", null, null, 10));
+        } finally {
+            CareAccessContext.close();
+        }
+
+        // Then
+        assertThat(response.getResults()).extracting(StructuredSearchHit::getId).containsExactly(treated.getId());
+    }
+
+    @Test
+    void shouldFollowPostgresContainmentRules() throws Exception {
+        JsonNode document = objectMapper.readTree(
+                "{\"diagnoses\": [{\"icd10\": \"J06.9\", \"certainty\": \"G\"}], \"score\": 3, \"tags\": [\"akut\"]}");
+
+        assertThat(StructuredSearchService.contains(document, objectMapper.readTree("{\"score\": 3.0}"))).isTrue();
+        assertThat(StructuredSearchService.contains(document,
+                objectMapper.readTree("{\"diagnoses\": [{\"certainty\": \"G\"}]}"))).isTrue();
+        assertThat(StructuredSearchService.contains(document, objectMapper.readTree("{\"tags\": [\"akut\"]}")))
+                .isTrue();
+        // nur ein Array auf oberster Ebene enthält einen einzelnen Skalar
+        assertThat(StructuredSearchService.contains(document, objectMapper.readTree("{\"tags\": \"akut\"}")))
+                .isFalse();
+        assertThat(StructuredSearchService.contains(document,
+                objectMapper.readTree("{\"diagnoses\": [{\"icd10\": \"I10\"}]}"))).isFalse();
+        assertThat(StructuredSearchService.contains(objectMapper.readTree("[\"a\", \"b\"]"),
+                objectMapper.readTree("\"a\""))).isTrue();
+    }
+
+    @Test
+    void shouldRejectEmptyFilterAndIncompleteCursor() throws Exception {
+        useDatabase("PostgreSQL");
+
+        assertThatThrownBy(() -> searchService.search(request("{}", null, null, 10)))
+                .isInstanceOf(BusinessRuleViolationException.class)
+                .hasMessageContaining("non-empty");
+        assertThatThrownBy(() -> searchService.search(request("{\"score\": 3}", LocalDateTime.now(), null, 10)))
+                .isInstanceOf(BusinessRuleViolationException.class)
+                .hasMessageContaining("afterId");
+    }
+
+    private void useDatabase(String productName) throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn(productName);
+        searchService.init();
+    }
+
+    private StructuredSearchRequest request(String contains, LocalDateTime afterDate, UUID afterId, int size)
+            throws Exception {
+        return new StructuredSearchRequest(SOAPSection.ASSESSMENT, objectMapper.readTree(contains),
+                afterDate, afterId, size);
+    }
+
+    private Encounter encounter(LocalDateTime date) {
+        Encounter encounter = new Encounter(UUID.randomUUID(), UUID.randomUUID(), EncounterType.FOLLOW_UP,
+                date, BillingContext.GKV);
+        encounter.setId(UUID.randomUUID());
+        return encounter;
+    }
+
+    private EncounterDocumentation documentation(Encounter encounter, String structuredContent) {
+        EncounterDocumentation documentation = new EncounterDocumentation(SOAPSection.ASSESSMENT,
+                ContentType.STRUCTURED_DATA, null, UUID.randomUUID());
+        documentation.setStructuredContent(structuredContent);
+        encounter.addDocumentation(documentation);
+        return documentation;
+    }
+}
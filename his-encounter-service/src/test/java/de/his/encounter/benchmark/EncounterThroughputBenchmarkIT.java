@@ -0,0 +1,164 @@
+package de.his.encounter.benchmark;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Durchsatz für Anlegen (POST /api/v1/encounters) und Timeline (GET /patient/{id})
+ * unter paralleler Last. Läuft nur manuell, Vergleich mit dem prod-Profil über
+ * {@link EncounterThroughputProdBenchmarkIT}. Nach dem Aufwärmen (JIT, Pool, Statement-Cache)
+ * werden mehrere Runden gemessen und der Median ausgegeben; Outbox- und Statistik-Zeilen
+ * werden danach entfernt, damit aufeinanderfolgende Läufe dieselbe Datenbank vorfinden:
+ *
+ * <pre>
+ * mvn test -Dtest='EncounterThroughput*BenchmarkIT' -Dsurefire.failIfNoSpecifiedTests=false
+ * </pre>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class EncounterThroughputBenchmarkIT {
+
+    private static final int THREADS = 16;
+    private static final int WARMUP_REQUESTS = 2000;
+    private static final int MEASURED_REQUESTS = 2000;
+    private static final int ROUNDS = 3;
+    private static final int PATIENTS = 40;
+    private static final int PRACTITIONERS = 20;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Environment environment;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final List<UUID> patientIds = new ArrayList<>();
+    private final List<UUID> practitionerIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        for (UUID patientId : patientIds) {
+            jdbcTemplate.update("DELETE FROM his_encounter.outbox_events WHERE aggregate_id IN "
+                    + "(SELECT encounter_id FROM his_encounter.encounters WHERE patient_id = ?)", patientId);
+            jdbcTemplate.update("DELETE FROM his_encounter.encounter_documentation WHERE encounter_id IN "
+                    + "(SELECT encounter_id FROM his_encounter.encounters WHERE patient_id = ?)", patientId);
+            jdbcTemplate.update("DELETE FROM his_encounter.encounters WHERE patient_id = ?", patientId);
+            jdbcTemplate.update("DELETE FROM his_encounter.encounter_stats_patient WHERE patient_id = ?", patientId);
+        }
+        for (UUID practitionerId : practitionerIds) {
+            jdbcTemplate.update("DELETE FROM his_encounter.encounter_stats_daily WHERE practitioner_id = ?",
+                    practitionerId);
+        }
+    }
+
+    @Test
+    void measureCreateAndTimelineThroughput() throws Exception {
+        for (int i = 0; i < PATIENTS; i++) {
+            patientIds.add(UUID.randomUUID());
+        }
+        for (int i = 0; i < PRACTITIONERS; i++) {
+            practitionerIds.add(UUID.randomUUID());
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        Callable<Integer> create = () -> {
+            int n = sequence.getAndIncrement();
+            return post(createBody(patientIds.get(n % PATIENTS), practitionerIds.get(n % PRACTITIONERS)));
+        };
+        Callable<Integer> timeline = () -> get(
+                "/patient/" + patientIds.get(sequence.getAndIncrement() % PATIENTS) + "?size=20");
+
+        run(create, WARMUP_REQUESTS);
+        run(timeline, WARMUP_REQUESTS);
+        double[] createPerSecond = new double[ROUNDS];
+        double[] timelinePerSecond = new double[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            createPerSecond[round] = run(create, MEASURED_REQUESTS);
+            timelinePerSecond[round] = run(timeline, MEASURED_REQUESTS);
+        }
+
+        System.out.printf("[benchmark] profiles=%s threads=%d pool=%s create=%.0f req/s %s timeline=%.0f req/s %s%n",
+                Arrays.toString(environment.getActiveProfiles()), THREADS,
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", "10"),
+                median(createPerSecond), format(createPerSecond),
+                median(timelinePerSecond), format(timelinePerSecond));
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static String format(double[] values) {
+        return Arrays.stream(values).mapToObj(value -> String.format("%.0f", value)).toList().toString();
+    }
+
+    private double run(Callable<Integer> request, int count) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<Integer>> tasks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                tasks.add(request);
+            }
+            long start = System.nanoTime();
+            List<Future<Integer>> results = executor.invokeAll(tasks);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            for (Future<Integer> result : results) {
+                assertThat(result.get()).isBetween(200, 299);
+            }
+            return count / seconds;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private String createBody(UUID patientId, UUID practitionerId) {
+        return """
+                {"patientId": "%s", "practitionerId": "%s", "type": "FOLLOW_UP",
+                 "encounterDate": "%s", "billingContext": "GKV"}
+                """.formatted(patientId, practitionerId, LocalDateTime.now().plusDays(1).withNano(0));
+    }
+
+    private int post(String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri(""))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private int get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri(path)).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + "/api/v1/encounters" + path);
+    }
+}
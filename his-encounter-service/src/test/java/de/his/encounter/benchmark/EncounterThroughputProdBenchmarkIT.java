@@ -0,0 +1,10 @@
+package de.his.encounter.benchmark;
+
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Wie {@link EncounterThroughputBenchmarkIT}, zusätzlich mit application-prod.yml.
+ */
+@ActiveProfiles({ "test", "prod" })
+class EncounterThroughputProdBenchmarkIT extends EncounterThroughputBenchmarkIT {
+}
@@ -0,0 +1,142 @@
+package de.his.encounter.benchmark;
+
+import de.his.encounter.config.FeignHttpClientConfig;
+import de.his.encounter.infrastructure.client.PatientClient;
+import de.his.encounter.infrastructure.client.dto.PatientDto;
+import feign.Client;
+import feign.Feign;
+import feign.hc5.ApacheHttp5Client;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+import org.springframework.cloud.openfeign.support.HttpMessageConverterCustomizer;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JMH: {@link PatientClient#getPatient} gegen einen lokalen Stub-Patient-Service, einmal über
+ * HttpURLConnection (Feign-Default, JDK-Keep-Alive-Cache mit 5 Verbindungen je Ziel) und einmal
+ * über Apache HttpClient 5 mit dem Pool aus {@link FeignHttpClientConfig}. 16 Threads, damit die
+ * Zahl gleichzeitiger Aufrufe über dem JDK-Cache liegt; neben dem Durchsatz wird ausgegeben, wie
+ * viele TCP-Verbindungen der Stub angenommen hat. Läuft nur manuell:
+ *
+ * <pre>
+ * mvn test -Dtest=FeignTransportBenchmarkIT -Dsurefire.failIfNoSpecifiedTests=false
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class FeignTransportBenchmarkIT {
+
+    private static final String PATIENT_JSON = """
+            {"id":"%s","kvnr":"A123456789","firstName":"Anna","lastName":"Schmidt",\
+            "birthDate":"1980-05-17","gender":"FEMALE"}""";
+
+    @Param({"url-connection", "hc5"})
+    public String transport;
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private DisposableServer patientService;
+    private CloseableHttpClient httpClient;
+    private PatientClient patientClient;
+    private UUID patientId;
+
+    @Test
+    void runBenchmarks() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(FeignTransportBenchmarkIT.class.getName() + "\\.")
+                .build())
+                .run();
+    }
+
+    @Setup
+    public void setUp() {
+        patientId = UUID.randomUUID();
+        byte[] body = PATIENT_JSON.formatted(patientId).getBytes(StandardCharsets.UTF_8);
+        patientService = HttpServer.create()
+                .port(0)
+                .doOnChannelInit((observer, channel, remoteAddress) -> connections.incrementAndGet())
+                .route(routes -> routes.get("/api/v1/patients/{id}", (request, response) -> response
+                        .header("Content-Type", "application/json")
+                        .header("Content-Length", String.valueOf(body.length))
+                        .sendByteArray(Mono.just(body))))
+                .bindNow();
+
+        // Converter einmal anlegen, SpringDecoder fragt die Factory bei jeder Antwort ab
+        HttpMessageConverters converters =
+                new HttpMessageConverters(false, List.of(new MappingJackson2HttpMessageConverter()));
+        patientClient = Feign.builder()
+                .contract(new SpringMvcContract())
+                .decoder(new SpringDecoder(() -> converters,
+                        new StaticListableBeanFactory().getBeanProvider(HttpMessageConverterCustomizer.class)))
+                .requestInterceptor(template -> template.header("Accept", "application/json"))
+                .client(client())
+                .target(PatientClient.class, "http://localhost:" + patientService.port());
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        System.out.printf("[benchmark] transport=%s connections=%d%n", transport, connections.get());
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        patientService.disposeNow();
+    }
+
+    @Benchmark
+    public PatientDto getPatient() {
+        return patientClient.getPatient(patientId);
+    }
+
+    private Client client() {
+        if (!"hc5".equals(transport)) {
+            return new Client.Default(null, null);
+        }
+        // gleiche Pool-Einstellungen wie im Service (Defaults aus application.yml)
+        FeignHttpClientConfig config = new FeignHttpClientConfig();
+        ReflectionTestUtils.setField(config, "idleTimeout", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(config, "tcpKeepAlive", true);
+        ReflectionTestUtils.setField(config, "validateAfterInactivity", Duration.ofSeconds(2));
+        HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(config.feignConnectionManager(new FeignHttpClientProperties()));
+        config.idleConnectionEviction().customize(builder);
+        httpClient = builder.build();
+        return new ApacheHttp5Client(httpClient);
+    }
+}
@@ -0,0 +1,198 @@
+package de.his.encounter.benchmark;
+
+import de.his.encounter.infrastructure.reactive.ReactiveReadServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Timeline (GET /patient/{id}?size=20) mit 5000 gleichzeitigen Lesern gegen den MVC-Pfad (Tomcat +
+ * JPA) und den reaktiven Lesepfad (Netty + R2DBC): Durchsatz, p50/p99, Fehler, Heap-Spitze,
+ * GC-Zeit und Thread-Spitze. Last und Server laufen in derselben JVM, die Zahlen sind daher nur
+ * im Vergleich der beiden Pfade aussagekräftig. Läuft nur manuell, mit kleinem Heap:
+ *
+ * <pre>
+ * mvn test -Dtest=ReactiveTimelineLoadBenchmarkIT -Dsurefire.failIfNoSpecifiedTests=false -DargLine=-Xmx256m
+ * </pre>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "his.reactive-read.enabled=true")
+@ActiveProfiles("test")
+class ReactiveTimelineLoadBenchmarkIT {
+
+    private static final int READERS = 5000;
+    private static final int REQUESTS_PER_READER = 4;
+    private static final int PATIENTS = 250;
+    private static final int ENCOUNTERS_PER_PATIENT = 20;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ReactiveReadServer reactiveReadServer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<UUID> patientIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        for (UUID patientId : patientIds) {
+            jdbcTemplate.update("DELETE FROM his_encounter.encounter_documentation WHERE encounter_id IN "
+                    + "(SELECT encounter_id FROM his_encounter.encounters WHERE patient_id = ?)", patientId);
+            jdbcTemplate.update("DELETE FROM his_encounter.encounters WHERE patient_id = ?", patientId);
+        }
+    }
+
+    @Test
+    void compareTimelineUnderConcurrentReaders() {
+        seed();
+
+        // Aufwärmen, dann je Pfad ein Lauf
+        run("mvc-warmup", port, READERS / 10);
+        run("reactive-warmup", reactiveReadServer.getPort(), READERS / 10);
+        Result mvc = run("mvc", port, READERS);
+        Result reactive = run("reactive", reactiveReadServer.getPort(), READERS);
+
+        assertThat(mvc.ok()).isPositive();
+        assertThat(reactive.ok()).isPositive();
+    }
+
+    private Result run(String name, int targetPort, int readers) {
+        // eigene Verbindungen je Lauf, damit offene Keep-Alive-Verbindungen den nächsten Lauf nicht belasten
+        ConnectionProvider connections = ConnectionProvider.builder(name)
+                .maxConnections(readers)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        try {
+            return run(HttpClient.create(connections).responseTimeout(Duration.ofSeconds(60)), name, targetPort,
+                    readers);
+        } finally {
+            connections.disposeLater().block();
+        }
+    }
+
+    private Result run(HttpClient client, String name, int targetPort, int readers) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        System.gc();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        threads.resetPeakThreadCount();
+        long gcCountBefore = gcCount();
+        long gcTimeBefore = gcTime();
+
+        AtomicLongArray latencies = new AtomicLongArray(readers * REQUESTS_PER_READER);
+        AtomicInteger index = new AtomicInteger();
+        AtomicInteger ok = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        String baseUrl = "http://localhost:" + targetPort + "/api/v1/encounters/patient/";
+
+        long start = System.nanoTime();
+        Flux.range(0, readers)
+                .flatMap(reader -> Flux.range(0, REQUESTS_PER_READER)
+                        .concatMap(i -> timeline(client, baseUrl + patientIds.get((reader + i) % PATIENTS))
+                                .doOnNext(status -> {
+                                    if (status == 200) {
+                                        ok.incrementAndGet();
+                                    } else if (status == 503) {
+                                        rejected.incrementAndGet();
+                                    } else {
+                                        failed.incrementAndGet();
+                                    }
+                                })
+                                .elapsed()
+                                .doOnNext(timed -> latencies.set(index.getAndIncrement(), timed.getT1()))
+                                .onErrorResume(ex -> {
+                                    failed.incrementAndGet();
+                                    return Mono.empty();
+                                })), readers)
+                .blockLast();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long heapPeak = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        long[] sorted = new long[index.get()];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = latencies.get(i);
+        }
+        Arrays.sort(sorted);
+        Result result = new Result(ok.get(), rejected.get(), failed.get());
+
+        System.out.printf("[benchmark] %-15s readers=%d %.0f req/s p50=%d ms p99=%d ms ok=%d 503=%d failed=%d "
+                        + "heapPeak=%d MB gc=%d (%d ms) peakThreads=%d maxHeap=%d MB%n",
+                name, readers, sorted.length / seconds, percentile(sorted, 0.50), percentile(sorted, 0.99),
+                result.ok(), result.rejected(), result.failed(), heapPeak >> 20, gcCount() - gcCountBefore,
+                gcTime() - gcTimeBefore, threads.getPeakThreadCount(), Runtime.getRuntime().maxMemory() >> 20);
+        return result;
+    }
+
+    private Mono<Integer> timeline(HttpClient client, String url) {
+        return client.get()
+                .uri(url + "?size=20")
+                .responseSingle((response, body) -> body.asByteArray()
+                        .thenReturn(response.status().code())
+                        .defaultIfEmpty(response.status().code()));
+    }
+
+    private void seed() {
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 9, 0);
+        List<Object[]> rows = new ArrayList<>();
+        for (int p = 0; p < PATIENTS; p++) {
+            UUID patientId = UUID.randomUUID();
+            patientIds.add(patientId);
+            for (int e = 0; e < ENCOUNTERS_PER_PATIENT; e++) {
+                rows.add(new Object[] {patientId, UUID.randomUUID(), Timestamp.valueOf(base.plusDays(e))});
+            }
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO his_encounter.encounters
+                    (patient_id, practitioner_id, encounter_type, encounter_date, status, billing_context)
+                VALUES (?, ?, 'FOLLOW_UP', ?, 'COMPLETED', 'GKV')
+                """, rows);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted.length == 0 ? 0 : sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))];
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private static long gcTime() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+
+    private record Result(int ok, int rejected, int failed) {
+    }
+}
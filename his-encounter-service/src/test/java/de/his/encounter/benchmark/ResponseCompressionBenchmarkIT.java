@@ -0,0 +1,199 @@
+package de.his.encounter.benchmark;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bytes auf der Leitung und p99-Latenz für ein Encounter mit vollständiger SOAP-Dokumentation
+ * (GET /{id}?includeContent=true) und die Timeline eines Patienten (GET /patient/{id}), jeweils
+ * unkomprimiert über HTTP/1.1, gzip über HTTP/1.1 und gzip über h2c. Läuft nur manuell:
+ *
+ * <pre>
+ * mvn test -Dtest=ResponseCompressionBenchmarkIT -Dsurefire.failIfNoSpecifiedTests=false
+ * </pre>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ResponseCompressionBenchmarkIT {
+
+    private static final int THREADS = 16;
+    private static final int WARMUP_REQUESTS = 400;
+    private static final int MEASURED_REQUESTS = 4000;
+    private static final int TIMELINE_ENCOUNTERS = 20;
+    private static final Pattern ENCOUNTER_ID = Pattern.compile("\"id\"\\s*:\\s*\"([0-9a-f-]{36})\"");
+
+    // typischer Befundtext, je Abschnitt einige KB
+    private static final String FINDING = """
+            Patient stellt sich mit seit drei Tagen bestehenden Schmerzen im rechten Unterbauch vor. \
+            Kein Fieber, Appetit vermindert, Stuhlgang unauffällig. Vorerkrankungen: arterielle \
+            Hypertonie, medikamentös eingestellt (Ramipril 5 mg 1-0-0). Allergien: keine bekannt. \
+            """;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID patientId = UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM his_encounter.encounter_documentation WHERE encounter_id IN "
+                + "(SELECT encounter_id FROM his_encounter.encounters WHERE patient_id = ?)", patientId);
+        jdbcTemplate.update("DELETE FROM his_encounter.encounters WHERE patient_id = ?", patientId);
+    }
+
+    @Test
+    void measureBytesAndP99PerEncoding() throws Exception {
+        HttpClient setup = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        String encounterId = null;
+        for (int i = 0; i < TIMELINE_ENCOUNTERS; i++) {
+            encounterId = createEncounter(setup, i);
+        }
+        for (String section : List.of("SUBJECTIVE", "OBJECTIVE", "ASSESSMENT", "PLAN")) {
+            uploadDocumentation(setup, encounterId, section);
+        }
+
+        report("encounter", "/" + encounterId + "?includeContent=true");
+        report("timeline", "/patient/" + patientId + "?size=20");
+    }
+
+    private void report(String payload, String path) throws Exception {
+        for (Variant variant : Variant.values()) {
+            HttpClient client = HttpClient.newBuilder().version(variant.version).build();
+            Callable<Sample> request = () -> get(client, path, variant.acceptEncoding);
+
+            run(request, WARMUP_REQUESTS);
+            List<Sample> samples = run(request, MEASURED_REQUESTS);
+
+            List<Long> latencies = new ArrayList<>(samples.size());
+            for (Sample sample : samples) {
+                latencies.add(sample.nanos());
+            }
+            Collections.sort(latencies);
+            Sample last = samples.get(samples.size() - 1);
+            System.out.printf("[benchmark] payload=%s variant=%s protocol=%s encoding=%s bytes=%d p50=%.2f ms p99=%.2f ms%n",
+                    payload, variant, last.version(), last.contentEncoding(), last.bytes(),
+                    percentile(latencies, 0.50), percentile(latencies, 0.99));
+        }
+    }
+
+    private List<Sample> run(Callable<Sample> request, int count) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<Sample>> tasks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                tasks.add(request);
+            }
+            List<Sample> samples = new ArrayList<>(count);
+            for (Future<Sample> result : executor.invokeAll(tasks)) {
+                samples.add(result.get());
+            }
+            return samples;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Sample get(HttpClient client, String path, String acceptEncoding) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(path)).GET();
+        if (acceptEncoding != null) {
+            request.header("Accept-Encoding", acceptEncoding);
+        }
+        long start = System.nanoTime();
+        // Body bleibt komprimiert: der JDK-Client dekodiert Content-Encoding nicht
+        HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        long nanos = System.nanoTime() - start;
+        assertThat(response.statusCode()).isEqualTo(200);
+        return new Sample(nanos, response.body().length, response.version(),
+                response.headers().firstValue("Content-Encoding").orElse("identity"));
+    }
+
+    private String createEncounter(HttpClient client, int day) throws Exception {
+        String body = """
+                {"patientId": "%s", "practitionerId": "%s", "type": "FOLLOW_UP",
+                 "encounterDate": "%s", "billingContext": "GKV"}
+                """.formatted(patientId, UUID.randomUUID(), LocalDateTime.now().plusDays(day + 1).withNano(0));
+        HttpRequest request = HttpRequest.newBuilder(uri(""))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(201);
+        Matcher matcher = ENCOUNTER_ID.matcher(response.body());
+        assertThat(matcher.find()).isTrue();
+        return matcher.group(1);
+    }
+
+    private void uploadDocumentation(HttpClient client, String encounterId, String section) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri("/" + encounterId + "/documentation?soapSection=" + section
+                        + "&authorId=" + UUID.randomUUID()))
+                .header("Content-Type", "text/plain; charset=UTF-8")
+                .POST(HttpRequest.BodyPublishers.ofString(finding(section)))
+                .build();
+        assertThat(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode()).isEqualTo(201);
+    }
+
+    private String finding(String section) {
+        StringBuilder text = new StringBuilder(section).append('\n');
+        // Messwerte je Zeile verschieden, damit gzip nicht nur Wiederholungen zählt
+        for (int day = 1; day <= 12; day++) {
+            text.append("Tag ").append(day).append(": RR ").append(115 + day * 3).append('/').append(70 + day)
+                    .append(" mmHg, Puls ").append(58 + day * 2).append("/min, Temp. 3").append(6 + day % 3)
+                    .append(',').append(day * 7 % 10).append(" °C, CRP ").append(day * 13 % 40).append(" mg/l. ")
+                    .append(FINDING).append('\n');
+        }
+        return text.toString();
+    }
+
+    private double percentile(List<Long> sortedNanos, double quantile) {
+        int index = (int) Math.ceil(quantile * sortedNanos.size()) - 1;
+        return sortedNanos.get(Math.max(index, 0)) / 1e6;
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + "/api/v1/encounters" + path);
+    }
+
+    private enum Variant {
+        HTTP11_IDENTITY(HttpClient.Version.HTTP_1_1, null),
+        HTTP11_GZIP(HttpClient.Version.HTTP_1_1, "gzip"),
+        // ohne TLS per Upgrade-Header, danach alle Requests als Streams auf einer Verbindung
+        H2C_GZIP(HttpClient.Version.HTTP_2, "gzip");
+
+        private final HttpClient.Version version;
+        private final String acceptEncoding;
+
+        Variant(HttpClient.Version version, String acceptEncoding) {
+            this.version = version;
+            this.acceptEncoding = acceptEncoding;
+        }
+    }
+
+    private record Sample(long nanos, int bytes, HttpClient.Version version, String contentEncoding) {
+    }
+}
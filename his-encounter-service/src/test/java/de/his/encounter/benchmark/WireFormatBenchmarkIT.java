@@ -0,0 +1,116 @@
+package de.his.encounter.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import de.his.encounter.application.dto.DocumentationResponse;
+import de.his.encounter.application.dto.EncounterResponse;
+import de.his.encounter.domain.model.BillingContext;
+import de.his.encounter.domain.model.ContentType;
+import de.his.encounter.domain.model.EncounterStatus;
+import de.his.encounter.domain.model.EncounterType;
+import de.his.encounter.domain.model.SOAPSection;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH: Serialisieren/Deserialisieren eines {@link EncounterResponse} mit vier SOAP-Abschnitten
+ * als JSON und als CBOR, gleiche Jackson-Konfiguration wie ApplicationConfig. Durchsatz und
+ * Allokation je Operation (GC-Profiler, {@code gc.alloc.rate.norm}). Läuft nur manuell:
+ *
+ * <pre>
+ * mvn test -Dtest=WireFormatBenchmarkIT -Dsurefire.failIfNoSpecifiedTests=false
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmarkIT {
+
+    private ObjectMapper json;
+    private ObjectMapper cbor;
+    private EncounterResponse encounter;
+    private byte[] encounterJson;
+    private byte[] encounterCbor;
+
+    @Test
+    void runBenchmarks() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(WireFormatBenchmarkIT.class.getName() + "\\.")
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        json = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        cbor = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .factory(new CBORFactory())
+                .build();
+
+        List<DocumentationResponse> documentation = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.of(2026, 3, 14, 9, 30, 12, 123_456_000);
+        for (SOAPSection section : SOAPSection.values()) {
+            String content = ("Patient berichtet über seit drei Tagen bestehende Schmerzen im rechten Unterbauch, "
+                    + "kein Fieber, Appetit vermindert. RR 135/85 mmHg, Puls 78/min. ").repeat(8);
+            DocumentationResponse entry = new DocumentationResponse(UUID.randomUUID(), section, ContentType.TEXT,
+                    content.length(), "sha256:" + UUID.randomUUID(), UUID.randomUUID(), now);
+            entry.setContent(content);
+            documentation.add(entry);
+        }
+        encounter = new EncounterResponse(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                EncounterType.FOLLOW_UP, now, EncounterStatus.IN_PROGRESS, BillingContext.GKV,
+                documentation, now, now);
+
+        encounterJson = json.writeValueAsBytes(encounter);
+        encounterCbor = cbor.writeValueAsBytes(encounter);
+        System.out.printf("[benchmark] EncounterResponse json=%d bytes cbor=%d bytes%n",
+                encounterJson.length, encounterCbor.length);
+    }
+
+    @Benchmark
+    public byte[] serializeJson() throws Exception {
+        return json.writeValueAsBytes(encounter);
+    }
+
+    @Benchmark
+    public byte[] serializeCbor() throws Exception {
+        return cbor.writeValueAsBytes(encounter);
+    }
+
+    @Benchmark
+    public EncounterResponse deserializeJson() throws Exception {
+        return json.readValue(encounterJson, EncounterResponse.class);
+    }
+
+    @Benchmark
+    public EncounterResponse deserializeCbor() throws Exception {
+        return cbor.readValue(encounterCbor, EncounterResponse.class);
+    }
+}
@@ -0,0 +1,214 @@
+package de.his.encounter.infrastructure.archive;
+
+import de.his.encounter.domain.model.BillingContext;
+import de.his.encounter.domain.model.ContentType;
+import de.his.encounter.domain.model.EncounterStatus;
+import de.his.encounter.domain.model.EncounterType;
+import de.his.encounter.domain.model.SOAPSection;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class EncounterSegmentTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReadBackPatientsAndEncountersFromSegment() throws IOException {
+        // Given
+        List<UUID> patients = new ArrayList<>();
+        List<ArchivedEncounter> encounters = new ArrayList<>();
+        for (int p = 0; p < 50; p++) {
+            UUID patientId = UUID.randomUUID();
+            patients.add(patientId);
+            for (int e = 0; e < 3; e++) {
+                encounters.add(archivedEncounter(patientId, LocalDateTime.of(2020, 1, 1, 8, 0).plusDays(p * 3L + e),
+                        e == 0 ? null : BillingContext.PKV, e));
+            }
+        }
+
+        // When
+        EncounterSegment segment = writeSegment("encounters-1.seg", encounters);
+
+        // Then
+        assertThat(segment.getPatientCount()).isEqualTo(50);
+        assertThat(segment.getEncounterCount()).isEqualTo(150);
+
+        List<ArchivedEncounter> patientEncounters = segment.readPatient(patients.get(17));
+        assertThat(patientEncounters).hasSize(3);
+        assertThat(patientEncounters).extracting(ArchivedEncounter::getId)
+                .containsExactlyElementsOf(encounters.subList(51, 54).stream().map(ArchivedEncounter::getId).toList());
+
+        ArchivedEncounter expected = encounters.get(53);
+        ArchivedEncounter actual = segment.readEncounter(expected.getId()).orElseThrow();
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(segment.readPatient(patients.get(17)).get(0).getBillingContext()).isNull();
+
+        assertThat(segment.readEncounter(UUID.randomUUID())).isEmpty();
+        assertThat(segment.readPatient(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    void shouldReadTimelineSummariesWithDocumentationCount() throws IOException {
+        // Given - Dokumentation mit großen Inhalten, die die Timeline nicht braucht
+        UUID patientId = UUID.randomUUID();
+        ArchivedEncounter first = archivedEncounter(patientId, LocalDateTime.of(2020, 1, 1, 8, 0), null, 0);
+        ArchivedEncounter second = archivedEncounter(patientId, LocalDateTime.of(2020, 2, 1, 8, 0),
+                BillingContext.PKV, 3);
+        List<ArchivedDocumentation> large = List.of(new ArchivedDocumentation(UUID.randomUUID(),
+                SOAPSection.SUBJECTIVE, ContentType.TEXT, "Verlauf ".repeat(100_000), null, UUID.randomUUID(),
+                LocalDateTime.now()));
+        ArchivedEncounter third = new ArchivedEncounter(UUID.randomUUID(), patientId, UUID.randomUUID(),
+                EncounterType.INITIAL, LocalDateTime.of(2020, 3, 1, 8, 0), EncounterStatus.COMPLETED,
+                BillingContext.GKV, null, null, 1L, large);
+
+        // When
+        EncounterSegment segment = writeSegment("encounters-3.seg", List.of(first, second, third));
+
+        // Then
+        assertThat(segment.readPatientSummaries(patientId))
+                .extracting(ArchivedEncounterSummary::getId, ArchivedEncounterSummary::getType,
+                        ArchivedEncounterSummary::getEncounterDate, ArchivedEncounterSummary::getStatus,
+                        ArchivedEncounterSummary::getDocumentationCount)
+                .containsExactly(
+                        tuple(first.getId(), EncounterType.FOLLOW_UP, first.getEncounterDate(),
+                                EncounterStatus.COMPLETED, 0),
+                        tuple(second.getId(), EncounterType.FOLLOW_UP, second.getEncounterDate(),
+                                EncounterStatus.COMPLETED, 3),
+                        tuple(third.getId(), EncounterType.INITIAL, third.getEncounterDate(),
+                                EncounterStatus.COMPLETED, 1));
+        assertThat(segment.readPatientSummaries(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    void shouldKeepDocumentationLongerThan64KiB() throws IOException {
+        // Given
+        UUID patientId = UUID.randomUUID();
+        String longContent = "Verlaufsdokumentation äöü ".repeat(5000);
+        ArchivedDocumentation documentation = new ArchivedDocumentation(UUID.randomUUID(), SOAPSection.SUBJECTIVE,
+                ContentType.TEXT, longContent, "{\"score\":3}", UUID.randomUUID(), LocalDateTime.now());
+        ArchivedEncounter encounter = new ArchivedEncounter(UUID.randomUUID(), patientId, UUID.randomUUID(),
+                EncounterType.INITIAL, LocalDateTime.now().minusYears(3), EncounterStatus.COMPLETED,
+                BillingContext.GKV, LocalDateTime.now(), LocalDateTime.now(), 1L, List.of(documentation));
+
+        // When
+        EncounterSegment segment = writeSegment("encounters-2.seg", List.of(encounter));
+
+        // Then
+        ArchivedDocumentation read = segment.readPatient(patientId).get(0).getDocumentation().get(0);
+        assertThat(read.getContent()).isEqualTo(longContent);
+        assertThat(read.getStructuredContent()).isEqualTo("{\"score\":3}");
+        assertThat(Files.size(directory.resolve("encounters-2.seg"))).isLessThan(longContent.length() / 10);
+    }
+
+    @Test
+    void shouldRejectNonConsecutivePatientEncounters() throws IOException {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        LocalDateTime date = LocalDateTime.now().minusYears(3);
+
+        try (EncounterSegmentWriter writer = EncounterSegmentWriter.create(directory.resolve("invalid.seg"))) {
+            writer.append(archivedEncounter(first, date, BillingContext.GKV, 0));
+            writer.append(archivedEncounter(second, date, BillingContext.GKV, 0));
+
+            assertThatThrownBy(() -> writer.append(archivedEncounter(first, date, BillingContext.GKV, 0)))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void shouldMergePatientEncountersAcrossSegments() throws IOException {
+        // Given
+        UUID patientId = UUID.randomUUID();
+        ArchivedEncounter older = archivedEncounter(patientId, LocalDateTime.of(2019, 3, 1, 9, 0), BillingContext.GKV, 0);
+        ArchivedEncounter newer = archivedEncounter(patientId, LocalDateTime.of(2021, 6, 1, 9, 0), BillingContext.GKV, 1);
+        writeSegment("encounters-20240101-000000-a.seg", List.of(older));
+        writeSegment("encounters-20250101-000000-b.seg", List.of(newer));
+
+        EncounterArchive archive = new EncounterArchive();
+        ReflectionTestUtils.setField(archive, "directory", directory.toString());
+
+        // When
+        archive.init();
+
+        // Then
+        assertThat(archive.getSegmentCount()).isEqualTo(2);
+        assertThat(archive.findSummariesByPatient(patientId)).extracting(ArchivedEncounterSummary::getId)
+                .containsExactly(newer.getId(), older.getId());
+        assertThat(archive.findEncounter(older.getId())).isPresent();
+    }
+
+    @Test
+    void shouldPickUpSegmentOfAnotherInstanceOnMiss() throws IOException {
+        // Given - Archiv eingelesen, danach schreibt eine andere Instanz ein Segment
+        EncounterArchive archive = new EncounterArchive();
+        ReflectionTestUtils.setField(archive, "directory", directory.toString());
+        ReflectionTestUtils.setField(archive, "refreshOnMissIntervalMs", 60_000L);
+        archive.init();
+        UUID patientId = UUID.randomUUID();
+        ArchivedEncounter encounter = archivedEncounter(patientId, LocalDateTime.of(2021, 6, 1, 9, 0),
+                BillingContext.GKV, 1);
+        writeSegment("encounters-20250101-000000-c.seg", List.of(encounter));
+        // Verzeichnis-Zeitstempel sicher abweichend, unabhängig von der Auflösung des Dateisystems
+        Files.setLastModifiedTime(directory, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+
+        // When / Then - ohne auf den periodischen Refresh zu warten
+        assertThat(archive.findEncounter(encounter.getId())).isPresent();
+        assertThat(archive.getSegmentCount()).isEqualTo(1);
+        assertThat(archive.findSummariesByPatient(patientId)).hasSize(1);
+    }
+
+    @Test
+    void shouldPickUpSegmentOfAnotherInstanceOnDirectoryChangeOnly() throws IOException {
+        // Given - Archiv eingelesen, danach schreibt eine andere Instanz ein Segment
+        EncounterArchive archive = new EncounterArchive();
+        ReflectionTestUtils.setField(archive, "directory", directory.toString());
+        archive.init();
+        UUID patientId = UUID.randomUUID();
+        writeSegment("encounters-20250101-000000-d.seg", List.of(archivedEncounter(patientId,
+                LocalDateTime.of(2021, 6, 1, 9, 0), BillingContext.GKV, 2)));
+        Files.setLastModifiedTime(directory, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+
+        // When / Then - die Timeline selbst liest das Verzeichnis nicht neu ein
+        assertThat(archive.findSummariesByPatient(patientId)).isEmpty();
+        archive.refreshOnDirectoryChange();
+        assertThat(archive.findSummariesByPatient(patientId))
+                .singleElement()
+                .satisfies(summary -> assertThat(summary.getDocumentationCount()).isEqualTo(2));
+    }
+
+    private EncounterSegment writeSegment(String name, List<ArchivedEncounter> encounters) throws IOException {
+        Path file = directory.resolve(name);
+        try (EncounterSegmentWriter writer = EncounterSegmentWriter.create(file)) {
+            for (ArchivedEncounter encounter : encounters) {
+                writer.append(encounter);
+            }
+            writer.finish();
+        }
+        return EncounterSegment.open(file);
+    }
+
+    private ArchivedEncounter archivedEncounter(UUID patientId, LocalDateTime date, BillingContext billingContext,
+            int documentationCount) {
+        List<ArchivedDocumentation> documentation = new ArrayList<>();
+        for (int i = 0; i < documentationCount; i++) {
+            documentation.add(new ArchivedDocumentation(UUID.randomUUID(), SOAPSection.ASSESSMENT, ContentType.TEXT,
+                    "Befund " + i, null, UUID.randomUUID(), date.plusMinutes(i)));
+        }
+        return new ArchivedEncounter(UUID.randomUUID(), patientId, UUID.randomUUID(), EncounterType.FOLLOW_UP,
+                date, EncounterStatus.COMPLETED, billingContext, date.minusDays(7), date.plusHours(1), 2L,
+                documentation);
+    }
+}
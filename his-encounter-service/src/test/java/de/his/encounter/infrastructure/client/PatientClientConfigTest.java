@@ -0,0 +1,82 @@
+package de.his.encounter.infrastructure.client;
+
+import de.his.encounter.config.ApplicationConfig;
+import de.his.encounter.infrastructure.client.dto.PatientDto;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.HttpMessageConverterCustomizer;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PatientClientConfigTest {
+
+    private final MappingJackson2CborHttpMessageConverter cborConverter =
+            new ApplicationConfig().cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json());
+
+    @Test
+    void shouldPreferCborWithJsonFallback() {
+        // When
+        RequestTemplate template = new RequestTemplate();
+        new PatientClientConfig().patientWireFormatInterceptor(true).apply(template);
+
+        // Then
+        assertThat(template.headers().get("Accept")).containsExactly(PatientClientConfig.CBOR_FIRST);
+    }
+
+    @Test
+    void shouldRequestJsonWhenCborDisabled() {
+        // When
+        RequestTemplate template = new RequestTemplate();
+        new PatientClientConfig().patientWireFormatInterceptor(false).apply(template);
+
+        // Then
+        assertThat(template.headers().get("Accept")).containsExactly("application/json");
+    }
+
+    @Test
+    void shouldDecodeCborPatient() throws Exception {
+        // Given - Antwort des Patient Service als CBOR
+        PatientDto patient = new PatientDto();
+        patient.setId(UUID.randomUUID());
+        patient.setFirstName("Anna");
+        patient.setLastName("Schmidt");
+        patient.setBirthDate(LocalDate.of(1980, 4, 12));
+        patient.setKvnr("A123456780");
+        byte[] body = cborConverter.getObjectMapper().writeValueAsBytes(patient);
+
+        SpringDecoder decoder = new SpringDecoder(
+                () -> new HttpMessageConverters(false, List.of(new MappingJackson2HttpMessageConverter(), cborConverter)),
+                new StaticListableBeanFactory().getBeanProvider(HttpMessageConverterCustomizer.class));
+
+        // When
+        PatientDto decoded = (PatientDto) decoder.decode(response("application/cbor", body), PatientDto.class);
+
+        // Then
+        assertThat(decoded.getId()).isEqualTo(patient.getId());
+        assertThat(decoded.getLastName()).isEqualTo("Schmidt");
+        assertThat(decoded.getBirthDate()).isEqualTo(LocalDate.of(1980, 4, 12));
+        assertThat(decoded.getKvnr()).isEqualTo("A123456780");
+    }
+
+    private Response response(String contentType, byte[] body) {
+        Map<String, Collection<String>> headers = Map.of("Content-Type", List.of(contentType));
+        Request request = Request.create(Request.HttpMethod.GET, "http://patient-service/api/v1/patients/1",
+                Map.of(), null, StandardCharsets.UTF_8, null);
+        return Response.builder().status(200).headers(headers).request(request).body(body).build();
+    }
+}
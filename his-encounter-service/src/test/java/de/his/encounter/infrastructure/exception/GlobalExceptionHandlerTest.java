@@ -0,0 +1,62 @@
+package de.his.encounter.infrastructure.exception;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLTransientConnectionException;
+
+import static org.assertj.core.api.Assertions.*;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    private final SQLTransientConnectionException poolTimeout = new SQLTransientConnectionException(
+            "HikariPool-1 - Connection is not available, request timed out after 2000ms.");
+
+    @Test
+    void shouldAnswerPoolTimeoutWith503AndRetryAfter() {
+        ResponseEntity<GlobalExceptionHandler.ErrorResponse> response = handler.handleCannotCreateTransaction(
+                new CannotCreateTransactionException("Could not open JPA EntityManager for transaction",
+                        poolTimeout));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(response.getBody().getCode()).isEqualTo("DATABASE_POOL_EXHAUSTED");
+    }
+
+    @Test
+    void shouldDetectPoolTimeoutWrappedByService() {
+        ResponseEntity<GlobalExceptionHandler.ErrorResponse> response = handler.handleRuntimeException(
+                new RuntimeException("Failed to add documentation",
+                        new DataAccessResourceFailureException("Unable to acquire JDBC Connection", poolTimeout)));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getBody().getCode()).isEqualTo("DATABASE_POOL_EXHAUSTED");
+    }
+
+    @Test
+    void shouldKeepGenericDatabaseErrorForOtherFailures() {
+        ResponseEntity<GlobalExceptionHandler.ErrorResponse> response = handler.handleCannotCreateTransaction(
+                new CannotCreateTransactionException("Connection refused"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().containsKey(HttpHeaders.RETRY_AFTER)).isFalse();
+        assertThat(response.getBody().getCode()).isEqualTo("DATABASE_ACCESS_ERROR");
+    }
+
+    @Test
+    void shouldAnswerExpiredChangeFeedCursorWith410AndResumePosition() {
+        ResponseEntity<GlobalExceptionHandler.ErrorResponse> response = handler.handleChangeFeedCursorExpired(
+                new ChangeFeedCursorExpiredException(4, 8, 120));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.GONE);
+        assertThat(response.getBody().getCode()).isEqualTo("CHANGE_FEED_RESYNC_REQUIRED");
+        assertThat(response.getBody().getDetails()).containsEntry("latestPosition", "120")
+                .containsEntry("oldestPosition", "8");
+    }
+}
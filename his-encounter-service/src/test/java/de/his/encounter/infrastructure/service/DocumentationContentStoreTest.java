@@ -0,0 +1,129 @@
+package de.his.encounter.infrastructure.service;
+
+import de.his.encounter.domain.model.DocumentationContent;
+import de.his.encounter.domain.repository.DocumentationContentRepository;
+import de.his.encounter.infrastructure.exception.DocumentationTooLargeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentationContentStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private DocumentationContentRepository contentRepository;
+
+    @InjectMocks
+    private DocumentationContentStore contentStore;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ReflectionTestUtils.setField(contentStore, "compressionLevel", 3);
+        ReflectionTestUtils.setField(contentStore, "minCompressBytes", 256);
+        ReflectionTestUtils.setField(contentStore, "fileThresholdBytes", 64 * 1024);
+        ReflectionTestUtils.setField(contentStore, "maxContentBytes", 1024 * 1024);
+        ReflectionTestUtils.setField(contentStore, "directory", directory.toString());
+        contentStore.init();
+    }
+
+    @Test
+    void shouldCompressLargeContentAndReadItBack() throws IOException {
+        // Given
+        byte[] content = "Anamnese: rezidivierende Rückenschmerzen, keine Ausstrahlung. "
+                .repeat(500).getBytes(StandardCharsets.UTF_8);
+        ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+
+        // When
+        String contentHash = contentStore.store(new ByteArrayInputStream(content)).getContentHash();
+
+        // Then
+        verify(contentRepository).upsert(eq(contentHash), eq(DocumentationContent.STORAGE_DATABASE),
+                eq(DocumentationContent.COMPRESSION_ZSTD), eq(content.length), body.capture());
+        assertThat(body.getValue().length).isLessThan(content.length / 10);
+
+        DocumentationContent stored = mock(DocumentationContent.class);
+        when(stored.getStorage()).thenReturn(DocumentationContent.STORAGE_DATABASE);
+        when(stored.getCompression()).thenReturn(DocumentationContent.COMPRESSION_ZSTD);
+        when(stored.getOriginalSize()).thenReturn(content.length);
+        when(stored.getBody()).thenReturn(body.getValue());
+        when(contentRepository.findById(contentHash)).thenReturn(Optional.of(stored));
+
+        assertThat(contentStore.load(contentHash).orElseThrow().getContentAsByteArray()).isEqualTo(content);
+    }
+
+    @Test
+    void shouldStoreSmallContentUncompressedUnderStableHash() {
+        // Given
+        byte[] content = "o.B.".getBytes(StandardCharsets.UTF_8);
+
+        // When
+        String first = contentStore.store(content);
+        String second = contentStore.store(content.clone());
+
+        // Then
+        assertThat(first).isEqualTo(second).hasSize(64);
+        verify(contentRepository, times(2)).upsert(eq(first), eq(DocumentationContent.STORAGE_DATABASE),
+                eq(DocumentationContent.COMPRESSION_NONE), anyInt(), eq(content));
+    }
+
+    @Test
+    void shouldStreamContentAboveThresholdIntoFile() throws IOException {
+        // Given
+        byte[] content = "Diktat-Transkript Zeile für Zeile\n".repeat(5000).getBytes(StandardCharsets.UTF_8);
+
+        // When
+        DocumentationContentStore.StoredContent stored = contentStore.store(new ByteArrayInputStream(content));
+
+        // Then
+        assertThat(stored.getContentHash()).isEqualTo(DocumentationContentStore.contentHash(content));
+        assertThat(stored.getSize()).isEqualTo(content.length);
+        verify(contentRepository).upsert(eq(stored.getContentHash()), eq(DocumentationContent.STORAGE_FILE),
+                eq(DocumentationContent.COMPRESSION_NONE), eq(content.length), any(byte[].class));
+
+        DocumentationContent row = mock(DocumentationContent.class);
+        when(row.getStorage()).thenReturn(DocumentationContent.STORAGE_FILE);
+        when(contentRepository.findById(stored.getContentHash())).thenReturn(Optional.of(row));
+
+        Resource resource = contentStore.load(stored.getContentHash()).orElseThrow();
+        assertThat(resource).isInstanceOf(FileSystemResource.class);
+        assertThat(resource.contentLength()).isEqualTo(content.length);
+        assertThat(Files.list(directory.resolve("spool"))).isEmpty();
+    }
+
+    @Test
+    void shouldRejectUploadsAboveMaximumSizeWithoutLeavingSpoolFiles() throws IOException {
+        // Given
+        byte[] content = new byte[1024 * 1024 + 1];
+
+        // When & Then
+        assertThatThrownBy(() -> contentStore.store(new ByteArrayInputStream(content)))
+                .isInstanceOf(DocumentationTooLargeException.class);
+        verify(contentRepository, never()).upsert(anyString(), anyString(), anyString(), anyInt(), any());
+        assertThat(Files.list(directory.resolve("spool"))).isEmpty();
+    }
+}
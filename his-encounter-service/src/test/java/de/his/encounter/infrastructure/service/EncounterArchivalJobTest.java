@@ -0,0 +1,135 @@
+package de.his.encounter.infrastructure.service;
+
+import de.his.encounter.application.service.EncounterArchivalService;
+import de.his.encounter.domain.model.BillingContext;
+import de.his.encounter.domain.model.EncounterStatus;
+import de.his.encounter.domain.model.EncounterType;
+import de.his.encounter.infrastructure.archive.ArchivedEncounter;
+import de.his.encounter.infrastructure.archive.EncounterArchive;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class EncounterArchivalJobTest {
+
+    @TempDir
+    Path directory;
+
+    private final EncounterArchivalService archivalService = mock(EncounterArchivalService.class);
+    private final SchedulerLockService schedulerLockService = mock(SchedulerLockService.class);
+
+    private EncounterArchive encounterArchive;
+    private EncounterArchivalJob job;
+    private List<ArchivedEncounter> candidates;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        encounterArchive = new EncounterArchive();
+        ReflectionTestUtils.setField(encounterArchive, "directory", directory.toString());
+        encounterArchive.init();
+
+        job = new EncounterArchivalJob(archivalService, encounterArchive, schedulerLockService,
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(job, "segmentMaxEncounters", 100);
+        ReflectionTestUtils.setField(job, "loadBatchSize", 4);
+        ReflectionTestUtils.setField(job, "segmentMaxBytes", Long.MAX_VALUE);
+
+        // 3 Patienten mit je 3 Encounters, nach Patient gruppiert wie aus loadForArchive
+        candidates = new ArrayList<>();
+        for (int p = 0; p < 3; p++) {
+            UUID patientId = UUID.randomUUID();
+            for (int e = 0; e < 3; e++) {
+                candidates.add(archivedEncounter(patientId, LocalDateTime.of(2020, 1, 1, 8, 0).plusDays(p * 3L + e)));
+            }
+        }
+        List<UUID> ids = candidates.stream().map(ArchivedEncounter::getId).toList();
+        Map<UUID, ArchivedEncounter> byId = candidates.stream()
+                .collect(Collectors.toMap(ArchivedEncounter::getId, encounter -> encounter));
+        when(archivalService.findCandidateIds(any(), eq(100))).thenReturn(ids);
+        when(archivalService.loadForArchive(anyList())).thenAnswer(invocation -> invocation.<List<UUID>>getArgument(0)
+                .stream().map(byId::get).toList());
+        when(archivalService.removeArchived(anyList(), anyString()))
+                .thenAnswer(invocation -> invocation.<List<UUID>>getArgument(0).size());
+    }
+
+    @Test
+    void shouldWriteOneSegmentBelowSizeLimit() throws IOException {
+        // When
+        int archived = job.archiveBatch(LocalDateTime.now().minusYears(2));
+
+        // Then
+        assertThat(archived).isEqualTo(9);
+        assertThat(encounterArchive.getSegmentCount()).isEqualTo(1);
+        verify(archivalService).removeArchived(eq(candidates.stream().map(ArchivedEncounter::getId).toList()),
+                anyString());
+    }
+
+    @Test
+    void shouldRollOverToNewSegmentAtPatientBoundaryWhenSizeLimitIsReached() throws IOException {
+        // Given - jeder geschriebene Patientenblock füllt das Segment
+        ReflectionTestUtils.setField(job, "segmentMaxBytes", 1L);
+
+        // When
+        int archived = job.archiveBatch(LocalDateTime.now().minusYears(2));
+
+        // Then - ein Segment pro Patient, jedes für sich committed und lesbar
+        assertThat(archived).isEqualTo(9);
+        assertThat(encounterArchive.getSegmentCount()).isEqualTo(3);
+        for (int p = 0; p < 3; p++) {
+            List<UUID> patientIds = candidates.subList(p * 3, p * 3 + 3).stream().map(ArchivedEncounter::getId)
+                    .toList();
+            verify(archivalService).removeArchived(eq(patientIds), anyString());
+        }
+        assertThat(candidates).allSatisfy(encounter ->
+                assertThat(encounterArchive.findEncounter(encounter.getId())).isPresent());
+        assertThat(pendingFiles()).isEmpty();
+    }
+
+    @Test
+    void shouldKeepCommittedSegmentsAndDiscardCurrentOneWhenRemovalFails() throws IOException {
+        // Given - zweites Segment scheitert beim Entfernen aus den heißen Tabellen
+        ReflectionTestUtils.setField(job, "segmentMaxBytes", 1L);
+        List<UUID> secondPatient = candidates.subList(3, 6).stream().map(ArchivedEncounter::getId).toList();
+        when(archivalService.removeArchived(eq(secondPatient), anyString()))
+                .thenThrow(new IllegalStateException("expected to archive 3 encounters but removed 2"));
+
+        // When / Then
+        assertThatThrownBy(() -> job.archiveBatch(LocalDateTime.now().minusYears(2)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(encounterArchive.getSegmentCount()).isEqualTo(1);
+        assertThat(encounterArchive.findEncounter(candidates.get(0).getId())).isPresent();
+        assertThat(pendingFiles()).isEmpty();
+    }
+
+    private List<Path> pendingFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".pending")).toList();
+        }
+    }
+
+    private ArchivedEncounter archivedEncounter(UUID patientId, LocalDateTime date) {
+        return new ArchivedEncounter(UUID.randomUUID(), patientId, UUID.randomUUID(), EncounterType.FOLLOW_UP,
+                date, EncounterStatus.COMPLETED, BillingContext.GKV, date.minusDays(7), date.plusHours(1), 1L,
+                List.of());
+    }
+}
@@ -0,0 +1,201 @@
+package de.his.encounter.infrastructure.service;
+
+import de.his.encounter.application.service.EncounterHousekeepingService;
+import de.his.encounter.domain.repository.SchedulerLockRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * NO_SHOW-Housekeeping gegen PostgreSQL: Keyset-Chunks, Status-Bedingung des Bulk-Updates,
+ * Version-Bump, Outbox-Einträge und clusterweiter Lock. Der Lauf erfasst auch fremde
+ * überfällige Einträge der Test-DB; Aussagen beziehen sich nur auf die eigenen.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class NoShowHousekeepingJobIntegrationTest {
+
+    private static final String OTHER_INSTANCE = "other-instance@test";
+
+    @Autowired
+    private NoShowHousekeepingJob noShowHousekeepingJob;
+
+    @Autowired
+    private EncounterHousekeepingService housekeepingService;
+
+    @Autowired
+    private SchedulerLockService schedulerLockService;
+
+    @Autowired
+    private SchedulerLockRepository schedulerLockRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TransactionTemplate transactionTemplate;
+    private UUID practitionerId;
+    private UUID patientId;
+    private Object originalChunkSize;
+    private Object originalMaxChunksPerRun;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        practitionerId = UUID.randomUUID();
+        patientId = UUID.randomUUID();
+
+        // Kleine Chunks, damit schon wenige Einträge mehrere Transaktionen ergeben
+        originalChunkSize = ReflectionTestUtils.getField(noShowHousekeepingJob, "chunkSize");
+        originalMaxChunksPerRun = ReflectionTestUtils.getField(noShowHousekeepingJob, "maxChunksPerRun");
+        ReflectionTestUtils.setField(noShowHousekeepingJob, "chunkSize", 2);
+        ReflectionTestUtils.setField(noShowHousekeepingJob, "maxChunksPerRun", Integer.MAX_VALUE);
+        releaseLock();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(noShowHousekeepingJob, "chunkSize", originalChunkSize);
+        ReflectionTestUtils.setField(noShowHousekeepingJob, "maxChunksPerRun", originalMaxChunksPerRun);
+        releaseLock();
+        jdbcTemplate.update("""
+                DELETE FROM his_encounter.outbox_events WHERE aggregate_id IN
+                (SELECT encounter_id FROM his_encounter.encounters WHERE practitioner_id = ?)
+                """, practitionerId);
+        jdbcTemplate.update("DELETE FROM his_encounter.encounters WHERE practitioner_id = ?", practitionerId);
+        jdbcTemplate.update("DELETE FROM his_encounter.encounter_stats_daily WHERE practitioner_id = ?",
+                practitionerId);
+        jdbcTemplate.update("DELETE FROM his_encounter.encounter_stats_patient WHERE patient_id = ?", patientId);
+    }
+
+    @Test
+    void shouldMarkStalePlannedEncountersAcrossSeveralChunks() {
+        // Given - 5 überfällige (3 Chunks à 2), ein noch in der Karenzzeit, ein bereits gestarteter
+        List<UUID> stale = IntStream.range(0, 5)
+                .mapToObj(i -> insertEncounter("PLANNED", LocalDateTime.now().minusDays(3)))
+                .toList();
+        UUID recent = insertEncounter("PLANNED", LocalDateTime.now().minusHours(1));
+        UUID started = insertEncounter("IN_PROGRESS", LocalDateTime.now().minusDays(3));
+        double chunksBefore = chunkCount();
+
+        // When
+        noShowHousekeepingJob.markStalePlannedEncounters();
+
+        // Then
+        assertThat(stale).allSatisfy(id -> assertThat(statusAndVersion(id))
+                .containsEntry("status", "NO_SHOW").containsEntry("version", 1L));
+        assertThat(statusAndVersion(recent)).containsEntry("status", "PLANNED").containsEntry("version", 0L);
+        assertThat(statusAndVersion(started)).containsEntry("status", "IN_PROGRESS").containsEntry("version", 0L);
+        assertThat(chunkCount() - chunksBefore).isGreaterThanOrEqualTo(3);
+        assertThat(stale).allSatisfy(id -> assertThat(noShowEvents(id)).isEqualTo(1));
+        assertThat(noShowEvents(recent) + noShowEvents(started)).isZero();
+    }
+
+    @Test
+    void shouldSkipEncounterStartedBetweenScanAndUpdate() {
+        // Given - Scan hat beide gefunden, einer wird vor dem Chunk-Update gestartet
+        UUID stillPlanned = insertEncounter("PLANNED", LocalDateTime.now().minusDays(2));
+        UUID startedMeanwhile = insertEncounter("PLANNED", LocalDateTime.now().minusDays(2));
+        List<UUID> scanned = List.of(stillPlanned, startedMeanwhile);
+        jdbcTemplate.update("""
+                UPDATE his_encounter.encounters SET status = 'IN_PROGRESS', version = version + 1
+                WHERE encounter_id = ?
+                """, startedMeanwhile);
+
+        // When
+        int updated = housekeepingService.markAsNoShow(scanned);
+
+        // Then - Status-Bedingung im Update, kein Version-Bump und kein Event für den gestarteten
+        assertThat(updated).isEqualTo(1);
+        assertThat(statusAndVersion(stillPlanned)).containsEntry("status", "NO_SHOW").containsEntry("version", 1L);
+        assertThat(statusAndVersion(startedMeanwhile))
+                .containsEntry("status", "IN_PROGRESS").containsEntry("version", 1L);
+        assertThat(noShowEvents(stillPlanned)).isEqualTo(1);
+        assertThat(noShowEvents(startedMeanwhile)).isZero();
+    }
+
+    @Test
+    void shouldNotRunWhileAnotherInstanceHoldsTheLock() {
+        // Given
+        assertThat(acquireAsOtherInstance()).isTrue();
+        UUID stale = insertEncounter("PLANNED", LocalDateTime.now().minusDays(3));
+
+        // When
+        noShowHousekeepingJob.markStalePlannedEncounters();
+
+        // Then
+        assertThat(statusAndVersion(stale)).containsEntry("status", "PLANNED").containsEntry("version", 0L);
+        assertThat(noShowEvents(stale)).isZero();
+    }
+
+    @Test
+    void shouldLockOutSecondInstanceUntilReleased() {
+        // Given
+        assertThat(schedulerLockService.tryLock(NoShowHousekeepingJob.LOCK_NAME, Duration.ofMinutes(5))).isTrue();
+
+        // When / Then - zweite Instanz bekommt den Lock erst nach Freigabe
+        assertThat(acquireAsOtherInstance()).isFalse();
+        schedulerLockService.unlock(NoShowHousekeepingJob.LOCK_NAME);
+        assertThat(acquireAsOtherInstance()).isTrue();
+        assertThat(schedulerLockService.tryLock(NoShowHousekeepingJob.LOCK_NAME, Duration.ofMinutes(5))).isFalse();
+    }
+
+    private UUID insertEncounter(String status, LocalDateTime encounterDate) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO his_encounter.encounters
+                (encounter_id, patient_id, practitioner_id, encounter_type, encounter_date, status, billing_context)
+                VALUES (?, ?, ?, 'INITIAL', ?, ?, 'GKV')
+                """, id, patientId, practitionerId, encounterDate, status);
+        return id;
+    }
+
+    private Map<String, Object> statusAndVersion(UUID encounterId) {
+        return jdbcTemplate.queryForMap(
+                "SELECT status, version FROM his_encounter.encounters WHERE encounter_id = ?", encounterId);
+    }
+
+    private int noShowEvents(UUID encounterId) {
+        return jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM his_encounter.outbox_events
+                WHERE aggregate_id = ? AND event_type = 'ENCOUNTER_NO_SHOW'
+                """, Integer.class, encounterId);
+    }
+
+    private double chunkCount() {
+        return meterRegistry.counter("his.encounter.housekeeping.no_show.chunks").count();
+    }
+
+    // Andere Instanz: eigener locked_by-Wert, gleiche Tabelle
+    private boolean acquireAsOtherInstance() {
+        return transactionTemplate.execute(status -> schedulerLockRepository.tryAcquire(
+                NoShowHousekeepingJob.LOCK_NAME, 300, OTHER_INSTANCE) == 1);
+    }
+
+    private void releaseLock() {
+        jdbcTemplate.update("DELETE FROM his_encounter.scheduler_locks WHERE name = ?",
+                NoShowHousekeepingJob.LOCK_NAME);
+    }
+}
@@ -0,0 +1,149 @@
+package de.his.encounter.infrastructure.service;
+
+import de.his.encounter.infrastructure.client.PatientClient;
+import de.his.encounter.infrastructure.client.dto.PatientDto;
+import feign.FeignException;
+import feign.Request;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PatientValidationServiceTest {
+
+    private final PatientClient patientClient = mock(PatientClient.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(
+            CircuitBreakerConfig.custom()
+                    .slidingWindowSize(4)
+                    .minimumNumberOfCalls(4)
+                    .ignoreExceptions(FeignException.NotFound.class)
+                    .build());
+    private final UUID patientId = UUID.randomUUID();
+
+    private ExecutorService callers;
+    private PatientValidationService service;
+
+    @BeforeEach
+    void setUp() {
+        callers = Executors.newFixedThreadPool(2);
+        service = new PatientValidationService(patientClient, circuitBreakerRegistry,
+                TimeLimiterRegistry.of(TimeLimiterConfig.custom().timeoutDuration(Duration.ofMillis(200)).build()),
+                BulkheadRegistry.of(BulkheadConfig.custom().maxConcurrentCalls(1).maxWaitDuration(Duration.ZERO)
+                        .build()),
+                meterRegistry, 100, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void shouldServeStaleRecordWhenCircuitBreakerIsOpen() {
+        // Given - Patient einmal gelesen, danach Breaker offen
+        when(patientClient.getPatient(patientId)).thenReturn(patient());
+        PatientDto fresh = service.getPatientDetails(patientId);
+        circuitBreaker().transitionToOpenState();
+
+        // When
+        PatientDto stale = service.getPatientDetails(patientId);
+
+        // Then
+        assertThat(fresh.isStale()).isFalse();
+        assertThat(stale.isStale()).isTrue();
+        assertThat(stale.getLastName()).isEqualTo("Schmidt");
+        assertThat(meterRegistry.get("his.encounter.patient.stale.responses").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFailFastWithoutCachedRecord() {
+        // Given - Patient Service hängt
+        when(patientClient.getPatient(any())).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return patient();
+        });
+
+        // When / Then - Time Limiter statt feign readTimeout
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> service.getPatientDetails(patientId))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageStartingWith("Patient service temporarily unavailable");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void shouldRejectCallsBeyondBulkhead() throws Exception {
+        // Given - ein Aufruf belegt den einzigen Platz
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        UUID slowPatient = UUID.randomUUID();
+        when(patientClient.getPatient(slowPatient)).thenAnswer(invocation -> {
+            inFlight.countDown();
+            release.await();
+            return patient();
+        });
+        when(patientClient.getPatient(patientId)).thenReturn(patient());
+        callers.submit(() -> service.getPatientDetails(slowPatient));
+        assertThat(inFlight.await(1, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        assertThat(meterRegistry.get("his.encounter.patient.bulkhead.saturation").gauge().value()).isEqualTo(1.0);
+        assertThatThrownBy(() -> service.getPatientDetails(patientId))
+                .hasMessageContaining("bulkhead full");
+        release.countDown();
+    }
+
+    @Test
+    void shouldNotCountUnknownPatientsAsFailures() {
+        // Given
+        when(patientClient.getPatient(any())).thenThrow(notFound());
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            assertThat(service.getPatientDetails(UUID.randomUUID())).isNull();
+        }
+
+        // Then
+        assertThat(circuitBreaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    private CircuitBreaker circuitBreaker() {
+        return circuitBreakerRegistry.circuitBreaker(PatientValidationService.INSTANCE);
+    }
+
+    private PatientDto patient() {
+        PatientDto patient = new PatientDto();
+        patient.setId(patientId);
+        patient.setFirstName("Anna");
+        patient.setLastName("Schmidt");
+        return patient;
+    }
+
+    private FeignException.NotFound notFound() {
+        Request request = Request.create(Request.HttpMethod.GET, "/api/v1/patients", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        return new FeignException.NotFound("Not Found", request, null, Map.of());
+    }
+}
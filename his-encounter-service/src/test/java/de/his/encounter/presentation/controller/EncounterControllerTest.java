@@ -3,6 +3,7 @@ package de.his.encounter.presentation.controller;
 import de.his.encounter.application.dto.CreateEncounterRequest;
 import de.his.encounter.application.dto.EncounterResponse;
 import de.his.encounter.application.service.EncounterService;
+import de.his.encounter.application.service.EncounterStatusStreamService;
 import de.his.encounter.domain.model.BillingContext;
 import de.his.encounter.domain.model.EncounterStatus;
 import de.his.encounter.domain.model.EncounterType;
@@ -31,6 +32,9 @@ class EncounterControllerTest {
     @Mock
     private EncounterService encounterService;
 
+    @Mock
+    private EncounterStatusStreamService statusStreamService;
+
     @InjectMocks
     private EncounterController encounterController;
 
@@ -84,7 +88,7 @@ class EncounterControllerTest {
         when(encounterService.getEncounter(encounterId)).thenReturn(expectedResponse);
 
         // When
-        ResponseEntity<EncounterResponse> response = encounterController.getEncounter(encounterId);
+        ResponseEntity<EncounterResponse> response = encounterController.getEncounter(encounterId, false);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -0,0 +1,88 @@
+package de.his.encounter.presentation.reactive;
+
+import de.his.encounter.application.service.ReactiveEncounterReadService;
+import de.his.encounter.infrastructure.exception.EncounterNotFoundException;
+import de.his.encounter.infrastructure.exception.GlobalExceptionHandler;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+import java.util.concurrent.TimeoutException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Fehlerabbildung des reaktiven Lesepfads auf Status und Codes des MVC-Pfads.
+ */
+class ReactiveEncounterHandlerTest {
+
+    private final ReactiveEncounterReadService readService = mock(ReactiveEncounterReadService.class);
+    private final UUID encounterId = UUID.randomUUID();
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        ReactiveEncounterHandler handler = new ReactiveEncounterHandler(readService, new GlobalExceptionHandler());
+        client = WebTestClient.bindToRouterFunction(handler.routes()).build();
+    }
+
+    @Test
+    void shouldMapEncounterNotFoundTo404() {
+        // Given
+        when(readService.getEncounter(eq(encounterId), anyBoolean()))
+                .thenReturn(Mono.error(new EncounterNotFoundException(encounterId)));
+
+        // When & Then
+        client.get().uri("/api/v1/encounters/{id}", encounterId).exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.code").isEqualTo("ENCOUNTER_NOT_FOUND");
+    }
+
+    @Test
+    void shouldMapExhaustedR2dbcPoolTo503WithRetryAfter() {
+        // Given - r2dbc-pool meldet das Warten auf eine Verbindung so
+        when(readService.getEncounter(eq(encounterId), anyBoolean()))
+                .thenReturn(Mono.error(new R2dbcTimeoutException("Timeout acquiring connection",
+                        new TimeoutException("Did not observe any item"))));
+
+        // When & Then
+        client.get().uri("/api/v1/encounters/{id}", encounterId).exchange()
+                .expectStatus().isEqualTo(503)
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "1")
+                .expectBody().jsonPath("$.code").isEqualTo("DATABASE_POOL_EXHAUSTED");
+    }
+
+    @Test
+    void shouldMapBlockingPathDatabaseErrorTo503() {
+        // Given - Cold Storage bzw. Beziehungsprüfung über JPA
+        when(readService.getPatientEncounters(any(), any(), any(), any()))
+                .thenReturn(Mono.error(new DataAccessResourceFailureException("Connection refused")));
+
+        // When & Then
+        client.get().uri("/api/v1/encounters/patient/{id}", UUID.randomUUID()).exchange()
+                .expectStatus().isEqualTo(503)
+                .expectBody().jsonPath("$.code").isEqualTo("DATABASE_ACCESS_ERROR");
+    }
+
+    @Test
+    void shouldMapUnexpectedErrorTo500() {
+        // Given
+        when(readService.getEncounter(eq(encounterId), anyBoolean()))
+                .thenReturn(Mono.error(new IllegalStateException("boom")));
+
+        // When & Then
+        client.get().uri("/api/v1/encounters/{id}", encounterId).exchange()
+                .expectStatus().isEqualTo(500)
+                .expectBody().jsonPath("$.code").isEqualTo("SERVICE_ERROR");
+    }
+}
@@ -0,0 +1,34 @@
+package de.his.identity.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+@Schema(description = "Login with directory credentials")
+public class LoginRequest {
+
+    @NotBlank(message = "Username is required")
+    @Size(max = 256, message = "Username must not exceed 256 characters")
+    @Schema(description = "Directory username (uid)", example = "dr.mueller")
+    private String username;
+
+    @NotBlank(message = "Password is required")
+    @Size(max = 1024, message = "Password must not exceed 1024 characters")
+    @Schema(description = "Directory password")
+    private String password;
+
+    // Constructor
+    public LoginRequest() {}
+
+    public LoginRequest(String username, String password) {
+        this.username = username;
+        this.password = password;
+    }
+
+    // Getters and Setters
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getPassword() { return password; }
+    public void setPassword(String password) { this.password = password; }
+}
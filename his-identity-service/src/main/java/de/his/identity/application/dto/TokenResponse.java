@@ -0,0 +1,44 @@
+package de.his.identity.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Issued access token")
+public class TokenResponse {
+
+    @Schema(description = "Signed JWT for the Authorization header")
+    private String accessToken;
+
+    @Schema(description = "Token type", example = "Bearer")
+    private String tokenType;
+
+    @Schema(description = "Lifetime in seconds", example = "86400")
+    private long expiresIn;
+
+    @Schema(description = "Roles contained in the token", example = "[\"DOCTOR\"]")
+    private List<String> roles;
+
+    // Constructor
+    public TokenResponse() {}
+
+    public TokenResponse(String accessToken, String tokenType, long expiresIn, List<String> roles) {
+        this.accessToken = accessToken;
+        this.tokenType = tokenType;
+        this.expiresIn = expiresIn;
+        this.roles = roles;
+    }
+
+    // Getters and Setters
+    public String getAccessToken() { return accessToken; }
+    public void setAccessToken(String accessToken) { this.accessToken = accessToken; }
+
+    public String getTokenType() { return tokenType; }
+    public void setTokenType(String tokenType) { this.tokenType = tokenType; }
+
+    public long getExpiresIn() { return expiresIn; }
+    public void setExpiresIn(long expiresIn) { this.expiresIn = expiresIn; }
+
+    public List<String> getRoles() { return roles; }
+    public void setRoles(List<String> roles) { this.roles = roles; }
+}
@@ -0,0 +1,90 @@
+package de.his.identity.application.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.his.identity.infrastructure.ldap.DirectoryUser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Kurzlebiger Cache erfolgreicher LDAP-Binds (his.identity.login.cache.*).
+ *
+ * Gespeichert wird nur ein gesalzener HMAC-SHA256 des Passworts mit einem Schlüssel, der
+ * beim Start zufällig erzeugt wird und den Prozess nie verlässt. Bewusst kein langsames
+ * Hash-Verfahren: der Cache soll den Bind ersetzen, nicht teurer sein als er.
+ *
+ * Ein geändertes oder gesperrtes Passwort gilt bis zu {@code ttl} weiter.
+ */
+@Component
+public class CredentialCache {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int SALT_BYTES = 16;
+
+    private final SecureRandom random = new SecureRandom();
+    private final SecretKeySpec key;
+    private final Cache<String, Entry> entries;
+
+    public CredentialCache(
+            @Value("${his.identity.login.cache.ttl:PT2M}") Duration ttl,
+            @Value("${his.identity.login.cache.max-entries:50000}") long maxEntries,
+            MeterRegistry meterRegistry) {
+        byte[] keyBytes = new byte[32];
+        random.nextBytes(keyBytes);
+        this.key = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+        this.entries = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "loginCredentials");
+    }
+
+    /**
+     * @return den Benutzer, wenn für diesen Benutzernamen ein Bind mit demselben Passwort
+     *         innerhalb der TTL erfolgreich war
+     */
+    public Optional<DirectoryUser> lookup(String username, String password) {
+        Entry entry = entries.getIfPresent(key(username));
+        if (entry == null || !MessageDigest.isEqual(entry.hash(), hash(entry.salt(), password))) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.user());
+    }
+
+    public void store(String username, String password, DirectoryUser user) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        entries.put(key(username), new Entry(salt, hash(salt, password), user));
+    }
+
+    private byte[] hash(byte[] salt, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            mac.update(salt);
+            return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC not available", e);
+        }
+    }
+
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(byte[] salt, byte[] hash, DirectoryUser user) {
+    }
+}
@@ -0,0 +1,74 @@
+package de.his.identity.application.service;
+
+import de.his.identity.application.dto.LoginRequest;
+import de.his.identity.application.dto.TokenResponse;
+import de.his.identity.infrastructure.exception.InvalidCredentialsException;
+import de.his.identity.infrastructure.ldap.DirectoryUser;
+import de.his.identity.infrastructure.ldap.LdapDirectoryClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Login gegen das Verzeichnis: erst der Credential-Cache, bei Fehlschlag Suche und Bind
+ * per LDAP. Rollen kommen aus dem Gruppen-Cache des {@link LdapDirectoryClient}.
+ */
+@Service
+public class LoginService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginService.class);
+
+    private final LdapDirectoryClient directoryClient;
+    private final CredentialCache credentialCache;
+    private final TokenService tokenService;
+    private final Counter cachedLogins;
+    private final Counter directoryLogins;
+    private final Counter rejectedLogins;
+
+    public LoginService(LdapDirectoryClient directoryClient, CredentialCache credentialCache,
+            TokenService tokenService, MeterRegistry meterRegistry) {
+        this.directoryClient = directoryClient;
+        this.credentialCache = credentialCache;
+        this.tokenService = tokenService;
+        this.cachedLogins = loginCounter(meterRegistry, "cached");
+        this.directoryLogins = loginCounter(meterRegistry, "directory");
+        this.rejectedLogins = loginCounter(meterRegistry, "rejected");
+    }
+
+    public TokenResponse login(LoginRequest request) {
+        String username = request.getUsername().trim();
+        String password = request.getPassword();
+
+        Optional<DirectoryUser> cached = credentialCache.lookup(username, password);
+        DirectoryUser user;
+        if (cached.isPresent()) {
+            user = cached.get();
+            cachedLogins.increment();
+        } else {
+            user = directoryClient.authenticate(username, password).orElse(null);
+            if (user == null) {
+                rejectedLogins.increment();
+                logger.info("Login rejected for user {}", username);
+                throw new InvalidCredentialsException("Invalid username or password");
+            }
+            credentialCache.store(username, password, user);
+            directoryLogins.increment();
+        }
+
+        List<String> roles = directoryClient.findRoles(user);
+        logger.debug("Issuing token for user {} with roles {}", user.username(), roles);
+        return tokenService.issue(user, roles);
+    }
+
+    private static Counter loginCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("his.identity.logins")
+                .tag("outcome", outcome)
+                .description("Logins nach Ergebnis (cached = ohne LDAP-Bind)")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,190 @@
+package de.his.identity.application.service;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import de.his.identity.domain.model.SigningKey;
+import de.his.identity.domain.repository.SigningKeyRepository;
+import de.his.identity.infrastructure.crypto.PrivateKeyCipher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rotierende ES256-Signaturschlüssel (his.identity.jwt.keys.*).
+ *
+ * Lebenszyklus eines Schlüssels: angelegt und im JWKS veröffentlicht ({@code pre-publish} vor
+ * {@code active_from}), signiert ab {@code active_from} bis der nächste aktiv wird, bleibt danach
+ * veröffentlicht, solange damit signierte Tokens gültig sein können, und wird dann gelöscht.
+ * Die Vorlaufzeit muss länger sein als das Refresh-Intervall des JWKS-Caches im Gateway.
+ *
+ * Mehrere Instanzen teilen sich die Tabelle; legen zwei gleichzeitig einen Schlüssel an,
+ * werden beide veröffentlicht und der neuere signiert.
+ */
+@Service
+public class SigningKeyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SigningKeyService.class);
+
+    static final String ALGORITHM = "ES256";
+    // Toleranz für Uhrenabweichung und Prüfintervall, bevor ein alter Schlüssel entfällt
+    private static final Duration RETENTION_GRACE = Duration.ofMinutes(5);
+
+    private final SigningKeyRepository signingKeyRepository;
+    private final PrivateKeyCipher privateKeyCipher;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration rotationInterval;
+    private final Duration prePublish;
+    private final Duration tokenLifetime;
+
+    private volatile KeyRing keyRing;
+
+    public SigningKeyService(SigningKeyRepository signingKeyRepository, PrivateKeyCipher privateKeyCipher,
+            TransactionTemplate transactionTemplate,
+            @Value("${his.identity.jwt.keys.rotation-interval:P1D}") Duration rotationInterval,
+            @Value("${his.identity.jwt.keys.pre-publish:PT1H}") Duration prePublish,
+            @Value("${his.identity.jwt.expiration:86400}") long tokenLifetimeSeconds) {
+        this.signingKeyRepository = signingKeyRepository;
+        this.privateKeyCipher = privateKeyCipher;
+        this.transactionTemplate = transactionTemplate;
+        this.rotationInterval = rotationInterval;
+        this.prePublish = prePublish;
+        this.tokenLifetime = Duration.ofSeconds(tokenLifetimeSeconds);
+    }
+
+    @Scheduled(fixedDelayString = "${his.identity.jwt.keys.check-interval-ms:60000}")
+    public void refresh() {
+        refresh(Instant.now());
+    }
+
+    /**
+     * Aktueller Signaturschlüssel inkl. privatem Schlüssel.
+     */
+    public ECKey currentSigningKey() {
+        return keyRing().signingKey();
+    }
+
+    /**
+     * Alle veröffentlichten Schlüssel (nur öffentliche Teile) für den JWKS-Endpunkt.
+     */
+    public JWKSet publishedKeys() {
+        return keyRing().publishedKeys();
+    }
+
+    synchronized void refresh(Instant now) {
+        transactionTemplate.executeWithoutResult(status -> rotate(now));
+        keyRing = load(now);
+    }
+
+    private KeyRing keyRing() {
+        KeyRing ring = keyRing;
+        if (ring == null) {
+            // erster Zugriff vor dem ersten geplanten Lauf
+            refresh();
+            ring = keyRing;
+        }
+        return ring;
+    }
+
+    private void rotate(Instant now) {
+        List<SigningKey> keys = signingKeyRepository.findAllByOrderByActiveFromAsc();
+        if (keys.isEmpty()) {
+            create(now, now);
+            return;
+        }
+
+        SigningKey newest = keys.get(keys.size() - 1);
+        boolean pending = newest.getActiveFrom().isAfter(now);
+        if (!pending && !newest.getActiveFrom().plus(rotationInterval).minus(prePublish).isAfter(now)) {
+            create(now, now.plus(prePublish));
+        }
+
+        // Schlüssel i signiert bis active_from von i+1, danach noch tokenLifetime gültige Tokens
+        for (int i = 0; i < keys.size() - 1; i++) {
+            Instant retiredAt = keys.get(i + 1).getActiveFrom();
+            if (retiredAt.plus(tokenLifetime).plus(RETENTION_GRACE).isBefore(now)) {
+                signingKeyRepository.delete(keys.get(i));
+                logger.info("Removed expired signing key {}", keys.get(i).getKid());
+            }
+        }
+    }
+
+    private void create(Instant now, Instant activeFrom) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            KeyPair keyPair = generator.generateKeyPair();
+            String kid = new ECKey.Builder(Curve.P_256, (ECPublicKey) keyPair.getPublic())
+                    .keyIDFromThumbprint()
+                    .build()
+                    .getKeyID();
+
+            signingKeyRepository.save(new SigningKey(kid, ALGORITHM, keyPair.getPublic().getEncoded(),
+                    privateKeyCipher.encrypt(kid, keyPair.getPrivate().getEncoded()), now, activeFrom));
+            logger.info("Created signing key {} active from {}", kid, activeFrom);
+        } catch (GeneralSecurityException | JOSEException e) {
+            throw new IllegalStateException("Signing key could not be created", e);
+        }
+    }
+
+    private KeyRing load(Instant now) {
+        List<SigningKey> keys = signingKeyRepository.findAllByOrderByActiveFromAsc();
+        SigningKey signing = keys.get(0);
+        List<JWK> published = new ArrayList<>(keys.size());
+        for (SigningKey key : keys) {
+            if (!key.getActiveFrom().isAfter(now)) {
+                signing = key;
+            }
+            published.add(publicJwk(key).build());
+        }
+
+        ECKey signingKey = publicJwk(signing).privateKey(privateKey(signing)).build();
+        return new KeyRing(signingKey, new JWKSet(published));
+    }
+
+    private ECKey.Builder publicJwk(SigningKey key) {
+        try {
+            ECPublicKey publicKey = (ECPublicKey) KeyFactory.getInstance("EC")
+                    .generatePublic(new X509EncodedKeySpec(key.getPublicKey()));
+            return new ECKey.Builder(Curve.P_256, publicKey)
+                    .keyID(key.getKid())
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(JWSAlgorithm.parse(key.getAlgorithm()));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Public key " + key.getKid() + " is invalid", e);
+        }
+    }
+
+    private ECPrivateKey privateKey(SigningKey key) {
+        try {
+            byte[] encoded = privateKeyCipher.decrypt(key.getKid(), key.getEncryptedPrivateKey());
+            return (ECPrivateKey) KeyFactory.getInstance("EC").generatePrivate(new PKCS8EncodedKeySpec(encoded));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Private key " + key.getKid() + " is invalid", e);
+        }
+    }
+
+    private record KeyRing(ECKey signingKey, JWKSet publishedKeys) {
+    }
+}
@@ -0,0 +1,79 @@
+package de.his.identity.application.service;
+
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import de.his.identity.application.dto.TokenResponse;
+import de.his.identity.infrastructure.ldap.DirectoryUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Stellt die Access-Tokens aus, die das API Gateway prüft: ES256 mit dem aktuellen Schlüssel
+ * aus {@link SigningKeyService} (kid im Header), Claims {@code sub}, {@code roles}, {@code exp},
+ * für Behandler zusätzlich {@code practitioner_id}.
+ */
+@Service
+public class TokenService {
+
+    private static final String TOKEN_TYPE = "Bearer";
+
+    private final SigningKeyService signingKeyService;
+    private final Duration expiration;
+    private final String issuer;
+
+    // Encoder hält die Signer-Instanz, daher je Schlüssel nur einmal anlegen
+    private volatile KeyEncoder keyEncoder;
+
+    public TokenService(SigningKeyService signingKeyService,
+            @Value("${his.identity.jwt.expiration:86400}") long expirationSeconds,
+            @Value("${his.identity.jwt.issuer:his-identity-service}") String issuer) {
+        this.signingKeyService = signingKeyService;
+        this.expiration = Duration.ofSeconds(expirationSeconds);
+        this.issuer = issuer;
+    }
+
+    public TokenResponse issue(DirectoryUser user, List<String> roles) {
+        KeyEncoder encoder = encoderFor(signingKeyService.currentSigningKey());
+        Instant now = Instant.now();
+        JwtClaimsSet.Builder claims = JwtClaimsSet.builder()
+                .id(UUID.randomUUID().toString())
+                .issuer(issuer)
+                .subject(user.username())
+                .issuedAt(now)
+                .expiresAt(now.plus(expiration))
+                .claim("name", user.displayName())
+                .claim("roles", roles);
+        // Behandlungsbeziehungen prüft der Encounter Service über diese ID (Gateway: X-Practitioner-Id)
+        if (user.practitionerId() != null) {
+            claims.claim("practitioner_id", user.practitionerId());
+        }
+        JwsHeader header = JwsHeader.with(SignatureAlgorithm.ES256).keyId(encoder.kid()).build();
+        String token = encoder.encoder().encode(JwtEncoderParameters.from(header, claims.build())).getTokenValue();
+        return new TokenResponse(token, TOKEN_TYPE, expiration.toSeconds(), roles);
+    }
+
+    private KeyEncoder encoderFor(ECKey signingKey) {
+        KeyEncoder current = keyEncoder;
+        if (current == null || !current.kid().equals(signingKey.getKeyID())) {
+            current = new KeyEncoder(signingKey.getKeyID(),
+                    new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(signingKey))));
+            keyEncoder = current;
+        }
+        return current;
+    }
+
+    private record KeyEncoder(String kid, JwtEncoder encoder) {
+    }
+}
@@ -0,0 +1,115 @@
+package de.his.identity.config;
+
+import com.unboundid.ldap.sdk.FailoverServerSet;
+import com.unboundid.ldap.sdk.LDAPConnectionOptions;
+import com.unboundid.ldap.sdk.LDAPConnectionPool;
+import com.unboundid.ldap.sdk.LDAPException;
+import com.unboundid.ldap.sdk.LDAPURL;
+import com.unboundid.ldap.sdk.ServerSet;
+import com.unboundid.ldap.sdk.SimpleBindRequest;
+import com.unboundid.ldap.sdk.SingleServerSet;
+import com.unboundid.util.ssl.HostNameSSLSocketVerifier;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.ldap.LdapProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.net.SocketFactory;
+import javax.net.ssl.SSLSocketFactory;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * LDAP-Verbindungspools für den Login (spring.ldap.* und his.identity.ldap.pool.*).
+ *
+ * Zwei Pools fester Größe: der Search-Pool ist als Service-Account gebunden und sucht
+ * Benutzer und Gruppen, auf dem Bind-Pool prüfen die Benutzer-Binds das Passwort. So
+ * entfällt das Zurück-Binden auf den Service-Account nach jedem Login.
+ */
+@Configuration
+public class LdapPoolConfig {
+
+    private static final int INITIAL_CONNECT_THREADS = 4;
+
+    @Value("${his.identity.ldap.pool.size:16}")
+    private int poolSize;
+
+    @Value("${his.identity.ldap.pool.max-wait:PT2S}")
+    private Duration maxWait;
+
+    @Value("${his.identity.ldap.pool.connect-timeout:PT2S}")
+    private Duration connectTimeout;
+
+    @Value("${his.identity.ldap.pool.response-timeout:PT5S}")
+    private Duration responseTimeout;
+
+    @Value("${his.identity.ldap.pool.max-connection-age:PT30M}")
+    private Duration maxConnectionAge;
+
+    @Value("${his.identity.ldap.pool.health-check-interval:PT10S}")
+    private Duration healthCheckInterval;
+
+    @Bean(destroyMethod = "close")
+    public LDAPConnectionPool ldapSearchPool(LdapProperties ldapProperties, MeterRegistry meterRegistry)
+            throws LDAPException {
+        SimpleBindRequest serviceAccount = new SimpleBindRequest(ldapProperties.getUsername(),
+                ldapProperties.getPassword());
+        return createPool("search", ldapProperties, serviceAccount, meterRegistry);
+    }
+
+    @Bean(destroyMethod = "close")
+    public LDAPConnectionPool ldapBindPool(LdapProperties ldapProperties, MeterRegistry meterRegistry)
+            throws LDAPException {
+        return createPool("bind", ldapProperties, null, meterRegistry);
+    }
+
+    private LDAPConnectionPool createPool(String name, LdapProperties ldapProperties,
+            SimpleBindRequest bindRequest, MeterRegistry meterRegistry) throws LDAPException {
+        ServerSet servers = serverSet(ldapProperties.getUrls());
+
+        // Verzeichnis darf beim Start fehlen, der Health-Check füllt den Pool später auf
+        LDAPConnectionPool pool = new LDAPConnectionPool(servers, bindRequest, poolSize, poolSize,
+                INITIAL_CONNECT_THREADS, null, false);
+        pool.setConnectionPoolName("his-identity-ldap-" + name);
+        pool.setMinimumAvailableConnectionGoal(poolSize);
+        // feste Größe: bei Lastspitzen warten statt zusätzliche Verbindungen zu öffnen
+        pool.setCreateIfNecessary(false);
+        pool.setMaxWaitTimeMillis(maxWait.toMillis());
+        pool.setMaxConnectionAgeMillis(maxConnectionAge.toMillis());
+        pool.setHealthCheckIntervalMillis(healthCheckInterval.toMillis());
+        pool.setRetryFailedOperationsDueToInvalidConnections(true);
+
+        Gauge.builder("his.identity.ldap.pool.available", pool, LDAPConnectionPool::getCurrentAvailableConnections)
+                .tag("pool", name)
+                .description("Freie Verbindungen im LDAP-Pool")
+                .register(meterRegistry);
+        return pool;
+    }
+
+    private ServerSet serverSet(String[] urls) throws LDAPException {
+        LDAPConnectionOptions options = new LDAPConnectionOptions();
+        options.setConnectTimeoutMillis((int) connectTimeout.toMillis());
+        options.setResponseTimeoutMillis(responseTimeout.toMillis());
+        options.setUseKeepAlive(true);
+
+        LDAPURL[] parsed = new LDAPURL[urls.length];
+        for (int i = 0; i < urls.length; i++) {
+            parsed[i] = new LDAPURL(urls[i].trim());
+        }
+        boolean secure = "ldaps".equals(parsed[0].getScheme());
+        if (secure) {
+            options.setSSLSocketVerifier(new HostNameSSLSocketVerifier(true));
+        }
+        SocketFactory socketFactory = secure ? SSLSocketFactory.getDefault() : SocketFactory.getDefault();
+
+        if (parsed.length == 1) {
+            return new SingleServerSet(parsed[0].getHost(), parsed[0].getPort(), socketFactory, options);
+        }
+        // mehrere URLs: in Reihenfolge, die nächste nur bei Ausfall der vorherigen
+        String[] hosts = Arrays.stream(parsed).map(LDAPURL::getHost).toArray(String[]::new);
+        int[] ports = Arrays.stream(parsed).mapToInt(LDAPURL::getPort).toArray();
+        return new FailoverServerSet(hosts, ports, socketFactory, options);
+    }
+}
@@ -0,0 +1,75 @@
+package de.his.identity.domain.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Signaturschlüssel für Access-Tokens.
+ *
+ * Signiert ab {@code activeFrom}, bis ein neuerer Schlüssel aktiv wird. Der öffentliche
+ * Schlüssel ist X.509-kodiert, der private PKCS#8-kodiert und verschlüsselt
+ * (siehe {@link de.his.identity.infrastructure.crypto.PrivateKeyCipher}).
+ */
+@Entity
+@Table(name = "signing_keys", schema = "his_auth")
+public class SigningKey {
+
+    @Id
+    @Column(name = "kid", length = 64)
+    private String kid;
+
+    @Column(name = "algorithm", nullable = false, length = 16)
+    private String algorithm;
+
+    @Column(name = "public_key", nullable = false)
+    private byte[] publicKey;
+
+    @Column(name = "encrypted_private_key", nullable = false)
+    private byte[] encryptedPrivateKey;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "active_from", nullable = false, updatable = false)
+    private Instant activeFrom;
+
+    // Constructors
+    protected SigningKey() {
+    }
+
+    public SigningKey(String kid, String algorithm, byte[] publicKey, byte[] encryptedPrivateKey,
+            Instant createdAt, Instant activeFrom) {
+        this.kid = kid;
+        this.algorithm = algorithm;
+        this.publicKey = publicKey;
+        this.encryptedPrivateKey = encryptedPrivateKey;
+        this.createdAt = createdAt;
+        this.activeFrom = activeFrom;
+    }
+
+    // Getters
+    public String getKid() {
+        return kid;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public byte[] getPublicKey() {
+        return publicKey;
+    }
+
+    public byte[] getEncryptedPrivateKey() {
+        return encryptedPrivateKey;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getActiveFrom() {
+        return activeFrom;
+    }
+}
@@ -0,0 +1,13 @@
+package de.his.identity.domain.repository;
+
+import de.his.identity.domain.model.SigningKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SigningKeyRepository extends JpaRepository<SigningKey, String> {
+
+    List<SigningKey> findAllByOrderByActiveFromAsc();
+}
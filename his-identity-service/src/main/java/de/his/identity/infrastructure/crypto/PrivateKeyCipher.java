@@ -0,0 +1,62 @@
+package de.his.identity.infrastructure.crypto;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+
+/**
+ * AES-256-GCM für private Signaturschlüssel in der Datenbank.
+ *
+ * Format: 12 Byte IV, danach Chiffrat mit Tag. Die kid geht als Associated Data ein,
+ * ein Chiffrat lässt sich also nicht unter einer anderen kid einspielen.
+ */
+@Component
+public class PrivateKeyCipher {
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+
+    private final SecureRandom random = new SecureRandom();
+    private final SecretKeySpec key;
+
+    public PrivateKeyCipher(@Value("${his.identity.jwt.keys.encryption-secret}") String secret)
+            throws GeneralSecurityException {
+        byte[] keyBytes = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+        this.key = new SecretKeySpec(keyBytes, "AES");
+    }
+
+    public byte[] encrypt(String kid, byte[] plain) {
+        try {
+            byte[] iv = new byte[IV_BYTES];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+            byte[] encrypted = cipher.doFinal(plain);
+            return ByteBuffer.allocate(IV_BYTES + encrypted.length).put(iv).put(encrypted).array();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Private key could not be encrypted", e);
+        }
+    }
+
+    public byte[] decrypt(String kid, byte[] stored) {
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, stored, 0, IV_BYTES));
+            cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+            return cipher.doFinal(stored, IV_BYTES, stored.length - IV_BYTES);
+        } catch (GeneralSecurityException e) {
+            // falsches encryption-secret oder manipulierte Zeile
+            throw new IllegalStateException("Private key " + kid + " could not be decrypted", e);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package de.his.identity.infrastructure.exception;
+
+public class DirectoryUnavailableException extends RuntimeException {
+
+    public DirectoryUnavailableException(String message) {
+        super(message);
+    }
+
+    public DirectoryUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,8 @@
+package de.his.identity.infrastructure.exception;
+
+public class InvalidCredentialsException extends RuntimeException {
+
+    public InvalidCredentialsException(String message) {
+        super(message);
+    }
+}
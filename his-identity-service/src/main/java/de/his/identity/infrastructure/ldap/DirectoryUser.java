@@ -0,0 +1,9 @@
+package de.his.identity.infrastructure.ldap;
+
+/**
+ * Benutzereintrag aus dem Verzeichnis, wie er für Login und Token gebraucht wird.
+ *
+ * @param practitionerId Behandler-ID (UUID wie in den Encounters), {@code null} für Benutzer ohne
+ */
+public record DirectoryUser(String dn, String username, String displayName, String practitionerId) {
+}
@@ -0,0 +1,163 @@
+package de.his.identity.infrastructure.ldap;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.unboundid.ldap.sdk.Filter;
+import com.unboundid.ldap.sdk.LDAPConnectionPool;
+import com.unboundid.ldap.sdk.LDAPException;
+import com.unboundid.ldap.sdk.ResultCode;
+import com.unboundid.ldap.sdk.SearchResultEntry;
+import com.unboundid.ldap.sdk.SearchScope;
+import de.his.identity.infrastructure.exception.DirectoryUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Benutzer-Bind und Gruppensuche gegen das Verzeichnis (his.identity.ldap.*).
+ *
+ * Gruppen werden je Benutzer-DN für {@code group-cache-ttl} zwischengespeichert;
+ * Änderungen an Gruppenmitgliedschaften wirken spätestens nach dieser Zeit.
+ */
+@Component
+public class LdapDirectoryClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(LdapDirectoryClient.class);
+
+    // Ergebnis-Codes, mit denen das Verzeichnis das Passwort bzw. Konto ablehnt
+    private static final Set<ResultCode> REJECTED = Set.of(
+            ResultCode.INVALID_CREDENTIALS,
+            ResultCode.INAPPROPRIATE_AUTHENTICATION,
+            ResultCode.UNWILLING_TO_PERFORM);
+
+    private final LDAPConnectionPool searchPool;
+    private final LDAPConnectionPool bindPool;
+    private final String userSearchBase;
+    private final String userObjectClass;
+    private final String usernameAttribute;
+    private final String practitionerIdAttribute;
+    private final String groupSearchBase;
+    private final String groupObjectClass;
+    private final String groupMemberAttribute;
+    private final String groupNameAttribute;
+    private final Cache<String, List<String>> rolesByDn;
+
+    public LdapDirectoryClient(
+            @Qualifier("ldapSearchPool") LDAPConnectionPool searchPool,
+            @Qualifier("ldapBindPool") LDAPConnectionPool bindPool,
+            @Value("${spring.ldap.base}") String base,
+            @Value("${his.identity.ldap.user-search-base:ou=people}") String userSearchBase,
+            @Value("${his.identity.ldap.user-object-class:inetOrgPerson}") String userObjectClass,
+            @Value("${his.identity.ldap.username-attribute:uid}") String usernameAttribute,
+            @Value("${his.identity.ldap.practitioner-id-attribute:employeeNumber}") String practitionerIdAttribute,
+            @Value("${his.identity.ldap.group-search-base:ou=groups}") String groupSearchBase,
+            @Value("${his.identity.ldap.group-object-class:groupOfNames}") String groupObjectClass,
+            @Value("${his.identity.ldap.group-member-attribute:member}") String groupMemberAttribute,
+            @Value("${his.identity.ldap.group-name-attribute:cn}") String groupNameAttribute,
+            @Value("${his.identity.ldap.group-cache-ttl:PT5M}") Duration groupCacheTtl,
+            @Value("${his.identity.ldap.group-cache-max-entries:50000}") long groupCacheMaxEntries,
+            MeterRegistry meterRegistry) {
+        this.searchPool = searchPool;
+        this.bindPool = bindPool;
+        this.userSearchBase = userSearchBase + "," + base;
+        this.userObjectClass = userObjectClass;
+        this.usernameAttribute = usernameAttribute;
+        this.practitionerIdAttribute = practitionerIdAttribute;
+        this.groupSearchBase = groupSearchBase + "," + base;
+        this.groupObjectClass = groupObjectClass;
+        this.groupMemberAttribute = groupMemberAttribute;
+        this.groupNameAttribute = groupNameAttribute;
+        this.rolesByDn = Caffeine.newBuilder()
+                .expireAfterWrite(groupCacheTtl)
+                .maximumSize(groupCacheMaxEntries)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, rolesByDn, "ldapGroups");
+    }
+
+    /**
+     * Sucht den Benutzer und prüft das Passwort per Bind.
+     *
+     * @return den Benutzer oder leer, wenn Benutzer unbekannt oder Passwort falsch
+     * @throws DirectoryUnavailableException wenn das Verzeichnis nicht antwortet
+     */
+    public Optional<DirectoryUser> authenticate(String username, String password) {
+        // leeres Passwort wäre ein anonymer Bind und würde immer gelingen
+        if (password == null || password.isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<DirectoryUser> user = findUser(username);
+        if (user.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            bindPool.bind(user.get().dn(), password);
+            return user;
+        } catch (LDAPException e) {
+            if (REJECTED.contains(e.getResultCode())) {
+                return Optional.empty();
+            }
+            throw new DirectoryUnavailableException("LDAP bind failed: " + e.getResultCode(), e);
+        }
+    }
+
+    /**
+     * Rollen des Benutzers aus seinen Gruppen (Gruppenname in Großbuchstaben, ohne ROLE_-Präfix).
+     */
+    public List<String> findRoles(DirectoryUser user) {
+        return rolesByDn.get(user.dn(), this::searchRoles);
+    }
+
+    private Optional<DirectoryUser> findUser(String username) {
+        Filter filter = Filter.createANDFilter(
+                Filter.createEqualityFilter("objectClass", userObjectClass),
+                Filter.createEqualityFilter(usernameAttribute, username));
+        try {
+            SearchResultEntry entry = searchPool.searchForEntry(userSearchBase, SearchScope.SUB, filter,
+                    usernameAttribute, "cn", "displayName", practitionerIdAttribute);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            String displayName = Objects.requireNonNullElse(entry.getAttributeValue("displayName"),
+                    Objects.requireNonNullElse(entry.getAttributeValue("cn"), username));
+            return Optional.of(new DirectoryUser(entry.getDN(),
+                    Objects.requireNonNullElse(entry.getAttributeValue(usernameAttribute), username), displayName,
+                    entry.getAttributeValue(practitionerIdAttribute)));
+        } catch (LDAPException e) {
+            if (e.getResultCode() == ResultCode.SIZE_LIMIT_EXCEEDED) {
+                logger.warn("Username {} is not unique below {}", username, userSearchBase);
+                return Optional.empty();
+            }
+            throw new DirectoryUnavailableException("LDAP user search failed: " + e.getResultCode(), e);
+        }
+    }
+
+    private List<String> searchRoles(String dn) {
+        Filter filter = Filter.createANDFilter(
+                Filter.createEqualityFilter("objectClass", groupObjectClass),
+                Filter.createEqualityFilter(groupMemberAttribute, dn));
+        try {
+            return searchPool.search(groupSearchBase, SearchScope.SUB, filter, groupNameAttribute)
+                    .getSearchEntries().stream()
+                    .map(entry -> entry.getAttributeValue(groupNameAttribute))
+                    .filter(Objects::nonNull)
+                    .map(name -> name.toUpperCase(Locale.ROOT))
+                    .distinct()
+                    .sorted()
+                    .toList();
+        } catch (LDAPException e) {
+            throw new DirectoryUnavailableException("LDAP group search failed: " + e.getResultCode(), e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package de.his.identity.presentation.controller;
+
+import de.his.identity.application.dto.LoginRequest;
+import de.his.identity.application.dto.TokenResponse;
+import de.his.identity.application.service.LoginService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/auth")
+@Tag(name = "Authentication", description = "Token issuance against the LDAP directory")
+public class AuthController {
+
+    private final LoginService loginService;
+
+    public AuthController(LoginService loginService) {
+        this.loginService = loginService;
+    }
+
+    @PostMapping("/login")
+    @Operation(summary = "Login", description = "Checks the directory credentials and issues a JWT for the API gateway")
+    public ResponseEntity<TokenResponse> login(@Valid @RequestBody LoginRequest request) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(loginService.login(request));
+    }
+}
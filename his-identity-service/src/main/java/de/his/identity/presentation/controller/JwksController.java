@@ -0,0 +1,33 @@
+package de.his.identity.presentation.controller;
+
+import de.his.identity.application.service.SigningKeyService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+@Tag(name = "Authentication", description = "Token issuance against the LDAP directory")
+public class JwksController {
+
+    private static final Duration MAX_AGE = Duration.ofMinutes(5);
+
+    private final SigningKeyService signingKeyService;
+
+    public JwksController(SigningKeyService signingKeyService) {
+        this.signingKeyService = signingKeyService;
+    }
+
+    @GetMapping("/.well-known/jwks.json")
+    @Operation(summary = "JSON Web Key Set", description = "Public keys for verifying issued tokens (current, upcoming and recently retired)")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(MAX_AGE).cachePublic())
+                .body(signingKeyService.publishedKeys().toJSONObject(true));
+    }
+}
@@ -0,0 +1,13 @@
+-- Signaturschlüssel für Access-Tokens (ES256). Ein Schlüssel signiert ab active_from, bis der
+-- nächste aktiv wird; veröffentlicht (JWKS) bleibt er, solange damit signierte Tokens gültig sind.
+-- Der private Schlüssel liegt AES-GCM-verschlüsselt vor (his.identity.jwt.keys.encryption-secret).
+CREATE TABLE signing_keys (
+    kid VARCHAR(64) PRIMARY KEY,
+    algorithm VARCHAR(16) NOT NULL,
+    public_key BYTEA NOT NULL,
+    encrypted_private_key BYTEA NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    active_from TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_signing_keys_active_from ON signing_keys (active_from);
@@ -0,0 +1,135 @@
+package de.his.identity;
+
+import com.unboundid.ldap.listener.InMemoryDirectoryServer;
+import com.unboundid.ldap.listener.InMemoryDirectoryServerConfig;
+import com.unboundid.ldap.listener.InMemoryListenerConfig;
+import com.unboundid.ldap.listener.interceptor.InMemoryInterceptedSearchRequest;
+import com.unboundid.ldap.listener.interceptor.InMemoryInterceptedSimpleBindRequest;
+import com.unboundid.ldap.listener.interceptor.InMemoryOperationInterceptor;
+import com.unboundid.ldap.sdk.LDAPException;
+import com.unboundid.ldap.sdk.Modification;
+import com.unboundid.ldap.sdk.ModificationType;
+import com.unboundid.ldif.LDIFException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Eingebetteter LDAP-Server (UnboundID) als Ersatz für das Klinik-Verzeichnis.
+ *
+ * Benutzer unter ou=people (inetOrgPerson), Gruppen unter ou=groups (groupOfNames).
+ * Optional mit künstlicher Latenz je Bind/Suche, um ein entferntes Verzeichnis nachzubilden.
+ */
+public final class EmbeddedDirectory implements AutoCloseable {
+
+    public static final String BASE_DN = "dc=example,dc=org";
+    public static final String ADMIN_DN = "cn=admin," + BASE_DN;
+    public static final String ADMIN_PASSWORD = "admin";
+
+    private final InMemoryDirectoryServer server;
+    private final AtomicInteger userBinds = new AtomicInteger();
+
+    private EmbeddedDirectory(Duration latency) throws LDAPException, LDIFException {
+        InMemoryDirectoryServerConfig config = new InMemoryDirectoryServerConfig(BASE_DN);
+        config.addAdditionalBindCredentials(ADMIN_DN, ADMIN_PASSWORD);
+        config.setListenerConfigs(InMemoryListenerConfig.createLDAPConfig("default", 0));
+        // wie im produktiven Verzeichnis: Benutzer- und Gruppensuche über Gleichheitsindizes
+        config.setEqualityIndexAttributes("uid", "member");
+        config.addInMemoryOperationInterceptor(new InMemoryOperationInterceptor() {
+            @Override
+            public void processSimpleBindRequest(InMemoryInterceptedSimpleBindRequest request) {
+                if (!ADMIN_DN.equalsIgnoreCase(request.getRequest().getBindDN())) {
+                    userBinds.incrementAndGet();
+                }
+                pause(latency);
+            }
+
+            @Override
+            public void processSearchRequest(InMemoryInterceptedSearchRequest request) {
+                pause(latency);
+            }
+        });
+        server = new InMemoryDirectoryServer(config);
+        server.add("dn: " + BASE_DN, "objectClass: top", "objectClass: domain", "dc: example");
+        server.add("dn: ou=people," + BASE_DN, "objectClass: top", "objectClass: organizationalUnit", "ou: people");
+        server.add("dn: ou=groups," + BASE_DN, "objectClass: top", "objectClass: organizationalUnit", "ou: groups");
+        server.startListening();
+    }
+
+    public static EmbeddedDirectory start() {
+        return start(Duration.ZERO);
+    }
+
+    public static EmbeddedDirectory start(Duration latency) {
+        try {
+            return new EmbeddedDirectory(latency);
+        } catch (LDAPException | LDIFException e) {
+            throw new IllegalStateException("Embedded LDAP server could not be started", e);
+        }
+    }
+
+    public String url() {
+        return "ldap://localhost:" + server.getListenPort();
+    }
+
+    public void addUser(String uid, String password, String... groups) {
+        try {
+            String dn = userDn(uid);
+            server.add("dn: " + dn, "objectClass: top", "objectClass: person", "objectClass: organizationalPerson",
+                    "objectClass: inetOrgPerson", "uid: " + uid, "cn: " + uid, "sn: " + uid,
+                    "displayName: " + uid, "userPassword: " + password);
+            for (String group : groups) {
+                String groupDn = "cn=" + group + ",ou=groups," + BASE_DN;
+                if (server.getEntry(groupDn) == null) {
+                    server.add("dn: " + groupDn, "objectClass: top", "objectClass: groupOfNames",
+                            "cn: " + group, "member: " + dn);
+                } else {
+                    server.modify(groupDn, new Modification(ModificationType.ADD, "member", dn));
+                }
+            }
+        } catch (LDAPException | LDIFException e) {
+            throw new IllegalStateException("User " + uid + " could not be added", e);
+        }
+    }
+
+    public void setAttribute(String uid, String attribute, String value) {
+        try {
+            server.modify(userDn(uid), new Modification(ModificationType.REPLACE, attribute, value));
+        } catch (LDAPException e) {
+            throw new IllegalStateException("Attribute " + attribute + " of " + uid + " could not be set", e);
+        }
+    }
+
+    public void changePassword(String uid, String password) {
+        try {
+            server.modify(userDn(uid), new Modification(ModificationType.REPLACE, "userPassword", password));
+        } catch (LDAPException e) {
+            throw new IllegalStateException("Password of " + uid + " could not be changed", e);
+        }
+    }
+
+    /** Anzahl Binds als Benutzer (ohne Service-Account) seit dem Start. */
+    public int userBinds() {
+        return userBinds.get();
+    }
+
+    @Override
+    public void close() {
+        server.shutDown(true);
+    }
+
+    private static String userDn(String uid) {
+        return "uid=" + uid + ",ou=people," + BASE_DN;
+    }
+
+    private static void pause(Duration latency) {
+        if (latency.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package de.his.identity;
+
+import de.his.identity.application.dto.LoginRequest;
+import de.his.identity.application.dto.TokenResponse;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class LoginIntegrationTest {
+
+    private static final String LOGIN_URL = "/api/v1/auth/login";
+    private static final EmbeddedDirectory directory = EmbeddedDirectory.start();
+    private static final String PRACTITIONER_ID = "7c9e6679-7425-40de-944b-e07fc1f90ae7";
+
+    static {
+        directory.addUser("dr.mueller", "geheim-123", "doctor");
+        directory.addUser("pfl.schmidt", "pflege-456", "nurse", "station_3a");
+        directory.setAttribute("pfl.schmidt", "employeeNumber", PRACTITIONER_ID);
+        directory.addUser("dr.weber", "weber-789", "doctor");
+        directory.addUser("dr.koch", "koch-alt", "doctor");
+    }
+
+    @DynamicPropertySource
+    static void ldapProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.ldap.urls", directory::url);
+        registry.add("spring.ldap.username", () -> EmbeddedDirectory.ADMIN_DN);
+        registry.add("spring.ldap.password", () -> EmbeddedDirectory.ADMIN_PASSWORD);
+    }
+
+    @AfterAll
+    static void stopDirectory() {
+        directory.close();
+    }
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalServerPort
+    private int port;
+
+    @BeforeEach
+    void setUp() {
+        // HttpURLConnection kann 401-Antworten auf gestreamte POSTs nicht lesen
+        restTemplate.getRestTemplate().setRequestFactory(new JdkClientHttpRequestFactory());
+    }
+
+    @Test
+    void shouldIssueTokenForGateway() {
+        // When
+        ResponseEntity<TokenResponse> response = restTemplate.postForEntity(LOGIN_URL,
+                new LoginRequest("pfl.schmidt", "pflege-456"), TokenResponse.class);
+
+        // Then - ES256, prüfbar allein mit dem JWKS; Rollen ohne ROLE_-Präfix
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getCacheControl()).isEqualTo("no-store");
+        TokenResponse token = response.getBody();
+        assertThat(token.getTokenType()).isEqualTo("Bearer");
+        assertThat(token.getRoles()).containsExactly("NURSE", "STATION_3A");
+
+        Jwt jwt = NimbusJwtDecoder.withJwkSetUri("http://localhost:" + port + "/.well-known/jwks.json")
+                .jwsAlgorithm(SignatureAlgorithm.ES256)
+                .build()
+                .decode(token.getAccessToken());
+        assertThat(jwt.getHeaders()).containsKey("kid");
+        assertThat(jwt.getSubject()).isEqualTo("pfl.schmidt");
+        assertThat(jwt.getClaimAsStringList("roles")).containsExactly("NURSE", "STATION_3A");
+        assertThat(jwt.getClaimAsString("practitioner_id")).isEqualTo(PRACTITIONER_ID);
+        assertThat(jwt.getExpiresAt()).isCloseTo(Instant.now().plus(Duration.ofDays(1)), within(1, ChronoUnit.MINUTES));
+    }
+
+    @Test
+    void shouldPublishOnlyPublicKeys() {
+        // When
+        ResponseEntity<Map> response = restTemplate.getForEntity("/.well-known/jwks.json", Map.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        List<Map<String, Object>> keys = (List<Map<String, Object>>) response.getBody().get("keys");
+        assertThat(keys).isNotEmpty().allSatisfy(key -> assertThat(key)
+                .containsEntry("kty", "EC")
+                .containsEntry("alg", "ES256")
+                .containsKey("kid")
+                .doesNotContainKey("d"));
+    }
+
+    @Test
+    void shouldRejectWrongPassword() {
+        // When
+        ResponseEntity<Map> response = restTemplate.postForEntity(LOGIN_URL,
+                new LoginRequest("dr.mueller", "falsch"), Map.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(response.getBody()).containsEntry("code", "INVALID_CREDENTIALS");
+    }
+
+    @Test
+    void shouldRejectUnknownUser() {
+        // When
+        ResponseEntity<Map> response = restTemplate.postForEntity(LOGIN_URL,
+                new LoginRequest("unbekannt", "geheim-123"), Map.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void shouldRejectBlankPassword() {
+        // When
+        ResponseEntity<Map> response = restTemplate.postForEntity(LOGIN_URL,
+                new LoginRequest("dr.mueller", ""), Map.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).containsEntry("code", "VALIDATION_ERROR");
+    }
+
+    @Test
+    void shouldServeRepeatedLoginWithoutDirectoryBind() {
+        // Given
+        login("dr.weber", "weber-789");
+        int bindsAfterFirstLogin = directory.userBinds();
+
+        // When
+        ResponseEntity<TokenResponse> second = login("dr.weber", "weber-789");
+        ResponseEntity<TokenResponse> wrong = login("dr.weber", "weber-000");
+
+        // Then - Treffer im Credential-Cache, falsches Passwort geht wieder ans Verzeichnis
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(wrong.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(directory.userBinds()).isEqualTo(bindsAfterFirstLogin + 1);
+    }
+
+    @Test
+    void shouldDropOldPasswordOnceNewPasswordWasUsed() {
+        // Given
+        assertThat(login("dr.koch", "koch-alt").getStatusCode()).isEqualTo(HttpStatus.OK);
+        directory.changePassword("dr.koch", "koch-neu");
+
+        // When
+        ResponseEntity<TokenResponse> withNew = login("dr.koch", "koch-neu");
+        ResponseEntity<TokenResponse> withOld = login("dr.koch", "koch-alt");
+
+        // Then
+        assertThat(withNew.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(withOld.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    private ResponseEntity<TokenResponse> login(String username, String password) {
+        return restTemplate.postForEntity(LOGIN_URL, new LoginRequest(username, password), TokenResponse.class);
+    }
+}
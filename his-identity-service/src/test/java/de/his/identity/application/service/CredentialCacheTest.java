@@ -0,0 +1,61 @@
+package de.his.identity.application.service;
+
+import de.his.identity.infrastructure.ldap.DirectoryUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CredentialCacheTest {
+
+    private static final DirectoryUser USER =
+            new DirectoryUser("uid=dr.mueller,ou=people,dc=example,dc=org", "dr.mueller", "Dr. Müller", null);
+
+    private CredentialCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CredentialCache(Duration.ofMinutes(2), 100, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldReturnUserForSamePassword() {
+        // Given
+        cache.store("dr.mueller", "geheim-123", USER);
+
+        // When / Then
+        assertThat(cache.lookup("dr.mueller", "geheim-123")).contains(USER);
+        assertThat(cache.lookup("DR.Mueller", "geheim-123")).contains(USER);
+    }
+
+    @Test
+    void shouldMissForOtherPassword() {
+        // Given
+        cache.store("dr.mueller", "geheim-123", USER);
+
+        // When / Then
+        assertThat(cache.lookup("dr.mueller", "geheim-124")).isEmpty();
+        assertThat(cache.lookup("dr.mueller", "")).isEmpty();
+    }
+
+    @Test
+    void shouldMissForUnknownUser() {
+        assertThat(cache.lookup("pfl.schmidt", "geheim-123")).isEmpty();
+    }
+
+    @Test
+    void shouldReplaceEntryAfterPasswordChange() {
+        // Given
+        cache.store("dr.mueller", "alt-123", USER);
+
+        // When
+        cache.store("dr.mueller", "neu-456", USER);
+
+        // Then
+        assertThat(cache.lookup("dr.mueller", "neu-456")).contains(USER);
+        assertThat(cache.lookup("dr.mueller", "alt-123")).isEmpty();
+    }
+}
@@ -0,0 +1,112 @@
+package de.his.identity.application.service;
+
+import com.nimbusds.jose.jwk.JWK;
+import de.his.identity.domain.model.SigningKey;
+import de.his.identity.domain.repository.SigningKeyRepository;
+import de.his.identity.infrastructure.crypto.PrivateKeyCipher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SigningKeyServiceTest {
+
+    private static final Instant START = Instant.parse("2025-05-01T06:00:00Z");
+    private static final Duration ROTATION = Duration.ofDays(1);
+    private static final Duration PRE_PUBLISH = Duration.ofHours(1);
+    private static final long TOKEN_LIFETIME_SECONDS = 86400;
+
+    private final List<SigningKey> table = new ArrayList<>();
+    private SigningKeyService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        SigningKeyRepository repository = mock(SigningKeyRepository.class);
+        when(repository.findAllByOrderByActiveFromAsc()).thenAnswer(invocation -> table.stream()
+                .sorted(Comparator.comparing(SigningKey::getActiveFrom))
+                .toList());
+        when(repository.save(any(SigningKey.class))).thenAnswer(invocation -> {
+            table.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        doAnswer(invocation -> table.remove(invocation.<SigningKey>getArgument(0)))
+                .when(repository).delete(any(SigningKey.class));
+
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        service = new SigningKeyService(repository, new PrivateKeyCipher("test-secret"), transactionTemplate,
+                ROTATION, PRE_PUBLISH, TOKEN_LIFETIME_SECONDS);
+    }
+
+    @Test
+    void shouldCreateFirstKeyActiveImmediately() {
+        // When
+        service.refresh(START);
+
+        // Then
+        assertThat(table).hasSize(1);
+        assertThat(service.currentSigningKey().getKeyID()).isEqualTo(table.get(0).getKid());
+        assertThat(service.currentSigningKey().isPrivate()).isTrue();
+        assertThat(service.publishedKeys().getKeys()).noneMatch(JWK::isPrivate);
+    }
+
+    @Test
+    void shouldPublishNextKeyBeforeItSigns() {
+        // Given
+        service.refresh(START);
+        String firstKid = service.currentSigningKey().getKeyID();
+
+        // When - Vorlaufzeit vor der Rotation erreicht
+        service.refresh(START.plus(ROTATION).minus(PRE_PUBLISH));
+
+        // Then - neuer Schlüssel veröffentlicht, signiert wird weiter mit dem alten
+        assertThat(service.publishedKeys().getKeys()).hasSize(2);
+        assertThat(service.currentSigningKey().getKeyID()).isEqualTo(firstKid);
+
+        // When - Vorlaufzeit vorbei
+        service.refresh(START.plus(ROTATION).plusSeconds(1));
+
+        // Then
+        assertThat(service.currentSigningKey().getKeyID()).isNotEqualTo(firstKid);
+        assertThat(service.publishedKeys().getKeyByKeyId(firstKid)).isNotNull();
+    }
+
+    @Test
+    void shouldRemoveRetiredKeyAfterTokenLifetime() {
+        // Given
+        service.refresh(START);
+        String firstKid = service.currentSigningKey().getKeyID();
+        service.refresh(START.plus(ROTATION).minus(PRE_PUBLISH));
+        Instant retiredAt = START.plus(ROTATION);
+
+        // When - kurz vor Ablauf der letzten mit dem alten Schlüssel signierten Tokens
+        service.refresh(retiredAt.plusSeconds(TOKEN_LIFETIME_SECONDS));
+
+        // Then
+        assertThat(service.publishedKeys().getKeyByKeyId(firstKid)).isNotNull();
+
+        // When
+        service.refresh(retiredAt.plusSeconds(TOKEN_LIFETIME_SECONDS).plus(Duration.ofMinutes(10)));
+
+        // Then
+        assertThat(service.publishedKeys().getKeyByKeyId(firstKid)).isNull();
+        assertThat(table).extracting(SigningKey::getKid).doesNotContain(firstKid);
+    }
+}
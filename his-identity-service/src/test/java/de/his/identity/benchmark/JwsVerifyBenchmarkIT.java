@@ -0,0 +1,120 @@
+package de.his.identity.benchmark;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Kosten je Signatur und Prüfung eines Access-Tokens (Header.Payload wie vom TokenService)
+ * für HS256, ES256, RS256 und EdDSA (Ed25519), direkt über JCA ohne JWT-Bibliothek.
+ * Das Gateway prüft jede Anfrage, der Identity Service signiert nur beim Login; relevant ist
+ * daher vor allem die Prüfung. Läuft nur manuell:
+ *
+ * <pre>
+ * mvn test -Dtest=JwsVerifyBenchmarkIT -Dsurefire.failIfNoSpecifiedTests=false
+ * </pre>
+ */
+class JwsVerifyBenchmarkIT {
+
+    private static final int WARMUP = 5_000;
+    private static final int ITERATIONS = 10_000;
+
+    private static final byte[] SIGNING_INPUT = signingInput();
+
+    @Test
+    void measureSignAndVerify() throws Exception {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        measureHmac(secret);
+        measure("ES256", "SHA256withECDSA", keyPair("EC", new ECGenParameterSpec("secp256r1")));
+        measure("RS256", "SHA256withRSA", keyPair("RSA", 2048));
+        measure("EdDSA", "Ed25519", keyPair("Ed25519", null));
+    }
+
+    private void measureHmac(byte[] secret) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+        byte[] expected = mac.doFinal(SIGNING_INPUT);
+
+        // HMAC: Prüfen heißt neu berechnen und vergleichen, daher gleiche Kosten wie Signieren
+        Op sign = () -> mac.doFinal(SIGNING_INPUT).length > 0;
+        Op verify = () -> MessageDigest.isEqual(expected, mac.doFinal(SIGNING_INPUT));
+        report("HS256", expected.length, time(sign), time(verify));
+    }
+
+    private void measure(String name, String algorithm, KeyPair keyPair) throws GeneralSecurityException {
+        Signature signer = Signature.getInstance(algorithm);
+        signer.initSign(keyPair.getPrivate());
+        Signature verifier = Signature.getInstance(algorithm);
+        verifier.initVerify(keyPair.getPublic());
+
+        signer.update(SIGNING_INPUT);
+        byte[] signature = signer.sign();
+
+        Op sign = () -> {
+            signer.update(SIGNING_INPUT);
+            return signer.sign().length > 0;
+        };
+        Op verify = () -> {
+            verifier.update(SIGNING_INPUT);
+            return verifier.verify(signature);
+        };
+        report(name, signature.length, time(sign), time(verify));
+    }
+
+    private double time(Op op) throws GeneralSecurityException {
+        for (int i = 0; i < WARMUP; i++) {
+            assertThat(op.run()).isTrue();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            if (!op.run()) {
+                throw new AssertionError("Signature check failed");
+            }
+        }
+        return (System.nanoTime() - start) / 1e3 / ITERATIONS;
+    }
+
+    private void report(String name, int signatureBytes, double signMicros, double verifyMicros) {
+        System.out.printf("[benchmark] %-5s signature=%3d bytes sign=%7.1f µs verify=%7.1f µs (%,.0f verifies/s)%n",
+                name, signatureBytes, signMicros, verifyMicros, 1e6 / verifyMicros);
+    }
+
+    private static KeyPair keyPair(String algorithm, Object parameter) throws GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm);
+        if (parameter instanceof ECGenParameterSpec spec) {
+            generator.initialize(spec);
+        } else if (parameter instanceof Integer size) {
+            generator.initialize(size);
+        }
+        return generator.generateKeyPair();
+    }
+
+    // typisches Access-Token: kid im Header, sub/roles/exp im Payload
+    private static byte[] signingInput() {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header = "{\"kid\":\"lA8OXzhPZ0h1S3o7l4UWB2Y6Zq8bA0ZQbmSG2Mqgk9g\",\"alg\":\"ES256\"}";
+        String payload = "{\"sub\":\"dr.mueller\",\"iss\":\"his-identity-service\",\"name\":\"Dr. Anna Müller\","
+                + "\"roles\":[\"DOCTOR\"],\"iat\":1746079200,\"exp\":1746165600,"
+                + "\"jti\":\"4f1c2b7e-9a34-4d0e-8c51-2f7a6b3d9e10\"}";
+        return (encoder.encodeToString(header.getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8))).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @FunctionalInterface
+    private interface Op {
+        boolean run() throws GeneralSecurityException;
+    }
+}
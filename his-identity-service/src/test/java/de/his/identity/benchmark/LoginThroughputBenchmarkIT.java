@@ -0,0 +1,126 @@
+package de.his.identity.benchmark;
+
+import de.his.identity.EmbeddedDirectory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Logins pro Sekunde (POST /api/v1/auth/login) gegen einen eingebetteten LDAP-Server mit
+ * künstlicher Latenz je Bind/Suche: erster Login jedes Benutzers (Suche, Bind, Gruppen)
+ * gegen wiederholten Login aus dem Credential-Cache, wie beim Schichtwechsel. Läuft nur manuell:
+ *
+ * <pre>
+ * mvn test -Dtest=LoginThroughputBenchmarkIT -Dsurefire.failIfNoSpecifiedTests=false -Dbenchmark.ldap.latency-ms=2
+ * </pre>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "his.identity.ldap.pool.size=16")
+@ActiveProfiles("test")
+class LoginThroughputBenchmarkIT {
+
+    private static final int WARMUP_USERS = 200;
+    private static final int USERS = 2000;
+    private static final int THREADS = 32;
+    private static final String[] GROUPS = { "doctor", "nurse", "admin", "reception" };
+    private static final Duration LATENCY = Duration.ofMillis(Long.getLong("benchmark.ldap.latency-ms", 2));
+    private static final EmbeddedDirectory directory = EmbeddedDirectory.start(LATENCY);
+
+    static {
+        for (int i = 0; i < WARMUP_USERS + USERS; i++) {
+            directory.addUser(username(i), password(i), GROUPS[i % GROUPS.length]);
+        }
+    }
+
+    @DynamicPropertySource
+    static void ldapProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.ldap.urls", directory::url);
+        registry.add("spring.ldap.username", () -> EmbeddedDirectory.ADMIN_DN);
+        registry.add("spring.ldap.password", () -> EmbeddedDirectory.ADMIN_PASSWORD);
+    }
+
+    @AfterAll
+    static void stopDirectory() {
+        directory.close();
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${his.identity.ldap.pool.size}")
+    private int poolSize;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    void measureLoginThroughput() throws Exception {
+        run(0, WARMUP_USERS);
+        run(0, WARMUP_USERS);
+        int bindsBefore = directory.userBinds();
+
+        double coldPerSecond = run(WARMUP_USERS, WARMUP_USERS + USERS);
+        double cachedPerSecond = run(WARMUP_USERS, WARMUP_USERS + USERS);
+
+        // zweiter Durchlauf ganz ohne Benutzer-Bind
+        assertThat(directory.userBinds() - bindsBefore).isEqualTo(USERS);
+        System.out.printf("[benchmark] users=%d threads=%d pool=%d ldap-latency=%d ms directory=%.0f logins/s cached=%.0f logins/s%n",
+                USERS, THREADS, poolSize, LATENCY.toMillis(), coldPerSecond, cachedPerSecond);
+    }
+
+    // jeder Benutzer aus [from, to) meldet sich einmal an
+    private double run(int from, int to) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<Integer>> tasks = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                int user = i;
+                tasks.add(() -> login(username(user), password(user)));
+            }
+            long start = System.nanoTime();
+            List<Future<Integer>> results = executor.invokeAll(tasks);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            for (Future<Integer> result : results) {
+                assertThat(result.get()).isEqualTo(200);
+            }
+            return (to - from) / seconds;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int login(String username, String password) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\": \"%s\", \"password\": \"%s\"}".formatted(username, password)))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static String username(int i) {
+        return "user" + i;
+    }
+
+    private static String password(int i) {
+        return "pw-" + i + "-schicht";
+    }
+}
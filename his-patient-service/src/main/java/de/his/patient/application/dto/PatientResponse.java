@@ -7,6 +7,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -101,6 +102,19 @@ public class PatientResponse {
         this.updatedAt = updatedAt;
     }
 
+    // Projektion aus PatientRepository, Adressen werden separat gesetzt
+    public PatientResponse(UUID id, String firstName, String lastName, String title,
+                          LocalDate birthDate, Gender gender, String kvnr,
+                          String insuranceNumber, InsuranceStatus insuranceStatus,
+                          InsuranceType insuranceType, String insuranceCompanyId,
+                          String insuranceCompanyName, String phone, String email,
+                          Boolean consentCommunication, Boolean consentDataProcessing,
+                          LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, firstName, lastName, title, birthDate, gender, kvnr, insuranceNumber, insuranceStatus,
+                insuranceType, insuranceCompanyId, insuranceCompanyName, phone, email,
+                consentCommunication, consentDataProcessing, new ArrayList<>(), createdAt, updatedAt);
+    }
+
     // Getters and Setters
     public UUID getId() { return id; }
     public void setId(UUID id) { this.id = id; }
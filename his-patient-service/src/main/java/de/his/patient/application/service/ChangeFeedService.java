@@ -0,0 +1,106 @@
+package de.his.patient.application.service;
+
+import de.his.patient.application.dto.ChangeEventResponse;
+import de.his.patient.application.dto.ChangeFeedResponse;
+import de.his.patient.domain.model.OutboxEvent;
+import de.his.patient.infrastructure.exception.ChangeFeedCursorExpiredException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Liest den Change-Feed per Cursor und benachrichtigt wartende Konsumenten
+ * (Long-Poll/SSE), sobald der Relay neue Positionen veröffentlicht hat.
+ */
+@Service
+public class ChangeFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    private final OutboxService outboxService;
+    private final Set<LongConsumer> listeners = ConcurrentHashMap.newKeySet();
+    private final AtomicLong latestPosition = new AtomicLong(-1);
+
+    // Listener schreiben ggf. auf langsame Clients – nicht im Relay-Thread ausführen
+    private final ExecutorService notificationExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ChangeFeedService(OutboxService outboxService) {
+        this.outboxService = outboxService;
+    }
+
+    /**
+     * @throws ChangeFeedCursorExpiredException wenn Einträge nach dem Cursor bereits bereinigt
+     *         wurden (Positionen sind lückenlos, eine Lücke nach dem Cursor heißt: gelöscht)
+     */
+    public ChangeFeedResponse readChanges(long cursor, int limit) {
+        // Ein Eintrag mehr laden, um hasMore ohne COUNT zu bestimmen
+        List<OutboxEvent> events = outboxService.findPublishedAfter(cursor, limit + 1);
+        if (!events.isEmpty() && events.get(0).getPosition() > cursor + 1) {
+            throw new ChangeFeedCursorExpiredException(cursor, events.get(0).getPosition(), getLatestPosition());
+        }
+        boolean hasMore = events.size() > limit;
+        if (hasMore) {
+            events = events.subList(0, limit);
+        }
+
+        long nextCursor = events.isEmpty() ? cursor : events.get(events.size() - 1).getPosition();
+        List<ChangeEventResponse> responses = events.stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+        return new ChangeFeedResponse(responses, nextCursor, hasMore);
+    }
+
+    public long getLatestPosition() {
+        long known = latestPosition.get();
+        return known >= 0 ? known : outboxService.getLatestPosition();
+    }
+
+    public void addListener(LongConsumer listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(LongConsumer listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Wird vom Relay nach jedem Durchlauf aufgerufen. Benachrichtigt nur,
+     * wenn sich die höchste veröffentlichte Position tatsächlich erhöht hat.
+     */
+    public void onPositionAdvanced(long position) {
+        long previous = latestPosition.getAndAccumulate(position, Math::max);
+        if (position <= previous) {
+            return;
+        }
+
+        logger.debug("Change feed advanced to position {}, notifying {} listeners", position, listeners.size());
+        for (LongConsumer listener : listeners) {
+            notificationExecutor.execute(() -> {
+                try {
+                    listener.accept(position);
+                } catch (Exception ex) {
+                    logger.warn("Change feed listener failed: {}", ex.getMessage());
+                }
+            });
+        }
+    }
+
+    private ChangeEventResponse mapToResponse(OutboxEvent event) {
+        return new ChangeEventResponse(
+                event.getPosition(),
+                event.getAggregateType(),
+                event.getAggregateId(),
+                event.getEventType(),
+                event.getPayload(),
+                event.getCreatedAt());
+    }
+}
@@ -2,8 +2,11 @@ package de.his.patient.application.service;
 
 import de.his.patient.application.dto.*;
 import de.his.patient.domain.model.Address;
+import de.his.patient.domain.model.Gender;
+import de.his.patient.domain.model.InsuranceStatus;
 import de.his.patient.domain.model.Patient;
 import de.his.patient.domain.repository.PatientRepository;
+import de.his.patient.domain.repository.PatientRepository.SummaryRow;
 import de.his.patient.domain.repository.AddressRepository;
 import de.his.patient.infrastructure.exception.PatientNotFoundException;
 import de.his.patient.infrastructure.exception.PatientAlreadyExistsException;
@@ -14,8 +17,10 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.UUID;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Transactional
@@ -23,13 +28,18 @@ public class PatientService {
 
     private static final Logger logger = LoggerFactory.getLogger(PatientService.class);
 
+    private static final String AGGREGATE_TYPE = "Patient";
+
     private final PatientRepository patientRepository;
     private final AddressRepository addressRepository;
+    private final OutboxService outboxService;
 
     public PatientService(PatientRepository patientRepository,
-            AddressRepository addressRepository) {
+            AddressRepository addressRepository,
+            OutboxService outboxService) {
         this.patientRepository = patientRepository;
         this.addressRepository = addressRepository;
+        this.outboxService = outboxService;
     }
 
     // in de.his.patient.application.service.PatientService
@@ -77,26 +87,30 @@ public class PatientService {
             addressRepository.saveAll(saved.getAddresses());
         }
 
+        outboxService.record(AGGREGATE_TYPE, saved.getId(), "PATIENT_CREATED", eventPayload(saved));
+
         logger.info("Created patient {} with KVNR {}", saved.getId(), saved.getKvnr());
         return mapToResponse(saved);
     }
 
+    // Lesepfade über Projektionen: Stammdaten und Adressen je eine Abfrage, ohne Entities
     @Transactional(readOnly = true)
     public PatientResponse getPatient(UUID patientId) {
-        Patient patient = getPatientEntity(patientId);
-        return mapToResponse(patient);
+        PatientResponse patient = patientRepository.findResponseById(patientId)
+                .orElseThrow(() -> new PatientNotFoundException(patientId.toString()));
+        return withAddresses(patient);
     }
 
     @Transactional(readOnly = true)
     public PatientResponse getPatientByKvnr(String kvnr) {
-        Patient patient = patientRepository.findByKvnrAndDeletedAtIsNull(kvnr)
+        PatientResponse patient = patientRepository.findResponseByKvnr(kvnr)
                 .orElseThrow(() -> new PatientNotFoundException("KVNR: " + kvnr));
-        return mapToResponse(patient);
+        return withAddresses(patient);
     }
 
     @Transactional(readOnly = true)
     public Page<PatientSummary> searchPatients(String searchTerm, Pageable pageable) {
-        return patientRepository.searchPatients(searchTerm, pageable)
+        return patientRepository.searchSummaries("%" + searchTerm + "%", pageable)
                 .map(this::mapToSummary);
     }
 
@@ -106,6 +120,7 @@ public class PatientService {
         patient.markAsDeleted();
 
         patientRepository.save(patient);
+        outboxService.record(AGGREGATE_TYPE, patient.getId(), "PATIENT_DELETED", eventPayload(patient));
         logger.info("Soft deleted patient {}", patientId);
     }
 
@@ -115,6 +130,11 @@ public class PatientService {
                 .orElseThrow(() -> new PatientNotFoundException(patientId.toString()));
     }
 
+    private PatientResponse withAddresses(PatientResponse patient) {
+        patient.setAddresses(addressRepository.findResponsesByPersonId(patient.getId()));
+        return patient;
+    }
+
     private PatientResponse mapToResponse(Patient patient) {
         List<AddressResponse> addresses = patient.getAddresses().stream()
                 .map(addr -> new AddressResponse(
@@ -150,14 +170,31 @@ public class PatientService {
                 patient.getUpdatedAt());
     }
 
-    private PatientSummary mapToSummary(Patient patient) {
+    // Bewusst schmal: Konsumenten laden Details bei Bedarf über die REST-API nach
+    private Map<String, Object> eventPayload(Patient patient) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("patientId", patient.getId());
+        payload.put("kvnr", patient.getKvnr());
+        payload.put("insuranceType", patient.getInsuranceType());
+        payload.put("insuranceStatus", patient.getInsuranceStatus());
+        payload.put("deletedAt", patient.getDeletedAt());
+        return payload;
+    }
+
+    private PatientSummary mapToSummary(SummaryRow row) {
+        StringBuilder fullName = new StringBuilder();
+        if (row.getTitle() != null && !row.getTitle().isEmpty()) {
+            fullName.append(row.getTitle()).append(" ");
+        }
+        fullName.append(row.getFirstName()).append(" ").append(row.getLastName());
+
         return new PatientSummary(
-                patient.getId(),
-                patient.getFullName(),
-                patient.getBirthDate(),
-                patient.getGender(),
-                patient.getKvnr(),
-                patient.getInsuranceStatus(),
-                patient.getInsuranceCompanyName());
+                row.getId(),
+                fullName.toString(),
+                row.getBirthDate(),
+                row.getGender() != null ? Gender.valueOf(row.getGender()) : null,
+                row.getKvnr(),
+                row.getInsuranceStatus() != null ? InsuranceStatus.valueOf(row.getInsuranceStatus()) : null,
+                row.getInsuranceCompanyName());
     }
 }
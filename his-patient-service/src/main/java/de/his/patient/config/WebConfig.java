@@ -1,7 +1,10 @@
 package de.his.patient.config;
 
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -23,4 +26,14 @@ public class WebConfig {
         source.registerCorsConfiguration("/api/**", configuration);
         return source;
     }
+
+    /**
+     * CBOR neben JSON: antwortet binär, wenn der Aufrufer {@code Accept: application/cbor} sendet
+     * (PatientClient im Encounter Service), sonst weiter JSON. Gleiche Jackson-Konfiguration wie
+     * für JSON (spring.jackson.*), damit Datumsformate und Module übereinstimmen.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
 }
@@ -0,0 +1,104 @@
+package de.his.patient.domain.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Outbox-Eintrag für den Change-Feed.
+ *
+ * Wird in derselben Transaktion wie die fachliche Änderung geschrieben. Die
+ * {@code position} vergibt erst der Relay beim Veröffentlichen, damit Konsumenten
+ * mit einem Cursor keine spät committeten Einträge überspringen.
+ */
+@Entity
+@Table(name = "outbox_events", schema = "his_patient")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @NotNull
+    @Column(name = "aggregate_type", nullable = false, length = 50)
+    private String aggregateType;
+
+    @NotNull
+    @Column(name = "aggregate_id", nullable = false)
+    private UUID aggregateId;
+
+    @NotNull
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "payload", nullable = false, columnDefinition = "jsonb")
+    private String payload;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "position", unique = true)
+    private Long position;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    public OutboxEvent() {
+    }
+
+    public OutboxEvent(String aggregateType, UUID aggregateId, String eventType, String payload) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.payload = payload;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public UUID getAggregateId() {
+        return aggregateId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getPosition() {
+        return position;
+    }
+
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+
+    public boolean isPublished() {
+        return position != null;
+    }
+
+    public void markPublished(long position) {
+        this.position = position;
+        this.publishedAt = LocalDateTime.now();
+    }
+}
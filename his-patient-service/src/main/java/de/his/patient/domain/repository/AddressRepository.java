@@ -1,11 +1,20 @@
 package de.his.patient.domain.repository;
 
+import de.his.patient.application.dto.AddressResponse;
 import de.his.patient.domain.model.Address;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface AddressRepository extends JpaRepository<Address, UUID> {
+
+    @Query("SELECT new de.his.patient.application.dto.AddressResponse(" +
+            "a.id, a.addressType, a.street, a.houseNumber, a.postalCode, a.city, a.state, a.country) " +
+            "FROM Address a WHERE a.person.id = :personId ORDER BY a.createdAt, a.id")
+    List<AddressResponse> findResponsesByPersonId(@Param("personId") UUID personId);
 }
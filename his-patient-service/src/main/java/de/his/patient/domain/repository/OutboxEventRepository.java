@@ -0,0 +1,38 @@
+package de.his.patient.domain.repository;
+
+import de.his.patient.domain.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Relay: noch nicht veröffentlichte Einträge in Schreibreihenfolge
+    @Query("SELECT o FROM OutboxEvent o WHERE o.position IS NULL ORDER BY o.id ASC")
+    List<OutboxEvent> findUnpublished(Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(o.position), 0) FROM OutboxEvent o")
+    long findMaxPosition();
+
+    // Change-Feed: alles nach dem Cursor des Konsumenten
+    @Query("SELECT o FROM OutboxEvent o WHERE o.position > :cursor ORDER BY o.position ASC")
+    List<OutboxEvent> findPublishedAfter(@Param("cursor") long cursor, Pageable pageable);
+
+    // Nur ein Relay pro Runde vergibt Positionen (Lock endet mit der Transaktion)
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:lockKey)", nativeQuery = true)
+    boolean tryAcquireRelayLock(@Param("lockKey") long lockKey);
+
+    // Der jüngste veröffentlichte Eintrag bleibt stehen, sonst begänne die Positionsvergabe
+    // (MAX + 1) nach vollständiger Bereinigung wieder bei 1 und Cursor würden Änderungen überspringen
+    @Modifying
+    @Query("DELETE FROM OutboxEvent o WHERE o.publishedAt < :before"
+            + " AND o.position < (SELECT MAX(p.position) FROM OutboxEvent p)")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
@@ -1,5 +1,6 @@
 package de.his.patient.domain.repository;
 
+import de.his.patient.application.dto.PatientResponse;
 import de.his.patient.domain.model.Patient;
 import de.his.patient.domain.model.InsuranceStatus;
 import org.springframework.data.domain.Page;
@@ -10,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,14 +23,55 @@ public interface PatientRepository extends JpaRepository<Patient, UUID> {
     @EntityGraph(attributePaths = { "addresses" })
     Optional<Patient> findByKvnrAndDeletedAtIsNull(String kvnr);
 
-    @Query("""
-            SELECT p FROM Patient p
-            WHERE (LOWER(p.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%'))
-                OR LOWER(p.lastName)  LIKE LOWER(CONCAT('%', :searchTerm, '%'))
-                OR p.kvnr            LIKE CONCAT('%', :searchTerm, '%'))
-              AND p.deletedAt IS NULL
-            """)
-    Page<Patient> searchPatients(@Param("searchTerm") String searchTerm, Pageable pageable);
+    // Suchtreffer: nur die Spalten der PatientSummary (ohne Kontakt-, Audit- und Versionsfelder)
+    interface SummaryRow {
+        UUID getId();
+
+        String getFirstName();
+
+        String getLastName();
+
+        String getTitle();
+
+        LocalDate getBirthDate();
+
+        String getGender();
+
+        String getKvnr();
+
+        String getInsuranceStatus();
+
+        String getInsuranceCompanyName();
+    }
+
+    // Namens- und KVNR-Treffer getrennt ermitteln (je ein Trigramm-Index aus V6), danach
+    // einmal mit der jeweils anderen Tabellenhälfte verbinden
+    String SUMMARY_MATCH = "FROM his_patient.persons ps JOIN his_patient.patients p ON p.id = ps.id " +
+            "WHERE ps.deleted_at IS NULL AND ps.id IN (" +
+            "SELECT id FROM his_patient.persons WHERE deleted_at IS NULL " +
+            "AND (lower(first_name) LIKE lower(:pattern) OR lower(last_name) LIKE lower(:pattern)) " +
+            "UNION SELECT id FROM his_patient.patients WHERE kvnr LIKE :pattern) ";
+
+    @Query(value = "SELECT ps.id AS id, ps.first_name AS firstName, ps.last_name AS lastName, ps.title AS title, " +
+            "ps.birth_date AS birthDate, ps.gender AS gender, p.kvnr AS kvnr, " +
+            "p.insurance_status AS insuranceStatus, p.insurance_company_name AS insuranceCompanyName " +
+            SUMMARY_MATCH + "ORDER BY ps.last_name, ps.first_name, ps.id",
+            countQuery = "SELECT COUNT(*) " + SUMMARY_MATCH,
+            nativeQuery = true)
+    Page<SummaryRow> searchSummaries(@Param("pattern") String pattern, Pageable pageable);
+
+    // Detailansicht ohne Entity; Adressen über AddressRepository.findResponsesByPersonId
+    String RESPONSE_SELECT = "SELECT new de.his.patient.application.dto.PatientResponse(" +
+            "p.id, p.firstName, p.lastName, p.title, p.birthDate, p.gender, p.kvnr, " +
+            "p.insuranceNumber, p.insuranceStatus, p.insuranceType, p.insuranceCompanyId, " +
+            "p.insuranceCompanyName, p.phone, p.email, p.consentCommunication, p.consentDataProcessing, " +
+            "p.createdAt, p.updatedAt) FROM Patient p ";
+
+    @Query(RESPONSE_SELECT + "WHERE p.id = :id AND p.deletedAt IS NULL")
+    Optional<PatientResponse> findResponseById(@Param("id") UUID id);
+
+    @Query(RESPONSE_SELECT + "WHERE p.kvnr = :kvnr AND p.deletedAt IS NULL")
+    Optional<PatientResponse> findResponseByKvnr(@Param("kvnr") String kvnr);
 
     List<Patient> findByInsuranceStatusAndDeletedAtIsNull(InsuranceStatus status);
 
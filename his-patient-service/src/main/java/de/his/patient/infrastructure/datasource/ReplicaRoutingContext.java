@@ -0,0 +1,52 @@
+package de.his.patient.infrastructure.datasource;
+
+/**
+ * Read-your-writes pro Request: nach einem Schreib-Commit lesen auch folgende
+ * readOnly-Transaktionen desselben Requests vom Primary. Außerhalb eines Requests
+ * (Jobs, Relays) ohne Wirkung.
+ */
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<State> CURRENT = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {
+    }
+
+    /**
+     * @param primaryRequired Request kommt kurz nach einem eigenen Schreibzugriff
+     * @param onFirstWrite    wird beim ersten Schreib-Commit des Requests aufgerufen
+     */
+    public static void open(boolean primaryRequired, Runnable onFirstWrite) {
+        CURRENT.set(new State(primaryRequired, onFirstWrite));
+    }
+
+    public static void close() {
+        CURRENT.remove();
+    }
+
+    public static boolean isPrimaryRequired() {
+        State state = CURRENT.get();
+        return state != null && state.primaryRequired;
+    }
+
+    static void markWritten() {
+        State state = CURRENT.get();
+        if (state != null && !state.written) {
+            state.written = true;
+            state.primaryRequired = true;
+            state.onFirstWrite.run();
+        }
+    }
+
+    private static class State {
+
+        private boolean primaryRequired;
+        private boolean written;
+        private final Runnable onFirstWrite;
+
+        State(boolean primaryRequired, Runnable onFirstWrite) {
+            this.primaryRequired = primaryRequired;
+            this.onFirstWrite = onFirstWrite;
+        }
+    }
+}
@@ -8,9 +8,11 @@ import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -22,6 +24,7 @@ import org.springframework.web.servlet.resource.NoResourceFoundException;
 
 import javax.naming.ServiceUnavailableException;
 import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
 import java.sql.SQLTransientException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -44,6 +47,7 @@ import java.util.stream.Collectors;
 public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+    private static final String POOL_EXHAUSTED_RETRY_AFTER_SECONDS = "1";
 
     // =========================================================================
     // PATIENTENSPEZIFISCHE BUSINESS LOGIC EXCEPTIONS
@@ -119,6 +123,20 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(ChangeFeedCursorExpiredException.class)
+    public ResponseEntity<ErrorResponse> handleChangeFeedCursorExpired(ChangeFeedCursorExpiredException ex) {
+        logger.info("Change feed cursor expired: {}", ex.getMessage());
+        
+        ErrorResponse error = new ErrorResponse(
+            "CHANGE_FEED_RESYNC_REQUIRED",
+            ex.getMessage(),
+            String.format("Reload patients, then continue with since=%d", ex.getLatestPosition()),
+            LocalDateTime.now()
+        );
+        
+        return new ResponseEntity<>(error, HttpStatus.GONE);
+    }
+
     // =========================================================================
     // SECURITY UND AUTHORIZATION EXCEPTIONS
     // =========================================================================
@@ -155,6 +173,23 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.SERVICE_UNAVAILABLE);
     }
 
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ErrorResponse> handleCannotCreateTransaction(CannotCreateTransactionException ex) {
+        if (isConnectionPoolExhausted(ex)) {
+            return connectionPoolExhausted(ex);
+        }
+        logger.error("Could not open database transaction: {}", ex.getMessage(), ex);
+
+        ErrorResponse error = new ErrorResponse(
+            "DATABASE_CONNECTION_ERROR",
+            "Database operation failed due to connectivity issues",
+            "Retry request in a few moments or contact system administrator",
+            LocalDateTime.now()
+        );
+
+        return new ResponseEntity<>(error, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(PatientDataIntegrityException.class)
     public ResponseEntity<ErrorResponse> handleDataIntegrity(PatientDataIntegrityException ex) {
         logger.error("Data integrity violation: {}", ex.getMessage(), ex);
@@ -264,6 +299,10 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
+        // Bei lazy geholten Verbindungen kommt der Pool-Timeout erst mit dem ersten Statement
+        if (isConnectionPoolExhausted(ex)) {
+            return connectionPoolExhausted(ex);
+        }
         logger.error("Unexpected error occurred: {}", ex.getMessage(), ex);
         
         ErrorResponse error = new ErrorResponse(
@@ -276,6 +315,38 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    /**
+     * Keine freie Verbindung innerhalb von {@code spring.datasource.hikari.connection-timeout}:
+     * Überlast statt Fehler, der Client soll kurz warten und erneut senden.
+     */
+    private ResponseEntity<ErrorResponse> connectionPoolExhausted(Exception ex) {
+        logger.warn("Database connection pool exhausted: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+            "DATABASE_POOL_EXHAUSTED",
+            "Service is under heavy load, please retry shortly",
+            "Connection pool wait timed out; see hikaricp_connections_pending",
+            LocalDateTime.now()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, POOL_EXHAUSTED_RETRY_AFTER_SECONDS)
+            .body(error);
+    }
+
+    // Hikari meldet das Warten auf eine Verbindung als SQLTransientConnectionException
+    private static boolean isConnectionPoolExhausted(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
     // =========================================================================
     // ERROR RESPONSE DTO
     // =========================================================================
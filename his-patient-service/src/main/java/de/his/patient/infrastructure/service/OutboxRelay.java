@@ -0,0 +1,68 @@
+package de.his.patient.infrastructure.service;
+
+import de.his.patient.application.service.ChangeFeedService;
+import de.his.patient.application.service.OutboxService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Veröffentlicht Outbox-Einträge in Batches und weckt wartende Change-Feed-Konsumenten.
+ *
+ * Läuft auf jeder Instanz; per Advisory-Lock vergibt pro Runde nur eine Instanz
+ * Positionen. Alle Instanzen prüfen anschließend die höchste Position, damit auch
+ * Long-Poll-Clients auf anderen Instanzen zeitnah bedient werden.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxService outboxService;
+    private final ChangeFeedService changeFeedService;
+
+    @Value("${his.outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${his.outbox.relay.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${his.outbox.retention-days:14}")
+    private int retentionDays;
+
+    public OutboxRelay(OutboxService outboxService, ChangeFeedService changeFeedService) {
+        this.outboxService = outboxService;
+        this.changeFeedService = changeFeedService;
+    }
+
+    @Scheduled(fixedDelayString = "${his.outbox.relay.interval-ms:500}")
+    public void relay() {
+        try {
+            int published;
+            int batches = 0;
+            do {
+                published = outboxService.publishPendingBatch(batchSize);
+                batches++;
+            } while (published == batchSize && batches < maxBatchesPerRun);
+
+            changeFeedService.onPositionAdvanced(outboxService.getLatestPosition());
+        } catch (Exception ex) {
+            logger.error("Outbox relay run failed: {}", ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Löscht veröffentlichte Einträge nach {@code his.outbox.retention-days}. Konsumenten, deren
+     * Cursor davor liegt, erhalten beim nächsten Lesen 410 (CHANGE_FEED_RESYNC_REQUIRED) bzw. das
+     * SSE-Event "resync" statt stillschweigend übersprungener Änderungen.
+     */
+    @Scheduled(cron = "${his.outbox.cleanup-cron:0 30 3 * * *}")
+    public void purgePublished() {
+        int deleted = outboxService.purgePublishedBefore(LocalDateTime.now().minusDays(retentionDays));
+        logger.info("Purged {} published outbox events older than {} days", deleted, retentionDays);
+    }
+}
@@ -0,0 +1,170 @@
+package de.his.patient.presentation.controller;
+
+import de.his.patient.application.dto.ChangeEventResponse;
+import de.his.patient.application.dto.ChangeFeedResponse;
+import de.his.patient.application.service.ChangeFeedService;
+import de.his.patient.infrastructure.exception.ChangeFeedCursorExpiredException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+@RestController
+@RequestMapping("/api/v1/changes")
+@Tag(name = "Change Feed", description = "Incremental feed of patient changes")
+public class ChangeFeedController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeedController.class);
+
+    private static final int MAX_LIMIT = 500;
+    private static final int MAX_WAIT_SECONDS = 25;
+    static final String RESYNC_EVENT = "resync";
+
+    private final ChangeFeedService changeFeedService;
+
+    @Value("${his.outbox.stream-timeout-ms:300000}")
+    private long streamTimeoutMs;
+
+    public ChangeFeedController(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Poll changes", description = "Returns changes after the cursor; waits up to 'wait' seconds if none are available (long-poll). 410 if the cursor is older than the retained changes")
+    public DeferredResult<ChangeFeedResponse> getChanges(
+            @Parameter(description = "Cursor (position of the last processed change)") @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "100") int limit,
+            @Parameter(description = "Maximum wait in seconds, 0 for immediate response") @RequestParam(defaultValue = "25") int wait) {
+
+        long cursor = Math.max(since, 0);
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+        int waitSeconds = Math.max(0, Math.min(wait, MAX_WAIT_SECONDS));
+
+        DeferredResult<ChangeFeedResponse> result = new DeferredResult<>(waitSeconds * 1000L + 1000L);
+
+        LongConsumer listener = position -> {
+            if (position > cursor && !result.isSetOrExpired()) {
+                try {
+                    ChangeFeedResponse changes = changeFeedService.readChanges(cursor, pageSize);
+                    if (!changes.getEvents().isEmpty()) {
+                        result.setResult(changes);
+                    }
+                } catch (ChangeFeedCursorExpiredException ex) {
+                    result.setErrorResult(ex);
+                }
+            }
+        };
+        result.onCompletion(() -> changeFeedService.removeListener(listener));
+        result.onTimeout(() -> result.setResult(new ChangeFeedResponse(List.of(), cursor, false)));
+
+        if (waitSeconds == 0) {
+            result.setResult(changeFeedService.readChanges(cursor, pageSize));
+            return result;
+        }
+
+        // Listener vor dem ersten Lesen registrieren: ein Advance zwischen Lesen und Registrieren
+        // ginge sonst verloren, und der Long-Poll liefe trotz neuer Änderungen in den Timeout
+        changeFeedService.addListener(listener);
+        ChangeFeedResponse immediate;
+        try {
+            immediate = changeFeedService.readChanges(cursor, pageSize);
+        } catch (RuntimeException ex) {
+            changeFeedService.removeListener(listener);
+            throw ex;
+        }
+        if (!immediate.getEvents().isEmpty()) {
+            // Hat der Listener schon geantwortet, bleibt dessen Ergebnis bestehen
+            changeFeedService.removeListener(listener);
+            result.setResult(immediate);
+        }
+        return result;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream changes", description = "Server-Sent Events stream of changes after the cursor; sends 'resync' and closes if the cursor is older than the retained changes")
+    public SseEmitter streamChanges(
+            @RequestParam(required = false) Long since,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+
+        long start = lastEventId != null ? lastEventId : (since != null ? Math.max(since, 0) : 0);
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        StreamSubscriber subscriber = new StreamSubscriber(emitter, start);
+
+        changeFeedService.addListener(subscriber);
+        emitter.onCompletion(() -> changeFeedService.removeListener(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> changeFeedService.removeListener(subscriber));
+
+        // Rückstand nach dem Handler-Return senden, nicht im Emitter puffern
+        Thread.ofVirtual().start(() -> subscriber.accept(changeFeedService.getLatestPosition()));
+        return emitter;
+    }
+
+    /**
+     * SSE-Abonnent mit eigenem Cursor; sendet serialisiert, da Benachrichtigungen
+     * parallel eintreffen können.
+     */
+    private class StreamSubscriber implements LongConsumer {
+
+        private final SseEmitter emitter;
+        private final AtomicLong cursor;
+
+        StreamSubscriber(SseEmitter emitter, long start) {
+            this.emitter = emitter;
+            this.cursor = new AtomicLong(start);
+        }
+
+        @Override
+        public synchronized void accept(long position) {
+            if (position <= cursor.get()) {
+                return;
+            }
+            try {
+                ChangeFeedResponse changes;
+                do {
+                    changes = changeFeedService.readChanges(cursor.get(), MAX_LIMIT);
+                    for (ChangeEventResponse event : changes.getEvents()) {
+                        emitter.send(SseEmitter.event()
+                                .id(String.valueOf(event.getPosition()))
+                                .name(event.getEventType())
+                                .data(event, MediaType.APPLICATION_JSON));
+                    }
+                    cursor.set(changes.getNextCursor());
+                } while (changes.isHasMore());
+            } catch (ChangeFeedCursorExpiredException ex) {
+                logger.info("Change stream subscriber needs resync: {}", ex.getMessage());
+                changeFeedService.removeListener(this);
+                sendResyncAndComplete(ex);
+            } catch (IOException | IllegalStateException ex) {
+                logger.debug("Change stream subscriber disconnected: {}", ex.getMessage());
+                changeFeedService.removeListener(this);
+                emitter.completeWithError(ex);
+            }
+        }
+
+        // Client lädt den Bestand neu und verbindet sich mit since=latestPosition erneut
+        private void sendResyncAndComplete(ChangeFeedCursorExpiredException ex) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .name(RESYNC_EVENT)
+                        .data(Map.of("oldestPosition", ex.getOldestPosition(),
+                                "latestPosition", ex.getLatestPosition()), MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (IOException | IllegalStateException sendFailure) {
+                emitter.completeWithError(sendFailure);
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+-- src/main/resources/db/migration/V6__Add_patient_search_indexes.sql
+
+-- Patientensuche: Suchbegriff ist in Vor-/Nachname oder KVNR enthalten (LIKE '%...%').
+-- B-Tree-Indizes helfen dabei nicht, Trigramm-Indizes schon (ab 3 Zeichen).
+CREATE EXTENSION IF NOT EXISTS pg_trgm WITH SCHEMA public;
+
+CREATE INDEX idx_persons_first_name_trgm ON his_patient.persons
+    USING gin (lower(first_name) public.gin_trgm_ops) WHERE deleted_at IS NULL;
+CREATE INDEX idx_persons_last_name_trgm ON his_patient.persons
+    USING gin (lower(last_name) public.gin_trgm_ops) WHERE deleted_at IS NULL;
+CREATE INDEX idx_patients_kvnr_trgm ON his_patient.patients
+    USING gin (kvnr public.gin_trgm_ops);
+
+-- Covering-Indizes für die Summary-Projektion: Trefferseite sortiert nach Namen,
+-- beide Tabellenhälften ohne Heap-Zugriff (Index-Only-Scan)
+CREATE INDEX idx_persons_active_summary ON his_patient.persons (last_name, first_name, id)
+    INCLUDE (title, birth_date, gender) WHERE deleted_at IS NULL;
+CREATE INDEX idx_patients_summary ON his_patient.patients (id)
+    INCLUDE (kvnr, insurance_status, insurance_company_name);
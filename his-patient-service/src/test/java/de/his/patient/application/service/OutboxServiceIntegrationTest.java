@@ -0,0 +1,166 @@
+package de.his.patient.application.service;
+
+import de.his.patient.infrastructure.exception.ChangeFeedCursorExpiredException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Positionsvergabe des Outbox-Relays unter dem Advisory-Lock und Bereinigung mit Resync
+ * (benötigt PostgreSQL). Der geplante Relay läuft im Kontext mit; Aussagen beziehen sich daher
+ * nur auf die Einträge dieses Tests und auf Lückenlosigkeit, nicht auf absolute Positionen.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OutboxServiceIntegrationTest {
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private UUID aggregateId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        aggregateId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM his_patient.outbox_events WHERE aggregate_id = ?", aggregateId);
+    }
+
+    @Test
+    void shouldAssignGaplessPositionsInWriteOrder() {
+        // Given
+        recordEvents("PATIENT_CREATED", "PATIENT_UPDATED", "PATIENT_DELETED");
+
+        // When
+        awaitPublished(3);
+
+        // Then
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("""
+                SELECT event_type, position FROM his_patient.outbox_events
+                WHERE aggregate_id = ? ORDER BY id
+                """, aggregateId);
+        assertThat(rows).extracting(row -> row.get("event_type"))
+                .containsExactly("PATIENT_CREATED", "PATIENT_UPDATED", "PATIENT_DELETED");
+        List<Long> positions = rows.stream().map(row -> ((Number) row.get("position")).longValue()).toList();
+        assertThat(positions).isSorted().doesNotHaveDuplicates();
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM his_patient.outbox_events WHERE position BETWEEN ? AND ?
+                """, Long.class, positions.get(0), positions.get(2)))
+                .isEqualTo(positions.get(2) - positions.get(0) + 1);
+    }
+
+    @Test
+    void shouldNotPublishWhileAnotherRelayHoldsTheLock() throws Exception {
+        // Given - eine andere "Instanz" hält den Relay-Lock in offener Transaktion
+        CountDownLatch lockHeld = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> otherRelay = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)", Object.class,
+                            OutboxService.RELAY_LOCK_KEY);
+                    lockHeld.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertThat(lockHeld.await(5, TimeUnit.SECONDS)).isTrue();
+        recordEvents("PATIENT_CREATED");
+
+        try {
+            // When
+            int published = outboxService.publishPendingBatch(100);
+
+            // Then - kein Warten, keine Position
+            assertThat(published).isZero();
+            assertThat(unpublishedCount()).isEqualTo(1);
+        } finally {
+            release.countDown();
+            otherRelay.get(5, TimeUnit.SECONDS);
+        }
+
+        // nach Freigabe vergibt der nächste Relay-Lauf die Position
+        awaitPublished(1);
+    }
+
+    @Test
+    void shouldKeepNewestEntryOnPurgeAndRequireResyncForOlderCursors() {
+        // Given
+        recordEvents("PATIENT_CREATED", "PATIENT_UPDATED", "PATIENT_DELETED");
+        awaitPublished(3);
+        List<Long> positions = jdbcTemplate.queryForList(
+                "SELECT position FROM his_patient.outbox_events WHERE aggregate_id = ? ORDER BY position",
+                Long.class, aggregateId);
+        jdbcTemplate.update("""
+                UPDATE his_patient.outbox_events SET published_at = now() - INTERVAL '30 days'
+                WHERE aggregate_id = ?
+                """, aggregateId);
+
+        // When
+        outboxService.purgePublishedBefore(LocalDateTime.now().minusDays(14));
+
+        // Then - Positionsvergabe bleibt monoton, älterer Cursor bekommt Resync statt Lücke
+        assertThat(outboxService.getLatestPosition()).isGreaterThanOrEqualTo(positions.get(2));
+        long cursorBeforePurge = positions.get(0) - 1;
+        assertThatThrownBy(() -> changeFeedService.readChanges(cursorBeforePurge, 100))
+                .isInstanceOfSatisfying(ChangeFeedCursorExpiredException.class,
+                        ex -> assertThat(ex.getOldestPosition()).isGreaterThan(positions.get(1)));
+    }
+
+    private void recordEvents(String... eventTypes) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (String eventType : eventTypes) {
+                outboxService.record("PATIENT", aggregateId, eventType, Map.of("patientId", aggregateId));
+            }
+        });
+    }
+
+    private long unpublishedCount() {
+        return jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM his_patient.outbox_events WHERE aggregate_id = ? AND position IS NULL
+                """, Long.class, aggregateId);
+    }
+
+    // Relay läuft geplant mit; explizit anstoßen und auf die eigenen Einträge warten
+    private void awaitPublished(int expected) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (unpublishedCount() > 0 && System.nanoTime() < deadline) {
+            outboxService.publishPendingBatch(500);
+        }
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM his_patient.outbox_events WHERE aggregate_id = ? AND position IS NOT NULL
+                """, Long.class, aggregateId)).isEqualTo(expected);
+    }
+}
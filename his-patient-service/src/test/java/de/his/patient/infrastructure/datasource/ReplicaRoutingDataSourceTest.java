@@ -0,0 +1,182 @@
+package de.his.patient.infrastructure.datasource;
+
+import jakarta.servlet.http.Cookie;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing gegen zwei echte Datenbanken (H2 in-memory), die sich über {@code node.name}
+ * unterscheiden; der Replica-Verzug kommt aus {@code replica_lag}.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private ReplicaRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primaryDataSource = h2("primary");
+        DataSource replicaDataSource = h2("replica");
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("CREATE TABLE replica_lag (seconds DOUBLE)");
+        replica.update("INSERT INTO replica_lag VALUES (0)");
+
+        routingDataSource = new ReplicaRoutingDataSource(primaryDataSource, List.of(replicaDataSource),
+                Duration.ofSeconds(5), "SELECT seconds FROM replica_lag");
+        routingDataSource.checkReplicas();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionsToReplicaAndWritesToPrimary() {
+        assertThat(nodeIn(readOnly)).isEqualTo("replica");
+        assertThat(nodeIn(readWrite)).isEqualTo("primary");
+        // ohne Transaktion (Flyway, Jobs ohne @Transactional) immer Primary
+        assertThat(currentNode()).isEqualTo("primary");
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhileReplicaLags() {
+        replica.update("UPDATE replica_lag SET seconds = 30");
+        routingDataSource.checkReplicas();
+
+        assertThat(routingDataSource.getHealthyReplicaCount()).isZero();
+        assertThat(nodeIn(readOnly)).isEqualTo("primary");
+
+        replica.update("UPDATE replica_lag SET seconds = 0.5");
+        routingDataSource.checkReplicas();
+
+        assertThat(nodeIn(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void shouldReadOwnWritesFromPrimaryWithinRequestAndViaCookie() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter("HIS_PRIMARY_UNTIL", Duration.ofSeconds(5));
+        List<String> nodes = new ArrayList<>();
+
+        // Request 1: Lesen, Schreiben, Lesen
+        MockHttpServletResponse firstResponse = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(), firstResponse, (request, response) -> {
+            nodes.add(nodeIn(readOnly));
+            readWrite.executeWithoutResult(status ->
+                    jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", "written"));
+            nodes.add(nodeIn(readOnly));
+        });
+        Cookie cookie = firstResponse.getCookie("HIS_PRIMARY_UNTIL");
+
+        // Request 2 mit Cookie: weiterhin Primary
+        MockHttpServletRequest followUp = new MockHttpServletRequest();
+        followUp.setCookies(cookie);
+        filter.doFilter(followUp, new MockHttpServletResponse(),
+                (request, response) -> nodes.add(nodeIn(readOnly)));
+
+        // Request 3 ohne Cookie: wieder Replica
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                (request, response) -> nodes.add(nodeIn(readOnly)));
+
+        assertThat(nodes).containsExactly("replica", "primary", "primary", "replica");
+        assertThat(cookie).isNotNull();
+        assertThat(cookie.getMaxAge()).isEqualTo(5);
+        assertThat(primary.queryForObject("SELECT COUNT(*) FROM node WHERE name = 'written'", Integer.class))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldRegisterCommitSynchronizationOncePerTransaction() {
+        List<Integer> synchronizations = new ArrayList<>();
+
+        // Jede Verbindung am Lazy-Proxy vorbei fragt das Routing erneut
+        readWrite.executeWithoutResult(status -> {
+            for (int i = 0; i < 3; i++) {
+                routedConnection();
+                synchronizations.add(TransactionSynchronizationManager.getSynchronizations().size());
+            }
+            // REQUIRES_NEW: eigene Transaktion, eigene Synchronisation
+            TransactionTemplate requiresNew = new TransactionTemplate(readWrite.getTransactionManager());
+            requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            requiresNew.executeWithoutResult(inner -> {
+                routedConnection();
+                routedConnection();
+                synchronizations.add(TransactionSynchronizationManager.getSynchronizations().size());
+            });
+            routedConnection();
+            synchronizations.add(TransactionSynchronizationManager.getSynchronizations().size());
+        });
+
+        assertThat(synchronizations).containsExactly(1, 1, 1, 1, 1);
+        assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+    }
+
+    @Test
+    void shouldSkipUnreachableReplica() {
+        JdbcDataSource unreachable = new JdbcDataSource();
+        unreachable.setURL("jdbc:h2:mem:missing;IFEXISTS=TRUE");
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(h2("fallback"), List.of(unreachable),
+                Duration.ofSeconds(5), "SELECT 0");
+        routing.checkReplicas();
+
+        TransactionTemplate template = new TransactionTemplate(
+                new DataSourceTransactionManager(new LazyConnectionDataSourceProxy(routing)));
+        template.setReadOnly(true);
+        JdbcTemplate fallback = new JdbcTemplate(new LazyConnectionDataSourceProxy(routing));
+
+        assertThat(routing.getHealthyReplicaCount()).isZero();
+        String node = template.execute(status -> fallback.queryForObject("SELECT MIN(name) FROM node", String.class));
+        assertThat(node).isEqualTo("fallback");
+    }
+
+    private void routedConnection() {
+        try (Connection connection = routingDataSource.getConnection()) {
+            assertThat(connection.isValid(1)).isTrue();
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private String nodeIn(TransactionTemplate template) {
+        return template.execute(status -> currentNode());
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("SELECT MIN(name) FROM node", String.class);
+    }
+
+    private static DataSource h2(String node) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + node + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", node);
+        return dataSource;
+    }
+}
@@ -0,0 +1,146 @@
+package de.his.patient.it;
+
+import de.his.patient.application.service.PatientService;
+import de.his.patient.domain.model.Patient;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latenz einer Suchseite (20 Treffer inkl. Count): bisherige Entity-Abfrage gegen die
+ * Summary-Projektion aus V6. Läuft nur manuell, Datenmenge über {@code benchmark.patients}:
+ *
+ * <pre>
+ * mvn test -Dtest=PatientSearchBenchmarkIT -Dsurefire.failIfNoSpecifiedTests=false -Dbenchmark.patients=1000000
+ * </pre>
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PatientSearchBenchmarkIT {
+
+    private static final String MARKER_EMAIL = "search-benchmark@his.invalid";
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 25;
+
+    // Bisherige Abfrage aus PatientRepository.searchPatients (vor V6)
+    private static final String LEGACY_WHERE = """
+            WHERE (LOWER(p.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%'))
+                OR LOWER(p.lastName)  LIKE LOWER(CONCAT('%', :searchTerm, '%'))
+                OR p.kvnr            LIKE CONCAT('%', :searchTerm, '%'))
+              AND p.deletedAt IS NULL
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PatientService patientService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private int patients;
+
+    @BeforeAll
+    void seed() {
+        patients = Integer.getInteger("benchmark.patients", 1_000_000);
+        deleteSeed();
+        // Nachnamen aus 40 Stämmen mit Suffix, KVNR-Präfix Y für die Testdaten
+        jdbcTemplate.update("""
+                WITH seeded AS (
+                    INSERT INTO his_patient.persons (id, first_name, last_name, birth_date, gender, email, version)
+                    SELECT gen_random_uuid(),
+                           (ARRAY['Anna','Ben','Clara','David','Emma','Felix','Greta','Hannes','Ida','Jonas'])[1 + n % 10],
+                           (ARRAY['Müller','Schmidt','Schneider','Fischer','Weber','Meyer','Wagner','Becker','Schulz',
+                                  'Hoffmann','Schäfer','Koch','Bauer','Richter','Klein','Wolf','Schröder','Neumann',
+                                  'Schwarz','Zimmermann','Braun','Krüger','Hofmann','Hartmann','Lange','Schmitt',
+                                  'Werner','Schmitz','Krause','Meier','Lehmann','Schmid','Schulze','Maier','Köhler',
+                                  'Herrmann','König','Walter','Mayer','Huber'])[1 + (n / 10) % 40] || '-' || (n % 5000),
+                           DATE '1940-01-01' + (n % 25000),
+                           CASE WHEN n % 2 = 0 THEN 'FEMALE' ELSE 'MALE' END,
+                           ?, 0
+                    FROM generate_series(1, ?) AS n
+                    RETURNING id, email
+                )
+                INSERT INTO his_patient.patients (id, kvnr, insurance_type, insurance_company_name, insurance_status)
+                SELECT id, 'Y' || lpad(row_number() OVER ()::text, 9, '0'), 'STATUTORY', 'AOK Nordwest', 'ACTIVE'
+                FROM seeded
+                """, MARKER_EMAIL, patients);
+        jdbcTemplate.execute("ANALYZE his_patient.persons");
+        jdbcTemplate.execute("ANALYZE his_patient.patients");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        deleteSeed();
+    }
+
+    @Test
+    void compareSearchPageLatency() {
+        // häufiger Namensstamm, seltener Name, KVNR-Fragment
+        for (String term : List.of("schmi", "Zimmermann-195", "Y00000471")) {
+            long legacyTotal = transactionTemplate.execute(status -> legacyTotal(term));
+            long projectedTotal = patientService.searchPatients(term, PageRequest.of(0, 20)).getTotalElements();
+            assertThat(projectedTotal).isEqualTo(legacyTotal);
+
+            double legacyMs = medianMillis(() -> transactionTemplate.execute(status -> legacyPage(term)));
+            double projectedMs = medianMillis(() -> patientService.searchPatients(term, PageRequest.of(0, 20)));
+
+            System.out.printf("[benchmark] patients=%d term=%s matches=%d legacy=%.1f ms projection=%.1f ms%n",
+                    patients, term, projectedTotal, legacyMs, projectedMs);
+        }
+    }
+
+    private List<Patient> legacyPage(String term) {
+        legacyTotal(term);
+        return entityManager.createQuery("SELECT p FROM Patient p " + LEGACY_WHERE, Patient.class)
+                .setParameter("searchTerm", term)
+                .setMaxResults(20)
+                .getResultList();
+    }
+
+    private long legacyTotal(String term) {
+        return entityManager.createQuery("SELECT COUNT(p) FROM Patient p " + LEGACY_WHERE, Long.class)
+                .setParameter("searchTerm", term)
+                .getSingleResult();
+    }
+
+    private double medianMillis(Supplier<?> run) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            run.get();
+        }
+        List<Double> samples = new ArrayList<>(MEASURED_RUNS);
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            run.get();
+            samples.add((System.nanoTime() - start) / 1e6);
+        }
+        Collections.sort(samples);
+        return samples.get(MEASURED_RUNS / 2);
+    }
+
+    private void deleteSeed() {
+        // patients hängt per ON DELETE CASCADE an persons
+        jdbcTemplate.update("DELETE FROM his_patient.persons WHERE email = ?", MARKER_EMAIL);
+    }
+}
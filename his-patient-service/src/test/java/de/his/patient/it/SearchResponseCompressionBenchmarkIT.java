@@ -0,0 +1,163 @@
+package de.his.patient.it;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bytes auf der Leitung und p99-Latenz einer Suchseite (Page&lt;PatientSummary&gt;, 20 Treffer)
+ * unkomprimiert über HTTP/1.1, gzip über HTTP/1.1 und gzip über h2c. Die Latenz enthält die
+ * BCrypt-Prüfung der Basic Auth, Unterschiede zeigen sich daher vor allem in den Bytes. Läuft nur manuell:
+ *
+ * <pre>
+ * mvn test -Dtest=SearchResponseCompressionBenchmarkIT -Dsurefire.failIfNoSpecifiedTests=false
+ * </pre>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SearchResponseCompressionBenchmarkIT {
+
+    private static final String MARKER_EMAIL = "compression-benchmark@his.invalid";
+    private static final String BASIC_AUTH = "Basic YWRtaW46ZGV2LXBhc3N3b3Jk"; // admin:dev-password
+    private static final int PATIENTS = 2_000;
+    private static final int THREADS = 16;
+    // weniger Requests als im Encounter Service: Basic Auth prüft das Passwort je Request per BCrypt
+    private static final int WARMUP_REQUESTS = 100;
+    private static final int MEASURED_REQUESTS = 1000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        deleteSeed();
+        jdbcTemplate.update("""
+                WITH seeded AS (
+                    INSERT INTO his_patient.persons (id, first_name, last_name, birth_date, gender, email, version)
+                    SELECT gen_random_uuid(),
+                           (ARRAY['Anna','Ben','Clara','David','Emma','Felix','Greta','Hannes','Ida','Jonas'])[1 + n % 10],
+                           (ARRAY['Kompressionsmann','Schmidt','Weber'])[1 + n % 3] || '-' || n,
+                           DATE '1940-01-01' + (n % 25000),
+                           CASE WHEN n % 2 = 0 THEN 'FEMALE' ELSE 'MALE' END,
+                           ?, 0
+                    FROM generate_series(1, ?) AS n
+                    RETURNING id, email
+                )
+                INSERT INTO his_patient.patients (id, kvnr, insurance_type, insurance_company_name, insurance_status)
+                SELECT id, 'Z' || lpad(row_number() OVER ()::text, 9, '0'), 'STATUTORY', 'AOK Nordwest', 'ACTIVE'
+                FROM seeded
+                """, MARKER_EMAIL, PATIENTS);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        deleteSeed();
+    }
+
+    @Test
+    void measureBytesAndP99PerEncoding() throws Exception {
+        String path = "/api/v1/patients/search?searchTerm=Kompressionsmann&size=20";
+        for (Variant variant : Variant.values()) {
+            HttpClient client = HttpClient.newBuilder().version(variant.version).build();
+            Callable<Sample> request = () -> get(client, path, variant.acceptEncoding);
+
+            run(request, WARMUP_REQUESTS);
+            List<Sample> samples = run(request, MEASURED_REQUESTS);
+
+            List<Long> latencies = new ArrayList<>(samples.size());
+            for (Sample sample : samples) {
+                latencies.add(sample.nanos());
+            }
+            Collections.sort(latencies);
+            Sample last = samples.get(samples.size() - 1);
+            System.out.printf("[benchmark] payload=search-page variant=%s protocol=%s encoding=%s bytes=%d p50=%.2f ms p99=%.2f ms%n",
+                    variant, last.version(), last.contentEncoding(), last.bytes(),
+                    percentile(latencies, 0.50), percentile(latencies, 0.99));
+        }
+    }
+
+    private List<Sample> run(Callable<Sample> request, int count) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<Sample>> tasks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                tasks.add(request);
+            }
+            List<Sample> samples = new ArrayList<>(count);
+            for (Future<Sample> result : executor.invokeAll(tasks)) {
+                samples.add(result.get());
+            }
+            return samples;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Sample get(HttpClient client, String path, String acceptEncoding) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", BASIC_AUTH)
+                .GET();
+        if (acceptEncoding != null) {
+            request.header("Accept-Encoding", acceptEncoding);
+        }
+        long start = System.nanoTime();
+        // Body bleibt komprimiert: der JDK-Client dekodiert Content-Encoding nicht
+        HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        long nanos = System.nanoTime() - start;
+        assertThat(response.statusCode()).isEqualTo(200);
+        return new Sample(nanos, response.body().length, response.version(),
+                response.headers().firstValue("Content-Encoding").orElse("identity"));
+    }
+
+    private double percentile(List<Long> sortedNanos, double quantile) {
+        int index = (int) Math.ceil(quantile * sortedNanos.size()) - 1;
+        return sortedNanos.get(Math.max(index, 0)) / 1e6;
+    }
+
+    private void deleteSeed() {
+        // patients hängt per ON DELETE CASCADE an persons
+        jdbcTemplate.update("DELETE FROM his_patient.persons WHERE email = ?", MARKER_EMAIL);
+    }
+
+    private enum Variant {
+        HTTP11_IDENTITY(HttpClient.Version.HTTP_1_1, null),
+        HTTP11_GZIP(HttpClient.Version.HTTP_1_1, "gzip"),
+        // ohne TLS per Upgrade-Header, danach alle Requests als Streams auf einer Verbindung
+        H2C_GZIP(HttpClient.Version.HTTP_2, "gzip");
+
+        private final HttpClient.Version version;
+        private final String acceptEncoding;
+
+        Variant(HttpClient.Version version, String acceptEncoding) {
+            this.version = version;
+            this.acceptEncoding = acceptEncoding;
+        }
+    }
+
+    private record Sample(long nanos, int bytes, HttpClient.Version version, String contentEncoding) {
+    }
+}
@@ -0,0 +1,113 @@
+package de.his.patient.it;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import de.his.patient.application.dto.AddressResponse;
+import de.his.patient.application.dto.PatientResponse;
+import de.his.patient.domain.model.AddressType;
+import de.his.patient.domain.model.Gender;
+import de.his.patient.domain.model.InsuranceStatus;
+import de.his.patient.domain.model.InsuranceType;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH: Serialisieren/Deserialisieren eines {@link PatientResponse} (wie ihn der PatientClient des
+ * Encounter Service bei jeder Validierung abruft) als JSON und als CBOR, gleiche
+ * Jackson-Konfiguration wie WebConfig. Durchsatz und Allokation je Operation (GC-Profiler,
+ * {@code gc.alloc.rate.norm}). Läuft nur manuell:
+ *
+ * <pre>
+ * mvn test -Dtest=WireFormatBenchmarkIT -Dsurefire.failIfNoSpecifiedTests=false
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmarkIT {
+
+    private ObjectMapper json;
+    private ObjectMapper cbor;
+    private PatientResponse patient;
+    private byte[] patientJson;
+    private byte[] patientCbor;
+
+    @Test
+    void runBenchmarks() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(WireFormatBenchmarkIT.class.getName() + "\\.")
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        json = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        cbor = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .factory(new CBORFactory())
+                .build();
+
+        LocalDateTime now = LocalDateTime.of(2026, 3, 14, 9, 30, 12, 123_456_000);
+        List<AddressResponse> addresses = List.of(
+                new AddressResponse(UUID.randomUUID(), AddressType.PRIMARY, "Hauptstraße", "12a", "48149",
+                        "Münster", "Nordrhein-Westfalen", "DE"),
+                new AddressResponse(UUID.randomUUID(), AddressType.WORK, "Albersloher Weg", "80", "48155",
+                        "Münster", "Nordrhein-Westfalen", "DE"));
+        patient = new PatientResponse(UUID.randomUUID(), "Anna", "Schmidt", "Dr.", LocalDate.of(1980, 4, 12),
+                Gender.FEMALE, "A123456780", "A123456780", InsuranceStatus.ACTIVE, InsuranceType.STATUTORY,
+                "109519005", "AOK Nordwest", "+49 251 1234567", "anna.schmidt@example.org", true, true,
+                addresses, now, now);
+
+        patientJson = json.writeValueAsBytes(patient);
+        patientCbor = cbor.writeValueAsBytes(patient);
+        System.out.printf("[benchmark] PatientResponse json=%d bytes cbor=%d bytes%n",
+                patientJson.length, patientCbor.length);
+    }
+
+    @Benchmark
+    public byte[] serializeJson() throws Exception {
+        return json.writeValueAsBytes(patient);
+    }
+
+    @Benchmark
+    public byte[] serializeCbor() throws Exception {
+        return cbor.writeValueAsBytes(patient);
+    }
+
+    @Benchmark
+    public PatientResponse deserializeJson() throws Exception {
+        return json.readValue(patientJson, PatientResponse.class);
+    }
+
+    @Benchmark
+    public PatientResponse deserializeCbor() throws Exception {
+        return cbor.readValue(patientCbor, PatientResponse.class);
+    }
+}
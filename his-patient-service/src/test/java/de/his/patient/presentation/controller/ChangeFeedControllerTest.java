@@ -0,0 +1,158 @@
+package de.his.patient.presentation.controller;
+
+import de.his.patient.application.dto.ChangeEventResponse;
+import de.his.patient.application.dto.ChangeFeedResponse;
+import de.his.patient.application.service.ChangeFeedService;
+import de.his.patient.infrastructure.exception.ChangeFeedCursorExpiredException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeFeedControllerTest {
+
+    @Mock
+    private ChangeFeedService changeFeedService;
+
+    @InjectMocks
+    private ChangeFeedController changeFeedController;
+
+    @Test
+    void shouldAnswerImmediatelyWhenChangesExist() {
+        // Given
+        when(changeFeedService.readChanges(5, 100)).thenReturn(changes(6));
+
+        // When
+        DeferredResult<ChangeFeedResponse> result = changeFeedController.getChanges(5, 100, 25);
+
+        // Then
+        assertThat(result.hasResult()).isTrue();
+        assertThat(((ChangeFeedResponse) result.getResult()).getNextCursor()).isEqualTo(6L);
+        LongConsumer listener = registeredListener();
+        verify(changeFeedService).removeListener(listener);
+    }
+
+    @Test
+    void shouldAnswerImmediatelyWithoutWait() {
+        // Given
+        when(changeFeedService.readChanges(5, 100)).thenReturn(empty(5));
+
+        // When
+        DeferredResult<ChangeFeedResponse> result = changeFeedController.getChanges(5, 100, 0);
+
+        // Then
+        assertThat(((ChangeFeedResponse) result.getResult()).getEvents()).isEmpty();
+        verify(changeFeedService, never()).addListener(any());
+    }
+
+    @Test
+    void shouldNotMissAdvanceBetweenImmediateReadAndRegistration() {
+        // Given - Relay rückt weiter, während das erste Lesen läuft; dessen Snapshot ist noch leer
+        List<LongConsumer> listeners = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            listeners.add(invocation.getArgument(0));
+            return null;
+        }).when(changeFeedService).addListener(any());
+        when(changeFeedService.readChanges(5, 100)).thenAnswer(invocation -> {
+            listeners.forEach(listener -> listener.accept(6));
+            return empty(5);
+        }).thenReturn(changes(6));
+
+        // When
+        DeferredResult<ChangeFeedResponse> result = changeFeedController.getChanges(5, 100, 25);
+
+        // Then - Antwort ohne Warten auf den nächsten Advance
+        assertThat(result.hasResult()).isTrue();
+        assertThat(((ChangeFeedResponse) result.getResult()).getEvents())
+                .extracting(ChangeEventResponse::getPosition).containsExactly(6L);
+    }
+
+    @Test
+    void shouldHoldLongPollUntilPositionPassesCursor() {
+        // Given - nichts Neues, Long-Poll wartet
+        when(changeFeedService.readChanges(5, 100)).thenReturn(empty(5), changes(6));
+        DeferredResult<ChangeFeedResponse> result = changeFeedController.getChanges(5, 100, 25);
+        LongConsumer listener = registeredListener();
+        assertThat(result.hasResult()).isFalse();
+
+        // When - Fortschritt bis zum eigenen Cursor weckt nicht
+        listener.accept(5);
+        assertThat(result.hasResult()).isFalse();
+        listener.accept(6);
+
+        // Then
+        assertThat(((ChangeFeedResponse) result.getResult()).getEvents())
+                .extracting(ChangeEventResponse::getPosition).containsExactly(6L);
+    }
+
+    @Test
+    void shouldCapLimitAndWait() {
+        // Given
+        when(changeFeedService.readChanges(0, 500)).thenReturn(changes(1));
+
+        // When
+        changeFeedController.getChanges(-3, 10_000, 600);
+
+        // Then - negativer Cursor als 0, Limit auf 500 begrenzt
+        verify(changeFeedService).readChanges(0, 500);
+    }
+
+    @Test
+    void shouldFailLongPollWithResyncWhenCursorExpiresWhileWaiting() {
+        // Given
+        ChangeFeedCursorExpiredException expired = new ChangeFeedCursorExpiredException(5, 9, 12);
+        when(changeFeedService.readChanges(5, 100)).thenReturn(empty(5)).thenThrow(expired);
+        DeferredResult<ChangeFeedResponse> result = changeFeedController.getChanges(5, 100, 25);
+
+        // When
+        registeredListener().accept(12);
+
+        // Then - GlobalExceptionHandler beantwortet das mit 410
+        assertThat(result.getResult()).isSameAs(expired);
+    }
+
+    @Test
+    void shouldPropagateExpiredCursorOnImmediateRead() {
+        // Given
+        when(changeFeedService.readChanges(5, 100)).thenThrow(new ChangeFeedCursorExpiredException(5, 9, 12));
+
+        // When / Then
+        assertThatThrownBy(() -> changeFeedController.getChanges(5, 100, 25))
+                .isInstanceOf(ChangeFeedCursorExpiredException.class);
+        LongConsumer listener = registeredListener();
+        verify(changeFeedService).removeListener(listener);
+    }
+
+    private LongConsumer registeredListener() {
+        ArgumentCaptor<LongConsumer> captor = ArgumentCaptor.forClass(LongConsumer.class);
+        verify(changeFeedService).addListener(captor.capture());
+        return captor.getValue();
+    }
+
+    private ChangeFeedResponse changes(long position) {
+        ChangeEventResponse event = new ChangeEventResponse(position, "PATIENT", UUID.randomUUID(),
+                "PATIENT_UPDATED", "{}", LocalDateTime.now());
+        return new ChangeFeedResponse(List.of(event), position, false);
+    }
+
+    private ChangeFeedResponse empty(long cursor) {
+        return new ChangeFeedResponse(List.of(), cursor, false);
+    }
+}